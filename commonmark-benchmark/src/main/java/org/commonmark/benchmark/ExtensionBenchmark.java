@@ -0,0 +1,57 @@
+package org.commonmark.benchmark;
+
+import org.commonmark.Extension;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of each extension. The input of a feature is parsed with its extension and, as a baseline, with
+ * the core parser only ({@code -p enabled=false}). The difference is the cost of the extension.
+ * <p>
+ * Run a single feature with e.g. {@code java -jar benchmarks.jar ExtensionBenchmark -p feature=TABLES}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExtensionBenchmark {
+
+    @Param
+    public Feature feature;
+
+    @Param
+    public InputSize size;
+
+    @Param({"true", "false"})
+    public boolean enabled;
+
+    private String input;
+    private Parser parser;
+    private HtmlRenderer renderer;
+
+    @Setup
+    public void setup() {
+        List<Extension> extensions = enabled ? List.of(feature.getExtension()) : List.of();
+        input = Inputs.create(feature, size);
+        parser = Parser.builder().extensions(extensions).build();
+        renderer = HtmlRenderer.builder().extensions(extensions).build();
+    }
+
+    @Benchmark
+    public Node parse() {
+        return parser.parse(input);
+    }
+
+    @Benchmark
+    public String parseAndRender() {
+        // Some extensions (e.g. heading anchors) only change rendering
+        return renderer.render(parser.parse(input));
+    }
+}
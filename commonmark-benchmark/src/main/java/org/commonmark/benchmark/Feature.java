@@ -0,0 +1,69 @@
+package org.commonmark.benchmark;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.ext.footnotes.FootnotesExtension;
+import org.commonmark.ext.front.matter.YamlFrontMatterExtension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.heading.anchor.HeadingAnchorExtension;
+import org.commonmark.ext.image.attributes.ImageAttributesExtension;
+import org.commonmark.ext.ins.InsExtension;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An extension together with a snippet of Markdown that uses its syntax. The snippet is repeated to create inputs,
+ * see {@link Inputs}.
+ */
+public enum Feature {
+
+    AUTOLINK(AutolinkExtension.create(), null, "autolink.md"),
+    FOOTNOTES(FootnotesExtension.builder().inlineFootnotes(true).build(), null, "footnotes.md"),
+    HEADING_ANCHOR(HeadingAnchorExtension.create(), null, "heading-anchor.md"),
+    IMAGE_ATTRIBUTES(ImageAttributesExtension.create(), null, "image-attributes.md"),
+    INS(InsExtension.create(), null, "ins.md"),
+    STRIKETHROUGH(StrikethroughExtension.create(), null, "strikethrough.md"),
+    TABLES(TablesExtension.create(), null, "tables.md"),
+    TASK_LIST_ITEMS(TaskListItemsExtension.create(), null, "task-list-items.md"),
+    // Front matter is only allowed at the start of the document, so it's not repeated
+    YAML_FRONT_MATTER(YamlFrontMatterExtension.create(), "yaml-front-matter.md", null);
+
+    private final Extension extension;
+    private final String prefix;
+    private final String body;
+
+    Feature(Extension extension, String prefixResource, String bodyResource) {
+        this.extension = extension;
+        this.prefix = prefixResource != null ? Inputs.read(prefixResource) : "";
+        this.body = bodyResource != null ? Inputs.read(bodyResource) : "";
+    }
+
+    public static List<Extension> allExtensions() {
+        List<Extension> extensions = new ArrayList<>();
+        for (Feature feature : values()) {
+            extensions.add(feature.extension);
+        }
+        return extensions;
+    }
+
+    public Extension getExtension() {
+        return extension;
+    }
+
+    /**
+     * @return the part of the input that is only included once, at the start
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return the part of the input that is repeated, without the core Markdown
+     */
+    public String getBody() {
+        return body;
+    }
+}
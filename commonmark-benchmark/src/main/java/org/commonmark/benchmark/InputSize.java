@@ -0,0 +1,32 @@
+package org.commonmark.benchmark;
+
+/**
+ * Sizes of the generated inputs, by repeating a snippet until the input is at least the given length.
+ */
+public enum InputSize {
+
+    /**
+     * About the size of a comment or a short README.
+     */
+    SMALL(1_000),
+
+    /**
+     * About the size of a long documentation page.
+     */
+    MEDIUM(100_000),
+
+    /**
+     * Big enough to make non-linear behavior and GC pressure visible.
+     */
+    HUGE(5_000_000);
+
+    private final int minLength;
+
+    InputSize(int minLength) {
+        this.minLength = minLength;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+}
@@ -0,0 +1,53 @@
+package org.commonmark.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Creates the inputs for the benchmarks. The snippet of a feature is combined with a snippet of core Markdown (so that
+ * the extension also has to deal with syntax that it doesn't handle), and repeated until the input has the requested
+ * size.
+ */
+final class Inputs {
+
+    private static final String CORE = read("core.md");
+
+    private Inputs() {
+    }
+
+    static String create(Feature feature, InputSize size) {
+        return repeat(feature.getPrefix(), feature.getBody() + CORE, size);
+    }
+
+    static String createWithAllFeatures(InputSize size) {
+        StringBuilder prefix = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        for (Feature feature : Feature.values()) {
+            prefix.append(feature.getPrefix());
+            body.append(feature.getBody());
+        }
+        body.append(CORE);
+        return repeat(prefix.toString(), body.toString(), size);
+    }
+
+    static String read(String resource) {
+        try (InputStream stream = Inputs.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IllegalStateException("Resource not found: " + resource);
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String repeat(String prefix, String body, InputSize size) {
+        StringBuilder sb = new StringBuilder(prefix);
+        do {
+            sb.append(body);
+        } while (sb.length() < size.getMinLength());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package org.commonmark.benchmark;
+
+import org.commonmark.Extension;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.Renderer;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.renderer.markdown.MarkdownRenderer;
+import org.commonmark.renderer.text.TextContentRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each renderer, rendering a document that uses all features. The document is parsed once on setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RendererBenchmark {
+
+    public enum RendererType {
+        HTML {
+            @Override
+            Renderer create(List<Extension> extensions) {
+                return HtmlRenderer.builder().extensions(extensions).build();
+            }
+        },
+        MARKDOWN {
+            @Override
+            Renderer create(List<Extension> extensions) {
+                return MarkdownRenderer.builder().extensions(extensions).build();
+            }
+        },
+        TEXT_CONTENT {
+            @Override
+            Renderer create(List<Extension> extensions) {
+                return TextContentRenderer.builder().extensions(extensions).build();
+            }
+        };
+
+        abstract Renderer create(List<Extension> extensions);
+    }
+
+    @Param
+    public RendererType renderer;
+
+    @Param
+    public InputSize size;
+
+    private Node document;
+    private Renderer instance;
+
+    @Setup
+    public void setup() {
+        List<Extension> extensions = Feature.allExtensions();
+        document = Parser.builder().extensions(extensions).build().parse(Inputs.createWithAllFeatures(size));
+        instance = renderer.create(extensions);
+    }
+
+    @Benchmark
+    public String render() {
+        return instance.render(document);
+    }
+}
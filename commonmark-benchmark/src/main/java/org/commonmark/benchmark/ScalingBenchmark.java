@@ -0,0 +1,107 @@
+package org.commonmark.benchmark;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.testutil.generator.MarkdownGenerator;
+import org.commonmark.testutil.generator.MarkdownGenerator.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how parsing scales with the input length, per construct, using generated documents (see
+ * {@link MarkdownGenerator}). To get the throughput in characters per second, divide the length by the average time.
+ * <p>
+ * Bigger lengths need a bigger heap, e.g. for 1 GB:
+ * {@code java -jar benchmarks.jar ScalingBenchmark -p length=1000000000 -jvmArgsAppend -Xmx16g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScalingBenchmark {
+
+    public enum Construct {
+        MIXED {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder
+                        .blockWeight(Block.TABLE, 1)
+                        .blockWeight(Block.TASK_LIST, 1)
+                        .extensionDensity(0.02);
+            }
+        },
+        PARAGRAPHS {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.PARAGRAPH).emphasisDensity(0).codeSpanDensity(0).linkDensity(0);
+            }
+        },
+        EMPHASIS {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.PARAGRAPH).emphasisDensity(0.5);
+            }
+        },
+        LINK_REFERENCES {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.PARAGRAPH).linkDensity(0.3).linkReferenceDensity(1);
+            }
+        },
+        NESTED_LISTS {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.BULLET_LIST).maxNestingDepth(10);
+            }
+        },
+        BLOCK_QUOTES {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.BLOCK_QUOTE).maxNestingDepth(10);
+            }
+        },
+        CODE_BLOCKS {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.FENCED_CODE_BLOCK);
+            }
+        },
+        TABLES {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.TABLE).tableSize(20, 200);
+            }
+        },
+        EXTENSIONS {
+            @Override
+            MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder) {
+                return builder.onlyBlock(Block.PARAGRAPH).extensionDensity(0.3);
+            }
+        };
+
+        abstract MarkdownGenerator.Builder configure(MarkdownGenerator.Builder builder);
+    }
+
+    @Param
+    public Construct construct;
+
+    @Param({"1000", "1000000", "100000000"})
+    public int length;
+
+    private String input;
+    private Parser parser;
+
+    @Setup
+    public void setup() {
+        input = construct.configure(MarkdownGenerator.builder()).build().generate(length);
+        parser = Parser.builder().extensions(Feature.allExtensions()).build();
+    }
+
+    @Benchmark
+    public Node parse() {
+        return parser.parse(input);
+    }
+}
@@ -0,0 +1,41 @@
+package org.commonmark.benchmark;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing with the different {@link IncludeSourceSpans} modes, with all extensions enabled. Source spans
+ * mostly cost memory, so run it with {@code -prof gc} to see the allocations too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SourceSpansBenchmark {
+
+    @Param
+    public IncludeSourceSpans includeSourceSpans;
+
+    @Param
+    public InputSize size;
+
+    private String input;
+    private Parser parser;
+
+    @Setup
+    public void setup() {
+        input = Inputs.createWithAllFeatures(size);
+        parser = Parser.builder().extensions(Feature.allExtensions()).includeSourceSpans(includeSourceSpans).build();
+    }
+
+    @Benchmark
+    public Node parse() {
+        return parser.parse(input);
+    }
+}
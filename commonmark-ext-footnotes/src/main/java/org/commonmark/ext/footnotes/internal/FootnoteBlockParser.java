@@ -7,6 +7,7 @@ import org.commonmark.parser.block.*;
 import org.commonmark.text.Characters;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Parser for a single {@link FootnoteDefinition} block.
@@ -56,13 +57,25 @@ public class FootnoteBlockParser extends AbstractBlockParser {
 
     public static class Factory implements BlockParserFactory {
 
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('[');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
+        @Override
+        public Set<Class<?>> getDefinitionTypes() {
+            return Set.of(FootnoteDefinition.class);
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             if (state.getIndent() >= 4) {
                 return BlockStart.none();
             }
             var index = state.getNextNonSpaceIndex();
-            var content = state.getLine().getContent();
+            var content = state.getLine().getContentView();
             if (content.charAt(index) != '[' || index + 1 >= content.length()) {
                 return BlockStart.none();
             }
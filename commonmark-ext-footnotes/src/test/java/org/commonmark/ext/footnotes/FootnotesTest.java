@@ -4,6 +4,7 @@ import org.commonmark.Extension;
 import org.commonmark.node.*;
 import org.commonmark.parser.IncludeSourceSpans;
 import org.commonmark.parser.Parser;
+import org.commonmark.parser.TextEdit;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -293,6 +294,17 @@ public class FootnotesTest {
         assertEquals(def.getSourceSpans(), List.of(SourceSpan.of(2, 0, 13, 12)));
     }
 
+    @Test
+    public void testReparseRemovedDefinition() {
+        var parser = Parser.builder().extensions(EXTENSIONS).includeSourceSpans(IncludeSourceSpans.BLOCKS).build();
+        var source = "Test [^foo]\n\nother\n\n[^foo]: note\n";
+        var input = "Test [^foo]\n\nother\n\n";
+        var doc = parser.reparse(parser.parse(source), input,
+                TextEdit.of(input.length(), source.length() - input.length(), 0));
+        // Without the definition, the paragraph before the edit doesn't contain a reference anymore
+        assertNull(tryFind(doc, FootnoteReference.class));
+    }
+
     private static <T> T find(Node parent, Class<T> nodeClass) {
         return Objects.requireNonNull(tryFind(parent, nodeClass), "Could not find a " + nodeClass.getSimpleName() + " node in " + parent);
     }
@@ -12,6 +12,7 @@ import org.commonmark.text.Characters;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class TableBlockParser extends AbstractBlockParser {
 
@@ -38,7 +39,7 @@ public class TableBlockParser extends AbstractBlockParser {
 
     @Override
     public BlockContinue tryContinue(ParserState state) {
-        CharSequence content = state.getLine().getContent();
+        CharSequence content = state.getLine().getContentView();
         int pipe = Characters.find('|', content, state.getNextNonSpaceIndex());
         if (pipe != -1) {
             if (pipe == state.getNextNonSpaceIndex()) {
@@ -108,7 +109,9 @@ public class TableBlockParser extends AbstractBlockParser {
                 block.appendChild(body);
             }
             body.appendChild(row);
-            body.addSourceSpan(sourceSpan);
+            if (sourceSpan != null) {
+                body.addSourceSpan(sourceSpan);
+            }
         }
     }
 
@@ -125,7 +128,7 @@ public class TableBlockParser extends AbstractBlockParser {
             tableCell.setWidth(cellInfo.getWidth());
         }
 
-        CharSequence content = cell.getContent();
+        CharSequence content = cell.getContentView();
         int start = Characters.skipSpaceTab(content, 0, content.length());
         int end = Characters.skipSpaceTabBackwards(content, content.length() - 1, start);
         inlineParser.parse(SourceLines.of(cell.substring(start, end + 1)), tableCell);
@@ -134,7 +137,7 @@ public class TableBlockParser extends AbstractBlockParser {
     }
 
     private static List<SourceLine> split(SourceLine line) {
-        CharSequence row = line.getContent();
+        CharSequence row = line.getContentView();
         int nonSpace = Characters.skipSpaceTab(row, 0, row.length());
         int cellStart = nonSpace;
         int cellEnd = row.length();
@@ -176,7 +179,7 @@ public class TableBlockParser extends AbstractBlockParser {
         }
         if (sb.length() > 0) {
             String content = sb.toString();
-            cells.add(SourceLine.of(content, line.substring(cellStart, line.getContent().length()).getSourceSpan()));
+            cells.add(SourceLine.of(content, line.substring(cellStart, line.getContentView().length()).getSourceSpan()));
         }
         return cells;
     }
@@ -271,13 +274,21 @@ public class TableBlockParser extends AbstractBlockParser {
 
     public static class Factory extends AbstractBlockParserFactory {
 
+        // The first character of the separator line
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('|', '-', ':');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             List<SourceLine> paragraphLines = matchedBlockParser.getParagraphLines().getLines();
-            if (paragraphLines.size() == 1 && Characters.find('|', paragraphLines.get(0).getContent(), 0) != -1) {
+            if (paragraphLines.size() == 1 && Characters.find('|', paragraphLines.get(0).getContentView(), 0) != -1) {
                 SourceLine line = state.getLine();
-                SourceLine separatorLine = line.substring(state.getIndex(), line.getContent().length());
-                List<TableCellInfo> columns = parseSeparator(separatorLine.getContent());
+                SourceLine separatorLine = line.substring(state.getIndex(), line.getContentView().length());
+                List<TableCellInfo> columns = parseSeparator(separatorLine.getContentView());
                 if (columns != null && !columns.isEmpty()) {
                     SourceLine paragraph = paragraphLines.get(0);
                     List<SourceLine> headerCells = split(paragraph);
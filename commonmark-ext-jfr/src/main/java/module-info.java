@@ -0,0 +1,8 @@
+module org.commonmark.ext.jfr {
+    exports org.commonmark.ext.jfr;
+    // For JFR to read the fields of the events
+    opens org.commonmark.ext.jfr.internal to jdk.jfr;
+
+    requires transitive org.commonmark;
+    requires jdk.jfr;
+}
@@ -0,0 +1,61 @@
+package org.commonmark.ext.jfr;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.jfr.internal.JfrParseListener;
+import org.commonmark.parser.Parser;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Extension for recording parsing as JDK Flight Recorder (JFR) events, so that Markdown work shows up next to GC and
+ * allocation events in recordings.
+ * <p>
+ * Create it with {@link #create()} and then configure it on the parser builder
+ * ({@link org.commonmark.parser.Parser.Builder#extensions(Iterable)}). The following events are emitted:
+ * <ul>
+ * <li>{@code commonmark.Parse}: parsing a document, with the input length, line count, node count and extensions</li>
+ * <li>{@code commonmark.InlineParse}: parsing the inline content of a document, with the node count</li>
+ * <li>{@code commonmark.PostProcess}: each post processor run, with its class and the node count</li>
+ * </ul>
+ * For rendering, wrap the renderer with {@link JfrRenderer#wrap}.
+ * <p>
+ * Events are only committed when they are enabled in the recording (and exceed its threshold), nodes are only
+ * counted in that case.
+ */
+public class JfrExtension implements Parser.ParserExtension {
+
+    private final String extensions;
+
+    private JfrExtension(String extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * @return the extension, with no extensions listed in the parse events
+     */
+    public static Extension create() {
+        return new JfrExtension("");
+    }
+
+    /**
+     * @param extensions the other extensions of the parser, for listing them in the parse events (so that events of
+     *                   parsers with different configurations can be told apart)
+     * @return the extension
+     */
+    public static Extension create(Iterable<? extends Extension> extensions) {
+        Objects.requireNonNull(extensions, "extensions must not be null");
+        List<String> names = StreamSupport.stream(extensions.spliterator(), false)
+                .filter(extension -> !(extension instanceof JfrExtension))
+                .map(extension -> extension.getClass().getName())
+                .collect(Collectors.toList());
+        return new JfrExtension(String.join(",", names));
+    }
+
+    @Override
+    public void extend(Parser.Builder parserBuilder) {
+        parserBuilder.parseListener(new JfrParseListener(extensions));
+    }
+}
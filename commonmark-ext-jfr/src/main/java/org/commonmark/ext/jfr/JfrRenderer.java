@@ -0,0 +1,73 @@
+package org.commonmark.ext.jfr;
+
+import org.commonmark.ext.jfr.internal.CountingAppendable;
+import org.commonmark.ext.jfr.internal.RenderEvent;
+import org.commonmark.node.Node;
+import org.commonmark.node.Nodes;
+import org.commonmark.renderer.Renderer;
+
+import java.util.Objects;
+
+/**
+ * A renderer that records rendering as JDK Flight Recorder (JFR) events named {@code commonmark.Render}, with the
+ * class of the renderer, the number of rendered nodes and the output length. Works for all renderers, e.g.
+ * {@link org.commonmark.renderer.html.HtmlRenderer}, {@link org.commonmark.renderer.markdown.MarkdownRenderer} and
+ * {@link org.commonmark.renderer.text.TextContentRenderer}:
+ * <pre><code>
+ * Renderer renderer = JfrRenderer.wrap(HtmlRenderer.builder().build());
+ * </code></pre>
+ * When the event is not enabled in a recording, this only delegates to the renderer.
+ */
+public class JfrRenderer implements Renderer {
+
+    private final Renderer renderer;
+
+    private JfrRenderer(Renderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * @param renderer the renderer to record
+     * @return a renderer that delegates to the specified one and records its calls
+     */
+    public static Renderer wrap(Renderer renderer) {
+        Objects.requireNonNull(renderer, "renderer must not be null");
+        return new JfrRenderer(renderer);
+    }
+
+    @Override
+    public void render(Node node, Appendable output) {
+        var event = new RenderEvent();
+        if (!event.isEnabled()) {
+            renderer.render(node, output);
+            return;
+        }
+        var countingOutput = new CountingAppendable(output);
+        event.begin();
+        renderer.render(node, countingOutput);
+        event.end();
+        commit(event, node, countingOutput.getCount());
+    }
+
+    @Override
+    public String render(Node node) {
+        var event = new RenderEvent();
+        if (!event.isEnabled()) {
+            return renderer.render(node);
+        }
+        event.begin();
+        String result = renderer.render(node);
+        event.end();
+        commit(event, node, result.length());
+        return result;
+    }
+
+    private void commit(RenderEvent event, Node node, long outputLength) {
+        if (event.shouldCommit()) {
+            event.renderer = renderer.getClass();
+            event.nodeCount = Nodes.count(node);
+            event.outputLength = outputLength;
+            event.commit();
+        }
+    }
+}
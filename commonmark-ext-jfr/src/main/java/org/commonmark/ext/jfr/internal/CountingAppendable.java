@@ -0,0 +1,42 @@
+package org.commonmark.ext.jfr.internal;
+
+import java.io.IOException;
+
+/**
+ * Counts the characters that are appended, for the output length of the render event.
+ */
+public class CountingAppendable implements Appendable {
+
+    private final Appendable appendable;
+    private long count;
+
+    public CountingAppendable(Appendable appendable) {
+        this.appendable = appendable;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        appendable.append(csq);
+        // Appending null appends "null"
+        count += csq != null ? csq.length() : 4;
+        return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        appendable.append(csq, start, end);
+        count += end - start;
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        appendable.append(c);
+        count++;
+        return this;
+    }
+}
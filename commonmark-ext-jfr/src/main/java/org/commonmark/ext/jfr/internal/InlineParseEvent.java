@@ -0,0 +1,19 @@
+package org.commonmark.ext.jfr.internal;
+
+import jdk.jfr.*;
+
+@Name("commonmark.InlineParse")
+@Label("Markdown Inline Parse")
+@Description("Parsing of the inline content of all blocks of a Markdown document")
+@Category("commonmark")
+@StackTrace(false)
+public class InlineParseEvent extends Event {
+
+    @Label("Input Length")
+    @Description("Number of characters of the input")
+    public int inputLength;
+
+    @Label("Node Count")
+    @Description("Number of nodes of the document after inline parsing")
+    public int nodeCount;
+}
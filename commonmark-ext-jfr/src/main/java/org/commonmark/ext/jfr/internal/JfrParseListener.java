@@ -0,0 +1,97 @@
+package org.commonmark.ext.jfr.internal;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.ParseListener;
+import org.commonmark.parser.ParseStatistics;
+import org.commonmark.parser.PostProcessor;
+
+/**
+ * Emits the parse events. A parser can be used by multiple threads at the same time, so the events that are in
+ * progress are kept per thread.
+ */
+public class JfrParseListener implements ParseListener {
+
+    private final String extensions;
+    private final ThreadLocal<Events> events = ThreadLocal.withInitial(Events::new);
+
+    public JfrParseListener(String extensions) {
+        this.extensions = extensions;
+    }
+
+    @Override
+    public void blockParsingStarted(ParseStatistics statistics) {
+        var events = this.events.get();
+        events.parse = new ParseEvent();
+        events.parse.begin();
+    }
+
+    @Override
+    public void inlineParsingStarted(ParseStatistics statistics) {
+        var events = this.events.get();
+        events.inlineParse = new InlineParseEvent();
+        events.inlineParse.begin();
+    }
+
+    @Override
+    public void inlineParsingFinished(ParseStatistics statistics) {
+        var events = this.events.get();
+        var event = events.inlineParse;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.inputLength = statistics.getInputLength();
+                event.nodeCount = statistics.getNodeCount();
+                event.commit();
+            }
+            events.inlineParse = null;
+        }
+        startPostProcess(events);
+    }
+
+    @Override
+    public void postProcessorFinished(PostProcessor postProcessor, long nanos, ParseStatistics statistics) {
+        var events = this.events.get();
+        var event = events.postProcess;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.postProcessor = postProcessor.getClass();
+                event.nodeCount = statistics.getNodeCount();
+                event.commit();
+            }
+        }
+        startPostProcess(events);
+    }
+
+    @Override
+    public void documentParsed(Node document, ParseStatistics statistics) {
+        var events = this.events.get();
+        var event = events.parse;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.inputLength = statistics.getInputLength();
+                event.lineCount = statistics.getLineCount();
+                event.nodeCount = statistics.getNodeCount();
+                event.extensions = extensions;
+                event.commit();
+            }
+        }
+        this.events.remove();
+    }
+
+    /**
+     * The listener is only called after a post processor ran, so the event for the next one starts after the previous
+     * one.
+     */
+    private static void startPostProcess(Events events) {
+        events.postProcess = new PostProcessEvent();
+        events.postProcess.begin();
+    }
+
+    private static class Events {
+        private ParseEvent parse;
+        private InlineParseEvent inlineParse;
+        private PostProcessEvent postProcess;
+    }
+}
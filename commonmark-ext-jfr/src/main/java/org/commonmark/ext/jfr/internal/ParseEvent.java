@@ -0,0 +1,26 @@
+package org.commonmark.ext.jfr.internal;
+
+import jdk.jfr.*;
+
+@Name("commonmark.Parse")
+@Label("Markdown Parse")
+@Description("Parsing of a Markdown document, from the first line until post processing is done")
+@Category("commonmark")
+@StackTrace(false)
+public class ParseEvent extends Event {
+
+    @Label("Input Length")
+    @Description("Number of characters of the input")
+    public int inputLength;
+
+    @Label("Line Count")
+    public int lineCount;
+
+    @Label("Node Count")
+    @Description("Number of nodes of the document")
+    public int nodeCount;
+
+    @Label("Extensions")
+    @Description("Class names of the enabled extensions")
+    public String extensions;
+}
@@ -0,0 +1,18 @@
+package org.commonmark.ext.jfr.internal;
+
+import jdk.jfr.*;
+
+@Name("commonmark.PostProcess")
+@Label("Markdown Post Process")
+@Description("Run of a post processor on a parsed Markdown document")
+@Category("commonmark")
+@StackTrace(false)
+public class PostProcessEvent extends Event {
+
+    @Label("Post Processor")
+    public Class<?> postProcessor;
+
+    @Label("Node Count")
+    @Description("Number of nodes of the document after post processing")
+    public int nodeCount;
+}
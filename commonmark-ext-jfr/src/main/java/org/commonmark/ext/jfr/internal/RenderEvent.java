@@ -0,0 +1,22 @@
+package org.commonmark.ext.jfr.internal;
+
+import jdk.jfr.*;
+
+@Name("commonmark.Render")
+@Label("Markdown Render")
+@Description("Rendering of a Markdown document")
+@Category("commonmark")
+@StackTrace(false)
+public class RenderEvent extends Event {
+
+    @Label("Renderer")
+    public Class<?> renderer;
+
+    @Label("Node Count")
+    @Description("Number of nodes that were rendered")
+    public int nodeCount;
+
+    @Label("Output Length")
+    @Description("Number of characters of the output")
+    public long outputLength;
+}
@@ -0,0 +1,115 @@
+package org.commonmark.ext.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.commonmark.Extension;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.Renderer;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.renderer.markdown.MarkdownRenderer;
+import org.commonmark.renderer.text.TextContentRenderer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class JfrExtensionTest {
+
+    private static final String INPUT = "# Heading\n\nSome *text*\n";
+
+    @Test
+    public void parseEvents() throws IOException {
+        Parser parser = Parser.builder()
+                .extensions(List.of(JfrExtension.create(List.of(new OtherExtension()))))
+                .postProcessor(node -> node)
+                .build();
+
+        List<RecordedEvent> events = record(() -> parser.parse(INPUT));
+
+        RecordedEvent parse = single(events, "commonmark.Parse");
+        assertEquals(INPUT.length(), parse.getInt("inputLength"));
+        assertEquals(3, parse.getInt("lineCount"));
+        // Document, heading, text, paragraph, text, emphasis, text
+        assertEquals(7, parse.getInt("nodeCount"));
+        assertEquals(OtherExtension.class.getName(), parse.getString("extensions"));
+
+        RecordedEvent inlineParse = single(events, "commonmark.InlineParse");
+        assertEquals(7, inlineParse.getInt("nodeCount"));
+
+        RecordedEvent postProcess = single(events, "commonmark.PostProcess");
+        assertEquals(7, postProcess.getInt("nodeCount"));
+        assertNotNull(postProcess.getClass("postProcessor"));
+    }
+
+    @Test
+    public void renderEvents() throws IOException {
+        Node document = Parser.builder().build().parse(INPUT);
+        Renderer html = JfrRenderer.wrap(HtmlRenderer.builder().build());
+        Renderer markdown = JfrRenderer.wrap(MarkdownRenderer.builder().build());
+        Renderer text = JfrRenderer.wrap(TextContentRenderer.builder().build());
+
+        var output = new StringBuilder();
+        List<RecordedEvent> events = record(() -> {
+            assertEquals("<h1>Heading</h1>\n<p>Some <em>text</em></p>\n", html.render(document));
+            markdown.render(document, output);
+            text.render(document);
+        });
+
+        List<RecordedEvent> renders = filter(events, "commonmark.Render");
+        assertEquals(3, renders.size());
+        assertEquals(HtmlRenderer.class.getName(), renders.get(0).getClass("renderer").getName());
+        assertEquals(7, renders.get(0).getInt("nodeCount"));
+        assertEquals("<h1>Heading</h1>\n<p>Some <em>text</em></p>\n".length(), renders.get(0).getLong("outputLength"));
+        assertEquals(MarkdownRenderer.class.getName(), renders.get(1).getClass("renderer").getName());
+        assertEquals(output.length(), renders.get(1).getLong("outputLength"));
+        assertEquals(TextContentRenderer.class.getName(), renders.get(2).getClass("renderer").getName());
+    }
+
+    @Test
+    public void withoutRecording() {
+        Parser parser = Parser.builder().extensions(List.of(JfrExtension.create())).build();
+        Renderer renderer = JfrRenderer.wrap(HtmlRenderer.builder().build());
+        assertEquals("<h1>Heading</h1>\n<p>Some <em>text</em></p>\n", renderer.render(parser.parse(INPUT)));
+    }
+
+    private static List<RecordedEvent> record(Runnable runnable) throws IOException {
+        Path file = Files.createTempFile("commonmark", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("commonmark.Parse").withThreshold(Duration.ZERO);
+            recording.enable("commonmark.InlineParse").withThreshold(Duration.ZERO);
+            recording.enable("commonmark.PostProcess").withThreshold(Duration.ZERO);
+            recording.enable("commonmark.Render").withThreshold(Duration.ZERO);
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> filtered = filter(events, name);
+        assertEquals(1, filtered.size());
+        return filtered.get(0);
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+
+    private static class OtherExtension implements Extension {
+    }
+}
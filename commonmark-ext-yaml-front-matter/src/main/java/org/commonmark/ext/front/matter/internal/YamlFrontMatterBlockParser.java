@@ -10,6 +10,7 @@ import org.commonmark.parser.block.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,7 +44,7 @@ public class YamlFrontMatterBlockParser extends AbstractBlockParser {
 
     @Override
     public BlockContinue tryContinue(ParserState parserState) {
-        final CharSequence line = parserState.getLine().getContent();
+        final CharSequence line = parserState.getLine().getContentView();
 
         if (REGEX_END.matcher(line).matches()) {
             if (currentKey != null) {
@@ -114,9 +115,17 @@ public class YamlFrontMatterBlockParser extends AbstractBlockParser {
     }
 
     public static class Factory extends AbstractBlockParserFactory {
+
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('-');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
-            CharSequence line = state.getLine().getContent();
+            CharSequence line = state.getLine().getContentView();
             BlockParser parentParser = matchedBlockParser.getMatchedBlockParser();
             // check whether this line is the first line of whole document or not
             if (parentParser.getBlock() instanceof Document && parentParser.getBlock().getFirstChild() == null &&
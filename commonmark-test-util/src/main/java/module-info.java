@@ -1,6 +1,7 @@
 module org.commonmark.testutil {
     exports org.commonmark.testutil;
     exports org.commonmark.testutil.example;
+    exports org.commonmark.testutil.generator;
 
     requires junit;
 }
@@ -0,0 +1,525 @@
+package org.commonmark.testutil.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Generates Markdown of a requested size, for benchmarks and scaling tests. The mix of constructs is configurable via
+ * {@link #builder()}: the weights of the block types, how deep lists and block quotes can be nested, the dimensions
+ * of tables and the density of inline constructs (emphasis, code spans, links, link references and extension syntax).
+ * <p>
+ * The output only depends on the seed and the configuration, so the same generator always produces the same
+ * Markdown, and the output for a smaller length is a prefix of the output for a bigger length. Generators are
+ * immutable and can be used from multiple threads.
+ */
+public class MarkdownGenerator {
+
+    /**
+     * The types of blocks that can be generated, see {@link Builder#blockWeight}.
+     */
+    public enum Block {
+        PARAGRAPH,
+        HEADING,
+        BULLET_LIST,
+        ORDERED_LIST,
+        /**
+         * A bullet list with {@code [ ]} and {@code [x]} items (extension syntax)
+         */
+        TASK_LIST,
+        BLOCK_QUOTE,
+        FENCED_CODE_BLOCK,
+        INDENTED_CODE_BLOCK,
+        /**
+         * A GFM table (extension syntax), see {@link Builder#tableSize}
+         */
+        TABLE,
+        THEMATIC_BREAK,
+        HTML_BLOCK;
+
+        boolean isContainer() {
+            return this == BULLET_LIST || this == ORDERED_LIST || this == TASK_LIST || this == BLOCK_QUOTE;
+        }
+    }
+
+    private static final String[] WORDS = {
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do", "eiusmod",
+            "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim", "ad", "minim", "veniam",
+            "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi", "aliquip", "ex", "ea", "commodo",
+            "consequat", "duis", "aute", "irure", "in", "reprehenderit", "voluptate", "velit", "esse", "cillum", "eu",
+            "fugiat", "nulla", "pariatur", "excepteur", "sint", "occaecat", "cupidatat", "non", "proident", "sunt",
+            "culpa", "qui", "officia", "deserunt", "mollit", "anim", "id", "est", "laborum"
+    };
+
+    private final long seed;
+    private final Map<Block, Integer> blockWeights;
+    private final int maxNestingDepth;
+    private final int tableColumns;
+    private final int tableRows;
+    private final double emphasisDensity;
+    private final double codeSpanDensity;
+    private final double linkDensity;
+    private final double linkReferenceDensity;
+    private final double extensionDensity;
+
+    private MarkdownGenerator(Builder builder) {
+        this.seed = builder.seed;
+        this.blockWeights = new EnumMap<>(builder.blockWeights);
+        this.maxNestingDepth = builder.maxNestingDepth;
+        this.tableColumns = builder.tableColumns;
+        this.tableRows = builder.tableRows;
+        this.emphasisDensity = builder.emphasisDensity;
+        this.codeSpanDensity = builder.codeSpanDensity;
+        this.linkDensity = builder.linkDensity;
+        this.linkReferenceDensity = builder.linkReferenceDensity;
+        this.extensionDensity = builder.extensionDensity;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Generate a document of at least the given length. Generation stops after the block that reaches the length, so
+     * the document is usually a bit longer (but never ends in the middle of a construct).
+     *
+     * @param length the minimum number of characters
+     * @return the Markdown
+     */
+    public String generate(int length) {
+        StringBuilder sb = new StringBuilder(length + 1024);
+        try {
+            generate(length, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generate a document of at least the given length into the given output, block by block. Use this for sizes
+     * that don't fit into a string, e.g. with a {@link java.io.Writer} to a file.
+     *
+     * @param length the minimum number of characters
+     * @param output the output to append to
+     * @throws IOException if appending to the output fails
+     */
+    public void generate(long length, Appendable output) throws IOException {
+        Generation generation = new Generation(new Random(seed));
+        long written = 0;
+        while (written < length) {
+            CharSequence block = generation.topLevelBlock();
+            output.append(block);
+            written += block.length();
+        }
+    }
+
+    private class Generation {
+
+        private final Random random;
+        private final List<String> definitions = new ArrayList<>();
+        private int referenceCount = 0;
+        private int footnoteCount = 0;
+
+        Generation(Random random) {
+            this.random = random;
+        }
+
+        CharSequence topLevelBlock() {
+            StringBuilder sb = new StringBuilder();
+            block(sb, 0);
+            sb.append('\n');
+            // Definitions for the references in the block
+            if (!definitions.isEmpty()) {
+                for (String definition : definitions) {
+                    sb.append(definition).append('\n');
+                }
+                sb.append('\n');
+                definitions.clear();
+            }
+            return sb;
+        }
+
+        private void block(StringBuilder sb, int depth) {
+            switch (chooseBlock(depth <= maxNestingDepth)) {
+                case PARAGRAPH:
+                    paragraph(sb);
+                    break;
+                case HEADING:
+                    sb.append("#".repeat(1 + random.nextInt(6))).append(' ');
+                    inlines(sb, 2 + random.nextInt(6));
+                    sb.append('\n');
+                    break;
+                case BULLET_LIST:
+                    list(sb, depth, false, false);
+                    break;
+                case ORDERED_LIST:
+                    list(sb, depth, true, false);
+                    break;
+                case TASK_LIST:
+                    list(sb, depth, false, true);
+                    break;
+                case BLOCK_QUOTE:
+                    blockQuote(sb, depth);
+                    break;
+                case FENCED_CODE_BLOCK:
+                    sb.append("```java\n");
+                    codeLines(sb, "");
+                    sb.append("```\n");
+                    break;
+                case INDENTED_CODE_BLOCK:
+                    codeLines(sb, "    ");
+                    break;
+                case TABLE:
+                    table(sb);
+                    break;
+                case THEMATIC_BREAK:
+                    sb.append("***\n");
+                    break;
+                case HTML_BLOCK:
+                    sb.append("<div class=\"").append(word()).append("\">\n");
+                    inlines(sb, 5 + random.nextInt(10));
+                    sb.append("\n</div>\n");
+                    break;
+            }
+        }
+
+        private Block chooseBlock(boolean containersAllowed) {
+            int total = 0;
+            for (Map.Entry<Block, Integer> entry : blockWeights.entrySet()) {
+                if (containersAllowed || !entry.getKey().isContainer()) {
+                    total += entry.getValue();
+                }
+            }
+            if (total == 0) {
+                return Block.PARAGRAPH;
+            }
+            int n = random.nextInt(total);
+            for (Map.Entry<Block, Integer> entry : blockWeights.entrySet()) {
+                if (containersAllowed || !entry.getKey().isContainer()) {
+                    n -= entry.getValue();
+                    if (n < 0) {
+                        return entry.getKey();
+                    }
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+
+        private void paragraph(StringBuilder sb) {
+            int lines = 1 + random.nextInt(4);
+            for (int i = 0; i < lines; i++) {
+                inlines(sb, 6 + random.nextInt(8));
+                sb.append('\n');
+            }
+        }
+
+        private void list(StringBuilder sb, int depth, boolean ordered, boolean tasks) {
+            int items = 2 + random.nextInt(4);
+            for (int i = 1; i <= items; i++) {
+                String marker = ordered ? i + ". " : "- ";
+                sb.append(marker);
+                if (tasks) {
+                    sb.append(random.nextBoolean() ? "[ ] " : "[x] ");
+                }
+                inlines(sb, 3 + random.nextInt(8));
+                sb.append('\n');
+                // Some items contain another block, which makes the list loose and allows nesting
+                if (random.nextInt(4) == 0) {
+                    StringBuilder child = new StringBuilder();
+                    block(child, depth + 1);
+                    sb.append('\n');
+                    appendIndented(sb, child, " ".repeat(marker.length()));
+                }
+            }
+        }
+
+        private void blockQuote(StringBuilder sb, int depth) {
+            int blocks = 1 + random.nextInt(2);
+            for (int i = 0; i < blocks; i++) {
+                if (i > 0) {
+                    sb.append(">\n");
+                }
+                StringBuilder child = new StringBuilder();
+                block(child, depth + 1);
+                appendIndented(sb, child, "> ");
+            }
+        }
+
+        private void appendIndented(StringBuilder sb, CharSequence lines, String indent) {
+            int start = 0;
+            for (int i = 0; i < lines.length(); i++) {
+                if (lines.charAt(i) == '\n') {
+                    if (i > start) {
+                        sb.append(indent);
+                    } else if (indent.startsWith(">")) {
+                        // Keep blank lines inside the block quote
+                        sb.append('>');
+                    }
+                    sb.append(lines, start, i + 1);
+                    start = i + 1;
+                }
+            }
+        }
+
+        private void codeLines(StringBuilder sb, String indent) {
+            int lines = 2 + random.nextInt(8);
+            for (int i = 0; i < lines; i++) {
+                sb.append(indent).append("    ".repeat(random.nextInt(3)));
+                sb.append(word()).append('.').append(word()).append('(').append(word()).append(");\n");
+            }
+        }
+
+        private void table(StringBuilder sb) {
+            tableRow(sb, 1);
+            for (int column = 0; column < tableColumns; column++) {
+                String[] delimiters = {" --- |", " :-- |", " :-: |", " --: |"};
+                sb.append(column == 0 ? "|" : "").append(delimiters[random.nextInt(delimiters.length)]);
+            }
+            sb.append('\n');
+            for (int row = 0; row < tableRows; row++) {
+                tableRow(sb, 1 + random.nextInt(3));
+            }
+        }
+
+        private void tableRow(StringBuilder sb, int words) {
+            sb.append('|');
+            for (int column = 0; column < tableColumns; column++) {
+                sb.append(' ');
+                inlines(sb, words);
+                sb.append(" |");
+            }
+            sb.append('\n');
+        }
+
+        private void inlines(StringBuilder sb, int words) {
+            for (int i = 0; i < words; i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                inline(sb);
+            }
+        }
+
+        private void inline(StringBuilder sb) {
+            double r = random.nextDouble();
+            if ((r -= emphasisDensity) < 0) {
+                String[] delimiters = {"*", "_", "**", "__"};
+                String delimiter = delimiters[random.nextInt(delimiters.length)];
+                sb.append(delimiter).append(word()).append(' ').append(word()).append(delimiter);
+            } else if ((r -= codeSpanDensity) < 0) {
+                sb.append('`').append(word()).append("()`");
+            } else if ((r -= linkDensity) < 0) {
+                link(sb);
+            } else if ((r -= extensionDensity) < 0) {
+                extension(sb);
+            } else {
+                sb.append(word());
+            }
+        }
+
+        private void link(StringBuilder sb) {
+            String text = word();
+            if (random.nextDouble() < linkReferenceDensity) {
+                String label = "ref-" + (++referenceCount);
+                sb.append('[').append(text).append("][").append(label).append(']');
+                definitions.add("[" + label + "]: https://example.org/" + text + " \"" + word() + "\"");
+            } else {
+                sb.append('[').append(text).append("](https://example.org/").append(word()).append(')');
+            }
+        }
+
+        private void extension(StringBuilder sb) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    sb.append("~~").append(word()).append("~~");
+                    break;
+                case 1:
+                    sb.append("++").append(word()).append("++");
+                    break;
+                case 2:
+                    sb.append("https://www.example.org/").append(word());
+                    break;
+                case 3:
+                    String label = "fn-" + (++footnoteCount);
+                    sb.append(word()).append("[^").append(label).append(']');
+                    definitions.add("[^" + label + "]: " + word() + " " + word());
+                    break;
+                default:
+                    sb.append("![").append(word()).append("](/").append(word()).append(".png){width=")
+                            .append(10 + random.nextInt(100)).append('}');
+                    break;
+            }
+        }
+
+        private String word() {
+            return WORDS[random.nextInt(WORDS.length)];
+        }
+    }
+
+    public static class Builder {
+
+        private long seed = 0;
+        private final Map<Block, Integer> blockWeights = new EnumMap<>(Block.class);
+        private int maxNestingDepth = 3;
+        private int tableColumns = 4;
+        private int tableRows = 10;
+        private double emphasisDensity = 0.05;
+        private double codeSpanDensity = 0.02;
+        private double linkDensity = 0.03;
+        private double linkReferenceDensity = 0.5;
+        private double extensionDensity = 0;
+
+        private Builder() {
+            // Roughly like prose documentation, without extension syntax
+            blockWeights.put(Block.PARAGRAPH, 10);
+            blockWeights.put(Block.HEADING, 2);
+            blockWeights.put(Block.BULLET_LIST, 2);
+            blockWeights.put(Block.ORDERED_LIST, 1);
+            blockWeights.put(Block.TASK_LIST, 0);
+            blockWeights.put(Block.BLOCK_QUOTE, 1);
+            blockWeights.put(Block.FENCED_CODE_BLOCK, 1);
+            blockWeights.put(Block.INDENTED_CODE_BLOCK, 1);
+            blockWeights.put(Block.TABLE, 0);
+            blockWeights.put(Block.THEMATIC_BREAK, 1);
+            blockWeights.put(Block.HTML_BLOCK, 1);
+        }
+
+        /**
+         * @param seed the seed for the random choices, defaults to 0
+         * @return {@code this}
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Set the relative weight of a type of block, 0 to not generate it at all. By default, all blocks except for
+         * {@link Block#TABLE} and {@link Block#TASK_LIST} are generated, mostly paragraphs.
+         *
+         * @param block the type of block
+         * @param weight the weight, relative to the weights of the other blocks
+         * @return {@code this}
+         */
+        public Builder blockWeight(Block block, int weight) {
+            Objects.requireNonNull(block, "block must not be null");
+            if (weight < 0) {
+                throw new IllegalArgumentException("weight must not be negative");
+            }
+            blockWeights.put(block, weight);
+            return this;
+        }
+
+        /**
+         * Set the only type of block to generate. Note that lists and block quotes still contain other blocks.
+         *
+         * @param block the type of block
+         * @return {@code this}
+         */
+        public Builder onlyBlock(Block block) {
+            Objects.requireNonNull(block, "block must not be null");
+            blockWeights.replaceAll((b, weight) -> 0);
+            blockWeights.put(block, 1);
+            return this;
+        }
+
+        /**
+         * @param maxNestingDepth how many levels of lists and block quotes can be nested in a top-level list or block
+         *                        quote, defaults to 3. With 0, they don't contain other lists or block quotes.
+         * @return {@code this}
+         */
+        public Builder maxNestingDepth(int maxNestingDepth) {
+            if (maxNestingDepth < 0) {
+                throw new IllegalArgumentException("maxNestingDepth must not be negative");
+            }
+            this.maxNestingDepth = maxNestingDepth;
+            return this;
+        }
+
+        /**
+         * @param columns the number of columns of tables, defaults to 4
+         * @param rows the number of body rows of tables, defaults to 10
+         * @return {@code this}
+         */
+        public Builder tableSize(int columns, int rows) {
+            if (columns < 1 || rows < 0) {
+                throw new IllegalArgumentException("tables need at least one column and can't have negative rows");
+            }
+            this.tableColumns = columns;
+            this.tableRows = rows;
+            return this;
+        }
+
+        /**
+         * @param emphasisDensity the probability of a word being emphasized (with {@code *}, {@code _}, {@code **} or
+         *                        {@code __}), defaults to 0.05
+         * @return {@code this}
+         */
+        public Builder emphasisDensity(double emphasisDensity) {
+            this.emphasisDensity = checkProbability(emphasisDensity, "emphasisDensity");
+            return this;
+        }
+
+        /**
+         * @param codeSpanDensity the probability of a word being a code span, defaults to 0.02
+         * @return {@code this}
+         */
+        public Builder codeSpanDensity(double codeSpanDensity) {
+            this.codeSpanDensity = checkProbability(codeSpanDensity, "codeSpanDensity");
+            return this;
+        }
+
+        /**
+         * @param linkDensity the probability of a word being a link, defaults to 0.03
+         * @return {@code this}
+         */
+        public Builder linkDensity(double linkDensity) {
+            this.linkDensity = checkProbability(linkDensity, "linkDensity");
+            return this;
+        }
+
+        /**
+         * @param linkReferenceDensity the probability of a link being a reference link instead of an inline link,
+         *                             defaults to 0.5. The definitions follow the block containing the links.
+         * @return {@code this}
+         */
+        public Builder linkReferenceDensity(double linkReferenceDensity) {
+            this.linkReferenceDensity = checkProbability(linkReferenceDensity, "linkReferenceDensity");
+            return this;
+        }
+
+        /**
+         * @param extensionDensity the probability of a word using inline extension syntax (strikethrough, ins,
+         *                         autolink, footnote reference or image with attributes), defaults to 0
+         * @return {@code this}
+         */
+        public Builder extensionDensity(double extensionDensity) {
+            this.extensionDensity = checkProbability(extensionDensity, "extensionDensity");
+            return this;
+        }
+
+        /**
+         * @return the configured generator
+         * @throws IllegalArgumentException if the sum of the inline densities is greater than 1
+         */
+        public MarkdownGenerator build() {
+            if (emphasisDensity + codeSpanDensity + linkDensity + extensionDensity > 1) {
+                throw new IllegalArgumentException("the sum of the inline densities must not be greater than 1");
+            }
+            return new MarkdownGenerator(this);
+        }
+
+        private static double checkProbability(double value, String name) {
+            if (value < 0 || value > 1) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.commonmark.internal;
+
+import org.commonmark.parser.block.BlockParserFactory;
+
+import java.util.*;
+
+/**
+ * The block parser factories to try for a line, by the next non-space character of it. Computed once per parser from
+ * {@link BlockParserFactory#getTriggerCharacters()}.
+ * <p>
+ * Factories that don't declare trigger characters are tried for every character. The order of the factories is the
+ * same as in the original list for each character.
+ */
+public class BlockParserFactories {
+
+    private static final int TABLE_SIZE = 128;
+
+    private final BlockParserFactory[][] table = new BlockParserFactory[TABLE_SIZE][];
+    private final Map<Character, BlockParserFactory[]> others = new HashMap<>();
+    private final BlockParserFactory[] fallback;
+
+    public BlockParserFactories(List<BlockParserFactory> factories) {
+        List<Set<Character>> triggerCharacters = new ArrayList<>(factories.size());
+        Set<Character> characters = new HashSet<>();
+        for (BlockParserFactory factory : factories) {
+            Set<Character> chars = factory.getTriggerCharacters();
+            triggerCharacters.add(chars);
+            if (chars != null) {
+                characters.addAll(chars);
+            }
+        }
+
+        this.fallback = select(factories, triggerCharacters, null);
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            table[c] = characters.contains((char) c) ? select(factories, triggerCharacters, (char) c) : fallback;
+        }
+        for (Character c : characters) {
+            if (c >= TABLE_SIZE) {
+                others.put(c, select(factories, triggerCharacters, c));
+            }
+        }
+    }
+
+    /**
+     * @param c the next non-space character of the line
+     * @return the factories to try for the character, in order
+     */
+    public BlockParserFactory[] get(char c) {
+        if (c < TABLE_SIZE) {
+            return table[c];
+        }
+        return others.getOrDefault(c, fallback);
+    }
+
+    private static BlockParserFactory[] select(List<BlockParserFactory> factories,
+                                               List<Set<Character>> triggerCharacters, Character c) {
+        List<BlockParserFactory> result = new ArrayList<>();
+        for (int i = 0; i < factories.size(); i++) {
+            Set<Character> chars = triggerCharacters.get(i);
+            if (chars == null || (c != null && chars.contains(c))) {
+                result.add(factories.get(i));
+            }
+        }
+        return result.toArray(new BlockParserFactory[0]);
+    }
+}
@@ -6,6 +6,8 @@ import org.commonmark.node.BlockQuote;
 import org.commonmark.parser.block.*;
 import org.commonmark.text.Characters;
 
+import java.util.Set;
+
 public class BlockQuoteParser extends AbstractBlockParser {
 
     private final BlockQuote block = new BlockQuote();
@@ -31,7 +33,7 @@ public class BlockQuoteParser extends AbstractBlockParser {
         if (isMarker(state, nextNonSpace)) {
             int newColumn = state.getColumn() + state.getIndent() + 1;
             // optional following space or tab
-            if (Characters.isSpaceOrTab(state.getLine().getContent(), nextNonSpace + 1)) {
+            if (Characters.isSpaceOrTab(state.getLine().getContentView(), nextNonSpace + 1)) {
                 newColumn++;
             }
             return BlockContinue.atColumn(newColumn);
@@ -41,18 +43,26 @@ public class BlockQuoteParser extends AbstractBlockParser {
     }
 
     private static boolean isMarker(ParserState state, int index) {
-        CharSequence line = state.getLine().getContent();
+        CharSequence line = state.getLine().getContentView();
         return state.getIndent() < Parsing.CODE_BLOCK_INDENT && index < line.length() && line.charAt(index) == '>';
     }
 
     public static class Factory extends AbstractBlockParserFactory {
+
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('>');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             int nextNonSpace = state.getNextNonSpaceIndex();
             if (isMarker(state, nextNonSpace)) {
                 int newColumn = state.getColumn() + state.getIndent() + 1;
                 // optional following space or tab
-                if (Characters.isSpaceOrTab(state.getLine().getContent(), nextNonSpace + 1)) {
+                if (Characters.isSpaceOrTab(state.getLine().getContentView(), nextNonSpace + 1)) {
                     newColumn++;
                 }
                 return BlockStart.of(new BlockQuoteParser()).atColumn(newColumn);
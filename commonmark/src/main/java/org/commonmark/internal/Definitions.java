@@ -2,8 +2,11 @@ package org.commonmark.internal;
 
 import org.commonmark.node.DefinitionMap;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class Definitions {
 
@@ -18,6 +21,23 @@ public class Definitions {
         }
     }
 
+    /**
+     * Add all definitions of another instance, keeping existing definitions for the same label.
+     */
+    public void addAll(Definitions other) {
+        for (var definitionMap : other.definitionsByType.values()) {
+            addDefinitions(definitionMap);
+        }
+    }
+
+    public Collection<DefinitionMap<?>> getDefinitionMaps() {
+        return definitionsByType.values();
+    }
+
+    public void clear() {
+        definitionsByType.clear();
+    }
+
     public <V> V getDefinition(Class<V> type, String label) {
         var definitionMap = getMap(type);
         if (definitionMap == null) {
@@ -26,6 +46,30 @@ public class Definitions {
         return definitionMap.get(label);
     }
 
+    /**
+     * @return the types that have at least one definition
+     */
+    public Set<Class<?>> getTypes() {
+        var types = new HashSet<Class<?>>();
+        for (var entry : definitionsByType.entrySet()) {
+            if (!entry.getValue().values().isEmpty()) {
+                types.add(entry.getKey());
+            }
+        }
+        return types;
+    }
+
+    /**
+     * @return the number of definitions of all types
+     */
+    public int size() {
+        int size = 0;
+        for (var definitionMap : definitionsByType.values()) {
+            size += definitionMap.values().size();
+        }
+        return size;
+    }
+
     private <V> DefinitionMap<V> getMap(Class<V> type) {
         //noinspection unchecked
         return (DefinitionMap<V>) definitionsByType.get(type);
@@ -2,20 +2,35 @@ package org.commonmark.internal;
 
 import org.commonmark.internal.util.LineReader;
 import org.commonmark.internal.util.Parsing;
+import org.commonmark.internal.util.StringSlice;
 import org.commonmark.node.*;
+import org.commonmark.parser.CancellationToken;
+import org.commonmark.parser.CancelledException;
+import org.commonmark.parser.CostReport;
 import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.InlineParser;
+import org.commonmark.parser.InlineParserContext;
 import org.commonmark.parser.InlineParserFactory;
+import org.commonmark.parser.InlineParsing;
+import org.commonmark.parser.ParseLimitExceededException;
+import org.commonmark.parser.ParseLimitPolicy;
+import org.commonmark.parser.ParseLimits;
+import org.commonmark.parser.ParseListener;
+import org.commonmark.parser.ParseStatistics;
 import org.commonmark.parser.SourceLine;
 import org.commonmark.parser.SourceLines;
-import org.commonmark.parser.beta.LinkProcessor;
-import org.commonmark.parser.beta.InlineContentParserFactory;
 import org.commonmark.parser.block.*;
-import org.commonmark.parser.delimiter.DelimiterProcessor;
 import org.commonmark.text.Characters;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public class DocumentParser implements ParserState {
 
@@ -42,6 +57,33 @@ public class DocumentParser implements ParserState {
         NODES_TO_CORE_FACTORIES = Collections.unmodifiableMap(map);
     }
 
+    /**
+     * Number of batches per thread for parallel inline parsing, more than one so that a batch with expensive blocks
+     * doesn't hold up the others.
+     */
+    private static final int BATCHES_PER_THREAD = 4;
+
+    /**
+     * Minimum number of blocks in a batch, for smaller documents the overhead of parallel parsing isn't worth it.
+     */
+    private static final int MIN_BATCH_SIZE = 64;
+
+    /**
+     * Minimum number of characters in a segment for parallel block parsing.
+     */
+    private static final int MIN_SEGMENT_LENGTH = 16 * 1024;
+
+    /**
+     * Initial size of the buffer for decoding bytes, see {@link #parse(ByteBuffer, Charset)}.
+     */
+    private static final int DECODE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Inline parser that doesn't parse anything, for {@link InlineParsing#NONE}.
+     */
+    private static final InlineParser NO_INLINE_PARSER = (lines, node) -> {
+    };
+
     private SourceLine line;
 
     /**
@@ -69,34 +111,125 @@ public class DocumentParser implements ParserState {
     private int indent = 0;
     private boolean blank;
 
-    private final List<BlockParserFactory> blockParserFactories;
+    private final BlockParserFactories blockParserFactories;
     private final InlineParserFactory inlineParserFactory;
-    private final List<InlineContentParserFactory> inlineContentParserFactories;
-    private final List<DelimiterProcessor> delimiterProcessors;
-    private final List<LinkProcessor> linkProcessors;
-    private final Set<Character> linkMarkers;
+    private final InlineParserConfig inlineParserConfig;
     private final IncludeSourceSpans includeSourceSpans;
-    private final DocumentBlockParser documentBlockParser;
+    private final InlineParsing inlineParsing;
+    private final int inlineParallelism;
+    private final Executor inlineParsingExecutor;
+    private final int blockParallelism;
+    private final Executor blockParsingExecutor;
+    private final ParseLimits limits;
+    private final NodeBudget nodeBudget;
+    private final CostReport costReport;
     private final Definitions definitions = new Definitions();
+    private final InlineParserContext inlineParserContext;
+    private DocumentBlockParser documentBlockParser;
+    /**
+     * Inline parser for sequential inline parsing, created on first use and kept when the parser is reset
+     */
+    private InlineParser inlineParser;
 
     private final List<OpenBlockParser> openBlockParsers = new ArrayList<>();
     private final List<BlockParser> allBlockParsers = new ArrayList<>();
+    /**
+     * The number of {@link #allBlockParsers} up to the last closed top-level block. Block parsers are added when they
+     * are closed, and a block is closed after its children, so these are exactly the block parsers of closed
+     * top-level blocks.
+     */
+    private int closedTopLevelEnd = 0;
+
+    /**
+     * Set when the input exceeded the maximum length, all further lines are ignored.
+     */
+    private boolean inputLimitReached;
 
-    public DocumentParser(List<BlockParserFactory> blockParserFactories, InlineParserFactory inlineParserFactory,
-                          List<InlineContentParserFactory> inlineContentParserFactories, List<DelimiterProcessor> delimiterProcessors,
-                          List<LinkProcessor> linkProcessors, Set<Character> linkMarkers, IncludeSourceSpans includeSourceSpans) {
+    /**
+     * Checked for each line and for the inline content of each block, null when parsing can't be cancelled.
+     */
+    private CancellationToken cancellation;
+    /**
+     * The thread that called {@link #setCancellation}. With parallel parsing, lines and blocks are parsed on other
+     * threads, so interrupting this thread needs to be checked in addition to the token.
+     */
+    private Thread cancellationThread;
+
+    /**
+     * Notified about the parsing phases of the next document, null when there's no listener.
+     */
+    private ParseListener listener;
+    private int inputLength = -1;
+    private int lineCount = 0;
+    private long phaseStart;
+    private long blockParsingNanos;
+    private long inlineParsingNanos;
+
+    public DocumentParser(BlockParserFactories blockParserFactories, InlineParserFactory inlineParserFactory,
+                          InlineParserConfig inlineParserConfig, IncludeSourceSpans includeSourceSpans,
+                          InlineParsing inlineParsing, int inlineParallelism, Executor inlineParsingExecutor, int blockParallelism,
+                          Executor blockParsingExecutor) {
+        this(blockParserFactories, inlineParserFactory, inlineParserConfig, includeSourceSpans, inlineParsing,
+                inlineParallelism, inlineParsingExecutor, blockParallelism, blockParsingExecutor,
+                NodeBudget.of(inlineParserConfig.getLimits()));
+    }
+
+    private DocumentParser(BlockParserFactories blockParserFactories, InlineParserFactory inlineParserFactory,
+                           InlineParserConfig inlineParserConfig, IncludeSourceSpans includeSourceSpans,
+                           InlineParsing inlineParsing, int inlineParallelism, Executor inlineParsingExecutor, int blockParallelism,
+                           Executor blockParsingExecutor, NodeBudget nodeBudget) {
         this.blockParserFactories = blockParserFactories;
         this.inlineParserFactory = inlineParserFactory;
-        this.inlineContentParserFactories = inlineContentParserFactories;
-        this.delimiterProcessors = delimiterProcessors;
-        this.linkProcessors = linkProcessors;
-        this.linkMarkers = linkMarkers;
+        this.inlineParserConfig = inlineParserConfig;
         this.includeSourceSpans = includeSourceSpans;
+        this.inlineParsing = inlineParsing;
+        this.inlineParallelism = inlineParallelism;
+        this.inlineParsingExecutor = inlineParsingExecutor;
+        this.blockParallelism = blockParallelism;
+        this.blockParsingExecutor = blockParsingExecutor;
+        this.limits = inlineParserConfig.getLimits();
+        this.nodeBudget = nodeBudget;
+        this.costReport = inlineParserConfig.getCostReport();
+        this.inlineParserContext = new InlineParserContextImpl(inlineParserConfig, definitions, nodeBudget);
 
         this.documentBlockParser = new DocumentBlockParser();
         activateBlockParser(new OpenBlockParser(documentBlockParser, 0));
     }
 
+    /**
+     * Reset the state so that a new document can be parsed. The lists of block parsers and the inline parser are
+     * kept, so parsing many small documents with the same parser allocates less.
+     */
+    public void reset() {
+        line = null;
+        lineIndex = -1;
+        index = 0;
+        column = 0;
+        columnIsInTab = false;
+        nextNonSpace = 0;
+        nextNonSpaceColumn = 0;
+        indent = 0;
+        blank = false;
+
+        openBlockParsers.clear();
+        allBlockParsers.clear();
+        closedTopLevelEnd = 0;
+        definitions.clear();
+        inputLimitReached = false;
+        cancellation = null;
+        cancellationThread = null;
+        inputLength = -1;
+        lineCount = 0;
+        blockParsingNanos = 0;
+        inlineParsingNanos = 0;
+        if (nodeBudget != null) {
+            nodeBudget.reset();
+        }
+
+        documentBlockParser = new DocumentBlockParser();
+        activateBlockParser(new OpenBlockParser(documentBlockParser, 0));
+    }
+
     public static Set<Class<? extends Block>> getDefaultBlockParserTypes() {
         return CORE_FACTORY_TYPES;
     }
@@ -119,34 +252,236 @@ public class DocumentParser implements ParserState {
         }
     }
 
+    /**
+     * Set the token for cancelling the parsing of the next document, or null. It's cleared by {@link #reset()}. Must be
+     * called on the thread that parses, so that interrupting it also cancels work that runs on other threads.
+     */
+    public void setCancellation(CancellationToken cancellation) {
+        this.cancellation = cancellation;
+        this.cancellationThread = cancellation != null ? Thread.currentThread() : null;
+    }
+
+    /**
+     * Set the listener for the parsing phases, or null. Unlike the cancellation token, it's kept on {@link #reset()}.
+     */
+    public void setParseListener(ParseListener listener) {
+        this.listener = listener;
+    }
+
     /**
      * The main parsing function. Returns a parsed document AST.
      */
     public Document parse(String input) {
-        int lineStart = 0;
+        inputLength = input.length();
+        if (listener != null) {
+            startBlockParsing();
+        }
+        if (input.length() > limits.getMaxInputLength()) {
+            limitExceeded(ParseLimits.Limit.INPUT_LENGTH, limits.getMaxInputLength());
+            // Don't even look at the input after the limit, see parseLine for the line that exceeds it
+            return parse(input, 0, limits.getMaxInputLength() + 1, 0);
+        }
+        int segments = Math.min(blockParallelism, input.length() / MIN_SEGMENT_LENGTH);
+        if (segments > 1) {
+            var parallelDocumentParser = new ParallelDocumentParser(input, includeSourceSpans != IncludeSourceSpans.NONE,
+                    this::createSegmentParser, blockParsingExecutor);
+            parallelDocumentParser.parseBlocks(this, segments);
+            processInlines();
+            return documentBlockParser.getBlock();
+        }
+        return parse(input, 0, input.length(), 0);
+    }
+
+    /**
+     * Parse only the lines of the input from {@code start} (which must be the start of a line) to {@code end}, as if
+     * they were a document on their own. Source spans are relative to the whole input, with the first line having
+     * index {@code startLineIndex}.
+     */
+    public Document parse(String input, int start, int end, int startLineIndex) {
+        setLineIndex(startLineIndex);
+        parseBlocks(input, start, end);
+        return finalizeAndProcess();
+    }
+
+    /**
+     * Set the index of the next line that is parsed, for source spans.
+     */
+    public void setLineIndex(int lineIndex) {
+        this.lineIndex = lineIndex - 1;
+    }
+
+    /**
+     * Parse the lines of the input from {@code start} (which must be the start of a line) to {@code end} into blocks,
+     * continuing from the previously parsed lines. Blocks are not finalized, see {@link #finalizeBlocks()}.
+     */
+    public void parseBlocks(String input, int start, int end) {
+        int lineStart = start;
         int lineBreak;
-        while ((lineBreak = Characters.findLineBreak(input, lineStart)) != -1) {
-            String line = input.substring(lineStart, lineBreak);
+        while ((lineBreak = Characters.findLineBreak(input, lineStart)) != -1 && lineBreak < end) {
+            CharSequence line = StringSlice.of(input, lineStart, lineBreak);
             parseLine(line, lineStart);
-            if (lineBreak + 1 < input.length() && input.charAt(lineBreak) == '\r' && input.charAt(lineBreak + 1) == '\n') {
+            if (lineBreak + 1 < end && input.charAt(lineBreak) == '\r' && input.charAt(lineBreak + 1) == '\n') {
                 lineStart = lineBreak + 2;
             } else {
                 lineStart = lineBreak + 1;
             }
         }
-        if (!input.isEmpty() && (lineStart == 0 || lineStart < input.length())) {
-            String line = input.substring(lineStart);
+        if (lineStart < end) {
+            CharSequence line = StringSlice.of(input, lineStart, end);
             parseLine(line, lineStart);
         }
+    }
 
-        return finalizeAndProcess();
+    /**
+     * Parse a single line and check whether it only started new top-level blocks, with all previous blocks closed. In
+     * that case, the state of this parser is the same as that of a new parser after parsing the line, which means
+     * parsing could also have been started at the line instead.
+     *
+     * @return the types of the block parsers that are open after the line (to compare with the result of another
+     * parser), or {@code null} if the line didn't start at document level
+     */
+    public List<Class<?>> parseLineAtDocumentLevel(String input, int start, int end) {
+        Document document = documentBlockParser.getBlock();
+        Node previousLastChild = document.getLastChild();
+        parseBlocks(input, start, end);
+        Node started = previousLastChild != null ? previousLastChild.getNext() : document.getFirstChild();
+        if (started == null || started.getNext() != null || openBlockParsers.size() < 2 ||
+                openBlockParsers.get(1).blockParser.getBlock() != started ||
+                countBlocks(started) != openBlockParsers.size() - 1) {
+            // Continued an existing block, or blocks were already closed again
+            return null;
+        }
+        List<Class<?>> types = new ArrayList<>(openBlockParsers.size() - 1);
+        for (int i = 1; i < openBlockParsers.size(); i++) {
+            types.add(openBlockParsers.get(i).blockParser.getClass());
+        }
+        return types;
+    }
+
+    /**
+     * Remove the blocks that were started by the last line again, after {@link #parseLineAtDocumentLevel} returned
+     * successfully.
+     */
+    public void removeLastLineBlocks() {
+        openBlockParsers.get(1).blockParser.getBlock().unlink();
+        openBlockParsers.subList(1, openBlockParsers.size()).clear();
+        // The line is parsed again by the parser of the next segment
+        lineCount--;
+    }
+
+    /**
+     * Close all blocks, without parsing inlines yet.
+     */
+    public void finalizeBlocks() {
+        closeBlockParsers(openBlockParsers.size());
+    }
+
+    /**
+     * Move the blocks and definitions of another parser (for the input following that of this parser) to this one,
+     * after blocks of both parsers were finalized.
+     */
+    public void appendBlocks(DocumentParser other) {
+        Document document = documentBlockParser.getBlock();
+        Node child = other.documentBlockParser.getBlock().getFirstChild();
+        while (child != null) {
+            Node next = child.getNext();
+            document.appendChild(child);
+            child = next;
+        }
+        allBlockParsers.addAll(other.allBlockParsers);
+        lineCount += other.lineCount;
+        if (limits.getMaxDefinitions() == Integer.MAX_VALUE) {
+            definitions.addAll(other.definitions);
+        } else {
+            for (var definitionMap : other.definitions.getDefinitionMaps()) {
+                addDefinitionsWithinLimit(definitionMap);
+            }
+        }
+    }
+
+    /**
+     * @return the top-level block that is still open (i.e. can still change when more lines are parsed), or
+     * {@code null} if all top-level blocks are closed
+     */
+    public Block getOpenTopLevelBlock() {
+        return openBlockParsers.size() > 1 ? openBlockParsers.get(1).blockParser.getBlock() : null;
+    }
+
+    /**
+     * Remove the block parsers of closed blocks that are not part of {@code openBlock} (see
+     * {@link #getOpenTopLevelBlock()}) and return them, so that their inlines can be parsed separately.
+     */
+    public List<BlockParser> takeClosedBlockParsers(Block openBlock) {
+        // Only look at the closed top-level blocks, not at the (possibly many) closed children of the open block
+        var closed = allBlockParsers.subList(0, openBlock != null ? closedTopLevelEnd : allBlockParsers.size());
+        List<BlockParser> taken = new ArrayList<>(closed);
+        closed.clear();
+        closedTopLevelEnd = 0;
+        return taken;
+    }
+
+    /**
+     * @return a new inline parser that uses the definitions collected so far (including ones that are added later)
+     */
+    public InlineParser createInlineParser() {
+        if (inlineParsing == InlineParsing.NONE) {
+            return NO_INLINE_PARSER;
+        }
+        return inlineParserFactory.create(inlineParserContext);
+    }
+
+    public int getMaxInputLength() {
+        return limits.getMaxInputLength();
+    }
+
+    /**
+     * @return whether the input exceeded {@link #getMaxInputLength()}, in which case further lines are ignored
+     */
+    public boolean isInputLimitReached() {
+        return inputLimitReached;
+    }
+
+    /**
+     * @return the statistics of the current document (which might have been replaced by a post processor), with the
+     * specified post-processing time
+     */
+    public ParseStatistics getStatistics(Node document, long postProcessingNanos) {
+        return new ParseStatisticsImpl(inputLength, lineCount, () -> countNodes(document), blockParsingNanos,
+                inlineParsingNanos, postProcessingNanos);
+    }
+
+    /**
+     * Count the nodes of a document parsed by this parser. With lazy inline parsing, only the blocks are counted, as
+     * accessing the children of a block would parse its inline content.
+     */
+    public int countNodes(Node document) {
+        if (inlineParsing == InlineParsing.LAZY) {
+            return allBlockParsers.size();
+        }
+        return Nodes.count(document);
+    }
+
+    /**
+     * @return the number of definitions collected so far
+     */
+    public int getDefinitionCount() {
+        return definitions.size();
+    }
+
+    public Document getDocument() {
+        return documentBlockParser.getBlock();
     }
 
     public Document parse(Reader input) throws IOException {
-        var lineReader = new LineReader(input);
+        if (listener != null) {
+            startBlockParsing();
+        }
+        // Read at most one character more than the limit, so that a long line can't be read into memory completely
+        var lineReader = new LineReader(input, limits.getMaxInputLength() == Integer.MAX_VALUE ?
+                Integer.MAX_VALUE : limits.getMaxInputLength() + 1);
         int inputIndex = 0;
         String line;
-        while ((line = lineReader.readLine()) != null) {
+        while (!inputLimitReached && (line = lineReader.readLine()) != null) {
             parseLine(line, inputIndex);
             inputIndex += line.length();
             var eol = lineReader.getLineTerminator();
@@ -154,7 +489,82 @@ public class DocumentParser implements ParserState {
                 inputIndex += eol.length();
             }
         }
+        if (!inputLimitReached && inputIndex > limits.getMaxInputLength()) {
+            // Only a line terminator was after the limit
+            limitExceeded(ParseLimits.Limit.INPUT_LENGTH, limits.getMaxInputLength());
+        }
 
+        inputLength = inputIndex;
+        return finalizeAndProcess();
+    }
+
+    /**
+     * Parse bytes, decoding them in chunks. Lines are only copied out of the decode buffer once, instead of decoding
+     * the whole input to a string first. Malformed input is replaced, same as {@link String#String(byte[], Charset)}.
+     */
+    public Document parse(ByteBuffer input, Charset charset) {
+        if (listener != null) {
+            startBlockParsing();
+        }
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer buffer = CharBuffer.allocate(DECODE_BUFFER_SIZE);
+        int inputIndex = 0;
+        boolean flushing = false;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            CoderResult result = flushing ? decoder.flush(buffer) : decoder.decode(input, buffer, true);
+            if (!flushing && result.isUnderflow()) {
+                flushing = true;
+                result = decoder.flush(buffer);
+            }
+            endOfInput = flushing && result.isUnderflow();
+            buffer.flip();
+
+            char[] chars = buffer.array();
+            int length = buffer.limit();
+            int lineStart = 0;
+            int lineBreak;
+            while (!inputLimitReached && (lineBreak = Characters.findLineBreak(buffer, lineStart)) != -1) {
+                int nextLineStart = lineBreak + 1;
+                if (chars[lineBreak] == '\r') {
+                    if (nextLineStart == length && !endOfInput) {
+                        // Might be followed by \n, look at the line again after decoding more
+                        break;
+                    } else if (nextLineStart < length && chars[nextLineStart] == '\n') {
+                        nextLineStart++;
+                    }
+                }
+                parseLine(new String(chars, lineStart, lineBreak - lineStart), inputIndex);
+                inputIndex += nextLineStart - lineStart;
+                lineStart = nextLineStart;
+            }
+            if (!inputLimitReached && inputIndex + (length - lineStart) > limits.getMaxInputLength()) {
+                // The incomplete line already exceeds the limit, don't decode any more of it
+                parseLine(new String(chars, lineStart, length - lineStart), inputIndex);
+            }
+            if (inputLimitReached) {
+                break;
+            }
+            if (endOfInput) {
+                if (lineStart < length) {
+                    parseLine(new String(chars, lineStart, length - lineStart), inputIndex);
+                }
+            } else {
+                // Keep the incomplete line at the start of the buffer, and make sure there's room for decoding more
+                buffer.position(lineStart);
+                buffer.compact();
+                if (buffer.position() > buffer.capacity() / 2) {
+                    CharBuffer larger = CharBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                }
+            }
+        }
+
+        inputLength = inputIndex;
         return finalizeAndProcess();
     }
 
@@ -197,7 +607,28 @@ public class DocumentParser implements ParserState {
      * Analyze a line of text and update the document appropriately. We parse markdown text by calling this on each
      * line of input, then finalizing the document.
      */
-    private void parseLine(String ln, int inputIndex) {
+    public void parseLine(CharSequence ln, int inputIndex) {
+        if (inputLimitReached) {
+            return;
+        }
+        if (cancellation != null) {
+            throwIfCancelled();
+        }
+        lineCount++;
+        int maxInputLength = limits.getMaxInputLength();
+        if (inputIndex + ln.length() > maxInputLength) {
+            limitExceeded(ParseLimits.Limit.INPUT_LENGTH, maxInputLength);
+            inputLimitReached = true;
+            // Close all blocks, the part of the line up to the limit goes into a paragraph as literal text and the
+            // rest of the input is ignored
+            closeBlockParsers(openBlockParsers.size() - 1);
+            if (inputIndex < maxInputLength) {
+                addChild(new OpenBlockParser(new LiteralParagraphParser(), 0));
+                setLine(ln.subSequence(0, maxInputLength - inputIndex), inputIndex);
+                addLine();
+            }
+            return;
+        }
         setLine(ln, inputIndex);
 
         // For each containing block, try to parse the associated line start.
@@ -208,7 +639,8 @@ public class DocumentParser implements ParserState {
             BlockParser blockParser = openBlockParser.blockParser;
             findNextNonSpace();
 
-            BlockContinue result = blockParser.tryContinue(this);
+            BlockContinue result = costReport != null ? tryContinueMeasured(blockParser) :
+                    blockParser.tryContinue(this);
             if (result instanceof BlockContinueImpl) {
                 BlockContinueImpl blockContinue = (BlockContinueImpl) result;
                 openBlockParser.sourceIndex = getIndex();
@@ -243,13 +675,13 @@ public class DocumentParser implements ParserState {
             findNextNonSpace();
 
             // this is a little performance optimization:
-            if (isBlank() || (indent < Parsing.CODE_BLOCK_INDENT && Characters.isLetter(this.line.getContent(), nextNonSpace))) {
+            if (isBlank() || (indent < Parsing.CODE_BLOCK_INDENT && Characters.isLetter(this.line.getContentView(), nextNonSpace))) {
                 setNewIndex(nextNonSpace);
                 break;
             }
 
             BlockStartImpl blockStart = findBlockStart(blockParser);
-            if (blockStart == null) {
+            if (blockStart == null || !canStartBlock(unmatchedBlocks)) {
                 setNewIndex(nextNonSpace);
                 break;
             }
@@ -322,13 +754,13 @@ public class DocumentParser implements ParserState {
         }
     }
 
-    private void setLine(String ln, int inputIndex) {
+    private void setLine(CharSequence ln, int inputIndex) {
         lineIndex++;
         index = 0;
         column = 0;
         columnIsInTab = false;
 
-        String lineContent = prepareLine(ln);
+        CharSequence lineContent = prepareLine(ln);
         SourceSpan sourceSpan = null;
         if (includeSourceSpans != IncludeSourceSpans.NONE) {
             sourceSpan = SourceSpan.of(lineIndex, 0, inputIndex, lineContent.length());
@@ -341,9 +773,9 @@ public class DocumentParser implements ParserState {
         int cols = column;
 
         blank = true;
-        int length = line.getContent().length();
+        int length = line.getContentView().length();
         while (i < length) {
-            char c = line.getContent().charAt(i);
+            char c = line.getContentView().charAt(i);
             switch (c) {
                 case ' ':
                     i++;
@@ -369,7 +801,7 @@ public class DocumentParser implements ParserState {
             index = nextNonSpace;
             column = nextNonSpaceColumn;
         }
-        int length = line.getContent().length();
+        int length = line.getContentView().length();
         while (index < newIndex && index != length) {
             advance();
         }
@@ -383,7 +815,7 @@ public class DocumentParser implements ParserState {
             index = nextNonSpace;
             column = nextNonSpaceColumn;
         }
-        int length = line.getContent().length();
+        int length = line.getContentView().length();
         while (column < newColumn && index != length) {
             advance();
         }
@@ -398,7 +830,7 @@ public class DocumentParser implements ParserState {
     }
 
     private void advance() {
-        char c = line.getContent().charAt(index);
+        char c = line.getContentView().charAt(index);
         index++;
         if (c == '\t') {
             column += Parsing.columnsToNextTabStop(column);
@@ -416,7 +848,7 @@ public class DocumentParser implements ParserState {
         if (columnIsInTab) {
             // Our column is in a partially consumed tab. Expand the remaining columns (to the next tab stop) to spaces.
             int afterTab = index + 1;
-            CharSequence rest = line.getContent().subSequence(afterTab, line.getContent().length());
+            CharSequence rest = line.getContentView().subSequence(afterTab, line.getContentView().length());
             int spaces = Parsing.columnsToNextTabStop(column);
             StringBuilder sb = new StringBuilder(spaces + rest.length());
             for (int i = 0; i < spaces; i++) {
@@ -425,9 +857,9 @@ public class DocumentParser implements ParserState {
             sb.append(rest);
             content = sb.toString();
         } else if (index == 0) {
-            content = line.getContent();
+            content = line.getContentView();
         } else {
-            content = line.getContent().subSequence(index, line.getContent().length());
+            content = line.getContentView().subSequence(index, line.getContentView().length());
         }
         SourceSpan sourceSpan = null;
         if (includeSourceSpans == IncludeSourceSpans.BLOCKS_AND_INLINES && index < line.getSourceSpan().getLength()) {
@@ -446,7 +878,7 @@ public class DocumentParser implements ParserState {
                 // In case of a lazy continuation line, the index is less than where the block parser would expect the
                 // contents to start, so let's use whichever is smaller.
                 int blockIndex = Math.min(openBlockParser.sourceIndex, index);
-                int length = line.getContent().length() - blockIndex;
+                int length = line.getContentView().length() - blockIndex;
                 if (length != 0) {
                     openBlockParser.blockParser.addSourceSpan(line.getSourceSpan().subSpan(blockIndex));
                 }
@@ -454,10 +886,37 @@ public class DocumentParser implements ParserState {
         }
     }
 
+    /**
+     * Check the limits before starting a new block.
+     *
+     * @return whether the block can be started, or {@code false} if it should be parsed as text instead
+     */
+    private boolean canStartBlock(int unmatchedBlocks) {
+        // The depth of the new block, as the unmatched blocks are closed before it's added (document not included)
+        int depth = openBlockParsers.size() - unmatchedBlocks;
+        if (depth > limits.getMaxBlockNestingDepth()) {
+            limitExceeded(ParseLimits.Limit.BLOCK_NESTING_DEPTH, limits.getMaxBlockNestingDepth());
+            return false;
+        }
+        // With the FAIL policy, the budget throws when adding the node instead
+        return nodeBudget == null || !nodeBudget.isExhausted();
+    }
+
+    /**
+     * Throws for {@link ParseLimitPolicy#FAIL}, otherwise returns so that the caller can add the content as text.
+     */
+    private void limitExceeded(ParseLimits.Limit limit, int maximum) {
+        if (limits.getPolicy() == ParseLimitPolicy.FAIL) {
+            throw new ParseLimitExceededException(limit, maximum);
+        }
+    }
+
     private BlockStartImpl findBlockStart(BlockParser blockParser) {
         MatchedBlockParser matchedBlockParser = new MatchedBlockParserImpl(blockParser);
-        for (BlockParserFactory blockParserFactory : blockParserFactories) {
-            BlockStart result = blockParserFactory.tryStart(this, matchedBlockParser);
+        char c = line.getContentView().charAt(nextNonSpace);
+        for (BlockParserFactory blockParserFactory : blockParserFactories.get(c)) {
+            BlockStart result = costReport != null ? tryStartMeasured(blockParserFactory, matchedBlockParser) :
+                    blockParserFactory.tryStart(this, matchedBlockParser);
             if (result instanceof BlockStartImpl) {
                 return (BlockStartImpl) result;
             }
@@ -465,14 +924,114 @@ public class DocumentParser implements ParserState {
         return null;
     }
 
+    private BlockContinue tryContinueMeasured(BlockParser blockParser) {
+        long start = System.nanoTime();
+        BlockContinue result = blockParser.tryContinue(this);
+        costReport.record(CostReport.Kind.BLOCK_CONTINUE, blockParser.getClass(), System.nanoTime() - start);
+        return result;
+    }
+
+    private BlockStart tryStartMeasured(BlockParserFactory blockParserFactory, MatchedBlockParser matchedBlockParser) {
+        long start = System.nanoTime();
+        BlockStart result = blockParserFactory.tryStart(this, matchedBlockParser);
+        costReport.record(CostReport.Kind.BLOCK_START, blockParserFactory.getClass(), System.nanoTime() - start);
+        return result;
+    }
+
     /**
      * Walk through a block & children recursively, parsing string content into inline content where appropriate.
      */
     private void processInlines() {
-        var context = new InlineParserContextImpl(inlineContentParserFactories, delimiterProcessors, linkProcessors, linkMarkers, definitions);
-        var inlineParser = inlineParserFactory.create(context);
+        if (listener == null) {
+            parseOrDeferInlines();
+            return;
+        }
+
+        blockParsingNanos = System.nanoTime() - phaseStart;
+        var statistics = getStatistics(getDocument(), 0);
+        listener.blockParsingFinished(statistics);
+        listener.inlineParsingStarted(statistics);
+        long start = System.nanoTime();
+        parseOrDeferInlines();
+        inlineParsingNanos = System.nanoTime() - start;
+        listener.inlineParsingFinished(getStatistics(getDocument(), 0));
+    }
+
+    private void parseOrDeferInlines() {
+        if (inlineParsing == InlineParsing.NONE) {
+            parseInlines(NO_INLINE_PARSER, allBlockParsers);
+            return;
+        } else if (inlineParsing == InlineParsing.LAZY) {
+            deferInlines();
+            return;
+        }
+
+        int batches = Math.min(inlineParallelism * BATCHES_PER_THREAD, allBlockParsers.size() / MIN_BATCH_SIZE);
+        if (inlineParallelism > 1 && batches > 1) {
+            processInlinesInParallel(batches);
+        } else {
+            if (inlineParser == null) {
+                inlineParser = createInlineParser();
+            }
+            parseInlines(inlineParser, allBlockParsers);
+        }
+    }
+
+    /**
+     * All definitions are known at this point, and the blocks are independent of each other, so they can be parsed
+     * concurrently. Each batch of blocks gets its own inline parser, as they are not thread-safe.
+     */
+    private void processInlinesInParallel(int batches) {
+        var futures = new ArrayList<CompletableFuture<Void>>(batches);
+        int size = allBlockParsers.size();
+        for (int i = 0; i < batches; i++) {
+            var batch = allBlockParsers.subList(i * size / batches, (i + 1) * size / batches);
+            futures.add(CompletableFuture.runAsync(() -> parseInlines(createInlineParser(), batch), inlineParsingExecutor));
+        }
+        for (var future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                // Rethrow the original exception, same as in sequential parsing
+                var cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
 
+    /**
+     * Set up the blocks to parse their inlines when their children are first accessed. The definitions are copied, as
+     * this parser might be reset and used for another document before that.
+     */
+    private void deferInlines() {
+        var documentDefinitions = new Definitions();
+        documentDefinitions.addAll(definitions);
+        var inlineParser = new LazyInlineParser(inlineParserFactory, new InlineParserContextImpl(inlineParserConfig,
+                documentDefinitions, nodeBudget != null ? nodeBudget.copy() : null));
         for (var blockParser : allBlockParsers) {
+            if (blockParser != documentBlockParser) {
+                blockParser.getBlock().setChildrenLoader(() -> blockParser.parseInlines(inlineParser));
+            }
+        }
+    }
+
+    private void throwIfCancelled() {
+        cancellation.throwIfCancelled();
+        if (cancellationThread != Thread.currentThread() && cancellationThread.isInterrupted()) {
+            throw new CancelledException(CancelledException.Reason.INTERRUPTED);
+        }
+    }
+
+    private void parseInlines(InlineParser inlineParser, List<BlockParser> blockParsers) {
+        for (var blockParser : blockParsers) {
+            if (cancellation != null) {
+                throwIfCancelled();
+            }
             blockParser.parseInlines(inlineParser);
         }
     }
@@ -488,6 +1047,9 @@ public class DocumentParser implements ParserState {
 
         getActiveBlockParser().getBlock().appendChild(openBlockParser.blockParser.getBlock());
         activateBlockParser(openBlockParser);
+        if (nodeBudget != null) {
+            nodeBudget.use(1);
+        }
     }
 
     private void activateBlockParser(OpenBlockParser openBlockParser) {
@@ -518,8 +1080,13 @@ public class DocumentParser implements ParserState {
         return old.getBlock();
     }
 
+    private void startBlockParsing() {
+        listener.blockParsingStarted(getStatistics(getDocument(), 0));
+        phaseStart = System.nanoTime();
+    }
+
     private Document finalizeAndProcess() {
-        closeBlockParsers(openBlockParsers.size());
+        finalizeBlocks();
         processInlines();
         return documentBlockParser.getBlock();
     }
@@ -532,6 +1099,10 @@ public class DocumentParser implements ParserState {
             // separate interface (e.g. BlockParserWithInlines) so that we only have to remember those that actually
             // have inlines to parse.
             allBlockParsers.add(blockParser);
+            if (openBlockParsers.size() == 1) {
+                // Only the document is left, so this was a top-level block
+                closedTopLevelEnd = allBlockParsers.size();
+            }
         }
     }
 
@@ -544,20 +1115,80 @@ public class DocumentParser implements ParserState {
         blockParser.closeBlock();
     }
 
+    /**
+     * Add definitions that are not part of the parsed input, e.g. when only parsing a part of a document.
+     */
+    public void addDefinitions(DefinitionMap<?> definitionMap) {
+        definitions.addDefinitions(definitionMap);
+    }
+
+    /**
+     * @return the types of definitions (e.g. {@link LinkReferenceDefinition}) that were collected while parsing
+     */
+    public Set<Class<?>> getDefinitionTypes() {
+        return definitions.getTypes();
+    }
+
     private void addDefinitionsFrom(BlockParser blockParser) {
-        for (var definitionMap : blockParser.getDefinitions()) {
+        // Called for every block and most have no definitions, so don't create an iterator for those
+        var definitionMaps = blockParser.getDefinitions();
+        for (int i = 0; i < definitionMaps.size(); i++) {
+            var definitionMap = definitionMaps.get(i);
+            if (limits.getMaxDefinitions() == Integer.MAX_VALUE) {
+                definitions.addDefinitions(definitionMap);
+            } else {
+                addDefinitionsWithinLimit(definitionMap);
+            }
+        }
+    }
+
+    private <D> void addDefinitionsWithinLimit(DefinitionMap<D> definitionMap) {
+        int available = limits.getMaxDefinitions() - definitions.size();
+        if (definitionMap.values().size() <= available) {
             definitions.addDefinitions(definitionMap);
+            return;
+        }
+        limitExceeded(ParseLimits.Limit.DEFINITIONS, limits.getMaxDefinitions());
+        // Only add the first ones, the others are ignored (references to them are parsed as text)
+        var limited = new DefinitionMap<>(definitionMap.getType());
+        for (String label : definitionMap.keySet()) {
+            if (available <= 0) {
+                break;
+            }
+            if (definitions.getDefinition(definitionMap.getType(), label) == null) {
+                limited.putIfAbsent(label, definitionMap.get(label));
+                available--;
+            }
+        }
+        definitions.addDefinitions(limited);
+    }
+
+    private DocumentParser createSegmentParser() {
+        var segmentParser = new DocumentParser(blockParserFactories, inlineParserFactory, inlineParserConfig,
+                includeSourceSpans, inlineParsing, inlineParallelism, inlineParsingExecutor, 1, blockParsingExecutor,
+                nodeBudget);
+        // Created on a pool thread, so don't use setCancellation
+        segmentParser.cancellation = cancellation;
+        segmentParser.cancellationThread = cancellationThread;
+        return segmentParser;
+    }
+
+    private static int countBlocks(Node node) {
+        int count = 1;
+        for (Node child = node.getFirstChild(); child instanceof Block; child = child.getNext()) {
+            count += countBlocks(child);
         }
+        return count;
     }
 
     /**
      * Prepares the input line replacing {@code \0}
      */
-    private static String prepareLine(String line) {
-        if (line.indexOf('\0') == -1) {
+    private static CharSequence prepareLine(CharSequence line) {
+        if (Characters.find('\0', line, 0) == -1) {
             return line;
         } else {
-            return line.replace('\0', '\uFFFD');
+            return line.toString().replace('\0', '\uFFFD');
         }
     }
 
@@ -0,0 +1,232 @@
+package org.commonmark.internal;
+
+import org.commonmark.node.*;
+import org.commonmark.parser.TextEdit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Re-parses only the part of a previously parsed document that is affected by edits, see
+ * {@link org.commonmark.parser.Parser#reparse}.
+ * <p>
+ * This relies on block source spans to map top-level blocks to the input. The re-parsed window starts at a top-level
+ * block that follows a blank line (or at the start of the document), where the parser is known to only have the
+ * document open. It ends at the first line of the next unaffected top-level block that follows a blank line (the
+ * "sentinel"). If the new parse starts a top-level block at exactly that line too, the parser state after that line is
+ * the same as in the previous parse, so the rest of the previous document can be kept as is (with shifted source
+ * spans).
+ */
+public class DocumentReparser {
+
+    private final Document document;
+    private final String input;
+    private final Set<Class<?>> definitionTypes;
+
+    private final int editStart;
+    private final int editEnd;
+    private final int delta;
+
+    public DocumentReparser(Document document, String input, TextEdit[] edits, Set<Class<?>> definitionTypes) {
+        this.document = document;
+        this.input = input;
+        this.definitionTypes = definitionTypes;
+
+        int start = Integer.MAX_VALUE;
+        int end = 0;
+        int delta = 0;
+        for (TextEdit edit : edits) {
+            start = Math.min(start, edit.getOffset());
+            end = Math.max(end, edit.getOffset() + edit.getRemovedLength());
+            delta += edit.getInsertedLength() - edit.getRemovedLength();
+        }
+        this.editStart = start;
+        this.editEnd = end;
+        this.delta = delta;
+    }
+
+    /**
+     * @return the updated document, or {@code null} if the edits can not be applied incrementally and the input needs
+     * to be parsed from scratch
+     */
+    public Document reparse(Supplier<DocumentParser> documentParserSupplier) {
+        List<Block> blocks = new ArrayList<>();
+        for (Node node = document.getFirstChild(); node != null; node = node.getNext()) {
+            if (node.getSourceSpans().isEmpty()) {
+                return null;
+            }
+            blocks.add((Block) node);
+        }
+        if (blocks.isEmpty() || editEnd + delta > input.length()) {
+            return null;
+        }
+
+        // The first block that is affected by the edit. Start one block before that, as the edit might change how it
+        // ends (e.g. a paragraph continuation).
+        int first = 0;
+        while (first < blocks.size() && getEnd(blocks.get(first)) < editStart) {
+            first++;
+        }
+        int startBlock = Math.max(first - 1, 0);
+        while (startBlock > 0 && !isBlankLineBefore(getLineStart(blocks.get(startBlock)))) {
+            startBlock--;
+        }
+
+        // The sentinel is the first block after the edit that is preceded by a blank line in the new input.
+        int sentinel = first;
+        while (sentinel < blocks.size() && (getLineStart(blocks.get(sentinel)) <= editEnd ||
+                !isBlankLineBefore(getLineStart(blocks.get(sentinel)) + delta))) {
+            sentinel++;
+        }
+
+        int windowStart = startBlock == 0 ? 0 : getLineStart(blocks.get(startBlock));
+        int windowStartLineIndex = startBlock == 0 ? 0 : blocks.get(startBlock).getSourceSpans().get(0).getLineIndex();
+        int windowEnd;
+        int sentinelStart = -1;
+        if (sentinel < blocks.size()) {
+            SourceSpan sentinelSpan = blocks.get(sentinel).getSourceSpans().get(0);
+            sentinelStart = sentinelSpan.getInputIndex() + delta;
+            windowEnd = sentinelStart + sentinelSpan.getLength();
+        } else {
+            windowEnd = input.length();
+        }
+
+        // Inline parsing of the window needs the definitions of the rest of the document. If definitions are in the
+        // replaced blocks, they could change the inline parsing result of blocks outside the window.
+        var linkReferenceDefinitions = new DefinitionMap<>(LinkReferenceDefinition.class);
+        for (int i = 0; i < blocks.size(); i++) {
+            boolean replaced = i >= startBlock && i < sentinel;
+            if (!collectDefinitions(blocks.get(i), replaced ? null : linkReferenceDefinitions)) {
+                return null;
+            }
+        }
+
+        DocumentParser documentParser = documentParserSupplier.get();
+        documentParser.addDefinitions(linkReferenceDefinitions);
+        Document window = documentParser.parse(input, windowStart, windowEnd, windowStartLineIndex);
+        for (var type : documentParser.getDefinitionTypes()) {
+            if (type != LinkReferenceDefinition.class) {
+                return null;
+            }
+        }
+        for (Node node = window.getFirstChild(); node != null; node = node.getNext()) {
+            if (!collectDefinitions(node, null)) {
+                return null;
+            }
+        }
+
+        int lineDelta = 0;
+        if (sentinelStart != -1) {
+            Node sentinelBlock = window.getLastChild();
+            if (sentinelBlock == null || sentinelBlock.getSourceSpans().isEmpty() ||
+                    sentinelBlock.getSourceSpans().get(0).getInputIndex() != sentinelStart) {
+                // Didn't resynchronize with the previous parse, e.g. because a fenced code block was opened
+                return null;
+            }
+            lineDelta = sentinelBlock.getSourceSpans().get(0).getLineIndex() -
+                    blocks.get(sentinel).getSourceSpans().get(0).getLineIndex();
+            // The previous parse of the sentinel and everything after it is still valid
+            sentinelBlock.unlink();
+        }
+
+        for (int i = startBlock; i < sentinel; i++) {
+            blocks.get(i).unlink();
+        }
+        Node next = window.getFirstChild();
+        while (next != null) {
+            Node node = next;
+            next = node.getNext();
+            if (sentinel < blocks.size()) {
+                blocks.get(sentinel).insertBefore(node);
+            } else {
+                document.appendChild(node);
+            }
+        }
+
+        if (delta != 0 || lineDelta != 0) {
+            for (int i = sentinel; i < blocks.size(); i++) {
+                shiftSourceSpans(blocks.get(i), lineDelta);
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Collect the link reference definitions of the block and its child blocks into the map.
+     *
+     * @return {@code false} if there is a definition that can not be collected (because the map is {@code null} or
+     * because it is a different kind of definition)
+     */
+    private boolean collectDefinitions(Node node, DefinitionMap<LinkReferenceDefinition> map) {
+        if (node instanceof LinkReferenceDefinition) {
+            if (map == null) {
+                return false;
+            }
+            var definition = (LinkReferenceDefinition) node;
+            map.putIfAbsent(definition.getLabel(), definition);
+        } else if (definitionTypes.contains(node.getClass())) {
+            return false;
+        }
+        for (Node child = node.getFirstChild(); child instanceof Block; child = child.getNext()) {
+            if (!collectDefinitions(child, map)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void shiftSourceSpans(Node node, int lineDelta) {
+        List<SourceSpan> sourceSpans = node.getSourceSpans();
+        if (!sourceSpans.isEmpty()) {
+            List<SourceSpan> shifted = new ArrayList<>(sourceSpans.size());
+            for (SourceSpan span : sourceSpans) {
+                shifted.add(SourceSpan.of(span.getLineIndex() + lineDelta, span.getColumnIndex(),
+                        span.getInputIndex() + delta, span.getLength()));
+            }
+            node.setSourceSpans(shifted);
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            shiftSourceSpans(child, lineDelta);
+        }
+    }
+
+    /**
+     * Check if the line before the line starting at {@code lineStart} (in the new input) is blank.
+     */
+    private boolean isBlankLineBefore(int lineStart) {
+        if (lineStart <= 0 || lineStart > input.length()) {
+            return false;
+        }
+        int i = lineStart - 1;
+        char terminator = input.charAt(i);
+        if (terminator != '\n' && terminator != '\r') {
+            return false;
+        }
+        if (terminator == '\n' && i > 0 && input.charAt(i - 1) == '\r') {
+            i--;
+        }
+        // i is at the line terminator of the previous line, go back to its start
+        for (int j = i - 1; j >= 0; j--) {
+            char c = input.charAt(j);
+            if (c == '\n' || c == '\r') {
+                return true;
+            } else if (c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getLineStart(Block block) {
+        SourceSpan span = block.getSourceSpans().get(0);
+        return span.getInputIndex() - span.getColumnIndex();
+    }
+
+    private static int getEnd(Block block) {
+        List<SourceSpan> spans = block.getSourceSpans();
+        SourceSpan last = spans.get(spans.size() - 1);
+        return last.getInputIndex() + last.getLength();
+    }
+}
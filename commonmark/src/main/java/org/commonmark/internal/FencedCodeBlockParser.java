@@ -7,6 +7,8 @@ import org.commonmark.parser.SourceLine;
 import org.commonmark.parser.block.*;
 import org.commonmark.text.Characters;
 
+import java.util.Set;
+
 import static org.commonmark.internal.util.Escaping.unescapeString;
 
 public class FencedCodeBlockParser extends AbstractBlockParser {
@@ -35,7 +37,7 @@ public class FencedCodeBlockParser extends AbstractBlockParser {
     public BlockContinue tryContinue(ParserState state) {
         int nextNonSpace = state.getNextNonSpaceIndex();
         int newIndex = state.getIndex();
-        CharSequence line = state.getLine().getContent();
+        CharSequence line = state.getLine().getContentView();
         if (state.getIndent() < Parsing.CODE_BLOCK_INDENT && nextNonSpace < line.length() && tryClosing(line, nextNonSpace)) {
             // closing fence - we're at end of line, so we can finalize now
             return BlockContinue.finished();
@@ -54,9 +56,9 @@ public class FencedCodeBlockParser extends AbstractBlockParser {
     @Override
     public void addLine(SourceLine line) {
         if (firstLine == null) {
-            firstLine = line.getContent().toString();
+            firstLine = line.getContentView().toString();
         } else {
-            otherLines.append(line.getContent());
+            otherLines.append(line.getContentView());
             otherLines.append('\n');
         }
     }
@@ -70,6 +72,13 @@ public class FencedCodeBlockParser extends AbstractBlockParser {
 
     public static class Factory extends AbstractBlockParserFactory {
 
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('`', '~');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             int indent = state.getIndent();
@@ -78,7 +87,7 @@ public class FencedCodeBlockParser extends AbstractBlockParser {
             }
 
             int nextNonSpace = state.getNextNonSpaceIndex();
-            FencedCodeBlockParser blockParser = checkOpener(state.getLine().getContent(), nextNonSpace, indent);
+            FencedCodeBlockParser blockParser = checkOpener(state.getLine().getContentView(), nextNonSpace, indent);
             if (blockParser != null) {
                 return BlockStart.of(blockParser).atIndex(nextNonSpace + blockParser.block.getOpeningFenceLength());
             } else {
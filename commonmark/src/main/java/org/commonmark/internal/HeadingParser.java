@@ -11,6 +11,8 @@ import org.commonmark.parser.beta.Scanner;
 import org.commonmark.parser.block.*;
 import org.commonmark.text.Characters;
 
+import java.util.Set;
+
 public class HeadingParser extends AbstractBlockParser {
 
     private final Heading block = new Heading();
@@ -39,6 +41,13 @@ public class HeadingParser extends AbstractBlockParser {
 
     public static class Factory extends AbstractBlockParserFactory {
 
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('#', '=', '-');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             if (state.getIndent() >= Parsing.CODE_BLOCK_INDENT) {
@@ -47,19 +56,19 @@ public class HeadingParser extends AbstractBlockParser {
 
             SourceLine line = state.getLine();
             int nextNonSpace = state.getNextNonSpaceIndex();
-            if (line.getContent().charAt(nextNonSpace) == '#') {
-                HeadingParser atxHeading = getAtxHeading(line.substring(nextNonSpace, line.getContent().length()));
+            if (line.getContentView().charAt(nextNonSpace) == '#') {
+                HeadingParser atxHeading = getAtxHeading(line.substring(nextNonSpace, line.getContentView().length()));
                 if (atxHeading != null) {
-                    return BlockStart.of(atxHeading).atIndex(line.getContent().length());
+                    return BlockStart.of(atxHeading).atIndex(line.getContentView().length());
                 }
             }
 
-            int setextHeadingLevel = getSetextHeadingLevel(line.getContent(), nextNonSpace);
+            int setextHeadingLevel = getSetextHeadingLevel(line.getContentView(), nextNonSpace);
             if (setextHeadingLevel > 0) {
                 SourceLines paragraph = matchedBlockParser.getParagraphLines();
                 if (!paragraph.isEmpty()) {
                     return BlockStart.of(new HeadingParser(setextHeadingLevel, paragraph))
-                            .atIndex(line.getContent().length())
+                            .atIndex(line.getContentView().length())
                             .replaceActiveBlockParser();
                 }
             }
@@ -5,82 +5,63 @@ import org.commonmark.node.HtmlBlock;
 import org.commonmark.node.Paragraph;
 import org.commonmark.parser.SourceLine;
 import org.commonmark.parser.block.*;
+import org.commonmark.text.AsciiMatcher;
+import org.commonmark.text.Characters;
 
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.Set;
 
+/**
+ * Parser for HTML blocks. The start and end conditions of the seven kinds of HTML blocks of the spec are checked with
+ * hand-written scanning instead of regular expressions, as they're tried for every line that starts with {@code <}.
+ */
 public class HtmlBlockParser extends AbstractBlockParser {
 
-    private static final String TAGNAME = "[A-Za-z][A-Za-z0-9-]*";
-    private static final String ATTRIBUTENAME = "[a-zA-Z_:][a-zA-Z0-9:._-]*";
-    private static final String UNQUOTEDVALUE = "[^\"'=<>`\\x00-\\x20]+";
-    private static final String SINGLEQUOTEDVALUE = "'[^']*'";
-    private static final String DOUBLEQUOTEDVALUE = "\"[^\"]*\"";
-    private static final String ATTRIBUTEVALUE = "(?:" + UNQUOTEDVALUE + "|" + SINGLEQUOTEDVALUE
-            + "|" + DOUBLEQUOTEDVALUE + ")";
-    private static final String ATTRIBUTEVALUESPEC = "(?:" + "\\s*=" + "\\s*" + ATTRIBUTEVALUE
-            + ")";
-    private static final String ATTRIBUTE = "(?:" + "\\s+" + ATTRIBUTENAME + ATTRIBUTEVALUESPEC
-            + "?)";
-
-    private static final String OPENTAG = "<" + TAGNAME + ATTRIBUTE + "*" + "\\s*/?>";
-    private static final String CLOSETAG = "</" + TAGNAME + "\\s*[>]";
-
-    private static final Pattern[][] BLOCK_PATTERNS = new Pattern[][]{
-            {null, null}, // not used (no type 0)
-            {
-                    Pattern.compile("^<(?:script|pre|style|textarea)(?:\\s|>|$)", Pattern.CASE_INSENSITIVE),
-                    Pattern.compile("</(?:script|pre|style|textarea)>", Pattern.CASE_INSENSITIVE)
-            },
-            {
-                    Pattern.compile("^<!--"),
-                    Pattern.compile("-->")
-            },
-            {
-                    Pattern.compile("^<[?]"),
-                    Pattern.compile("\\?>")
-            },
-            {
-                    Pattern.compile("^<![A-Z]"),
-                    Pattern.compile(">")
-            },
-            {
-                    Pattern.compile("^<!\\[CDATA\\["),
-                    Pattern.compile("\\]\\]>")
-            },
-            {
-                    Pattern.compile("^</?(?:" +
-                            "address|article|aside|" +
-                            "base|basefont|blockquote|body|" +
-                            "caption|center|col|colgroup|" +
-                            "dd|details|dialog|dir|div|dl|dt|" +
-                            "fieldset|figcaption|figure|footer|form|frame|frameset|" +
-                            "h1|h2|h3|h4|h5|h6|head|header|hr|html|" +
-                            "iframe|" +
-                            "legend|li|link|" +
-                            "main|menu|menuitem|" +
-                            "nav|noframes|" +
-                            "ol|optgroup|option|" +
-                            "p|param|" +
-                            "search|section|summary|" +
-                            "table|tbody|td|tfoot|th|thead|title|tr|track|" +
-                            "ul" +
-                            ")(?:\\s|[/]?[>]|$)", Pattern.CASE_INSENSITIVE),
-                    null // terminated by blank line
-            },
-            {
-                    Pattern.compile("^(?:" + OPENTAG + '|' + CLOSETAG + ")\\s*$", Pattern.CASE_INSENSITIVE),
-                    null // terminated by blank line
-            }
+    private static final AsciiMatcher asciiLetter = AsciiMatcher.builder().range('A', 'Z').range('a', 'z').build();
+    private static final AsciiMatcher upperAsciiLetter = AsciiMatcher.builder().range('A', 'Z').build();
+    private static final AsciiMatcher asciiLetterOrDigit = asciiLetter.newBuilder().range('0', '9').build();
+
+    private static final AsciiMatcher tagNameStart = asciiLetter;
+    private static final AsciiMatcher tagNameContinue = tagNameStart.newBuilder().range('0', '9').c('-').build();
+    private static final AsciiMatcher attributeStart = asciiLetter.newBuilder().c('_').c(':').build();
+    private static final AsciiMatcher attributeContinue = attributeStart.newBuilder().range('0', '9').c('.').c('-').build();
+    private static final AsciiMatcher attributeValueEnd = AsciiMatcher.builder()
+            .range('\u0000', ' ')
+            .c('"').c('\'').c('=').c('<').c('>').c('`')
+            .build();
+    // Same as \s in regular expressions
+    private static final AsciiMatcher whitespace = AsciiMatcher.builder()
+            .c(' ').c('\t').c('\n').c('\u000B').c('\f').c('\r')
+            .build();
+
+    private static final String[] TYPE_1_TAG_NAMES = {"script", "pre", "style", "textarea"};
+    private static final String[] TYPE_6_TAG_NAMES = {
+            "address", "article", "aside",
+            "base", "basefont", "blockquote", "body",
+            "caption", "center", "col", "colgroup",
+            "dd", "details", "dialog", "dir", "div", "dl", "dt",
+            "fieldset", "figcaption", "figure", "footer", "form", "frame", "frameset",
+            "h1", "h2", "h3", "h4", "h5", "h6", "head", "header", "hr", "html",
+            "iframe",
+            "legend", "li", "link",
+            "main", "menu", "menuitem",
+            "nav", "noframes",
+            "ol", "optgroup", "option",
+            "p", "param",
+            "search", "section", "summary",
+            "table", "tbody", "td", "tfoot", "th", "thead", "title", "tr", "track",
+            "ul"
     };
+    private static final TagNames TAG_NAMES = new TagNames();
 
     private final HtmlBlock block = new HtmlBlock();
-    private final Pattern closingPattern;
+    private final int blockType;
 
     private boolean finished = false;
     private BlockContent content = new BlockContent();
 
-    private HtmlBlockParser(Pattern closingPattern) {
-        this.closingPattern = closingPattern;
+    private HtmlBlockParser(int blockType) {
+        this.blockType = blockType;
     }
 
     @Override
@@ -95,7 +76,7 @@ public class HtmlBlockParser extends AbstractBlockParser {
         }
 
         // Blank line ends type 6 and type 7 blocks
-        if (state.isBlank() && closingPattern == null) {
+        if (state.isBlank() && blockType >= 6) {
             return BlockContinue.none();
         } else {
             return BlockContinue.atIndex(state.getIndex());
@@ -104,9 +85,9 @@ public class HtmlBlockParser extends AbstractBlockParser {
 
     @Override
     public void addLine(SourceLine line) {
-        content.add(line.getContent());
+        content.add(line.getContentView());
 
-        if (closingPattern != null && closingPattern.matcher(line.getContent()).find()) {
+        if (blockType <= 5 && isEnd(blockType, line.getContentView())) {
             finished = true;
         }
     }
@@ -117,27 +98,278 @@ public class HtmlBlockParser extends AbstractBlockParser {
         content = null;
     }
 
+    /**
+     * @param line  the line
+     * @param start the index of the {@code <}
+     * @param type7 whether the block can be of type 7 (which can not interrupt a paragraph)
+     * @return the type of HTML block that starts at the index, or 0 if none
+     */
+    static int getBlockType(CharSequence line, int start, boolean type7) {
+        int length = line.length();
+        int i = start + 1;
+        if (i == length) {
+            return 0;
+        }
+
+        char c = line.charAt(i);
+        if (c == '!') {
+            if (startsWith(line, i + 1, "--")) {
+                return 2;
+            } else if (startsWith(line, i + 1, "[CDATA[")) {
+                return 5;
+            } else if (i + 1 < length && upperAsciiLetter.matches(line.charAt(i + 1))) {
+                return 4;
+            }
+            return 0;
+        } else if (c == '?') {
+            return 3;
+        }
+
+        boolean closing = c == '/';
+        int nameStart = closing ? i + 1 : i;
+        int nameEnd = match(asciiLetterOrDigit, line, nameStart);
+        int tagType = TAG_NAMES.get(line, nameStart, nameEnd);
+        if (tagType == 1 && !closing) {
+            // <script, <pre, <style or <textarea followed by whitespace, > or the end of the line
+            if (nameEnd == length || whitespace.matches(line.charAt(nameEnd)) || line.charAt(nameEnd) == '>') {
+                return 1;
+            }
+        } else if (tagType == 6) {
+            // Followed by whitespace, >, /> or the end of the line
+            if (nameEnd == length || whitespace.matches(line.charAt(nameEnd)) || line.charAt(nameEnd) == '>' ||
+                    startsWith(line, nameEnd, "/>")) {
+                return 6;
+            }
+        }
+
+        if (type7) {
+            // A complete open or closing tag followed only by whitespace
+            int end = closing ? scanClosingTag(line, i + 1) : scanOpenTag(line, i);
+            if (end != -1 && match(whitespace, line, end) == length) {
+                return 7;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return whether the line contains the end condition of a block of type 1 to 5
+     */
+    static boolean isEnd(int blockType, CharSequence line) {
+        switch (blockType) {
+            case 1:
+                for (int i = indexOf(line, "</", 0); i != -1; i = indexOf(line, "</", i + 2)) {
+                    for (String tagName : TYPE_1_TAG_NAMES) {
+                        int nameEnd = i + 2 + tagName.length();
+                        if (startsWithIgnoreCase(line, i + 2, tagName) && nameEnd < line.length() &&
+                                line.charAt(nameEnd) == '>') {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            case 2:
+                return indexOf(line, "-->", 0) != -1;
+            case 3:
+                return indexOf(line, "?>", 0) != -1;
+            case 4:
+                return Characters.find('>', line, 0) != -1;
+            case 5:
+                return indexOf(line, "]]>", 0) != -1;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param i the index of the tag name after {@code <}
+     * @return the index after the {@code >} of the open tag, or -1 if there is no open tag
+     */
+    private static int scanOpenTag(CharSequence line, int i) {
+        int length = line.length();
+        if (i == length || !tagNameStart.matches(line.charAt(i))) {
+            return -1;
+        }
+        i = match(tagNameContinue, line, i + 1);
+        while (true) {
+            int afterWhitespace = match(whitespace, line, i);
+            // Whitespace is required before an attribute
+            if (afterWhitespace == i || afterWhitespace == length || !attributeStart.matches(line.charAt(afterWhitespace))) {
+                i = afterWhitespace;
+                break;
+            }
+            i = match(attributeContinue, line, afterWhitespace + 1);
+            int equals = match(whitespace, line, i);
+            if (equals < length && line.charAt(equals) == '=') {
+                i = scanAttributeValue(line, match(whitespace, line, equals + 1));
+                if (i == -1) {
+                    return -1;
+                }
+            }
+        }
+        if (i < length && line.charAt(i) == '/') {
+            i++;
+        }
+        return i < length && line.charAt(i) == '>' ? i + 1 : -1;
+    }
+
+    private static int scanAttributeValue(CharSequence line, int i) {
+        if (i == line.length()) {
+            return -1;
+        }
+        char c = line.charAt(i);
+        if (c == '\'' || c == '"') {
+            int end = Characters.find(c, line, i + 1);
+            return end != -1 ? end + 1 : -1;
+        }
+        int end = i;
+        while (end < line.length() && !attributeValueEnd.matches(line.charAt(end))) {
+            end++;
+        }
+        return end > i ? end : -1;
+    }
+
+    /**
+     * @param i the index of the tag name after {@code </}
+     * @return the index after the {@code >} of the closing tag, or -1 if there is no closing tag
+     */
+    private static int scanClosingTag(CharSequence line, int i) {
+        int length = line.length();
+        if (i == length || !tagNameStart.matches(line.charAt(i))) {
+            return -1;
+        }
+        i = match(whitespace, line, match(tagNameContinue, line, i + 1));
+        return i < length && line.charAt(i) == '>' ? i + 1 : -1;
+    }
+
+    private static int match(AsciiMatcher matcher, CharSequence s, int i) {
+        int length = s.length();
+        while (i < length && matcher.matches(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean startsWith(CharSequence s, int i, String prefix) {
+        if (i + prefix.length() > s.length()) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length(); j++) {
+            if (s.charAt(i + j) != prefix.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param lowerCase the prefix, in lower case
+     */
+    private static boolean startsWithIgnoreCase(CharSequence s, int i, String lowerCase) {
+        if (i + lowerCase.length() > s.length()) {
+            return false;
+        }
+        for (int j = 0; j < lowerCase.length(); j++) {
+            if (toLowerCase(s.charAt(i + j)) != lowerCase.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence s, String needle, int from) {
+        char first = needle.charAt(0);
+        for (int i = Characters.find(first, s, from); i != -1; i = Characters.find(first, s, i + 1)) {
+            if (startsWith(s, i, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * The tag names of type 1 and type 6 blocks as a trie over ASCII letters (ignoring case) and digits, so that a
+     * tag name can be looked up without creating a string.
+     */
+    private static class TagNames {
+
+        private static final int CHARACTERS = 26 + 10;
+
+        // For each state, the next state for each character (0 for none); state 0 is the start
+        private int[][] next = new int[16][];
+        // For each state, the type of block if a tag name ends there, 0 otherwise
+        private int[] types = new int[16];
+        private int states = 1;
+
+        TagNames() {
+            next[0] = new int[CHARACTERS];
+            for (String tagName : TYPE_1_TAG_NAMES) {
+                add(tagName, 1);
+            }
+            for (String tagName : TYPE_6_TAG_NAMES) {
+                add(tagName, 6);
+            }
+        }
+
+        /**
+         * @return the type of block for the tag name between the indexes (letters and digits only), 0 if none
+         */
+        int get(CharSequence s, int start, int end) {
+            int state = 0;
+            for (int i = start; i < end && state != -1; i++) {
+                int n = next[state][index(s.charAt(i))];
+                state = n != 0 ? n : -1;
+            }
+            return state > 0 ? types[state] : 0;
+        }
+
+        private void add(String tagName, int type) {
+            int state = 0;
+            for (int i = 0; i < tagName.length(); i++) {
+                int c = index(tagName.charAt(i));
+                if (next[state][c] == 0) {
+                    if (states == next.length) {
+                        next = Arrays.copyOf(next, states * 2);
+                        types = Arrays.copyOf(types, states * 2);
+                    }
+                    next[states] = new int[CHARACTERS];
+                    next[state][c] = states++;
+                }
+                state = next[state][c];
+            }
+            types[state] = type;
+        }
+
+        private static int index(char c) {
+            return c <= '9' ? 26 + (c - '0') : toLowerCase(c) - 'a';
+        }
+    }
+
     public static class Factory extends AbstractBlockParserFactory {
 
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('<');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             int nextNonSpace = state.getNextNonSpaceIndex();
-            CharSequence line = state.getLine().getContent();
+            CharSequence line = state.getLine().getContentView();
 
             if (state.getIndent() < 4 && line.charAt(nextNonSpace) == '<') {
-                for (int blockType = 1; blockType <= 7; blockType++) {
-                    // Type 7 can not interrupt a paragraph (not even a lazy one)
-                    if (blockType == 7 && (
-                            matchedBlockParser.getMatchedBlockParser().getBlock() instanceof Paragraph ||
-                                    state.getActiveBlockParser().canHaveLazyContinuationLines())) {
-                        continue;
-                    }
-                    Pattern opener = BLOCK_PATTERNS[blockType][0];
-                    Pattern closer = BLOCK_PATTERNS[blockType][1];
-                    boolean matches = opener.matcher(line.subSequence(nextNonSpace, line.length())).find();
-                    if (matches) {
-                        return BlockStart.of(new HtmlBlockParser(closer)).atIndex(state.getIndex());
-                    }
+                // Type 7 can not interrupt a paragraph (not even a lazy one)
+                boolean type7 = !(matchedBlockParser.getMatchedBlockParser().getBlock() instanceof Paragraph ||
+                        state.getActiveBlockParser().canHaveLazyContinuationLines());
+                int blockType = getBlockType(line, nextNonSpace, type7);
+                if (blockType != 0) {
+                    return BlockStart.of(new HtmlBlockParser(blockType)).atIndex(state.getIndex());
                 }
             }
             return BlockStart.none();
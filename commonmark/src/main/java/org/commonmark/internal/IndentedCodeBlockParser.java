@@ -34,7 +34,7 @@ public class IndentedCodeBlockParser extends AbstractBlockParser {
 
     @Override
     public void addLine(SourceLine line) {
-        lines.add(line.getContent());
+        lines.add(line.getContentView());
     }
 
     @Override
@@ -0,0 +1,241 @@
+package org.commonmark.internal;
+
+import org.commonmark.internal.inline.*;
+import org.commonmark.parser.CostReport;
+import org.commonmark.parser.ParseLimits;
+import org.commonmark.parser.beta.InlineContentParserFactory;
+import org.commonmark.parser.beta.LinkProcessor;
+import org.commonmark.parser.delimiter.DelimiterProcessor;
+
+import java.util.*;
+
+/**
+ * The inline parsing configuration of a parser: the custom and built-in inline content parser factories, delimiter
+ * processors, link processors and link markers, with lookup tables by character. Computed once per parser, immutable
+ * and shared by all {@link InlineParserImpl} instances of the parser.
+ * <p>
+ * Throws {@link IllegalArgumentException} on construction if the delimiter processors conflict.
+ */
+public class InlineParserConfig {
+
+    private static final int TABLE_SIZE = 128;
+    private static final int[] NO_FACTORIES = new int[0];
+
+    private final List<InlineContentParserFactory> customInlineContentParserFactories;
+    private final List<DelimiterProcessor> customDelimiterProcessors;
+    private final List<LinkProcessor> customLinkProcessors;
+    private final Set<Character> customLinkMarkers;
+
+    private final InlineContentParserFactory[] inlineContentParserFactories;
+    private final int customFactoryCount;
+    private final int[][] factoryTable = new int[TABLE_SIZE][];
+    private final Map<Character, int[]> factoryOthers = new HashMap<>();
+    private final DelimiterProcessor[] delimiterTable = new DelimiterProcessor[TABLE_SIZE];
+    private final Map<Character, DelimiterProcessor> delimiterOthers = new HashMap<>();
+    private final List<LinkProcessor> linkProcessors;
+    private final boolean[] linkMarkers;
+    private final boolean[] specialCharacters;
+    private final ParseLimits limits;
+    private final CostReport costReport;
+
+    public InlineParserConfig(List<InlineContentParserFactory> customInlineContentParserFactories,
+                              List<DelimiterProcessor> customDelimiterProcessors,
+                              List<LinkProcessor> customLinkProcessors,
+                              Set<Character> customLinkMarkers,
+                              ParseLimits limits,
+                              CostReport costReport) {
+        this.customInlineContentParserFactories = List.copyOf(customInlineContentParserFactories);
+        this.customDelimiterProcessors = List.copyOf(customDelimiterProcessors);
+        this.customLinkProcessors = List.copyOf(customLinkProcessors);
+        this.customLinkMarkers = Set.copyOf(customLinkMarkers);
+        this.limits = limits;
+        this.costReport = costReport;
+
+        this.inlineContentParserFactories = calculateInlineContentParserFactories(this.customInlineContentParserFactories);
+        this.customFactoryCount = this.customInlineContentParserFactories.size();
+        this.linkProcessors = calculateLinkProcessors(this.customLinkProcessors);
+
+        var delimiterProcessors = calculateDelimiterProcessors(this.customDelimiterProcessors);
+        for (var entry : delimiterProcessors.entrySet()) {
+            char c = entry.getKey();
+            if (c < TABLE_SIZE) {
+                delimiterTable[c] = entry.getValue();
+            } else {
+                delimiterOthers.put(c, entry.getValue());
+            }
+        }
+
+        var factoryIndexes = new HashMap<Character, List<Integer>>();
+        for (int i = 0; i < inlineContentParserFactories.length; i++) {
+            for (var c : inlineContentParserFactories[i].getTriggerCharacters()) {
+                factoryIndexes.computeIfAbsent(c, k -> new ArrayList<>()).add(i);
+            }
+        }
+        for (var entry : factoryIndexes.entrySet()) {
+            char c = entry.getKey();
+            int[] indexes = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            if (c < TABLE_SIZE) {
+                factoryTable[c] = indexes;
+            } else {
+                factoryOthers.put(c, indexes);
+            }
+        }
+
+        var markers = new HashSet<>(this.customLinkMarkers);
+        markers.add('!');
+        var special = new HashSet<>(markers);
+        special.addAll(delimiterProcessors.keySet());
+        special.addAll(factoryIndexes.keySet());
+        special.add('[');
+        special.add(']');
+        special.add('\n');
+        this.linkMarkers = toTable(markers);
+        this.specialCharacters = toTable(special);
+    }
+
+    public List<InlineContentParserFactory> getCustomInlineContentParserFactories() {
+        return customInlineContentParserFactories;
+    }
+
+    public List<DelimiterProcessor> getCustomDelimiterProcessors() {
+        return customDelimiterProcessors;
+    }
+
+    public List<LinkProcessor> getCustomLinkProcessors() {
+        return customLinkProcessors;
+    }
+
+    public Set<Character> getCustomLinkMarkers() {
+        return customLinkMarkers;
+    }
+
+    /**
+     * @return the limits for inline parsing (of the stack sizes), the node limit is checked with {@link NodeBudget}
+     */
+    ParseLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * @return the report for the costs of block and inline parsing, or null if they are not measured
+     */
+    CostReport getCostReport() {
+        return costReport;
+    }
+
+    /**
+     * @return the number of inline content parser factories, custom ones first, followed by the built-in ones
+     */
+    int getInlineContentParserFactoryCount() {
+        return inlineContentParserFactories.length;
+    }
+
+    InlineContentParserFactory getInlineContentParserFactory(int index) {
+        return inlineContentParserFactories[index];
+    }
+
+    /**
+     * Parsers of custom factories are created for each inline content snippet (as documented by
+     * {@link InlineContentParserFactory#create()}), parsers of the built-in ones can be kept for further snippets.
+     */
+    boolean isCustomFactory(int index) {
+        return index < customFactoryCount;
+    }
+
+    /**
+     * @return the indexes of the inline content parser factories triggered by the character, in order
+     */
+    int[] getInlineContentParserFactories(char c) {
+        int[] indexes = c < TABLE_SIZE ? factoryTable[c] : factoryOthers.get(c);
+        return indexes != null ? indexes : NO_FACTORIES;
+    }
+
+    DelimiterProcessor getDelimiterProcessor(char c) {
+        return c < TABLE_SIZE ? delimiterTable[c] : delimiterOthers.get(c);
+    }
+
+    List<LinkProcessor> getLinkProcessors() {
+        return linkProcessors;
+    }
+
+    boolean isLinkMarker(char c) {
+        return c < linkMarkers.length && linkMarkers[c];
+    }
+
+    boolean isSpecialCharacter(char c) {
+        return c < specialCharacters.length && specialCharacters[c];
+    }
+
+    private static InlineContentParserFactory[] calculateInlineContentParserFactories(List<InlineContentParserFactory> customFactories) {
+        // Custom parsers can override built-in parsers if they want, so make sure they are tried first
+        var list = new ArrayList<>(customFactories);
+        list.add(new BackslashInlineParser.Factory());
+        list.add(new BackticksInlineParser.Factory());
+        list.add(new EntityInlineParser.Factory());
+        list.add(new AutolinkInlineParser.Factory());
+        list.add(new HtmlInlineParser.Factory());
+        return list.toArray(new InlineContentParserFactory[0]);
+    }
+
+    private static List<LinkProcessor> calculateLinkProcessors(List<LinkProcessor> linkProcessors) {
+        // Custom link processors can override the built-in behavior, so make sure they are tried first
+        var list = new ArrayList<>(linkProcessors);
+        list.add(new CoreLinkProcessor());
+        return List.copyOf(list);
+    }
+
+    private static Map<Character, DelimiterProcessor> calculateDelimiterProcessors(List<DelimiterProcessor> delimiterProcessors) {
+        var map = new HashMap<Character, DelimiterProcessor>();
+        addDelimiterProcessors(List.of(new AsteriskDelimiterProcessor(), new UnderscoreDelimiterProcessor()), map);
+        addDelimiterProcessors(delimiterProcessors, map);
+        return map;
+    }
+
+    private static void addDelimiterProcessors(Iterable<DelimiterProcessor> delimiterProcessors, Map<Character, DelimiterProcessor> map) {
+        for (DelimiterProcessor delimiterProcessor : delimiterProcessors) {
+            char opening = delimiterProcessor.getOpeningCharacter();
+            char closing = delimiterProcessor.getClosingCharacter();
+            if (opening == closing) {
+                DelimiterProcessor old = map.get(opening);
+                if (old != null && old.getOpeningCharacter() == old.getClosingCharacter()) {
+                    StaggeredDelimiterProcessor s;
+                    if (old instanceof StaggeredDelimiterProcessor) {
+                        s = (StaggeredDelimiterProcessor) old;
+                    } else {
+                        s = new StaggeredDelimiterProcessor(opening);
+                        s.add(old);
+                    }
+                    s.add(delimiterProcessor);
+                    map.put(opening, s);
+                } else {
+                    addDelimiterProcessorForChar(opening, delimiterProcessor, map);
+                }
+            } else {
+                addDelimiterProcessorForChar(opening, delimiterProcessor, map);
+                addDelimiterProcessorForChar(closing, delimiterProcessor, map);
+            }
+        }
+    }
+
+    private static void addDelimiterProcessorForChar(char delimiterChar, DelimiterProcessor toAdd, Map<Character, DelimiterProcessor> delimiterProcessors) {
+        DelimiterProcessor existing = delimiterProcessors.put(delimiterChar, toAdd);
+        if (existing != null) {
+            throw new IllegalArgumentException("Delimiter processor conflict with delimiter char '" + delimiterChar + "'");
+        }
+    }
+
+    /**
+     * @return a table indexed by character, big enough for the highest character but at least {@link #TABLE_SIZE}
+     */
+    private static boolean[] toTable(Set<Character> characters) {
+        int size = TABLE_SIZE;
+        for (char c : characters) {
+            size = Math.max(size, c + 1);
+        }
+        boolean[] table = new boolean[size];
+        for (char c : characters) {
+            table[c] = true;
+        }
+        return table;
+    }
+}
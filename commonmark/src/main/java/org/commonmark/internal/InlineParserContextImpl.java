@@ -11,42 +11,48 @@ import java.util.Set;
 
 public class InlineParserContextImpl implements InlineParserContext {
 
-    private final List<InlineContentParserFactory> inlineContentParserFactories;
-    private final List<DelimiterProcessor> delimiterProcessors;
-    private final List<LinkProcessor> linkProcessors;
-    private final Set<Character> linkMarkers;
+    private final InlineParserConfig config;
     private final Definitions definitions;
+    private final NodeBudget nodeBudget;
 
-    public InlineParserContextImpl(List<InlineContentParserFactory> inlineContentParserFactories,
-                                   List<DelimiterProcessor> delimiterProcessors,
-                                   List<LinkProcessor> linkProcessors,
-                                   Set<Character> linkMarkers,
-                                   Definitions definitions) {
-        this.inlineContentParserFactories = inlineContentParserFactories;
-        this.delimiterProcessors = delimiterProcessors;
-        this.linkProcessors = linkProcessors;
-        this.linkMarkers = linkMarkers;
+    public InlineParserContextImpl(InlineParserConfig config, Definitions definitions, NodeBudget nodeBudget) {
+        this.config = config;
         this.definitions = definitions;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * @return the configuration computed by the parser, so that inline parsers don't need to compute it again
+     */
+    public InlineParserConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the budget for counting the nodes of the document, or {@code null} if the number isn't limited
+     */
+    public NodeBudget getNodeBudget() {
+        return nodeBudget;
     }
 
     @Override
     public List<InlineContentParserFactory> getCustomInlineContentParserFactories() {
-        return inlineContentParserFactories;
+        return config.getCustomInlineContentParserFactories();
     }
 
     @Override
     public List<DelimiterProcessor> getCustomDelimiterProcessors() {
-        return delimiterProcessors;
+        return config.getCustomDelimiterProcessors();
     }
 
     @Override
     public List<LinkProcessor> getCustomLinkProcessors() {
-        return linkProcessors;
+        return config.getCustomLinkProcessors();
     }
 
     @Override
     public Set<Character> getCustomLinkMarkers() {
-        return linkMarkers;
+        return config.getCustomLinkMarkers();
     }
 
     @Override
@@ -4,8 +4,13 @@ import org.commonmark.internal.inline.*;
 import org.commonmark.internal.util.Escaping;
 import org.commonmark.internal.util.LinkScanner;
 import org.commonmark.node.*;
+import org.commonmark.parser.CostReport;
 import org.commonmark.parser.InlineParser;
 import org.commonmark.parser.InlineParserContext;
+import org.commonmark.parser.ParseLimitExceededException;
+import org.commonmark.parser.ParseLimitPolicy;
+import org.commonmark.parser.ParseLimits;
+import org.commonmark.parser.SourceLine;
 import org.commonmark.parser.SourceLines;
 import org.commonmark.parser.beta.Scanner;
 import org.commonmark.parser.beta.*;
@@ -17,13 +22,25 @@ import java.util.*;
 public class InlineParserImpl implements InlineParser, InlineParserState {
 
     private final InlineParserContext context;
-    private final List<InlineContentParserFactory> inlineContentParserFactories;
-    private final Map<Character, DelimiterProcessor> delimiterProcessors;
-    private final List<LinkProcessor> linkProcessors;
-    private final BitSet specialCharacters;
-    private final BitSet linkMarkers;
+    private final InlineParserConfig config;
+    private final ParseLimits limits;
+    private final CostReport costReport;
+    private final NodeBudget nodeBudget;
 
-    private Map<Character, List<InlineContentParser>> inlineParsers;
+    /**
+     * The inline content parsers by factory index (see {@link InlineParserConfig}), created when their trigger
+     * character is first encountered.
+     */
+    private final InlineContentParser[] inlineParsers;
+    private boolean customInlineParsersCreated;
+
+    /**
+     * For {@link #processDelimiters}: the lower bound for opener searches by closing delimiter character, ASCII ones
+     * in the array and others in the map (created when needed). Reused for each call.
+     */
+    private final Delimiter[] openersBottom = new Delimiter[128];
+    private Map<Character, Delimiter> openersBottomOthers;
+    private boolean openersBottomSet;
     private Scanner scanner;
     private boolean includeSourceSpans;
     private int trailingSpaces;
@@ -39,110 +56,38 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
      */
     private Bracket lastBracket;
 
+    private int delimiterCount;
+    private int bracketCount;
+
     public InlineParserImpl(InlineParserContext context) {
         this.context = context;
-        this.inlineContentParserFactories = calculateInlineContentParserFactories(context.getCustomInlineContentParserFactories());
-        this.delimiterProcessors = calculateDelimiterProcessors(context.getCustomDelimiterProcessors());
-        this.linkProcessors = calculateLinkProcessors(context.getCustomLinkProcessors());
-        this.linkMarkers = calculateLinkMarkers(context.getCustomLinkMarkers());
-        this.specialCharacters = calculateSpecialCharacters(linkMarkers, this.delimiterProcessors.keySet(), this.inlineContentParserFactories);
-    }
-
-    private List<InlineContentParserFactory> calculateInlineContentParserFactories(List<InlineContentParserFactory> customFactories) {
-        // Custom parsers can override built-in parsers if they want, so make sure they are tried first
-        var list = new ArrayList<>(customFactories);
-        list.add(new BackslashInlineParser.Factory());
-        list.add(new BackticksInlineParser.Factory());
-        list.add(new EntityInlineParser.Factory());
-        list.add(new AutolinkInlineParser.Factory());
-        list.add(new HtmlInlineParser.Factory());
-        return list;
-    }
-
-    private List<LinkProcessor> calculateLinkProcessors(List<LinkProcessor> linkProcessors) {
-        // Custom link processors can override the built-in behavior, so make sure they are tried first
-        var list = new ArrayList<>(linkProcessors);
-        list.add(new CoreLinkProcessor());
-        return list;
-    }
-
-    private static Map<Character, DelimiterProcessor> calculateDelimiterProcessors(List<DelimiterProcessor> delimiterProcessors) {
-        var map = new HashMap<Character, DelimiterProcessor>();
-        addDelimiterProcessors(List.of(new AsteriskDelimiterProcessor(), new UnderscoreDelimiterProcessor()), map);
-        addDelimiterProcessors(delimiterProcessors, map);
-        return map;
-    }
-
-    private static void addDelimiterProcessors(Iterable<DelimiterProcessor> delimiterProcessors, Map<Character, DelimiterProcessor> map) {
-        for (DelimiterProcessor delimiterProcessor : delimiterProcessors) {
-            char opening = delimiterProcessor.getOpeningCharacter();
-            char closing = delimiterProcessor.getClosingCharacter();
-            if (opening == closing) {
-                DelimiterProcessor old = map.get(opening);
-                if (old != null && old.getOpeningCharacter() == old.getClosingCharacter()) {
-                    StaggeredDelimiterProcessor s;
-                    if (old instanceof StaggeredDelimiterProcessor) {
-                        s = (StaggeredDelimiterProcessor) old;
-                    } else {
-                        s = new StaggeredDelimiterProcessor(opening);
-                        s.add(old);
-                    }
-                    s.add(delimiterProcessor);
-                    map.put(opening, s);
-                } else {
-                    addDelimiterProcessorForChar(opening, delimiterProcessor, map);
-                }
-            } else {
-                addDelimiterProcessorForChar(opening, delimiterProcessor, map);
-                addDelimiterProcessorForChar(closing, delimiterProcessor, map);
-            }
-        }
-    }
-
-    private static void addDelimiterProcessorForChar(char delimiterChar, DelimiterProcessor toAdd, Map<Character, DelimiterProcessor> delimiterProcessors) {
-        DelimiterProcessor existing = delimiterProcessors.put(delimiterChar, toAdd);
-        if (existing != null) {
-            throw new IllegalArgumentException("Delimiter processor conflict with delimiter char '" + delimiterChar + "'");
-        }
+        this.config = getConfig(context);
+        this.limits = config.getLimits();
+        this.costReport = config.getCostReport();
+        this.nodeBudget = context instanceof InlineParserContextImpl ? ((InlineParserContextImpl) context).getNodeBudget() : null;
+        this.inlineParsers = new InlineContentParser[config.getInlineContentParserFactoryCount()];
     }
 
-    private static BitSet calculateLinkMarkers(Set<Character> linkMarkers) {
-        var bitSet = new BitSet();
-        for (var c : linkMarkers) {
-            bitSet.set(c);
-        }
-        bitSet.set('!');
-        return bitSet;
-    }
-
-    private static BitSet calculateSpecialCharacters(BitSet linkMarkers,
-                                                     Set<Character> delimiterCharacters,
-                                                     List<InlineContentParserFactory> inlineContentParserFactories) {
-        BitSet bitSet = (BitSet) linkMarkers.clone();
-        for (Character c : delimiterCharacters) {
-            bitSet.set(c);
-        }
-        for (var factory : inlineContentParserFactories) {
-            for (var c : factory.getTriggerCharacters()) {
-                bitSet.set(c);
-            }
+    private static InlineParserConfig getConfig(InlineParserContext context) {
+        if (context instanceof InlineParserContextImpl) {
+            return ((InlineParserContextImpl) context).getConfig();
         }
-        bitSet.set('[');
-        bitSet.set(']');
-        bitSet.set('!');
-        bitSet.set('\n');
-        return bitSet;
+        // A custom context (e.g. one that wraps ours), compute the configuration from it
+        return new InlineParserConfig(context.getCustomInlineContentParserFactories(),
+                context.getCustomDelimiterProcessors(), context.getCustomLinkProcessors(),
+                context.getCustomLinkMarkers(), ParseLimits.none(), null);
     }
 
-    private Map<Character, List<InlineContentParser>> createInlineContentParsers() {
-        var map = new HashMap<Character, List<InlineContentParser>>();
-        for (var factory : inlineContentParserFactories) {
-            var parser = factory.create();
-            for (var c : factory.getTriggerCharacters()) {
-                map.computeIfAbsent(c, k -> new ArrayList<>()).add(parser);
+    private InlineContentParser getInlineParser(int factoryIndex) {
+        var parser = inlineParsers[factoryIndex];
+        if (parser == null) {
+            parser = config.getInlineContentParserFactory(factoryIndex).create();
+            inlineParsers[factoryIndex] = parser;
+            if (config.isCustomFactory(factoryIndex)) {
+                customInlineParsersCreated = true;
             }
         }
-        return map;
+        return parser;
     }
 
     @Override
@@ -157,74 +102,115 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
     public void parse(SourceLines lines, Node block) {
         reset(lines);
 
+        int remainingNodes = nodeBudget != null ? nodeBudget.remaining() : Integer.MAX_VALUE;
+        int nodeCount = 0;
         while (true) {
-            var nodes = parseInline();
-            if (nodes == null) {
+            if (nodeCount >= remainingNodes && limits.getPolicy() == ParseLimitPolicy.LITERAL) {
+                if (scanner.peek() != Scanner.END) {
+                    block.appendChild(parseRemainingAsText());
+                    nodeCount++;
+                }
                 break;
             }
-            for (Node node : nodes) {
-                block.appendChild(node);
+            int parsed = parseInline(block);
+            if (parsed == 0) {
+                break;
+            }
+            nodeCount += parsed;
+            if (nodeCount > remainingNodes && limits.getPolicy() == ParseLimitPolicy.FAIL) {
+                // Throws
+                nodeBudget.use(nodeCount);
             }
         }
 
         processDelimiters(null);
         mergeChildTextNodes(block);
+        if (nodeBudget != null) {
+            nodeBudget.use(nodeCount);
+        }
     }
 
     void reset(SourceLines lines) {
         this.scanner = Scanner.of(lines);
-        this.includeSourceSpans = !lines.getSourceSpans().isEmpty();
+        this.includeSourceSpans = hasSourceSpans(lines);
         this.trailingSpaces = 0;
         this.lastDelimiter = null;
         this.lastBracket = null;
-        this.inlineParsers = createInlineContentParsers();
+        this.delimiterCount = 0;
+        this.bracketCount = 0;
+        if (customInlineParsersCreated) {
+            // Custom parsers are only used for one snippet, the built-in ones can be used again
+            for (int i = 0; i < inlineParsers.length; i++) {
+                if (config.isCustomFactory(i)) {
+                    inlineParsers[i] = null;
+                }
+            }
+            customInlineParsersCreated = false;
+        }
     }
 
-    private Text text(SourceLines sourceLines) {
+    private static boolean hasSourceSpans(SourceLines lines) {
+        List<SourceLine> sourceLines = lines.getLines();
+        for (int i = 0; i < sourceLines.size(); i++) {
+            if (sourceLines.get(i).getSourceSpan() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Text text(Position begin, Position end) {
+        if (!includeSourceSpans) {
+            return new Text(scanner.getContent(begin, end));
+        }
+        SourceLines sourceLines = scanner.getSource(begin, end);
         Text text = new Text(sourceLines.getContent());
         text.setSourceSpans(sourceLines.getSourceSpans());
         return text;
     }
 
     /**
-     * Parse the next inline element in subject, advancing our position.
-     * On success, return the new inline node.
-     * On failure, return null.
+     * Parse the next inline element in subject, advancing our position, and append the resulting nodes to the block
+     * (directly instead of returning them, to not allocate a list for every node).
+     * On success, return the number of appended nodes.
+     * At the end of the content, return 0.
      */
-    private List<? extends Node> parseInline() {
+    private int parseInline(Node block) {
         char c = scanner.peek();
 
         switch (c) {
             case '[':
-                return List.of(parseOpenBracket());
+                return append(block, parseOpenBracket());
             case ']':
-                return List.of(parseCloseBracket());
+                return append(block, parseCloseBracket());
             case '\n':
-                return List.of(parseLineBreak());
+                return append(block, parseLineBreak());
             case Scanner.END:
-                return null;
+                return 0;
         }
 
-        if (linkMarkers.get(c)) {
+        if (config.isLinkMarker(c)) {
             var markerPosition = scanner.position();
-            var nodes = parseLinkMarker();
-            if (nodes != null) {
-                return nodes;
+            int appended = parseLinkMarker(block);
+            if (appended != 0) {
+                return appended;
             }
             // Reset and try other things (e.g. inline parsers below)
             scanner.setPosition(markerPosition);
         }
 
         // No inline parser, delimiter or other special handling.
-        if (!specialCharacters.get(c)) {
-            return List.of(parseText());
+        if (!config.isSpecialCharacter(c)) {
+            return append(block, parseText());
         }
 
-        List<InlineContentParser> inlineParsers = this.inlineParsers.get(c);
-        if (inlineParsers != null) {
+        int[] factoryIndexes = config.getInlineContentParserFactories(c);
+        if (factoryIndexes.length != 0) {
             Position position = scanner.position();
-            for (InlineContentParser inlineParser : inlineParsers) {
-                ParsedInline parsedInline = inlineParser.tryParse(this);
+            for (int factoryIndex : factoryIndexes) {
+                var inlineParser = getInlineParser(factoryIndex);
+                ParsedInline parsedInline = costReport != null ? tryParseMeasured(inlineParser) :
+                        inlineParser.tryParse(this);
                 if (parsedInline instanceof ParsedInlineImpl) {
                     ParsedInlineImpl parsedInlineImpl = (ParsedInlineImpl) parsedInline;
                     Node node = parsedInlineImpl.getNode();
@@ -232,7 +218,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
                     if (includeSourceSpans && node.getSourceSpans().isEmpty()) {
                         node.setSourceSpans(scanner.getSource(position, scanner.position()).getSourceSpans());
                     }
-                    return List.of(node);
+                    return append(block, node);
                 } else {
                     // Reset position
                     scanner.setPosition(position);
@@ -240,25 +226,36 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
             }
         }
 
-        DelimiterProcessor delimiterProcessor = delimiterProcessors.get(c);
+        DelimiterProcessor delimiterProcessor = config.getDelimiterProcessor(c);
         if (delimiterProcessor != null) {
-            List<? extends Node> nodes = parseDelimiters(delimiterProcessor, c);
-            if (nodes != null) {
-                return nodes;
+            int appended = parseDelimiters(block, delimiterProcessor, c);
+            if (appended != 0) {
+                return appended;
             }
         }
 
         // If we get here, even for a special/delimiter character, we will just treat it as text.
-        return List.of(parseText());
+        return append(block, parseText());
+    }
+
+    private static int append(Node block, Node node) {
+        block.appendChild(node);
+        return 1;
     }
 
     /**
-     * Attempt to parse delimiters like emphasis, strong emphasis or custom delimiters.
+     * Attempt to parse delimiters like emphasis, strong emphasis or custom delimiters, appending the delimiter
+     * characters as text nodes. Return the number of appended nodes, 0 if there were no delimiters.
      */
-    private List<? extends Node> parseDelimiters(DelimiterProcessor delimiterProcessor, char delimiterChar) {
+    private int parseDelimiters(Node block, DelimiterProcessor delimiterProcessor, char delimiterChar) {
+        if (delimiterCount >= limits.getMaxDelimiterStackSize()) {
+            limitExceeded(ParseLimits.Limit.DELIMITER_STACK_SIZE, limits.getMaxDelimiterStackSize());
+            return 0;
+        }
+
         DelimiterData res = scanDelimiters(delimiterProcessor, delimiterChar);
         if (res == null) {
-            return null;
+            return 0;
         }
 
         List<Text> characters = res.characters;
@@ -268,8 +265,12 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         if (lastDelimiter.previous != null) {
             lastDelimiter.previous.next = lastDelimiter;
         }
+        delimiterCount++;
 
-        return characters;
+        for (int i = 0; i < characters.size(); i++) {
+            block.appendChild(characters.get(i));
+        }
+        return characters.size();
     }
 
     /**
@@ -280,7 +281,11 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         scanner.next();
         Position contentPosition = scanner.position();
 
-        Text node = text(scanner.getSource(start, contentPosition));
+        Text node = text(start, contentPosition);
+
+        if (!canAddBracket()) {
+            return node;
+        }
 
         // Add entry to stack for this opener
         addBracket(Bracket.link(node, start, contentPosition, lastBracket, lastDelimiter));
@@ -289,23 +294,28 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
     }
 
     /**
-     * If next character is {@code [}, add a bracket to the stack.
-     * Otherwise, return null.
+     * If next character is {@code [}, add a bracket to the stack and append the marker and bracket text nodes.
+     * Return the number of appended nodes, 0 if there was no bracket.
      */
-    private List<? extends Node> parseLinkMarker() {
+    private int parseLinkMarker(Node block) {
+        if (!canAddBracket()) {
+            return 0;
+        }
         var markerPosition = scanner.position();
         scanner.next();
         var bracketPosition = scanner.position();
         if (scanner.next('[')) {
             var contentPosition = scanner.position();
-            var bangNode = text(scanner.getSource(markerPosition, bracketPosition));
-            var bracketNode = text(scanner.getSource(bracketPosition, contentPosition));
+            var bangNode = text(markerPosition, bracketPosition);
+            var bracketNode = text(bracketPosition, contentPosition);
 
             // Add entry to stack for this opener
             addBracket(Bracket.withMarker(bangNode, markerPosition, bracketNode, bracketPosition, contentPosition, lastBracket, lastDelimiter));
-            return List.of(bangNode, bracketNode);
+            block.appendChild(bangNode);
+            block.appendChild(bracketNode);
+            return 2;
         } else {
-            return null;
+            return 0;
         }
     }
 
@@ -322,13 +332,13 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         Bracket opener = lastBracket;
         if (opener == null) {
             // No matching opener, just return a literal.
-            return text(scanner.getSource(beforeClose, afterClose));
+            return text(beforeClose, afterClose);
         }
 
         if (!opener.allowed) {
             // Matching opener, but it's not allowed, just return a literal.
             removeLastBracket();
-            return text(scanner.getSource(beforeClose, afterClose));
+            return text(beforeClose, afterClose);
         }
 
         var linkOrImage = parseLinkOrImage(opener, beforeClose);
@@ -339,7 +349,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
 
         // Nothing parsed, just parse the bracket as text and continue
         removeLastBracket();
-        return text(scanner.getSource(beforeClose, afterClose));
+        return text(beforeClose, afterClose);
     }
 
     private Node parseLinkOrImage(Bracket opener, Position beforeClose) {
@@ -349,8 +359,9 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         }
         var processorStartPosition = scanner.position();
 
-        for (var linkProcessor : linkProcessors) {
-            var linkResult = linkProcessor.process(linkInfo, scanner, context);
+        for (var linkProcessor : config.getLinkProcessors()) {
+            var linkResult = costReport != null ? processLinkMeasured(linkProcessor, linkInfo) :
+                    linkProcessor.process(linkInfo, scanner, context);
             if (!(linkResult instanceof LinkResultImpl)) {
                 // Reset position in case the processor used the scanner, and it didn't work out.
                 scanner.setPosition(processorStartPosition);
@@ -383,7 +394,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         //   - Collapsed: `[foo][]`    (foo is both the text and label)
         //   - Shortcut:  `[foo]`      (foo is both the text and label)
 
-        String text = scanner.getSource(opener.contentPosition, beforeClose).getContent();
+        String text = scanner.getContent(opener.contentPosition, beforeClose);
 
         // Starting position is after the closing `]`
         Position afterClose = scanner.position();
@@ -483,10 +494,40 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
             lastBracket.bracketAfter = true;
         }
         lastBracket = bracket;
+        bracketCount++;
     }
 
     private void removeLastBracket() {
         lastBracket = lastBracket.previous;
+        bracketCount--;
+    }
+
+    private boolean canAddBracket() {
+        if (bracketCount < limits.getMaxBracketStackSize()) {
+            return true;
+        }
+        limitExceeded(ParseLimits.Limit.BRACKET_STACK_SIZE, limits.getMaxBracketStackSize());
+        return false;
+    }
+
+    /**
+     * Throws for {@link ParseLimitPolicy#FAIL}, otherwise returns so that the caller can parse the content as text.
+     */
+    private void limitExceeded(ParseLimits.Limit limit, int maximum) {
+        if (limits.getPolicy() == ParseLimitPolicy.FAIL) {
+            throw new ParseLimitExceededException(limit, maximum);
+        }
+    }
+
+    /**
+     * Parse the rest of the content as text, without looking for any inline syntax.
+     */
+    private Node parseRemainingAsText() {
+        Position start = scanner.position();
+        while (scanner.peek() != Scanner.END) {
+            scanner.next();
+        }
+        return text(start, scanner.position());
     }
 
     /**
@@ -531,10 +572,10 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         String dest;
         if (delimiter == '<') {
             // chop off surrounding <..>:
-            String rawDestination = scanner.getSource(start, scanner.position()).getContent();
+            String rawDestination = scanner.getContent(start, scanner.position());
             dest = rawDestination.substring(1, rawDestination.length() - 1);
         } else {
-            dest = scanner.getSource(start, scanner.position()).getContent();
+            dest = scanner.getContent(start, scanner.position());
         }
 
         return Escaping.unescapeString(dest);
@@ -550,7 +591,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         }
 
         // chop off ', " or parens
-        String rawTitle = scanner.getSource(start, scanner.position()).getContent();
+        String rawTitle = scanner.getContent(start, scanner.position());
         String title = rawTitle.substring(1, rawTitle.length() - 1);
         return Escaping.unescapeString(title);
     }
@@ -573,7 +614,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
             return null;
         }
 
-        String content = scanner.getSource(start, end).getContent();
+        String content = scanner.getContent(start, end);
         // spec: A link label can have at most 999 characters inside the square brackets.
         if (content.length() > 999) {
             return null;
@@ -601,14 +642,14 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         char c;
         while (true) {
             c = scanner.peek();
-            if (c == Scanner.END || specialCharacters.get(c)) {
+            if (c == Scanner.END || config.isSpecialCharacter(c)) {
                 break;
             }
             scanner.next();
         }
 
-        SourceLines source = scanner.getSource(start, scanner.position());
-        String content = source.getContent();
+        SourceLines source = includeSourceSpans ? scanner.getSource(start, scanner.position()) : null;
+        String content = source != null ? source.getContent() : scanner.getContent(start, scanner.position());
 
         if (c == '\n') {
             // We parsed until the end of the line. Trim any trailing spaces and remember them (for hard line breaks).
@@ -622,7 +663,9 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         }
 
         Text text = new Text(content);
-        text.setSourceSpans(source.getSourceSpans());
+        if (source != null) {
+            text.setSourceSpans(source.getSourceSpans());
+        }
         return text;
     }
 
@@ -644,11 +687,11 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         }
 
         // We do have enough, extract a text node for each delimiter character.
-        List<Text> delimiters = new ArrayList<>();
+        List<Text> delimiters = new ArrayList<>(delimiterCount);
         scanner.setPosition(start);
         Position positionBefore = start;
         while (scanner.next(delimiterChar)) {
-            delimiters.add(text(scanner.getSource(positionBefore, scanner.position())));
+            delimiters.add(text(positionBefore, scanner.position()));
             positionBefore = scanner.position();
         }
 
@@ -677,9 +720,30 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         return new DelimiterData(delimiters, canOpen, canClose);
     }
 
+    private ParsedInline tryParseMeasured(InlineContentParser inlineParser) {
+        long start = System.nanoTime();
+        ParsedInline result = inlineParser.tryParse(this);
+        costReport.record(CostReport.Kind.INLINE_CONTENT, inlineParser.getClass(), System.nanoTime() - start);
+        return result;
+    }
+
+    private LinkResult processLinkMeasured(LinkProcessor linkProcessor, LinkInfo linkInfo) {
+        long start = System.nanoTime();
+        LinkResult result = linkProcessor.process(linkInfo, scanner, context);
+        costReport.record(CostReport.Kind.LINK, linkProcessor.getClass(), System.nanoTime() - start);
+        return result;
+    }
+
+    private int processDelimitersMeasured(DelimiterProcessor delimiterProcessor, Delimiter opener, Delimiter closer) {
+        long start = System.nanoTime();
+        int result = delimiterProcessor.process(opener, closer);
+        costReport.record(CostReport.Kind.DELIMITER, delimiterProcessor.getClass(), System.nanoTime() - start);
+        return result;
+    }
+
     private void processDelimiters(Delimiter stackBottom) {
 
-        Map<Character, Delimiter> openersBottom = new HashMap<>();
+        clearOpenersBottom();
 
         // find first closer above stackBottom:
         Delimiter closer = lastDelimiter;
@@ -690,7 +754,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         while (closer != null) {
             char delimiterChar = closer.delimiterChar;
 
-            DelimiterProcessor delimiterProcessor = delimiterProcessors.get(delimiterChar);
+            DelimiterProcessor delimiterProcessor = config.getDelimiterProcessor(delimiterChar);
             if (!closer.canClose() || delimiterProcessor == null) {
                 closer = closer.next;
                 continue;
@@ -703,10 +767,11 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
             boolean openerFound = false;
             boolean potentialOpenerFound = false;
             Delimiter opener = closer.previous;
-            while (opener != null && opener != stackBottom && opener != openersBottom.get(delimiterChar)) {
+            while (opener != null && opener != stackBottom && opener != getOpenersBottom(delimiterChar)) {
                 if (opener.canOpen() && opener.delimiterChar == openingDelimiterChar) {
                     potentialOpenerFound = true;
-                    usedDelims = delimiterProcessor.process(opener, closer);
+                    usedDelims = costReport != null ? processDelimitersMeasured(delimiterProcessor, opener, closer) :
+                            delimiterProcessor.process(opener, closer);
                     if (usedDelims > 0) {
                         openerFound = true;
                         break;
@@ -724,7 +789,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
                     // delimiters (e.g. because of the "multiple of 3" rule),
                     // we want to consider it next time because the number
                     // of delimiters can change as we continue processing.
-                    openersBottom.put(delimiterChar, closer.previous);
+                    setOpenersBottom(delimiterChar, closer.previous);
                     if (!closer.canOpen()) {
                         // We can remove a closer that can't be an opener,
                         // once we've seen there's no matching opener:
@@ -765,6 +830,35 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         }
     }
 
+    private Delimiter getOpenersBottom(char delimiterChar) {
+        if (delimiterChar < openersBottom.length) {
+            return openersBottom[delimiterChar];
+        }
+        return openersBottomOthers != null ? openersBottomOthers.get(delimiterChar) : null;
+    }
+
+    private void setOpenersBottom(char delimiterChar, Delimiter delimiter) {
+        openersBottomSet = true;
+        if (delimiterChar < openersBottom.length) {
+            openersBottom[delimiterChar] = delimiter;
+        } else {
+            if (openersBottomOthers == null) {
+                openersBottomOthers = new HashMap<>();
+            }
+            openersBottomOthers.put(delimiterChar, delimiter);
+        }
+    }
+
+    private void clearOpenersBottom() {
+        if (openersBottomSet) {
+            Arrays.fill(openersBottom, null);
+            if (openersBottomOthers != null) {
+                openersBottomOthers.clear();
+            }
+            openersBottomSet = false;
+        }
+    }
+
     private void removeDelimitersBetween(Delimiter opener, Delimiter closer) {
         Delimiter delimiter = closer.previous;
         while (delimiter != null && delimiter != opener) {
@@ -798,6 +892,7 @@ public class InlineParserImpl implements InlineParser, InlineParserState {
         } else {
             delim.next.previous = delim.previous;
         }
+        delimiterCount--;
     }
 
     private void mergeChildTextNodes(Node node) {
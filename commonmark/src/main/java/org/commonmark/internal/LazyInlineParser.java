@@ -0,0 +1,31 @@
+package org.commonmark.internal;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.InlineParser;
+import org.commonmark.parser.InlineParserContext;
+import org.commonmark.parser.InlineParserFactory;
+import org.commonmark.parser.SourceLines;
+
+/**
+ * Inline parser for the blocks of one document with lazy inline parsing. The actual inline parser is only created when
+ * the first block is parsed.
+ */
+class LazyInlineParser implements InlineParser {
+
+    private final InlineParserFactory inlineParserFactory;
+    private final InlineParserContext context;
+    private InlineParser inlineParser;
+
+    LazyInlineParser(InlineParserFactory inlineParserFactory, InlineParserContext context) {
+        this.inlineParserFactory = inlineParserFactory;
+        this.context = context;
+    }
+
+    @Override
+    public synchronized void parse(SourceLines lines, Node node) {
+        if (inlineParser == null) {
+            inlineParser = inlineParserFactory.create(context);
+        }
+        inlineParser.parse(lines, node);
+    }
+}
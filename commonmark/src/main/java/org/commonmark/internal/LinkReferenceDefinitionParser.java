@@ -82,6 +82,10 @@ public class LinkReferenceDefinitionParser {
         sourceSpans.add(sourceSpan);
     }
 
+    boolean hasParagraphLines() {
+        return !paragraphLines.isEmpty();
+    }
+
     /**
      * @return the lines that are normal paragraph content, without newlines
      */
@@ -127,7 +131,7 @@ public class LinkReferenceDefinitionParser {
             return false;
         }
 
-        label.append(scanner.getSource(start, scanner.position()).getContent());
+        label.append(scanner.getContent(start, scanner.position()));
 
         if (!scanner.hasNext()) {
             // label might continue on next line
@@ -165,7 +169,7 @@ public class LinkReferenceDefinitionParser {
             return false;
         }
 
-        String rawDestination = scanner.getSource(start, scanner.position()).getContent();
+        String rawDestination = scanner.getContent(start, scanner.position());
         destination = rawDestination.startsWith("<") ?
                 rawDestination.substring(1, rawDestination.length() - 1) :
                 rawDestination;
@@ -226,7 +230,7 @@ public class LinkReferenceDefinitionParser {
             return false;
         }
 
-        title.append(scanner.getSource(start, scanner.position()).getContent());
+        title.append(scanner.getContent(start, scanner.position()));
 
         if (!scanner.hasNext()) {
             // Title ran until the end of line, so continue on next line (until we find the delimiter)
@@ -5,6 +5,7 @@ import org.commonmark.node.*;
 import org.commonmark.parser.block.*;
 
 import java.util.Objects;
+import java.util.Set;
 
 public class ListBlockParser extends AbstractBlockParser {
 
@@ -199,6 +200,13 @@ public class ListBlockParser extends AbstractBlockParser {
 
     public static class Factory extends AbstractBlockParserFactory {
 
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('-', '+', '*', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             BlockParser matched = matchedBlockParser.getMatchedBlockParser();
@@ -209,7 +217,7 @@ public class ListBlockParser extends AbstractBlockParser {
             int markerIndex = state.getNextNonSpaceIndex();
             int markerColumn = state.getColumn() + state.getIndent();
             boolean inParagraph = !matchedBlockParser.getParagraphLines().isEmpty();
-            ListData listData = parseList(state.getLine().getContent(), markerIndex, markerColumn, inParagraph);
+            ListData listData = parseList(state.getLine().getContentView(), markerIndex, markerColumn, inParagraph);
             if (listData == null) {
                 return BlockStart.none();
             }
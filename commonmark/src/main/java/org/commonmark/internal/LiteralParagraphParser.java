@@ -0,0 +1,45 @@
+package org.commonmark.internal;
+
+import org.commonmark.node.Block;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.Text;
+import org.commonmark.parser.InlineParser;
+import org.commonmark.parser.SourceLine;
+import org.commonmark.parser.SourceLines;
+import org.commonmark.parser.block.AbstractBlockParser;
+import org.commonmark.parser.block.BlockContinue;
+import org.commonmark.parser.block.ParserState;
+
+/**
+ * A paragraph that contains its lines as a single text node, without parsing them. Used for the line that exceeds
+ * {@link org.commonmark.parser.ParseLimits#getMaxInputLength()}.
+ */
+public class LiteralParagraphParser extends AbstractBlockParser {
+
+    private final Paragraph block = new Paragraph();
+    private final SourceLines lines = SourceLines.empty();
+
+    @Override
+    public Block getBlock() {
+        return block;
+    }
+
+    @Override
+    public BlockContinue tryContinue(ParserState state) {
+        return BlockContinue.atIndex(state.getIndex());
+    }
+
+    @Override
+    public void addLine(SourceLine line) {
+        lines.addLine(line);
+    }
+
+    @Override
+    public void parseInlines(InlineParser inlineParser) {
+        if (!lines.isEmpty()) {
+            Text text = new Text(lines.getContent());
+            text.setSourceSpans(lines.getSourceSpans());
+            block.appendChild(text);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.commonmark.internal;
+
+import org.commonmark.parser.ParseLimitExceededException;
+import org.commonmark.parser.ParseLimitPolicy;
+import org.commonmark.parser.ParseLimits;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the nodes created for a document, for {@link ParseLimits#getMaxNodes()}. Thread-safe, as inline content can
+ * be parsed concurrently. Counting is done per block, not per node, to keep the cost down.
+ */
+public class NodeBudget {
+
+    private final int maxNodes;
+    private final ParseLimitPolicy policy;
+    private final AtomicInteger used;
+
+    private NodeBudget(int maxNodes, ParseLimitPolicy policy, int used) {
+        this.maxNodes = maxNodes;
+        this.policy = policy;
+        this.used = new AtomicInteger(used);
+    }
+
+    /**
+     * @return a budget for the limits, or {@code null} if the number of nodes isn't limited
+     */
+    public static NodeBudget of(ParseLimits limits) {
+        if (limits.getMaxNodes() == Integer.MAX_VALUE) {
+            return null;
+        }
+        return new NodeBudget(limits.getMaxNodes(), limits.getPolicy(), 0);
+    }
+
+    /**
+     * @return a new budget that starts with the nodes used so far, but counts separately from now on
+     */
+    public NodeBudget copy() {
+        return new NodeBudget(maxNodes, policy, used.get());
+    }
+
+    public void reset() {
+        used.set(0);
+    }
+
+    /**
+     * @return how many nodes can still be created, can be negative with {@link ParseLimitPolicy#LITERAL}
+     */
+    public int remaining() {
+        return maxNodes - used.get();
+    }
+
+    public boolean isExhausted() {
+        return remaining() <= 0;
+    }
+
+    /**
+     * Count created nodes.
+     *
+     * @throws ParseLimitExceededException if that exceeds the limit and the policy is {@link ParseLimitPolicy#FAIL}
+     */
+    public void use(int nodes) {
+        int total = used.addAndGet(nodes);
+        if (total > maxNodes && policy == ParseLimitPolicy.FAIL) {
+            throw new ParseLimitExceededException(ParseLimits.Limit.NODES, maxNodes);
+        }
+    }
+}
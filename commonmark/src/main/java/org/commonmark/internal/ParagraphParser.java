@@ -48,8 +48,12 @@ public class ParagraphParser extends AbstractBlockParser {
 
     @Override
     public List<DefinitionMap<?>> getDefinitions() {
+        var definitions = linkReferenceDefinitionParser.getDefinitions();
+        if (definitions.isEmpty()) {
+            return List.of();
+        }
         var map = new DefinitionMap<>(LinkReferenceDefinition.class);
-        for (var def : linkReferenceDefinitionParser.getDefinitions()) {
+        for (var def : definitions) {
             map.putIfAbsent(def.getLabel(), def);
         }
         return List.of(map);
@@ -61,7 +65,7 @@ public class ParagraphParser extends AbstractBlockParser {
             block.insertBefore(def);
         }
 
-        if (linkReferenceDefinitionParser.getParagraphLines().isEmpty()) {
+        if (!linkReferenceDefinitionParser.hasParagraphLines()) {
             block.unlink();
         } else {
             block.setSourceSpans(linkReferenceDefinitionParser.getParagraphSourceSpans());
@@ -70,9 +74,8 @@ public class ParagraphParser extends AbstractBlockParser {
 
     @Override
     public void parseInlines(InlineParser inlineParser) {
-        SourceLines lines = linkReferenceDefinitionParser.getParagraphLines();
-        if (!lines.isEmpty()) {
-            inlineParser.parse(lines, block);
+        if (linkReferenceDefinitionParser.hasParagraphLines()) {
+            inlineParser.parse(linkReferenceDefinitionParser.getParagraphLines(), block);
         }
     }
 
@@ -0,0 +1,194 @@
+package org.commonmark.internal;
+
+import org.commonmark.text.Characters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Parses the blocks of a large input concurrently, by splitting it into segments that are parsed with separate
+ * {@link DocumentParser} instances.
+ * <p>
+ * Segments start at a line that is not indented and follows a blank line. At such a line, the parser usually only has
+ * the document open, but not always (e.g. in a fenced code block or an HTML block that spans blank lines, or a block
+ * quote that continues). So after parsing a segment, the parser also parses the first line of the next segment and
+ * checks that it started new top-level blocks the same way as the parser of the next segment did. If that's not the
+ * case, the previous parser continues with the lines of the next segment sequentially. The result is the same as with
+ * sequential parsing.
+ */
+public class ParallelDocumentParser {
+
+    private final String input;
+    private final boolean countLines;
+    private final Supplier<DocumentParser> documentParserSupplier;
+    private final Executor executor;
+
+    public ParallelDocumentParser(String input, boolean countLines, Supplier<DocumentParser> documentParserSupplier,
+                                  Executor executor) {
+        this.input = input;
+        this.countLines = countLines;
+        this.documentParserSupplier = documentParserSupplier;
+        this.executor = executor;
+    }
+
+    /**
+     * Parse the blocks of the input into the specified (new) parser, splitting it into up to {@code segments}
+     * segments. After this, the blocks of the parser are finalized and it has all definitions, so inlines can be
+     * parsed.
+     */
+    public void parseBlocks(DocumentParser documentParser, int segments) {
+        List<Segment> list = split(segments);
+        Segment first = list.get(0);
+        first.documentParser = documentParser;
+
+        var futures = new ArrayList<CompletableFuture<Void>>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Segment segment = list.get(i);
+            Segment next = i + 1 < list.size() ? list.get(i + 1) : null;
+            futures.add(CompletableFuture.runAsync(() -> segment.parse(next), executor));
+        }
+        for (var future : futures) {
+            join(future);
+        }
+
+        // Merge the segments in order. If a segment doesn't start where the previous one ended up, continue parsing
+        // it with the previous one instead.
+        Segment current = first;
+        for (int i = 1; i < list.size(); i++) {
+            Segment segment = list.get(i);
+            Segment next = i + 1 < list.size() ? list.get(i + 1) : null;
+            if (current.nextStartTypes != null && current.nextStartTypes.equals(segment.startTypes)) {
+                current.documentParser.removeLastLineBlocks();
+                current.documentParser.finalizeBlocks();
+                if (current != first) {
+                    first.documentParser.appendBlocks(current.documentParser);
+                }
+                current = segment;
+            } else {
+                current.continueWith(segment, next);
+            }
+        }
+        current.documentParser.finalizeBlocks();
+        if (current != first) {
+            first.documentParser.appendBlocks(current.documentParser);
+        }
+    }
+
+    private List<Segment> split(int segments) {
+        List<Segment> list = new ArrayList<>(segments);
+        list.add(new Segment(0, 0));
+        int lineStart = 0;
+        int lineIndex = 0;
+        boolean previousBlank = false;
+        for (int i = 1; i < segments; i++) {
+            int target = (int) ((long) input.length() * i / segments);
+            while (lineStart < input.length()) {
+                int lineEnd = lineEnd(lineStart);
+                boolean blank = Characters.skipSpaceTab(input, lineStart, lineEnd) == lineEnd;
+                boolean segmentStart = previousBlank && !blank && lineStart >= target &&
+                        !Characters.isSpaceOrTab(input, lineStart);
+                if (segmentStart) {
+                    list.add(new Segment(lineStart, lineIndex));
+                }
+                previousBlank = blank;
+                lineStart = nextLineStart(lineEnd);
+                if (countLines) {
+                    lineIndex++;
+                }
+                if (segmentStart) {
+                    break;
+                }
+            }
+        }
+        return list;
+    }
+
+    private int lineEnd(int lineStart) {
+        int lineBreak = Characters.findLineBreak(input, lineStart);
+        return lineBreak != -1 ? lineBreak : input.length();
+    }
+
+    private int nextLineStart(int lineEnd) {
+        if (lineEnd < input.length() - 1 && input.charAt(lineEnd) == '\r' && input.charAt(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    private static void join(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            // Rethrow the original exception, same as in sequential parsing
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private class Segment {
+
+        private final int start;
+        private final int lineIndex;
+
+        private DocumentParser documentParser;
+
+        /**
+         * The types of the block parsers that are open after parsing the first line of this segment with a new parser
+         */
+        private List<Class<?>> startTypes;
+
+        /**
+         * The types of the block parsers that are open after parsing the first line of the next segment with the
+         * parser of this segment, or {@code null} if the parser didn't start a new top-level block there
+         */
+        private List<Class<?>> nextStartTypes;
+
+        Segment(int start, int lineIndex) {
+            this.start = start;
+            this.lineIndex = lineIndex;
+        }
+
+        void parse(Segment next) {
+            if (documentParser == null) {
+                documentParser = documentParserSupplier.get();
+            }
+            documentParser.setLineIndex(lineIndex);
+            int end = next != null ? next.start : input.length();
+            if (start == 0) {
+                documentParser.parseBlocks(input, start, end);
+            } else {
+                int firstLineEnd = lineEnd(start);
+                startTypes = documentParser.parseLineAtDocumentLevel(input, start, firstLineEnd);
+                documentParser.parseBlocks(input, Math.min(nextLineStart(firstLineEnd), end), end);
+            }
+            parseNextStart(next);
+        }
+
+        /**
+         * Continue parsing the lines of the specified segment with the parser of this segment, which has already
+         * parsed the first line of it.
+         */
+        void continueWith(Segment segment, Segment next) {
+            int end = next != null ? next.start : input.length();
+            documentParser.parseBlocks(input, Math.min(nextLineStart(lineEnd(segment.start)), end), end);
+            parseNextStart(next);
+        }
+
+        private void parseNextStart(Segment next) {
+            if (next != null) {
+                nextStartTypes = documentParser.parseLineAtDocumentLevel(input, next.start, lineEnd(next.start));
+            } else {
+                nextStartTypes = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.commonmark.internal;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.ParseListener;
+import org.commonmark.parser.ParseStatistics;
+import org.commonmark.parser.PostProcessor;
+
+import java.util.List;
+
+/**
+ * Calls multiple {@link ParseListener} instances in order.
+ */
+public class ParseListeners implements ParseListener {
+
+    private final List<ParseListener> listeners;
+
+    private ParseListeners(List<ParseListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * @return a listener that calls all the listeners, or null if there are none (so that nothing is measured)
+     */
+    public static ParseListener of(List<ParseListener> listeners) {
+        if (listeners.isEmpty()) {
+            return null;
+        } else if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        return new ParseListeners(List.copyOf(listeners));
+    }
+
+    @Override
+    public void blockParsingStarted(ParseStatistics statistics) {
+        for (var listener : listeners) {
+            listener.blockParsingStarted(statistics);
+        }
+    }
+
+    @Override
+    public void blockParsingFinished(ParseStatistics statistics) {
+        for (var listener : listeners) {
+            listener.blockParsingFinished(statistics);
+        }
+    }
+
+    @Override
+    public void inlineParsingStarted(ParseStatistics statistics) {
+        for (var listener : listeners) {
+            listener.inlineParsingStarted(statistics);
+        }
+    }
+
+    @Override
+    public void inlineParsingFinished(ParseStatistics statistics) {
+        for (var listener : listeners) {
+            listener.inlineParsingFinished(statistics);
+        }
+    }
+
+    @Override
+    public void postProcessorFinished(PostProcessor postProcessor, long nanos, ParseStatistics statistics) {
+        for (var listener : listeners) {
+            listener.postProcessorFinished(postProcessor, nanos, statistics);
+        }
+    }
+
+    @Override
+    public void documentParsed(Node document, ParseStatistics statistics) {
+        for (var listener : listeners) {
+            listener.documentParsed(document, statistics);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.commonmark.internal;
+
+import org.commonmark.parser.ParseStatistics;
+
+import java.util.function.IntSupplier;
+
+public class ParseStatisticsImpl implements ParseStatistics {
+
+    private final int inputLength;
+    private final int lineCount;
+    private final IntSupplier nodeCounter;
+    private final long blockParsingNanos;
+    private final long inlineParsingNanos;
+    private final long postProcessingNanos;
+
+    public ParseStatisticsImpl(int inputLength, int lineCount, IntSupplier nodeCounter, long blockParsingNanos,
+                               long inlineParsingNanos, long postProcessingNanos) {
+        this.inputLength = inputLength;
+        this.lineCount = lineCount;
+        this.nodeCounter = nodeCounter;
+        this.blockParsingNanos = blockParsingNanos;
+        this.inlineParsingNanos = inlineParsingNanos;
+        this.postProcessingNanos = postProcessingNanos;
+    }
+
+    @Override
+    public int getInputLength() {
+        return inputLength;
+    }
+
+    @Override
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeCounter.getAsInt();
+    }
+
+    @Override
+    public long getBlockParsingNanos() {
+        return blockParsingNanos;
+    }
+
+    @Override
+    public long getInlineParsingNanos() {
+        return inlineParsingNanos;
+    }
+
+    @Override
+    public long getPostProcessingNanos() {
+        return postProcessingNanos;
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return blockParsingNanos + inlineParsingNanos + postProcessingNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseStatistics{" +
+                "inputLength=" + inputLength +
+                ", lineCount=" + lineCount +
+                ", nodeCount=" + getNodeCount() +
+                ", blockParsingNanos=" + blockParsingNanos +
+                ", inlineParsingNanos=" + inlineParsingNanos +
+                ", postProcessingNanos=" + postProcessingNanos +
+                "}";
+    }
+}
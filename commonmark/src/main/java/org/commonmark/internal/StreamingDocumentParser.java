@@ -0,0 +1,274 @@
+package org.commonmark.internal;
+
+import org.commonmark.node.*;
+import org.commonmark.parser.BlockListener;
+import org.commonmark.parser.InlineParser;
+import org.commonmark.parser.SourceLines;
+import org.commonmark.parser.StreamingSession;
+import org.commonmark.parser.block.BlockParser;
+import org.commonmark.text.Characters;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Parses input that arrives in chunks, see {@link org.commonmark.parser.Parser#newStreamingSession}.
+ * <p>
+ * Complete lines are passed to the {@link DocumentParser} right away. After each chunk, the top-level blocks before the
+ * one that is still open are closed, so they are inline-parsed, detached from the document and passed to the listener.
+ */
+public class StreamingDocumentParser implements StreamingSession {
+
+    private final DocumentParser documentParser;
+    private final UnaryOperator<Node> postProcessor;
+    private final BlockListener listener;
+    private final boolean deferUnresolvedReferences;
+    private final InlineParser inlineParser;
+
+    /**
+     * Stays the first child of the document once blocks were detached, so that block parsers can still tell that
+     * they're not at the start of the document (e.g. for front matter).
+     */
+    private final Block placeholder = new Placeholder();
+
+    private final StringBuilder buffer = new StringBuilder();
+    /**
+     * Index in the whole input of the start of {@link #buffer}
+     */
+    private int bufferInputIndex = 0;
+    /**
+     * Index in {@link #buffer} from where to look for the next line break
+     */
+    private int searchIndex = 0;
+
+    private final Deque<CompletedBlock> completedBlocks = new ArrayDeque<>();
+    private boolean finished = false;
+
+    public StreamingDocumentParser(DocumentParser documentParser, UnaryOperator<Node> postProcessor,
+                                   BlockListener listener, boolean deferUnresolvedReferences) {
+        this.documentParser = documentParser;
+        this.postProcessor = postProcessor;
+        this.listener = listener;
+        this.deferUnresolvedReferences = deferUnresolvedReferences;
+        this.inlineParser = documentParser.createInlineParser();
+    }
+
+    @Override
+    public void feed(CharSequence chunk) {
+        Objects.requireNonNull(chunk, "chunk must not be null");
+        checkNotFinished();
+        if (documentParser.isInputLimitReached()) {
+            // The rest of the input is ignored
+            return;
+        }
+        // Only keep one character more than the maximum input length, so that a long line can't use unbounded memory
+        long maxAppend = (long) documentParser.getMaxInputLength() + 1 - bufferInputIndex - buffer.length();
+        buffer.append(chunk, 0, (int) Math.min(chunk.length(), maxAppend));
+
+        int lineStart = 0;
+        int lineBreak;
+        while ((lineBreak = Characters.findLineBreak(buffer, searchIndex)) != -1) {
+            int nextLineStart = lineBreak + 1;
+            if (buffer.charAt(lineBreak) == '\r') {
+                if (nextLineStart == buffer.length()) {
+                    // Could be a \r\n that is split across chunks, wait for the next chunk
+                    break;
+                } else if (buffer.charAt(nextLineStart) == '\n') {
+                    nextLineStart++;
+                }
+            }
+            documentParser.parseLine(buffer.substring(lineStart, lineBreak), bufferInputIndex + lineStart);
+            lineStart = nextLineStart;
+            searchIndex = nextLineStart;
+        }
+        buffer.delete(0, lineStart);
+        bufferInputIndex += lineStart;
+        searchIndex = lineBreak != -1 ? lineBreak - lineStart : buffer.length();
+        if (bufferInputIndex + buffer.length() > documentParser.getMaxInputLength()) {
+            // The incomplete line already exceeds the limit, so it's not going to be continued
+            documentParser.parseLine(buffer.toString(), bufferInputIndex);
+            buffer.setLength(0);
+            searchIndex = 0;
+        }
+
+        completeClosedBlocks(documentParser.getOpenTopLevelBlock());
+        reportCompletedBlocks(false);
+    }
+
+    @Override
+    public void finish() {
+        checkNotFinished();
+        finished = true;
+
+        if (buffer.length() > 0) {
+            // The last line, possibly followed by a \r
+            int length = buffer.length();
+            if (buffer.charAt(length - 1) == '\r') {
+                length--;
+            }
+            documentParser.parseLine(buffer.substring(0, length), bufferInputIndex);
+        }
+        buffer.setLength(0);
+
+        documentParser.finalizeBlocks();
+        completeClosedBlocks(null);
+        reportCompletedBlocks(true);
+    }
+
+    private void checkNotFinished() {
+        if (finished) {
+            throw new IllegalStateException("Session is already finished");
+        }
+    }
+
+    /**
+     * Detach the top-level blocks before {@code openBlock} from the document, together with their block parsers.
+     */
+    private void completeClosedBlocks(Block openBlock) {
+        Document document = documentParser.getDocument();
+        Node first = placeholder.getParent() != null ? placeholder.getNext() : document.getFirstChild();
+        if (first == null || first == openBlock) {
+            return;
+        }
+
+        Map<Node, List<BlockParser>> blockParsers = new IdentityHashMap<>();
+        for (BlockParser blockParser : documentParser.takeClosedBlockParsers(openBlock)) {
+            Node topLevel = blockParser.getBlock();
+            while (topLevel.getParent() != null && topLevel.getParent() != document) {
+                topLevel = topLevel.getParent();
+            }
+            if (topLevel.getParent() == document) {
+                blockParsers.computeIfAbsent(topLevel, k -> new ArrayList<>()).add(blockParser);
+            }
+        }
+
+        if (placeholder.getParent() == null) {
+            document.prependChild(placeholder);
+        }
+        Node node = first;
+        while (node != null && node != openBlock) {
+            Node next = node.getNext();
+            node.unlink();
+            completedBlocks.add(new CompletedBlock(node, blockParsers.getOrDefault(node, List.of())));
+            node = next;
+        }
+    }
+
+    /**
+     * Report completed blocks to the listener in order, stopping at a block that needs to be deferred.
+     */
+    private void reportCompletedBlocks(boolean finishing) {
+        while (!completedBlocks.isEmpty()) {
+            CompletedBlock block = completedBlocks.peek();
+            if (!block.parseInlines(finishing)) {
+                return;
+            }
+            completedBlocks.remove();
+            listener.onBlock(postProcessor.apply(block.node));
+        }
+    }
+
+    private class CompletedBlock {
+
+        private final Node node;
+        private final List<BlockParser> blockParsers;
+
+        /**
+         * The inline content to parse (when deferring unresolved references)
+         */
+        private List<InlineContent> inlineContents;
+        private int definitionCount = -1;
+
+        CompletedBlock(Node node, List<BlockParser> blockParsers) {
+            this.node = node;
+            this.blockParsers = blockParsers;
+        }
+
+        /**
+         * @return {@code true} if inlines were parsed, {@code false} if the block needs to wait for more definitions
+         */
+        boolean parseInlines(boolean finishing) {
+            if (!deferUnresolvedReferences) {
+                for (BlockParser blockParser : blockParsers) {
+                    blockParser.parseInlines(inlineParser);
+                }
+                return true;
+            }
+
+            if (inlineContents == null) {
+                inlineContents = new ArrayList<>();
+                InlineParser recorder = (lines, node) -> inlineContents.add(new InlineContent(lines, node));
+                for (BlockParser blockParser : blockParsers) {
+                    blockParser.parseInlines(recorder);
+                }
+            }
+
+            int count = documentParser.getDefinitionCount();
+            if (!finishing && count == definitionCount) {
+                // Nothing changed since the last try
+                return false;
+            }
+            definitionCount = count;
+
+            boolean unresolved = false;
+            for (InlineContent inlineContent : inlineContents) {
+                inlineParser.parse(inlineContent.lines, inlineContent.node);
+                unresolved = unresolved || hasBrackets(inlineContent.node);
+            }
+            if (unresolved && !finishing) {
+                // Try again with the next definitions
+                for (InlineContent inlineContent : inlineContents) {
+                    inlineContent.removeInlines();
+                }
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Check whether the text contains {@code [} followed by {@code ]}, which could become a link (or other
+     * reference) when a definition for it is added later.
+     */
+    private static boolean hasBrackets(Node node) {
+        StringBuilder text = new StringBuilder();
+        appendText(node, text);
+        int open = text.indexOf("[");
+        return open != -1 && text.indexOf("]", open) != -1;
+    }
+
+    private static void appendText(Node node, StringBuilder text) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            if (child instanceof Text) {
+                text.append(((Text) child).getLiteral());
+            } else if (!(child instanceof Block)) {
+                appendText(child, text);
+            }
+        }
+    }
+
+    private static class InlineContent {
+
+        private final SourceLines lines;
+        private final Node node;
+        private final Node lastChild;
+
+        InlineContent(SourceLines lines, Node node) {
+            this.lines = lines;
+            this.node = node;
+            this.lastChild = node.getLastChild();
+        }
+
+        void removeInlines() {
+            Node child = lastChild != null ? lastChild.getNext() : node.getFirstChild();
+            while (child != null) {
+                Node next = child.getNext();
+                child.unlink();
+                child = next;
+            }
+        }
+    }
+
+    private static class Placeholder extends CustomBlock {
+    }
+}
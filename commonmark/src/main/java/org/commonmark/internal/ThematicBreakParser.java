@@ -4,6 +4,8 @@ import org.commonmark.node.Block;
 import org.commonmark.node.ThematicBreak;
 import org.commonmark.parser.block.*;
 
+import java.util.Set;
+
 public class ThematicBreakParser extends AbstractBlockParser {
 
     private final ThematicBreak block = new ThematicBreak();
@@ -25,13 +27,20 @@ public class ThematicBreakParser extends AbstractBlockParser {
 
     public static class Factory extends AbstractBlockParserFactory {
 
+        private static final Set<Character> TRIGGER_CHARACTERS = Set.of('-', '_', '*');
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return TRIGGER_CHARACTERS;
+        }
+
         @Override
         public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
             if (state.getIndent() >= 4) {
                 return BlockStart.none();
             }
             int nextNonSpace = state.getNextNonSpaceIndex();
-            CharSequence line = state.getLine().getContent();
+            CharSequence line = state.getLine().getContentView();
             if (isThematicBreak(line, nextNonSpace)) {
                 var literal = String.valueOf(line.subSequence(state.getIndex(), line.length()));
                 return BlockStart.of(new ThematicBreakParser(literal)).atIndex(line.length());
@@ -6,27 +6,60 @@ import org.commonmark.parser.SourceLines;
 import org.commonmark.parser.beta.*;
 import org.commonmark.text.Characters;
 
+import java.util.Arrays;
 import java.util.Set;
 
 /**
  * Attempt to parse backticks, returning either a backtick code span or a literal sequence of backticks.
+ * <p>
+ * When there's no closing run for an opening run, the rest of the input has been scanned. The start of the last run
+ * of each length is remembered then, so that later opening runs without a closing run are found without scanning
+ * again (like the "backticks scanned" memo in cmark). Otherwise, input with many unmatched runs of different lengths
+ * would take quadratic time.
  */
 public class BackticksInlineParser implements InlineContentParser {
 
+    /**
+     * The scanner that {@link #lastRuns} is for (a new one is used for each inline content)
+     */
+    private Scanner scannedScanner = null;
+    /**
+     * The start of the last run for each length, or {@code null} if the rest of the input wasn't scanned yet
+     */
+    private Position[] lastRuns = null;
+
     @Override
     public ParsedInline tryParse(InlineParserState inlineParserState) {
         Scanner scanner = inlineParserState.scanner();
+        if (scanner != scannedScanner) {
+            scannedScanner = null;
+            lastRuns = null;
+        }
+
         Position start = scanner.position();
         int openingTicks = scanner.matchMultiple('`');
         Position afterOpening = scanner.position();
 
+        if (lastRuns != null) {
+            Position lastRun = openingTicks < lastRuns.length ? lastRuns[openingTicks] : null;
+            if (lastRun == null || lastRun.compareTo(afterOpening) < 0) {
+                return literal(scanner, start, afterOpening);
+            }
+        }
+
+        Position[] runs = null;
         while (scanner.find('`') > 0) {
             Position beforeClosing = scanner.position();
             int count = scanner.matchMultiple('`');
-            if (count == openingTicks) {
+            if (count != openingTicks) {
+                if (runs == null || count >= runs.length) {
+                    runs = runs == null ? new Position[count + 1] : Arrays.copyOf(runs, Math.max(count + 1, runs.length * 2));
+                }
+                runs[count] = beforeClosing;
+            } else {
                 Code node = new Code();
 
-                String content = scanner.getSource(afterOpening, beforeClosing).getContent();
+                String content = scanner.getContent(afterOpening, beforeClosing);
                 content = content.replace('\n', ' ');
 
                 // spec: If the resulting string both begins and ends with a space character, but does not consist
@@ -43,7 +76,14 @@ public class BackticksInlineParser implements InlineContentParser {
             }
         }
 
-        // If we got here, we didn't find a matching closing backtick sequence.
+        // If we got here, we didn't find a matching closing backtick sequence. Remember the runs of the rest of the
+        // input for the next opening runs.
+        scannedScanner = scanner;
+        lastRuns = runs != null ? runs : new Position[0];
+        return literal(scanner, start, afterOpening);
+    }
+
+    private static ParsedInline literal(Scanner scanner, Position start, Position afterOpening) {
         SourceLines source = scanner.getSource(start, afterOpening);
         Text text = new Text(source.getContent());
         return ParsedInline.of(text, afterOpening);
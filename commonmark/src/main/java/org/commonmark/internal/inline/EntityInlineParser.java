@@ -17,6 +17,9 @@ public class EntityInlineParser implements InlineContentParser {
     private static final AsciiMatcher entityStart = AsciiMatcher.builder().range('A', 'Z').range('a', 'z').build();
     private static final AsciiMatcher entityContinue = entityStart.newBuilder().range('0', '9').build();
 
+    // The name of a named character reference, reused for looking it up without creating a string
+    private final StringBuilder name = new StringBuilder();
+
     @Override
     public ParsedInline tryParse(InlineParserState inlineParserState) {
         Scanner scanner = inlineParserState.scanner();
@@ -29,29 +32,49 @@ public class EntityInlineParser implements InlineContentParser {
             // Numeric
             scanner.next();
             if (scanner.next('x') || scanner.next('X')) {
-                int digits = scanner.match(hex);
+                int digits = 0;
+                int codePoint = 0;
+                while (hex.matches(c = scanner.peek()) && digits <= 6) {
+                    codePoint = codePoint * 16 + Character.digit(c, 16);
+                    digits++;
+                    scanner.next();
+                }
                 if (1 <= digits && digits <= 6 && scanner.next(';')) {
-                    return entity(scanner, start);
+                    return entity(Html5Entities.codePointToString(codePoint), scanner);
                 }
             } else {
-                int digits = scanner.match(dec);
+                int digits = 0;
+                int codePoint = 0;
+                while (dec.matches(c = scanner.peek()) && digits <= 7) {
+                    codePoint = codePoint * 10 + (c - '0');
+                    digits++;
+                    scanner.next();
+                }
                 if (1 <= digits && digits <= 7 && scanner.next(';')) {
-                    return entity(scanner, start);
+                    return entity(Html5Entities.codePointToString(codePoint), scanner);
                 }
             }
         } else if (entityStart.matches(c)) {
-            scanner.match(entityContinue);
+            name.setLength(0);
+            while (entityContinue.matches(c = scanner.peek())) {
+                name.append(c);
+                scanner.next();
+            }
             if (scanner.next(';')) {
-                return entity(scanner, start);
+                String characters = Html5Entities.getNamedCharacters(name, 0, name.length());
+                if (characters == null) {
+                    // Not a known name, stays as it is
+                    characters = scanner.getContent(start, scanner.position());
+                }
+                return entity(characters, scanner);
             }
         }
 
         return ParsedInline.none();
     }
 
-    private ParsedInline entity(Scanner scanner, Position start) {
-        String text = scanner.getSource(start, scanner.position()).getContent();
-        return ParsedInline.of(new Text(Html5Entities.entityToString(text)), scanner.position());
+    private ParsedInline entity(String characters, Scanner scanner) {
+        return ParsedInline.of(new Text(characters), scanner.position());
     }
 
     public static class Factory implements InlineContentParserFactory {
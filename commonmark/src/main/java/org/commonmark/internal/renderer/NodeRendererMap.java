@@ -1,6 +1,9 @@
 package org.commonmark.internal.renderer;
 
+import org.commonmark.node.Document;
 import org.commonmark.node.Node;
+import org.commonmark.parser.CancellationToken;
+import org.commonmark.parser.CostReport;
 import org.commonmark.renderer.NodeRenderer;
 
 import java.util.ArrayList;
@@ -12,6 +15,10 @@ public class NodeRendererMap {
 
     private final List<NodeRenderer> nodeRenderers = new ArrayList<>();
     private final Map<Class<? extends Node>, NodeRenderer> renderers = new HashMap<>(32);
+    private CancellationToken cancellation;
+    private CostReport costReport;
+    // Time spent rendering the children of the node that is currently being rendered, see renderMeasured
+    private long childNanos;
 
     public void add(NodeRenderer nodeRenderer) {
         nodeRenderers.add(nodeRenderer);
@@ -21,10 +28,48 @@ public class NodeRendererMap {
         }
     }
 
+    /**
+     * Set the token that is checked before rendering each top-level block, or null.
+     */
+    public void setCancellation(CancellationToken cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Set the report for the costs of the node renderers, or null.
+     */
+    public void setCostReport(CostReport costReport) {
+        this.costReport = costReport;
+    }
+
     public void render(Node node) {
+        if (cancellation != null && node.getParent() instanceof Document) {
+            cancellation.throwIfCancelled();
+        }
         var nodeRenderer = renderers.get(node.getClass());
         if (nodeRenderer != null) {
+            if (costReport != null) {
+                renderMeasured(nodeRenderer, node);
+            } else {
+                nodeRenderer.render(node);
+            }
+        }
+    }
+
+    /**
+     * Renderers render the children of a node via {@link #render}, so subtract the time for those to get the time of
+     * the renderer itself.
+     */
+    private void renderMeasured(NodeRenderer nodeRenderer, Node node) {
+        long parentChildNanos = childNanos;
+        childNanos = 0;
+        long start = System.nanoTime();
+        try {
             nodeRenderer.render(node);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            costReport.record(CostReport.Kind.RENDER, nodeRenderer.getClass(), nanos - childNanos);
+            childNanos = parentChildNanos + nanos;
         }
     }
 
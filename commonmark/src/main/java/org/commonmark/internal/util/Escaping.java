@@ -1,63 +1,41 @@
 package org.commonmark.internal.util;
 
-import java.nio.charset.StandardCharsets;
+import org.commonmark.text.AsciiMatcher;
+
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * Escaping and unescaping of strings. These run for every link destination, title and label, so they scan the input
+ * once without regular expressions, and return the input itself if nothing needs to change.
+ */
 public class Escaping {
 
     public static final String ESCAPABLE = "[!\"#$%&\'()*+,./:;<=>?@\\[\\\\\\]^_`{|}~-]";
 
-    public static final String ENTITY = "&(?:#x[a-f0-9]{1,6}|#[0-9]{1,7}|[a-z][a-z0-9]{1,31});";
-
-    private static final Pattern BACKSLASH_OR_AMP = Pattern.compile("[\\\\&]");
+    private static final AsciiMatcher ESCAPABLE_CHARS = AsciiMatcher.builder().anyOf("!\"#$%&'()*+,./:;<=>?@[\\]^_`{|}~-").build();
 
-    private static final Pattern ENTITY_OR_ESCAPED_CHAR =
-            Pattern.compile("\\\\" + ESCAPABLE + '|' + ENTITY, Pattern.CASE_INSENSITIVE);
+    private static final AsciiMatcher ASCII_LETTER = AsciiMatcher.builder().range('A', 'Z').range('a', 'z').build();
+    private static final AsciiMatcher ASCII_LETTER_OR_DIGIT = ASCII_LETTER.newBuilder().range('0', '9').build();
 
     // From RFC 3986 (see "reserved", "unreserved") except don't escape '[' or ']' to be compatible with JS encodeURI
-    private static final Pattern ESCAPE_IN_URI =
-            Pattern.compile("(%[a-fA-F0-9]{0,2}|[^:/?#@!$&'()*+,;=a-zA-Z0-9\\-._~])");
-
-    private static final char[] HEX_DIGITS =
-            new char[]{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
-
-    private static final Pattern WHITESPACE = Pattern.compile("[ \t\r\n]+");
+    private static final boolean[] SAFE_IN_URI = new boolean[128];
 
-    private static final Replacer UNESCAPE_REPLACER = new Replacer() {
-        @Override
-        public void replace(String input, StringBuilder sb) {
-            if (input.charAt(0) == '\\') {
-                sb.append(input, 1, input.length());
-            } else {
-                sb.append(Html5Entities.entityToString(input));
-            }
+    static {
+        String safe = ":/?#@!$&'()*+,;=-._~";
+        for (int i = 0; i < safe.length(); i++) {
+            SAFE_IN_URI[safe.charAt(i)] = true;
         }
-    };
-
-    private static final Replacer URI_REPLACER = new Replacer() {
-        @Override
-        public void replace(String input, StringBuilder sb) {
-            if (input.startsWith("%")) {
-                if (input.length() == 3) {
-                    // Already percent-encoded, preserve
-                    sb.append(input);
-                } else {
-                    // %25 is the percent-encoding for %
-                    sb.append("%25");
-                    sb.append(input, 1, input.length());
-                }
-            } else {
-                byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
-                for (byte b : bytes) {
-                    sb.append('%');
-                    sb.append(HEX_DIGITS[(b >> 4) & 0xF]);
-                    sb.append(HEX_DIGITS[b & 0xF]);
-                }
-            }
+        for (char c = 'a'; c <= 'z'; c++) {
+            SAFE_IN_URI[c] = true;
+            SAFE_IN_URI[c - 'a' + 'A'] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            SAFE_IN_URI[c] = true;
         }
-    };
+    }
+
+    private static final char[] HEX_DIGITS =
+            new char[]{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
 
     public static String escapeHtml(String input) {
         // Avoid building a new string in the majority of cases (nothing to escape)
@@ -87,7 +65,7 @@ public class Escaping {
                     continue loop;
             }
             if (sb == null) {
-                sb = new StringBuilder();
+                sb = new StringBuilder(escapedHtmlLength(input, i));
                 sb.append(input, 0, i);
             }
             sb.append(replacement);
@@ -96,56 +74,243 @@ public class Escaping {
         return sb != null ? sb.toString() : input;
     }
 
+    private static int escapedHtmlLength(String input, int from) {
+        // Size the builder exactly, as escaped text can be long (e.g. code blocks)
+        int escapedLength = input.length();
+        for (int i = from; i < input.length(); i++) {
+            switch (input.charAt(i)) {
+                case '&':
+                    escapedLength += 4;
+                    break;
+                case '<':
+                case '>':
+                    escapedLength += 3;
+                    break;
+                case '\"':
+                    escapedLength += 5;
+                    break;
+            }
+        }
+        return escapedLength;
+    }
+
     /**
      * Replace entities and backslash escapes with literal characters.
      */
     public static String unescapeString(String s) {
-        if (BACKSLASH_OR_AMP.matcher(s).find()) {
-            return replaceAll(ENTITY_OR_ESCAPED_CHAR, s, UNESCAPE_REPLACER);
-        } else {
+        int length = s.length();
+        int i = 0;
+        while (i < length && s.charAt(i) != '\\' && s.charAt(i) != '&') {
+            i++;
+        }
+        if (i == length) {
             return s;
         }
+
+        StringBuilder sb = new StringBuilder(length + 16);
+        sb.append(s, 0, i);
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < length && ESCAPABLE_CHARS.matches(s.charAt(i + 1))) {
+                sb.append(s.charAt(i + 1));
+                i += 2;
+            } else if (c == '&') {
+                i = appendEntity(s, i, sb);
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
     }
 
     public static String percentEncodeUrl(String s) {
-        return replaceAll(ESCAPE_IN_URI, s, URI_REPLACER);
+        int length = s.length();
+        int i = 0;
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c == '%') {
+                if (!isPercentEncoded(s, i)) {
+                    break;
+                }
+                i += 3;
+            } else if (c < 128 && SAFE_IN_URI[c]) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        if (i == length) {
+            return s;
+        }
+
+        StringBuilder sb = new StringBuilder(length + 16);
+        sb.append(s, 0, i);
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c == '%') {
+                if (isPercentEncoded(s, i)) {
+                    // Already percent-encoded, preserve
+                    sb.append(s, i, i + 3);
+                    i += 3;
+                } else {
+                    // %25 is the percent-encoding for %
+                    sb.append("%25");
+                    i++;
+                }
+            } else if (c < 128) {
+                if (SAFE_IN_URI[c]) {
+                    sb.append(c);
+                } else {
+                    appendPercentEncoded(c, sb);
+                }
+                i++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                appendUtf8(Character.toCodePoint(c, s.charAt(i + 1)), sb);
+                i += 2;
+            } else if (Character.isSurrogate(c)) {
+                // Can't be encoded as UTF-8, same as String#getBytes
+                appendPercentEncoded('?', sb);
+                i++;
+            } else {
+                appendUtf8(c, sb);
+                i++;
+            }
+        }
+        return sb.toString();
     }
 
     public static String normalizeLabelContent(String input) {
         String trimmed = input.trim();
+        int length = trimmed.length();
 
-        // This is necessary to correctly case fold "\u1E9E" (LATIN CAPITAL LETTER SHARP S) to "SS":
-        // "\u1E9E".toLowerCase(Locale.ROOT)  -> "\u00DF" (LATIN SMALL LETTER SHARP S)
-        // "\u00DF".toUpperCase(Locale.ROOT)  -> "SS"
-        // Note that doing upper first (or only upper without lower) wouldn't work because:
-        // "\u1E9E".toUpperCase(Locale.ROOT)  -> "\u1E9E"
-        String caseFolded = trimmed.toLowerCase(Locale.ROOT).toUpperCase(Locale.ROOT);
+        boolean ascii = true;
+        for (int i = 0; i < length; i++) {
+            if (trimmed.charAt(i) >= 128) {
+                ascii = false;
+                break;
+            }
+        }
 
-        return WHITESPACE.matcher(caseFolded).replaceAll(" ");
-    }
+        String caseFolded;
+        if (ascii) {
+            // Same as below for ASCII, but without creating the intermediate strings
+            caseFolded = trimmed;
+        } else {
+            // This is necessary to correctly case fold "\u1E9E" (LATIN CAPITAL LETTER SHARP S) to "SS":
+            // "\u1E9E".toLowerCase(Locale.ROOT)  -> "\u00DF" (LATIN SMALL LETTER SHARP S)
+            // "\u00DF".toUpperCase(Locale.ROOT)  -> "SS"
+            // Note that doing upper first (or only upper without lower) wouldn't work because:
+            // "\u1E9E".toUpperCase(Locale.ROOT)  -> "\u1E9E"
+            caseFolded = trimmed.toLowerCase(Locale.ROOT).toUpperCase(Locale.ROOT);
+            length = caseFolded.length();
+        }
 
-    private static String replaceAll(Pattern p, String s, Replacer replacer) {
-        Matcher matcher = p.matcher(s);
+        // Upper case ASCII and collapse runs of whitespace to a single space
+        char[] chars = new char[length];
+        int n = 0;
+        boolean whitespace = false;
+        for (int i = 0; i < length; i++) {
+            char c = caseFolded.charAt(i);
+            switch (c) {
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                    if (!whitespace) {
+                        chars[n++] = ' ';
+                        whitespace = true;
+                    }
+                    continue;
+            }
+            whitespace = false;
+            chars[n++] = c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+        }
+        return new String(chars, 0, n);
+    }
 
-        if (!matcher.find()) {
-            return s;
+    /**
+     * Append the entity at the index (a {@code &}) if there is one, or {@code &} otherwise.
+     *
+     * @return the index after what was appended
+     */
+    private static int appendEntity(String s, int start, StringBuilder sb) {
+        // Same as the regex &(?:#x[a-f0-9]{1,6}|#[0-9]{1,7}|[a-z][a-z0-9]{1,31}); ignoring case
+        int length = s.length();
+        int i = start + 1;
+        if (i < length && s.charAt(i) == '#') {
+            i++;
+            int radix = 10;
+            int maxDigits = 7;
+            if (i < length && (s.charAt(i) == 'x' || s.charAt(i) == 'X')) {
+                i++;
+                radix = 16;
+                maxDigits = 6;
+            }
+            int digitsStart = i;
+            int codePoint = 0;
+            while (i < length && i - digitsStart < maxDigits) {
+                int digit = Character.digit(s.charAt(i), radix);
+                if (digit == -1 || s.charAt(i) >= 128) {
+                    break;
+                }
+                codePoint = codePoint * radix + digit;
+                i++;
+            }
+            if (i > digitsStart && i < length && s.charAt(i) == ';') {
+                if (codePoint == 0 || !Character.isValidCodePoint(codePoint)) {
+                    sb.append('\uFFFD');
+                } else {
+                    sb.appendCodePoint(codePoint);
+                }
+                return i + 1;
+            }
+        } else if (i < length && ASCII_LETTER.matches(s.charAt(i))) {
+            int nameStart = i;
+            i++;
+            while (i < length && i - nameStart < 32 && ASCII_LETTER_OR_DIGIT.matches(s.charAt(i))) {
+                i++;
+            }
+            if (i - nameStart >= 2 && i < length && s.charAt(i) == ';') {
+                String characters = Html5Entities.getNamedCharacters(s, nameStart, i);
+                if (characters != null) {
+                    sb.append(characters);
+                } else {
+                    sb.append(s, start, i + 1);
+                }
+                return i + 1;
+            }
         }
+        sb.append('&');
+        return start + 1;
+    }
 
-        StringBuilder sb = new StringBuilder(s.length() + 16);
-        int lastEnd = 0;
-        do {
-            sb.append(s, lastEnd, matcher.start());
-            replacer.replace(matcher.group(), sb);
-            lastEnd = matcher.end();
-        } while (matcher.find());
+    private static boolean isPercentEncoded(String s, int i) {
+        return i + 2 < s.length() && isHexDigit(s.charAt(i + 1)) && isHexDigit(s.charAt(i + 2));
+    }
 
-        if (lastEnd != s.length()) {
-            sb.append(s, lastEnd, s.length());
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static void appendUtf8(int codePoint, StringBuilder sb) {
+        if (codePoint < 0x800) {
+            appendPercentEncoded(0xC0 | (codePoint >> 6), sb);
+        } else {
+            if (codePoint < 0x10000) {
+                appendPercentEncoded(0xE0 | (codePoint >> 12), sb);
+            } else {
+                appendPercentEncoded(0xF0 | (codePoint >> 18), sb);
+                appendPercentEncoded(0x80 | ((codePoint >> 12) & 0x3F), sb);
+            }
+            appendPercentEncoded(0x80 | ((codePoint >> 6) & 0x3F), sb);
         }
-        return sb.toString();
+        appendPercentEncoded(0x80 | (codePoint & 0x3F), sb);
     }
 
-    private interface Replacer {
-        void replace(String input, StringBuilder sb);
+    private static void appendPercentEncoded(int b, StringBuilder sb) {
+        sb.append('%');
+        sb.append(HEX_DIGITS[(b >> 4) & 0xF]);
+        sb.append(HEX_DIGITS[b & 0xF]);
     }
 }
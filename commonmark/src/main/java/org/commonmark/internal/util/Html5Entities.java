@@ -1,19 +1,7 @@
 package org.commonmark.internal.util;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
-
 public class Html5Entities {
 
-    private static final Map<String, String> NAMED_CHARACTER_REFERENCES = readEntities();
-    private static final String ENTITY_PATH = "/org/commonmark/internal/util/entities.txt";
-
     public static String entityToString(String input) {
         if (!input.startsWith("&") || !input.endsWith(";")) {
             return input;
@@ -29,16 +17,12 @@ public class Html5Entities {
             }
 
             try {
-                int codePoint = Integer.parseInt(value, base);
-                if (codePoint == 0) {
-                    return "\uFFFD";
-                }
-                return new String(Character.toChars(codePoint));
+                return codePointToString(Integer.parseInt(value, base));
             } catch (IllegalArgumentException e) {
                 return "\uFFFD";
             }
         } else {
-            String s = NAMED_CHARACTER_REFERENCES.get(value);
+            String s = getNamedCharacters(input, 1, input.length() - 1);
             if (s != null) {
                 return s;
             } else {
@@ -47,25 +31,59 @@ public class Html5Entities {
         }
     }
 
-    private static Map<String, String> readEntities() {
-        Map<String, String> entities = new HashMap<>();
-        InputStream stream = Html5Entities.class.getResourceAsStream(ENTITY_PATH);
-        Charset charset = StandardCharsets.UTF_8;
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(stream, charset))) {
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                if (line.length() == 0) {
-                    continue;
-                }
-                int equal = line.indexOf("=");
-                String key = line.substring(0, equal);
-                String value = line.substring(equal + 1);
-                entities.put(key, value);
+    /**
+     * Look up a named character reference without creating a string for the name first.
+     *
+     * @param s     the string containing the name (without {@code &} and {@code ;})
+     * @param start the start index of the name in the string
+     * @param end   the end index of the name in the string
+     * @return the characters for the name, or {@code null} if there is no character reference with that name
+     */
+    public static String getNamedCharacters(CharSequence s, int start, int end) {
+        // Binary search in the sorted names
+        int low = 0;
+        int high = Html5EntityTable.SIZE - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareName(mid, s, start, end);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return Html5EntityTable.VALUES.substring(Html5EntityTable.VALUE_OFFSETS.charAt(mid),
+                        Html5EntityTable.VALUE_OFFSETS.charAt(mid + 1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the string for a numeric character reference, with U+FFFD for 0 and invalid code points
+     */
+    public static String codePointToString(int codePoint) {
+        if (codePoint == 0 || !Character.isValidCodePoint(codePoint)) {
+            return "\uFFFD";
+        }
+        return new String(Character.toChars(codePoint));
+    }
+
+    /**
+     * Compare the name at the index in the table with the one in the string, same as {@link String#compareTo}.
+     */
+    private static int compareName(int index, CharSequence s, int start, int end) {
+        int nameStart = Html5EntityTable.NAME_OFFSETS.charAt(index);
+        int nameEnd = Html5EntityTable.NAME_OFFSETS.charAt(index + 1);
+        int nameLength = nameEnd - nameStart;
+        int length = end - start;
+        int common = Math.min(nameLength, length);
+        for (int i = 0; i < common; i++) {
+            char a = Html5EntityTable.NAMES.charAt(nameStart + i);
+            char b = s.charAt(start + i);
+            if (a != b) {
+                return a - b;
             }
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed reading data for HTML named character references", e);
         }
-        entities.put("NewLine", "\n");
-        return entities;
+        return nameLength - length;
     }
 }
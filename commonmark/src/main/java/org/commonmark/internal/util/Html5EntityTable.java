@@ -0,0 +1,546 @@
+package org.commonmark.internal.util;
+
+/**
+ * The HTML named character references, generated from entities.txt by Html5EntityTableGenerator (in the
+ * tests), don't edit.
+ * <p>
+ * The names are sorted and concatenated in {@link #NAMES}, the values in {@link #VALUES}. The offsets store the
+ * start of each name and value as a char, followed by the end of the last one.
+ */
+final class Html5EntityTable {
+
+    static final int SIZE = 2125;
+
+    static final String NAMES =
+            "AEligAMPAacuteAbreveAcircAcyAfrAgraveAlphaAmacrAndAogonAopfApplyFunctionAringAscrAssignAtildeAumlB" +
+            "ackslashBarvBarwedBcyBecauseBernoullisBetaBfrBopfBreveBscrBumpeqCHcyCOPYCacuteCapCapitalDifferenti" +
+            "alDCayleysCcaronCcedilCcircCconintCdotCedillaCenterDotCfrChiCircleDotCircleMinusCirclePlusCircleTi" +
+            "mesClockwiseContourIntegralCloseCurlyDoubleQuoteCloseCurlyQuoteColonColoneCongruentConintContourIn" +
+            "tegralCopfCoproductCounterClockwiseContourIntegralCrossCscrCupCupCapDDDDotrahdDJcyDScyDZcyDaggerDa" +
+            "rrDashvDcaronDcyDelDeltaDfrDiacriticalAcuteDiacriticalDotDiacriticalDoubleAcuteDiacriticalGraveDia" +
+            "criticalTildeDiamondDifferentialDDopfDotDotDotDotEqualDoubleContourIntegralDoubleDotDoubleDownArro" +
+            "wDoubleLeftArrowDoubleLeftRightArrowDoubleLeftTeeDoubleLongLeftArrowDoubleLongLeftRightArrowDouble" +
+            "LongRightArrowDoubleRightArrowDoubleRightTeeDoubleUpArrowDoubleUpDownArrowDoubleVerticalBarDownArr" +
+            "owDownArrowBarDownArrowUpArrowDownBreveDownLeftRightVectorDownLeftTeeVectorDownLeftVectorDownLeftV" +
+            "ectorBarDownRightTeeVectorDownRightVectorDownRightVectorBarDownTeeDownTeeArrowDownarrowDscrDstrokE" +
+            "NGETHEacuteEcaronEcircEcyEdotEfrEgraveElementEmacrEmptySmallSquareEmptyVerySmallSquareEogonEopfEps" +
+            "ilonEqualEqualTildeEquilibriumEscrEsimEtaEumlExistsExponentialEFcyFfrFilledSmallSquareFilledVerySm" +
+            "allSquareFopfForAllFouriertrfFscrGJcyGTGammaGammadGbreveGcedilGcircGcyGdotGfrGgGopfGreaterEqualGre" +
+            "aterEqualLessGreaterFullEqualGreaterGreaterGreaterLessGreaterSlantEqualGreaterTildeGscrGtHARDcyHac" +
+            "ekHatHcircHfrHilbertSpaceHopfHorizontalLineHscrHstrokHumpDownHumpHumpEqualIEcyIJligIOcyIacuteIcirc" +
+            "IcyIdotIfrIgraveImImacrImaginaryIImpliesIntIntegralIntersectionInvisibleCommaInvisibleTimesIogonIo" +
+            "pfIotaIscrItildeIukcyIumlJcircJcyJfrJopfJscrJsercyJukcyKHcyKJcyKappaKcedilKcyKfrKopfKscrLJcyLTLacu" +
+            "teLambdaLangLaplacetrfLarrLcaronLcedilLcyLeftAngleBracketLeftArrowLeftArrowBarLeftArrowRightArrowL" +
+            "eftCeilingLeftDoubleBracketLeftDownTeeVectorLeftDownVectorLeftDownVectorBarLeftFloorLeftRightArrow" +
+            "LeftRightVectorLeftTeeLeftTeeArrowLeftTeeVectorLeftTriangleLeftTriangleBarLeftTriangleEqualLeftUpD" +
+            "ownVectorLeftUpTeeVectorLeftUpVectorLeftUpVectorBarLeftVectorLeftVectorBarLeftarrowLeftrightarrowL" +
+            "essEqualGreaterLessFullEqualLessGreaterLessLessLessSlantEqualLessTildeLfrLlLleftarrowLmidotLongLef" +
+            "tArrowLongLeftRightArrowLongRightArrowLongleftarrowLongleftrightarrowLongrightarrowLopfLowerLeftAr" +
+            "rowLowerRightArrowLscrLshLstrokLtMapMcyMediumSpaceMellintrfMfrMinusPlusMopfMscrMuNJcyNacuteNcaronN" +
+            "cedilNcyNegativeMediumSpaceNegativeThickSpaceNegativeThinSpaceNegativeVeryThinSpaceNestedGreaterGr" +
+            "eaterNestedLessLessNewLineNfrNoBreakNonBreakingSpaceNopfNotNotCongruentNotCupCapNotDoubleVerticalB" +
+            "arNotElementNotEqualNotEqualTildeNotExistsNotGreaterNotGreaterEqualNotGreaterFullEqualNotGreaterGr" +
+            "eaterNotGreaterLessNotGreaterSlantEqualNotGreaterTildeNotHumpDownHumpNotHumpEqualNotLeftTriangleNo" +
+            "tLeftTriangleBarNotLeftTriangleEqualNotLessNotLessEqualNotLessGreaterNotLessLessNotLessSlantEqualN" +
+            "otLessTildeNotNestedGreaterGreaterNotNestedLessLessNotPrecedesNotPrecedesEqualNotPrecedesSlantEqua" +
+            "lNotReverseElementNotRightTriangleNotRightTriangleBarNotRightTriangleEqualNotSquareSubsetNotSquare" +
+            "SubsetEqualNotSquareSupersetNotSquareSupersetEqualNotSubsetNotSubsetEqualNotSucceedsNotSucceedsEqu" +
+            "alNotSucceedsSlantEqualNotSucceedsTildeNotSupersetNotSupersetEqualNotTildeNotTildeEqualNotTildeFul" +
+            "lEqualNotTildeTildeNotVerticalBarNscrNtildeNuOEligOacuteOcircOcyOdblacOfrOgraveOmacrOmegaOmicronOo" +
+            "pfOpenCurlyDoubleQuoteOpenCurlyQuoteOrOscrOslashOtildeOtimesOumlOverBarOverBraceOverBracketOverPar" +
+            "enthesisPartialDPcyPfrPhiPiPlusMinusPoincareplanePopfPrPrecedesPrecedesEqualPrecedesSlantEqualPrec" +
+            "edesTildePrimeProductProportionProportionalPscrPsiQUOTQfrQopfQscrRBarrREGRacuteRangRarrRarrtlRcaro" +
+            "nRcedilRcyReReverseElementReverseEquilibriumReverseUpEquilibriumRfrRhoRightAngleBracketRightArrowR" +
+            "ightArrowBarRightArrowLeftArrowRightCeilingRightDoubleBracketRightDownTeeVectorRightDownVectorRigh" +
+            "tDownVectorBarRightFloorRightTeeRightTeeArrowRightTeeVectorRightTriangleRightTriangleBarRightTrian" +
+            "gleEqualRightUpDownVectorRightUpTeeVectorRightUpVectorRightUpVectorBarRightVectorRightVectorBarRig" +
+            "htarrowRopfRoundImpliesRrightarrowRscrRshRuleDelayedSHCHcySHcySOFTcySacuteScScaronScedilScircScySf" +
+            "rShortDownArrowShortLeftArrowShortRightArrowShortUpArrowSigmaSmallCircleSopfSqrtSquareSquareInters" +
+            "ectionSquareSubsetSquareSubsetEqualSquareSupersetSquareSupersetEqualSquareUnionSscrStarSubSubsetSu" +
+            "bsetEqualSucceedsSucceedsEqualSucceedsSlantEqualSucceedsTildeSuchThatSumSupSupersetSupersetEqualSu" +
+            "psetTHORNTRADETSHcyTScyTabTauTcaronTcedilTcyTfrThereforeThetaThickSpaceThinSpaceTildeTildeEqualTil" +
+            "deFullEqualTildeTildeTopfTripleDotTscrTstrokUacuteUarrUarrocirUbrcyUbreveUcircUcyUdblacUfrUgraveUm" +
+            "acrUnderBarUnderBraceUnderBracketUnderParenthesisUnionUnionPlusUogonUopfUpArrowUpArrowBarUpArrowDo" +
+            "wnArrowUpDownArrowUpEquilibriumUpTeeUpTeeArrowUparrowUpdownarrowUpperLeftArrowUpperRightArrowUpsiU" +
+            "psilonUringUscrUtildeUumlVDashVbarVcyVdashVdashlVeeVerbarVertVerticalBarVerticalLineVerticalSepara" +
+            "torVerticalTildeVeryThinSpaceVfrVopfVscrVvdashWcircWedgeWfrWopfWscrXfrXiXopfXscrYAcyYIcyYUcyYacute" +
+            "YcircYcyYfrYopfYscrYumlZHcyZacuteZcaronZcyZdotZeroWidthSpaceZetaZfrZopfZscraacuteabreveacacEacdaci" +
+            "rcacuteacyaeligafafragravealefsymalephalphaamacramalgampandandandanddandslopeandvangangeangleangms" +
+            "dangmsdaaangmsdabangmsdacangmsdadangmsdaeangmsdafangmsdagangmsdahangrtangrtvbangrtvbdangsphangstan" +
+            "gzarraogonaopfapapEapacirapeapidaposapproxapproxeqaringascrastasympasympeqatildeaumlawconintawintb" +
+            "Notbackcongbackepsilonbackprimebacksimbacksimeqbarveebarwedbarwedgebbrkbbrktbrkbcongbcybdquobecaus" +
+            "becausebemptyvbepsibernoubetabethbetweenbfrbigcapbigcircbigcupbigodotbigoplusbigotimesbigsqcupbigs" +
+            "tarbigtriangledownbigtriangleupbiguplusbigveebigwedgebkarowblacklozengeblacksquareblacktrianglebla" +
+            "cktriangledownblacktriangleleftblacktrianglerightblankblk12blk14blk34blockbnebnequivbnotbopfbotbot" +
+            "tombowtieboxDLboxDRboxDlboxDrboxHboxHDboxHUboxHdboxHuboxULboxURboxUlboxUrboxVboxVHboxVLboxVRboxVhb" +
+            "oxVlboxVrboxboxboxdLboxdRboxdlboxdrboxhboxhDboxhUboxhdboxhuboxminusboxplusboxtimesboxuLboxuRboxulb" +
+            "oxurboxvboxvHboxvLboxvRboxvhboxvlboxvrbprimebrevebrvbarbscrbsemibsimbsimebsolbsolbbsolhsubbullbull" +
+            "etbumpbumpEbumpebumpeqcacutecapcapandcapbrcupcapcapcapcupcapdotcapscaretcaronccapsccaronccedilccir" +
+            "cccupsccupssmcdotcedilcemptyvcentcenterdotcfrchcycheckcheckmarkchicircirEcirccirceqcirclearrowleft" +
+            "circlearrowrightcircledRcircledScircledastcircledcirccircleddashcirecirfnintcirmidcirscirclubsclub" +
+            "suitcoloncolonecoloneqcommacommatcompcompfncomplementcomplexescongcongdotconintcopfcoprodcopycopys" +
+            "rcrarrcrosscscrcsubcsubecsupcsupectdotcudarrlcudarrrcueprcuesccularrcularrpcupcupbrcapcupcapcupcup" +
+            "cupdotcuporcupscurarrcurarrmcurlyeqpreccurlyeqsucccurlyveecurlywedgecurrencurvearrowleftcurvearrow" +
+            "rightcuveecuwedcwconintcwintcylctydArrdHardaggerdalethdarrdashdashvdbkarowdblacdcarondcyddddaggerd" +
+            "darrddotseqdegdeltademptyvdfishtdfrdharldharrdiamdiamonddiamondsuitdiamsdiedigammadisindivdividedi" +
+            "videontimesdivonxdjcydlcorndlcropdollardopfdotdoteqdoteqdotdotminusdotplusdotsquaredoublebarwedged" +
+            "ownarrowdowndownarrowsdownharpoonleftdownharpoonrightdrbkarowdrcorndrcropdscrdscydsoldstrokdtdotdt" +
+            "ridtrifduarrduhardwangledzcydzigrarreDDoteDoteacuteeasterecaronecirecircecolonecyedoteeefDotefrege" +
+            "graveegsegsdotelelintersellelselsdotemacremptyemptysetemptyvemspemsp13emsp14engenspeogoneopfeparep" +
+            "arsleplusepsiepsilonepsiveqcirceqcoloneqsimeqslantgtreqslantlessequalsequestequivequivDDeqvparsler" +
+            "Doterarrescresdotesimetaetheumleuroexclexistexpectationexponentialefallingdotseqfcyfemaleffiligffl" +
+            "igfflligffrfiligfjligflatflligfltnsfnoffopfforallforkforkvfpartintfrac12frac13frac14frac15frac16fr" +
+            "ac18frac23frac25frac34frac35frac38frac45frac56frac58frac78fraslfrownfscrgEgElgacutegammagammadgapg" +
+            "brevegcircgcygdotgegelgeqgeqqgeqslantgesgesccgesdotgesdotogesdotolgeslgeslesgfrggggggimelgjcyglglE" +
+            "glagljgnEgnapgnapproxgnegneqgneqqgnsimgopfgravegscrgsimgsimegsimlgtgtccgtcirgtdotgtlPargtquestgtra" +
+            "pproxgtrarrgtrdotgtreqlessgtreqqlessgtrlessgtrsimgvertneqqgvnEhArrhairsphalfhamilthardcyharrharrci" +
+            "rharrwhbarhcircheartsheartsuithellipherconhfrhksearowhkswarowhoarrhomththookleftarrowhookrightarro" +
+            "whopfhorbarhscrhslashhstrokhybullhypheniacuteicicircicyiecyiexcliffifrigraveiiiiiintiiintiinfiniio" +
+            "taijligimacrimageimaglineimagpartimathimofimpedinincareinfininfintieinodotintintcalintegersinterca" +
+            "lintlarhkintprodiocyiogoniopfiotaiprodiquestiscrisinisinEisindotisinsisinsvisinvititildeiukcyiumlj" +
+            "circjcyjfrjmathjopfjscrjsercyjukcykappakappavkcedilkcykfrkgreenkhcykjcykopfkscrlAarrlArrlAtaillBar" +
+            "rlElEglHarlacutelaemptyvlagranlambdalanglangdlanglelaplaquolarrlarrblarrbfslarrfslarrhklarrlplarrp" +
+            "llarrsimlarrtllatlataillatelateslbarrlbbrklbracelbracklbrkelbrksldlbrkslulcaronlcedillceillcublcyl" +
+            "dcaldquoldquorldrdharldrusharldshleleftarrowleftarrowtailleftharpoondownleftharpoonupleftleftarrow" +
+            "sleftrightarrowleftrightarrowsleftrightharpoonsleftrightsquigarrowleftthreetimeslegleqleqqleqslant" +
+            "leslescclesdotlesdotolesdotorlesglesgeslessapproxlessdotlesseqgtrlesseqqgtrlessgtrlesssimlfishtlfl" +
+            "oorlfrlglgElhardlharulharullhblkljcyllllarrllcornerllhardlltrilmidotlmoustlmoustachelnElnaplnappro" +
+            "xlnelneqlneqqlnsimloangloarrlobrklongleftarrowlongleftrightarrowlongmapstolongrightarrowlooparrowl" +
+            "eftlooparrowrightloparlopflopluslotimeslowastlowbarlozlozengelozflparlparltlrarrlrcornerlrharlrhar" +
+            "dlrmlrtrilsaquolscrlshlsimlsimelsimglsqblsquolsquorlstrokltltccltcirltdotlthreeltimesltlarrltquest" +
+            "ltrParltriltrieltriflurdsharluruharlvertneqqlvnEmDDotmacrmalemaltmaltesemapmapstomapstodownmapstol" +
+            "eftmapstoupmarkermcommamcymdashmeasuredanglemfrmhomicromidmidastmidcirmiddotminusminusbminusdminus" +
+            "dumlcpmldrmnplusmodelsmopfmpmscrmstposmumultimapmumapnGgnGtnGtvnLeftarrownLeftrightarrownLlnLtnLtv" +
+            "nRightarrownVDashnVdashnablanacutenangnapnapEnapidnaposnapproxnaturnaturalnaturalsnbspnbumpnbumpen" +
+            "capncaronncedilncongncongdotncupncyndashneneArrnearhknearrnearrownedotnequivnesearnesimnexistnexis" +
+            "tsnfrngEngengeqngeqqngeqslantngesngsimngtngtrnhArrnharrnhparninisnisdnivnjcynlArrnlEnlarrnldrnlenl" +
+            "eftarrownleftrightarrownleqnleqqnleqslantnlesnlessnlsimnltnltrinltrienmidnopfnotnotinnotinEnotindo" +
+            "tnotinvanotinvbnotinvcnotninotnivanotnivbnotnivcnparnparallelnparslnpartnpolintnprnprcuenprenprecn" +
+            "preceqnrArrnrarrnrarrcnrarrwnrightarrownrtrinrtrienscnsccuenscenscrnshortmidnshortparallelnsimnsim" +
+            "ensimeqnsmidnsparnsqsubensqsupensubnsubEnsubensubsetnsubseteqnsubseteqqnsuccnsucceqnsupnsupEnsupen" +
+            "supsetnsupseteqnsupseteqqntglntildentlgntriangleleftntrianglelefteqntrianglerightntrianglerighteqn" +
+            "unumnumeronumspnvDashnvHarrnvapnvdashnvgenvgtnvinfinnvlArrnvlenvltnvltrienvrArrnvrtrienvsimnwArrnw" +
+            "arhknwarrnwarrownwnearoSoacuteoastocirocircocyodashodblacodivodotodsoldoeligofcirofrogonograveogto" +
+            "hbarohmointolarrolcirolcrossolineoltomacromegaomicronomidominusoopfoparoperpoplusororarrordorderor" +
+            "derofordfordmorigoforororslopeorvoscroslashosolotildeotimesotimesasoumlovbarparparaparallelparsimp" +
+            "arslpartpcypercntperiodpermilperppertenkpfrphiphivphmmatphonepipitchforkpivplanckplanckhplankvplus" +
+            "plusacirplusbpluscirplusdoplusdupluseplusmnplussimplustwopmpointintpopfpoundprprEprapprcuepreprecp" +
+            "recapproxpreccurlyeqpreceqprecnapproxprecneqqprecnsimprecsimprimeprimesprnEprnapprnsimprodprofalar" +
+            "proflineprofsurfpropproptoprsimprurelpscrpsipuncspqfrqintqopfqprimeqscrquaternionsquatintquestques" +
+            "teqquotrAarrrArrrAtailrBarrrHarraceracuteradicraemptyvrangrangdrangerangleraquorarrrarraprarrbrarr" +
+            "bfsrarrcrarrfsrarrhkrarrlprarrplrarrsimrarrtlrarrwratailratiorationalsrbarrrbbrkrbracerbrackrbrker" +
+            "brksldrbrkslurcaronrcedilrceilrcubrcyrdcardldharrdquordquorrdshrealrealinerealpartrealsrectregrfis" +
+            "htrfloorrfrrhardrharurharulrhorhovrightarrowrightarrowtailrightharpoondownrightharpoonuprightlefta" +
+            "rrowsrightleftharpoonsrightrightarrowsrightsquigarrowrightthreetimesringrisingdotseqrlarrrlharrlmr" +
+            "moustrmoustachernmidroangroarrrobrkroparropfroplusrotimesrparrpargtrppolintrrarrrsaquorscrrshrsqbr" +
+            "squorsquorrthreertimesrtrirtriertrifrtriltriruluharrxsacutesbquoscscEscapscaronsccuescescedilscirc" +
+            "scnEscnapscnsimscpolintscsimscysdotsdotbsdoteseArrsearhksearrsearrowsectsemiseswarsetminussetmnsex" +
+            "tsfrsfrownsharpshchcyshcyshortmidshortparallelshysigmasigmafsigmavsimsimdotsimesimeqsimgsimgEsimls" +
+            "imlEsimnesimplussimrarrslarrsmallsetminussmashpsmeparslsmidsmilesmtsmtesmtessoftcysolsolbsolbarsop" +
+            "fspadesspadesuitsparsqcapsqcapssqcupsqcupssqsubsqsubesqsubsetsqsubseteqsqsupsqsupesqsupsetsqsupset" +
+            "eqsqusquaresquarfsqufsrarrsscrssetmnssmilesstarfstarstarfstraightepsilonstraightphistrnssubsubEsub" +
+            "dotsubesubedotsubmultsubnEsubnesubplussubrarrsubsetsubseteqsubseteqqsubsetneqsubsetneqqsubsimsubsu" +
+            "bsubsupsuccsuccapproxsucccurlyeqsucceqsuccnapproxsuccneqqsuccnsimsuccsimsumsungsupsup1sup2sup3supE" +
+            "supdotsupdsubsupesupedotsuphsolsuphsubsuplarrsupmultsupnEsupnesupplussupsetsupseteqsupseteqqsupset" +
+            "neqsupsetneqqsupsimsupsubsupsupswArrswarhkswarrswarrowswnwarszligtargettautbrktcarontcediltcytdott" +
+            "elrectfrthere4thereforethetathetasymthetavthickapproxthicksimthinspthkapthksimthorntildetimestimes" +
+            "btimesbartimesdtinttoeatoptopbottopcirtopftopforktosatprimetradetriangletriangledowntrianglelefttr" +
+            "ianglelefteqtriangleqtrianglerighttrianglerighteqtridottrietriminustriplustrisbtritimetrpeziumtscr" +
+            "tscytshcytstroktwixttwoheadleftarrowtwoheadrightarrowuArruHaruacuteuarrubrcyubreveucircucyudarrudb" +
+            "lacudharufishtufrugraveuharluharruhblkulcornulcornerulcropultriumacrumluogonuopfuparrowupdownarrow" +
+            "upharpoonleftupharpoonrightuplusupsiupsihupsilonupuparrowsurcornurcornerurcropuringurtriuscrutdotu" +
+            "tildeutriutrifuuarruumluwanglevArrvBarvBarvvDashvangrtvarepsilonvarkappavarnothingvarphivarpivarpr" +
+            "optovarrvarrhovarsigmavarsubsetneqvarsubsetneqqvarsupsetneqvarsupsetneqqvarthetavartriangleleftvar" +
+            "trianglerightvcyvdashveeveebarveeeqvellipverbarvertvfrvltrivnsubvnsupvopfvpropvrtrivscrvsubnEvsubn" +
+            "evsupnEvsupnevzigzagwcircwedbarwedgewedgeqweierpwfrwopfwpwrwreathwscrxcapxcircxcupxdtrixfrxhArrxha" +
+            "rrxixlArrxlarrxmapxnisxodotxopfxoplusxotimexrArrxrarrxscrxsqcupxuplusxutrixveexwedgeyacuteyacyycir" +
+            "cycyyenyfryicyyopfyscryucyyumlzacutezcaronzcyzdotzeetrfzetazfrzhcyzigrarrzopfzscrzwjzwnj";
+
+    static final String NAME_OFFSETS =
+            "\000\005\010\016\024\031\034\037%*/27;HMQW]ajntw~\210\214\217\223\230\234\242\246\252\260\263\307\316" +
+            "\324\332\337\346\352\361\372\375\u0100\u0109\u0114\u011E\u0129\u0141\u0156\u0165\u016A\u0170\u0179" +
+            "\u017F\u018E\u0192\u019B\u01BA\u01BF\u01C3\u01C6\u01CC\u01CE\u01D6\u01DA\u01DE\u01E2\u01E8\u01EC\u01F1" +
+            "\u01F7\u01FA\u01FD\u0202\u0205\u0215\u0223\u0239\u0249\u0259\u0260\u026D\u0271\u0274\u027A\u0282\u0297" +
+            "\u02A0\u02AF\u02BE\u02D2\u02DF\u02F2\u030A\u031E\u032E\u033C\u0349\u035A\u036B\u0374\u0380\u0390\u0399" +
+            "\u03AC\u03BD\u03CB\u03DC\u03EE\u03FD\u040F\u0416\u0422\u042B\u042F\u0435\u0438\u043B\u0441\u0447\u044C" +
+            "\u044F\u0453\u0456\u045C\u0463\u0468\u0478\u048C\u0491\u0495\u049C\u04A1\u04AB\u04B6\u04BA\u04BE\u04C1" +
+            "\u04C5\u04CB\u04D7\u04DA\u04DD\u04EE\u0503\u0507\u050D\u0517\u051B\u051F\u0521\u0526\u052C\u0532\u0538" +
+            "\u053D\u0540\u0544\u0547\u0549\u054D\u0559\u0569\u0579\u0587\u0592\u05A3\u05AF\u05B3\u05B5\u05BB\u05C0" +
+            "\u05C3\u05C8\u05CB\u05D7\u05DB\u05E9\u05ED\u05F3\u05FF\u0608\u060C\u0611\u0615\u061B\u0620\u0623\u0627" +
+            "\u062A\u0630\u0632\u0637\u0641\u0648\u064B\u0653\u065F\u066D\u067B\u0680\u0684\u0688\u068C\u0692\u0697" +
+            "\u069B\u06A0\u06A3\u06A6\u06AA\u06AE\u06B4\u06B9\u06BD\u06C1\u06C6\u06CC\u06CF\u06D2\u06D6\u06DA\u06DE" +
+            "\u06E0\u06E6\u06EC\u06F0\u06FA\u06FE\u0704\u070A\u070D\u071D\u0726\u0732\u0745\u0750\u0761\u0772\u0780" +
+            "\u0791\u079A\u07A8\u07B7\u07BE\u07CA\u07D7\u07E3\u07F2\u0803\u0813\u0822\u082E\u083D\u0847\u0854\u085D" +
+            "\u086B\u087B\u0888\u0893\u089B\u08A9\u08B2\u08B5\u08B7\u08C1\u08C7\u08D4\u08E6\u08F4\u0901\u0913\u0921" +
+            "\u0925\u0933\u0942\u0946\u0949\u094F\u0951\u0954\u0957\u0962\u096B\u096E\u0977\u097B\u097F\u0981\u0985" +
+            "\u098B\u0991\u0997\u099A\u09AD\u09BF\u09D0\u09E5\u09F9\u0A07\u0A0E\u0A11\u0A18\u0A28\u0A2C\u0A2F\u0A3B" +
+            "\u0A44\u0A58\u0A62\u0A6A\u0A77\u0A80\u0A8A\u0A99\u0AAC\u0ABD\u0ACB\u0ADF\u0AEE\u0AFD\u0B09\u0B18\u0B2A" +
+            "\u0B3E\u0B45\u0B51\u0B5F\u0B6A\u0B7B\u0B87\u0B9E\u0BAF\u0BBA\u0BCA\u0BDF\u0BF0\u0C00\u0C13\u0C28\u0C37" +
+            "\u0C4B\u0C5C\u0C72\u0C7B\u0C89\u0C94\u0CA4\u0CB9\u0CC9\u0CD4\u0CE4\u0CEC\u0CF9\u0D0A\u0D17\u0D25\u0D29" +
+            "\u0D2F\u0D31\u0D36\u0D3C\u0D41\u0D44\u0D4A\u0D4D\u0D53\u0D58\u0D5D\u0D64\u0D68\u0D7C\u0D8A\u0D8C\u0D90" +
+            "\u0D96\u0D9C\u0DA2\u0DA6\u0DAD\u0DB6\u0DC1\u0DD0\u0DD8\u0DDB\u0DDE\u0DE1\u0DE3\u0DEC\u0DF9\u0DFD\u0DFF" +
+            "\u0E07\u0E14\u0E26\u0E33\u0E38\u0E3F\u0E49\u0E55\u0E59\u0E5C\u0E60\u0E63\u0E67\u0E6B\u0E70\u0E73\u0E79" +
+            "\u0E7D\u0E81\u0E87\u0E8D\u0E93\u0E96\u0E98\u0EA6\u0EB8\u0ECC\u0ECF\u0ED2\u0EE3\u0EED\u0EFA\u0F0D\u0F19" +
+            "\u0F2B\u0F3D\u0F4C\u0F5E\u0F68\u0F70\u0F7D\u0F8B\u0F98\u0FA8\u0FBA\u0FCB\u0FDB\u0FE8\u0FF8\u1003\u1011" +
+            "\u101B\u101F\u102B\u1036\u103A\u103D\u1048\u104E\u1052\u1058\u105E\u1060\u1066\u106C\u1071\u1074\u1077" +
+            "\u1085\u1093\u10A2\u10AE\u10B3\u10BE\u10C2\u10C6\u10CC\u10DE\u10EA\u10FB\u1109\u111C\u1127\u112B\u112F" +
+            "\u1132\u1138\u1143\u114B\u1158\u116A\u1177\u117F\u1182\u1185\u118D\u119A\u11A0\u11A5\u11AA\u11AF\u11B3" +
+            "\u11B6\u11B9\u11BF\u11C5\u11C8\u11CB\u11D4\u11D9\u11E3\u11EC\u11F1\u11FB\u1209\u1213\u1217\u1220\u1224" +
+            "\u122A\u1230\u1234\u123C\u1241\u1247\u124C\u124F\u1255\u1258\u125E\u1263\u126B\u1275\u1281\u1291\u1296" +
+            "\u129F\u12A4\u12A8\u12AF\u12B9\u12C9\u12D4\u12E1\u12E6\u12F0\u12F7\u1302\u1310\u131F\u1323\u132A\u132F" +
+            "\u1333\u1339\u133D\u1342\u1346\u1349\u134E\u1354\u1357\u135D\u1361\u136C\u1378\u1389\u1396\u13A3\u13A6" +
+            "\u13AA\u13AE\u13B4\u13B9\u13BE\u13C1\u13C5\u13C9\u13CC\u13CE\u13D2\u13D6\u13DA\u13DE\u13E2\u13E8\u13ED" +
+            "\u13F0\u13F3\u13F7\u13FB\u13FF\u1403\u1409\u140F\u1412\u1416\u1424\u1428\u142B\u142F\u1433\u1439\u143F" +
+            "\u1441\u1444\u1447\u144C\u1451\u1454\u1459\u145B\u145E\u1464\u146B\u1470\u1475\u147A\u147F\u1482\u1485" +
+            "\u148B\u148F\u1497\u149B\u149E\u14A2\u14A7\u14AD\u14B5\u14BD\u14C5\u14CD\u14D5\u14DD\u14E5\u14ED\u14F2" +
+            "\u14F9\u1501\u1507\u150C\u1513\u1518\u151C\u151E\u1521\u1527\u152A\u152E\u1532\u1538\u1540\u1545\u1549" +
+            "\u154C\u1551\u1558\u155E\u1562\u156A\u156F\u1573\u157B\u1586\u158F\u1596\u159F\u15A5\u15AB\u15B3\u15B7" +
+            "\u15BF\u15C4\u15C7\u15CC\u15D2\u15D9\u15E0\u15E5\u15EB\u15EF\u15F3\u15FA\u15FD\u1603\u160A\u1610\u1617" +
+            "\u161F\u1628\u1630\u1637\u1646\u1653\u165B\u1661\u1669\u166F\u167B\u1686\u1693\u16A4\u16B5\u16C7\u16CC" +
+            "\u16D1\u16D6\u16DB\u16E0\u16E3\u16EA\u16EE\u16F2\u16F5\u16FB\u1701\u1706\u170B\u1710\u1715\u1719\u171E" +
+            "\u1723\u1728\u172D\u1732\u1737\u173C\u1741\u1745\u174A\u174F\u1754\u1759\u175E\u1763\u1769\u176E\u1773" +
+            "\u1778\u177D\u1781\u1786\u178B\u1790\u1795\u179D\u17A4\u17AC\u17B1\u17B6\u17BB\u17C0\u17C4\u17C9\u17CE" +
+            "\u17D3\u17D8\u17DD\u17E2\u17E8\u17ED\u17F3\u17F7\u17FC\u1800\u1805\u1809\u180E\u1816\u181A\u1820\u1824" +
+            "\u1829\u182E\u1834\u183A\u183D\u1843\u184B\u1851\u1857\u185D\u1861\u1866\u186B\u1870\u1876\u187C\u1881" +
+            "\u1886\u188D\u1891\u1896\u189D\u18A1\u18AA\u18AD\u18B1\u18B6\u18BF\u18C2\u18C5\u18C9\u18CD\u18D3\u18E2" +
+            "\u18F2\u18FA\u1902\u190C\u1917\u1922\u1926\u192E\u1934\u193B\u1940\u1948\u194D\u1953\u195A\u195F\u1965" +
+            "\u1969\u196F\u1979\u1982\u1986\u198D\u1993\u1997\u199D\u19A1\u19A7\u19AC\u19B1\u19B5\u19B9\u19BE\u19C2" +
+            "\u19C7\u19CC\u19D3\u19DA\u19DF\u19E4\u19EA\u19F1\u19F4\u19FC\u1A02\u1A08\u1A0E\u1A13\u1A17\u1A1D\u1A24" +
+            "\u1A2F\u1A3A\u1A42\u1A4C\u1A52\u1A60\u1A6F\u1A74\u1A79\u1A81\u1A86\u1A8C\u1A90\u1A94\u1A9A\u1AA0\u1AA4" +
+            "\u1AA8\u1AAD\u1AB4\u1AB9\u1ABF\u1AC2\u1AC4\u1ACB\u1AD0\u1AD7\u1ADA\u1ADF\u1AE6\u1AEC\u1AEF\u1AF4\u1AF9" +
+            "\u1AFD\u1B04\u1B0F\u1B14\u1B17\u1B1E\u1B23\u1B26\u1B2C\u1B39\u1B3F\u1B43\u1B49\u1B4F\u1B55\u1B59\u1B5C" +
+            "\u1B61\u1B69\u1B71\u1B78\u1B81\u1B8F\u1B98\u1BA6\u1BB5\u1BC5\u1BCD\u1BD3\u1BD9\u1BDD\u1BE1\u1BE5\u1BEB" +
+            "\u1BF0\u1BF4\u1BF9\u1BFE\u1C03\u1C0A\u1C0E\u1C16\u1C1B\u1C1F\u1C25\u1C2B\u1C31\u1C35\u1C3A\u1C40\u1C43" +
+            "\u1C47\u1C49\u1C4E\u1C51\u1C53\u1C59\u1C5C\u1C62\u1C64\u1C6C\u1C6F\u1C72\u1C78\u1C7D\u1C82\u1C8A\u1C90" +
+            "\u1C94\u1C9A\u1CA0\u1CA3\u1CA7\u1CAC\u1CB0\u1CB4\u1CBA\u1CBF\u1CC3\u1CCA\u1CCF\u1CD5\u1CDC\u1CE1\u1CEB" +
+            "\u1CF6\u1CFC\u1D02\u1D07\u1D0E\u1D16\u1D1B\u1D20\u1D24\u1D29\u1D2D\u1D30\u1D33\u1D37\u1D3B\u1D3F\u1D44" +
+            "\u1D4F\u1D5B\u1D68\u1D6B\u1D71\u1D77\u1D7C\u1D82\u1D85\u1D8A\u1D8F\u1D93\u1D98\u1D9D\u1DA1\u1DA5\u1DAB" +
+            "\u1DAF\u1DB4\u1DBC\u1DC2\u1DC8\u1DCE\u1DD4\u1DDA\u1DE0\u1DE6\u1DEC\u1DF2\u1DF8\u1DFE\u1E04\u1E0A\u1E10" +
+            "\u1E16\u1E1B\u1E20\u1E24\u1E26\u1E29\u1E2F\u1E34\u1E3A\u1E3D\u1E43\u1E48\u1E4B\u1E4F\u1E51\u1E54\u1E57" +
+            "\u1E5B\u1E63\u1E66\u1E6B\u1E71\u1E78\u1E80\u1E84\u1E8A\u1E8D\u1E8F\u1E92\u1E97\u1E9B\u1E9D\u1EA0\u1EA3" +
+            "\u1EA6\u1EA9\u1EAD\u1EB5\u1EB8\u1EBC\u1EC1\u1EC6\u1ECA\u1ECF\u1ED3\u1ED7\u1EDC\u1EE1\u1EE3\u1EE7\u1EEC" +
+            "\u1EF1\u1EF7\u1EFE\u1F07\u1F0D\u1F13\u1F1C\u1F26\u1F2D\u1F33\u1F3C\u1F40\u1F44\u1F4A\u1F4E\u1F54\u1F5A" +
+            "\u1F5E\u1F65\u1F6A\u1F6E\u1F73\u1F79\u1F82\u1F88\u1F8E\u1F91\u1F99\u1FA1\u1FA6\u1FAC\u1FB9\u1FC7\u1FCB" +
+            "\u1FD1\u1FD5\u1FDB\u1FE1\u1FE7\u1FED\u1FF3\u1FF5\u1FFA\u1FFD\u2001\u2006\u2009\u200C\u2012\u2014\u201A" +
+            "\u201F\u2025\u202A\u202F\u2034\u2039\u2041\u2049\u204E\u2052\u2057\u2059\u205F\u2064\u206C\u2072\u2075" +
+            "\u207B\u2083\u208B\u2093\u209A\u209E\u20A3\u20A7\u20AB\u20B0\u20B6\u20BA\u20BE\u20C3\u20CA\u20CF\u20D5" +
+            "\u20DA\u20DC\u20E2\u20E7\u20EB\u20F0\u20F3\u20F6\u20FB\u20FF\u2103\u2109\u210E\u2113\u2119\u211F\u2122" +
+            "\u2125\u212B\u212F\u2133\u2137\u213B\u2140\u2144\u214A\u214F\u2151\u2154\u2158\u215E\u2166\u216C\u2172" +
+            "\u2176\u217B\u2181\u2184\u2189\u218D\u2192\u2199\u219F\u21A5\u21AB\u21B1\u21B8\u21BE\u21C1\u21C7\u21CB" +
+            "\u21D0\u21D5\u21DA\u21E0\u21E6\u21EB\u21F2\u21F9\u21FF\u2205\u220A\u220E\u2211\u2215\u221A\u2220\u2227" +
+            "\u222F\u2233\u2235\u223E\u224B\u225A\u2267\u2275\u2283\u2292\u22A3\u22B6\u22C4\u22C7\u22CA\u22CE\u22D6" +
+            "\u22D9\u22DE\u22E4\u22EB\u22F3\u22F7\u22FD\u2307\u230E\u2317\u2321\u2328\u232F\u2335\u233B\u233E\u2340" +
+            "\u2343\u2348\u234D\u2353\u2358\u235C\u235E\u2363\u236B\u2371\u2376\u237C\u2382\u238C\u238F\u2393\u239B" +
+            "\u239E\u23A2\u23A7\u23AC\u23B1\u23B6\u23BB\u23C8\u23DA\u23E4\u23F2\u23FF\u240D\u2412\u2416\u241C\u2423" +
+            "\u2429\u242F\u2432\u2439\u243D\u2441\u2447\u244C\u2454\u2459\u245F\u2462\u2467\u246D\u2471\u2474\u2478" +
+            "\u247D\u2482\u2486\u248B\u2491\u2497\u2499\u249D\u24A2\u24A7\u24AD\u24B3\u24B9\u24C0\u24C6\u24CA\u24CF" +
+            "\u24D4\u24DC\u24E3\u24EC\u24F0\u24F5\u24F9\u24FD\u2501\u2508\u250B\u2511\u251B\u2525\u252D\u2533\u2539" +
+            "\u253C\u2541\u254E\u2551\u2554\u2559\u255C\u2562\u2568\u256E\u2573\u2579\u257F\u2586\u258A\u258E\u2594" +
+            "\u259A\u259E\u25A0\u25A4\u25AA\u25AC\u25B4\u25B9\u25BC\u25BF\u25C3\u25CD\u25DC\u25DF\u25E2\u25E6\u25F1" +
+            "\u25F7\u25FD\u2602\u2608\u260C\u260F\u2613\u2618\u261D\u2624\u2629\u2630\u2638\u263C\u2641\u2647\u264B" +
+            "\u2651\u2657\u265C\u2664\u2668\u266B\u2670\u2672\u2677\u267D\u2682\u2689\u268E\u2694\u269A\u269F\u26A5" +
+            "\u26AC\u26AF\u26B2\u26B5\u26B9\u26BE\u26C7\u26CB\u26D0\u26D3\u26D7\u26DC\u26E1\u26E6\u26E8\u26EB\u26EF" +
+            "\u26F2\u26F6\u26FB\u26FE\u2703\u2707\u270A\u2714\u2723\u2727\u272C\u2735\u2739\u273E\u2743\u2746\u274B" +
+            "\u2751\u2755\u2759\u275C\u2761\u2767\u276F\u2776\u277D\u2784\u2789\u2790\u2797\u279E\u27A2\u27AB\u27B1" +
+            "\u27B6\u27BD\u27C0\u27C6\u27CA\u27CF\u27D6\u27DB\u27E0\u27E6\u27EC\u27F7\u27FC\u2802\u2805\u280B\u280F" +
+            "\u2813\u281C\u282A\u282E\u2833\u2839\u283E\u2843\u284A\u2851\u2855\u285A\u285F\u2866\u286F\u2879\u287E" +
+            "\u2885\u2889\u288E\u2893\u289A\u28A3\u28AD\u28B1\u28B7\u28BB\u28C8\u28D7\u28E5\u28F5\u28F7\u28FA\u2900" +
+            "\u2905\u290B\u2911\u2915\u291B\u291F\u2923\u292A\u2930\u2934\u2938\u293F\u2945\u294C\u2951\u2956\u295C" +
+            "\u2961\u2968\u296E\u2970\u2976\u297A\u297E\u2983\u2986\u298B\u2991\u2995\u2999\u299F\u29A4\u29A9\u29AC" +
+            "\u29B0\u29B6\u29B9\u29BE\u29C1\u29C5\u29CA\u29CF\u29D6\u29DB\u29DE\u29E3\u29E8\u29EF\u29F3\u29F9\u29FD" +
+            "\u2A01\u2A06\u2A0B\u2A0D\u2A12\u2A15\u2A1A\u2A21\u2A25\u2A29\u2A2F\u2A33\u2A3A\u2A3D\u2A41\u2A47\u2A4B" +
+            "\u2A51\u2A57\u2A5F\u2A63\u2A68\u2A6B\u2A6F\u2A77\u2A7D\u2A82\u2A86\u2A89\u2A8F\u2A95\u2A9B\u2A9F\u2AA6" +
+            "\u2AA9\u2AAC\u2AB0\u2AB6\u2ABB\u2ABD\u2AC6\u2AC9\u2ACF\u2AD6\u2ADC\u2AE0\u2AE8\u2AED\u2AF4\u2AFA\u2B00" +
+            "\u2B05\u2B0B\u2B12\u2B19\u2B1B\u2B23\u2B27\u2B2C\u2B2E\u2B31\u2B35\u2B3A\u2B3D\u2B41\u2B4B\u2B56\u2B5C" +
+            "\u2B67\u2B6F\u2B77\u2B7E\u2B83\u2B89\u2B8D\u2B92\u2B98\u2B9C\u2BA4\u2BAC\u2BB4\u2BB8\u2BBE\u2BC3\u2BC9" +
+            "\u2BCD\u2BD0\u2BD6\u2BD9\u2BDD\u2BE1\u2BE7\u2BEB\u2BF6\u2BFD\u2C02\u2C09\u2C0D\u2C12\u2C16\u2C1C\u2C21" +
+            "\u2C25\u2C29\u2C2F\u2C34\u2C3C\u2C40\u2C45\u2C4A\u2C50\u2C55\u2C59\u2C5F\u2C64\u2C6B\u2C70\u2C76\u2C7C" +
+            "\u2C82\u2C88\u2C8F\u2C95\u2C9A\u2CA0\u2CA5\u2CAE\u2CB3\u2CB8\u2CBE\u2CC4\u2CC9\u2CD0\u2CD7\u2CDD\u2CE3" +
+            "\u2CE8\u2CEC\u2CEF\u2CF3\u2CFA\u2CFF\u2D05\u2D09\u2D0D\u2D14\u2D1C\u2D21\u2D25\u2D28\u2D2E\u2D34\u2D37" +
+            "\u2D3C\u2D41\u2D47\u2D4A\u2D4E\u2D58\u2D66\u2D76\u2D84\u2D93\u2DA4\u2DB4\u2DC3\u2DD2\u2DD6\u2DE2\u2DE7" +
+            "\u2DEC\u2DEF\u2DF5\u2DFF\u2E04\u2E09\u2E0E\u2E13\u2E18\u2E1C\u2E22\u2E29\u2E2D\u2E33\u2E3B\u2E40\u2E46" +
+            "\u2E4A\u2E4D\u2E51\u2E56\u2E5C\u2E62\u2E68\u2E6C\u2E71\u2E76\u2E7E\u2E85\u2E87\u2E8D\u2E92\u2E94\u2E97" +
+            "\u2E9B\u2EA1\u2EA6\u2EA9\u2EAF\u2EB4\u2EB8\u2EBD\u2EC3\u2ECB\u2ED0\u2ED3\u2ED7\u2EDC\u2EE1\u2EE6\u2EEC" +
+            "\u2EF1\u2EF8\u2EFC\u2F00\u2F06\u2F0E\u2F13\u2F17\u2F1A\u2F20\u2F25\u2F2B\u2F2F\u2F37\u2F44\u2F47\u2F4C" +
+            "\u2F52\u2F58\u2F5B\u2F61\u2F65\u2F6A\u2F6E\u2F73\u2F77\u2F7C\u2F81\u2F88\u2F8F\u2F94\u2FA1\u2FA7\u2FAF" +
+            "\u2FB3\u2FB8\u2FBB\u2FBF\u2FC4\u2FCA\u2FCD\u2FD1\u2FD7\u2FDB\u2FE1\u2FEA\u2FEE\u2FF3\u2FF9\u2FFE\u3004" +
+            "\u3009\u300F\u3017\u3021\u3026\u302C\u3034\u303E\u3041\u3047\u304D\u3051\u3056\u305A\u3060\u3066\u306C" +
+            "\u3070\u3075\u3084\u308F\u3094\u3097\u309B\u30A1\u30A5\u30AC\u30B3\u30B8\u30BD\u30C4\u30CB\u30D1\u30D9" +
+            "\u30E2\u30EB\u30F5\u30FB\u3101\u3107\u310B\u3115\u3120\u3126\u3131\u3139\u3141\u3148\u314B\u314F\u3152" +
+            "\u3156\u315A\u315E\u3162\u3168\u316F\u3173\u317A\u3181\u3188\u318F\u3196\u319B\u31A0\u31A7\u31AD\u31B5" +
+            "\u31BE\u31C7\u31D1\u31D7\u31DD\u31E3\u31E8\u31EE\u31F3\u31FA\u3200\u3205\u320B\u320E\u3212\u3218\u321E" +
+            "\u3221\u3225\u322B\u322E\u3234\u323D\u3242\u324A\u3250\u325B\u3263\u3269\u326E\u3274\u3279\u327E\u3283" +
+            "\u3289\u3291\u3297\u329B\u329F\u32A2\u32A8\u32AE\u32B2\u32B9\u32BD\u32C3\u32C8\u32D0\u32DC\u32E8\u32F6" +
+            "\u32FF\u330C\u331B\u3321\u3325\u332D\u3334\u3339\u3340\u3348\u334C\u3350\u3355\u335B\u3360\u3370\u3381" +
+            "\u3385\u3389\u338F\u3393\u3398\u339E\u33A3\u33A6\u33AB\u33B1\u33B6\u33BC\u33BF\u33C5\u33CA\u33CF\u33D4" +
+            "\u33DA\u33E2\u33E8\u33ED\u33F2\u33F5\u33FA\u33FE\u3405\u3410\u341D\u342B\u3430\u3434\u3439\u3440\u344A" +
+            "\u3450\u3458\u345E\u3463\u3468\u346C\u3471\u3477\u347B\u3480\u3485\u3489\u3490\u3494\u3498\u349D\u34A2" +
+            "\u34A8\u34B2\u34BA\u34C4\u34CA\u34CF\u34D8\u34DC\u34E2\u34EA\u34F6\u3503\u350F\u351C\u3524\u3533\u3543" +
+            "\u3546\u354B\u354E\u3554\u3559\u355F\u3565\u3569\u356C\u3571\u3576\u357B\u357F\u3584\u3589\u358D\u3593" +
+            "\u3599\u359F\u35A5\u35AC\u35B1\u35B7\u35BC\u35C2\u35C8\u35CB\u35CF\u35D1\u35D3\u35D9\u35DD\u35E1\u35E6" +
+            "\u35EA\u35EF\u35F2\u35F7\u35FC\u35FE\u3603\u3608\u360C\u3610\u3615\u3619\u361F\u3625\u362A\u362F\u3633" +
+            "\u3639\u363F\u3644\u3648\u364E\u3654\u3658\u365D\u3660\u3663\u3666\u366A\u366E\u3672\u3676\u367A\u3680" +
+            "\u3686\u3689\u368D\u3693\u3697\u369A\u369E\u36A5\u36A9\u36AD\u36B0\u36B4";
+
+    static final String VALUES =
+            "\306&\301\u0102\302\u0410\uD835\uDD04\300\u0391\u0100\u2A53\u0104\uD835\uDD38\u2061\305\uD835\uDC9C" +
+            "\u2254\303\304\u2216\u2AE7\u2306\u0411\u2235\u212C\u0392\uD835\uDD05\uD835\uDD39\u02D8\u212C\u224E" +
+            "\u0427\251\u0106\u22D2\u2145\u212D\u010C\307\u0108\u2230\u010A\270\267\u212D\u03A7\u2299\u2296\u2295" +
+            "\u2297\u2232\u201D\u2019\u2237\u2A74\u2261\u222F\u222E\u2102\u2210\u2233\u2A2F\uD835\uDC9E\u22D3\u224D" +
+            "\u2145\u2911\u0402\u0405\u040F\u2021\u21A1\u2AE4\u010E\u0414\u2207\u0394\uD835\uDD07\264\u02D9\u02DD" +
+            "`\u02DC\u22C4\u2146\uD835\uDD3B\250\u20DC\u2250\u222F\250\u21D3\u21D0\u21D4\u2AE4\u27F8\u27FA\u27F9" +
+            "\u21D2\u22A8\u21D1\u21D5\u2225\u2193\u2913\u21F5\u0311\u2950\u295E\u21BD\u2956\u295F\u21C1\u2957\u22A4" +
+            "\u21A7\u21D3\uD835\uDC9F\u0110\u014A\320\311\u011A\312\u042D\u0116\uD835\uDD08\310\u2208\u0112\u25FB" +
+            "\u25AB\u0118\uD835\uDD3C\u0395\u2A75\u2242\u21CC\u2130\u2A73\u0397\313\u2203\u2147\u0424\uD835\uDD09" +
+            "\u25FC\u25AA\uD835\uDD3D\u2200\u2131\u2131\u0403>\u0393\u03DC\u011E\u0122\u011C\u0413\u0120\uD835\uDD0A" +
+            "\u22D9\uD835\uDD3E\u2265\u22DB\u2267\u2AA2\u2277\u2A7E\u2273\uD835\uDCA2\u226B\u042A\u02C7^\u0124\u210C" +
+            "\u210B\u210D\u2500\u210B\u0126\u224E\u224F\u0415\u0132\u0401\315\316\u0418\u0130\u2111\314\u2111\u012A" +
+            "\u2148\u21D2\u222C\u222B\u22C2\u2063\u2062\u012E\uD835\uDD40\u0399\u2110\u0128\u0406\317\u0134\u0419" +
+            "\uD835\uDD0D\uD835\uDD41\uD835\uDCA5\u0408\u0404\u0425\u040C\u039A\u0136\u041A\uD835\uDD0E\uD835\uDD42" +
+            "\uD835\uDCA6\u0409<\u0139\u039B\u27EA\u2112\u219E\u013D\u013B\u041B\u27E8\u2190\u21E4\u21C6\u2308\u27E6" +
+            "\u2961\u21C3\u2959\u230A\u2194\u294E\u22A3\u21A4\u295A\u22B2\u29CF\u22B4\u2951\u2960\u21BF\u2958\u21BC" +
+            "\u2952\u21D0\u21D4\u22DA\u2266\u2276\u2AA1\u2A7D\u2272\uD835\uDD0F\u22D8\u21DA\u013F\u27F5\u27F7\u27F6" +
+            "\u27F8\u27FA\u27F9\uD835\uDD43\u2199\u2198\u2112\u21B0\u0141\u226A\u2905\u041C\u205F\u2133\uD835\uDD10" +
+            "\u2213\uD835\uDD44\u2133\u039C\u040A\u0143\u0147\u0145\u041D\u200B\u200B\u200B\u200B\u226B\u226A\012" +
+            "\uD835\uDD11\u2060\240\u2115\u2AEC\u2262\u226D\u2226\u2209\u2260\u2242\u0338\u2204\u226F\u2271\u2267" +
+            "\u0338\u226B\u0338\u2279\u2A7E\u0338\u2275\u224E\u0338\u224F\u0338\u22EA\u29CF\u0338\u22EC\u226E\u2270" +
+            "\u2278\u226A\u0338\u2A7D\u0338\u2274\u2AA2\u0338\u2AA1\u0338\u2280\u2AAF\u0338\u22E0\u220C\u22EB\u29D0" +
+            "\u0338\u22ED\u228F\u0338\u22E2\u2290\u0338\u22E3\u2282\u20D2\u2288\u2281\u2AB0\u0338\u22E1\u227F\u0338" +
+            "\u2283\u20D2\u2289\u2241\u2244\u2247\u2249\u2224\uD835\uDCA9\321\u039D\u0152\323\324\u041E\u0150\uD835" +
+            "\uDD12\322\u014C\u03A9\u039F\uD835\uDD46\u201C\u2018\u2A54\uD835\uDCAA\330\325\u2A37\326\u203E\u23DE" +
+            "\u23B4\u23DC\u2202\u041F\uD835\uDD13\u03A6\u03A0\261\u210C\u2119\u2ABB\u227A\u2AAF\u227C\u227E\u2033" +
+            "\u220F\u2237\u221D\uD835\uDCAB\u03A8\"\uD835\uDD14\u211A\uD835\uDCAC\u2910\256\u0154\u27EB\u21A0\u2916" +
+            "\u0158\u0156\u0420\u211C\u220B\u21CB\u296F\u211C\u03A1\u27E9\u2192\u21E5\u21C4\u2309\u27E7\u295D\u21C2" +
+            "\u2955\u230B\u22A2\u21A6\u295B\u22B3\u29D0\u22B5\u294F\u295C\u21BE\u2954\u21C0\u2953\u21D2\u211D\u2970" +
+            "\u21DB\u211B\u21B1\u29F4\u0429\u0428\u042C\u015A\u2ABC\u0160\u015E\u015C\u0421\uD835\uDD16\u2193\u2190" +
+            "\u2192\u2191\u03A3\u2218\uD835\uDD4A\u221A\u25A1\u2293\u228F\u2291\u2290\u2292\u2294\uD835\uDCAE\u22C6" +
+            "\u22D0\u22D0\u2286\u227B\u2AB0\u227D\u227F\u220B\u2211\u22D1\u2283\u2287\u22D1\336\u2122\u040B\u0426" +
+            "\011\u03A4\u0164\u0162\u0422\uD835\uDD17\u2234\u0398\u205F\u200A\u2009\u223C\u2243\u2245\u2248\uD835" +
+            "\uDD4B\u20DB\uD835\uDCAF\u0166\332\u219F\u2949\u040E\u016C\333\u0423\u0170\uD835\uDD18\331\u016A_\u23DF" +
+            "\u23B5\u23DD\u22C3\u228E\u0172\uD835\uDD4C\u2191\u2912\u21C5\u2195\u296E\u22A5\u21A5\u21D1\u21D5\u2196" +
+            "\u2197\u03D2\u03A5\u016E\uD835\uDCB0\u0168\334\u22AB\u2AEB\u0412\u22A9\u2AE6\u22C1\u2016\u2016\u2223" +
+            "|\u2758\u2240\u200A\uD835\uDD19\uD835\uDD4D\uD835\uDCB1\u22AA\u0174\u22C0\uD835\uDD1A\uD835\uDD4E\uD835" +
+            "\uDCB2\uD835\uDD1B\u039E\uD835\uDD4F\uD835\uDCB3\u042F\u0407\u042E\335\u0176\u042B\uD835\uDD1C\uD835" +
+            "\uDD50\uD835\uDCB4\u0178\u0416\u0179\u017D\u0417\u017B\u200B\u0396\u2128\u2124\uD835\uDCB5\341\u0103" +
+            "\u223E\u223E\u0333\u223F\342\264\u0430\346\u2061\uD835\uDD1E\340\u2135\u2135\u03B1\u0101\u2A3F&\u2227" +
+            "\u2A55\u2A5C\u2A58\u2A5A\u2220\u29A4\u2220\u2221\u29A8\u29A9\u29AA\u29AB\u29AC\u29AD\u29AE\u29AF\u221F" +
+            "\u22BE\u299D\u2222\305\u237C\u0105\uD835\uDD52\u2248\u2A70\u2A6F\u224A\u224B'\u2248\u224A\345\uD835" +
+            "\uDCB6*\u2248\u224D\343\344\u2233\u2A11\u2AED\u224C\u03F6\u2035\u223D\u22CD\u22BD\u2305\u2305\u23B5" +
+            "\u23B6\u224C\u0431\u201E\u2235\u2235\u29B0\u03F6\u212C\u03B2\u2136\u226C\uD835\uDD1F\u22C2\u25EF\u22C3" +
+            "\u2A00\u2A01\u2A02\u2A06\u2605\u25BD\u25B3\u2A04\u22C1\u22C0\u290D\u29EB\u25AA\u25B4\u25BE\u25C2\u25B8" +
+            "\u2423\u2592\u2591\u2593\u2588=\u20E5\u2261\u20E5\u2310\uD835\uDD53\u22A5\u22A5\u22C8\u2557\u2554\u2556" +
+            "\u2553\u2550\u2566\u2569\u2564\u2567\u255D\u255A\u255C\u2559\u2551\u256C\u2563\u2560\u256B\u2562\u255F" +
+            "\u29C9\u2555\u2552\u2510\u250C\u2500\u2565\u2568\u252C\u2534\u229F\u229E\u22A0\u255B\u2558\u2518\u2514" +
+            "\u2502\u256A\u2561\u255E\u253C\u2524\u251C\u2035\u02D8\246\uD835\uDCB7\u204F\u223D\u22CD\\\u29C5\u27C8" +
+            "\u2022\u2022\u224E\u2AAE\u224F\u224F\u0107\u2229\u2A44\u2A49\u2A4B\u2A47\u2A40\u2229\uFE00\u2041\u02C7" +
+            "\u2A4D\u010D\347\u0109\u2A4C\u2A50\u010B\270\u29B2\242\267\uD835\uDD20\u0447\u2713\u2713\u03C7\u25CB" +
+            "\u29C3\u02C6\u2257\u21BA\u21BB\256\u24C8\u229B\u229A\u229D\u2257\u2A10\u2AEF\u29C2\u2663\u2663:\u2254" +
+            "\u2254,@\u2201\u2218\u2201\u2102\u2245\u2A6D\u222E\uD835\uDD54\u2210\251\u2117\u21B5\u2717\uD835\uDCB8" +
+            "\u2ACF\u2AD1\u2AD0\u2AD2\u22EF\u2938\u2935\u22DE\u22DF\u21B6\u293D\u222A\u2A48\u2A46\u2A4A\u228D\u2A45" +
+            "\u222A\uFE00\u21B7\u293C\u22DE\u22DF\u22CE\u22CF\244\u21B6\u21B7\u22CE\u22CF\u2232\u2231\u232D\u21D3" +
+            "\u2965\u2020\u2138\u2193\u2010\u22A3\u290F\u02DD\u010F\u0434\u2146\u2021\u21CA\u2A77\260\u03B4\u29B1" +
+            "\u297F\uD835\uDD21\u21C3\u21C2\u22C4\u22C4\u2666\u2666\250\u03DD\u22F2\367\367\u22C7\u22C7\u0452\u231E" +
+            "\u230D$\uD835\uDD55\u02D9\u2250\u2251\u2238\u2214\u22A1\u2306\u2193\u21CA\u21C3\u21C2\u2910\u231F\u230C" +
+            "\uD835\uDCB9\u0455\u29F6\u0111\u22F1\u25BF\u25BE\u21F5\u296F\u29A6\u045F\u27FF\u2A77\u2251\351\u2A6E" +
+            "\u011B\u2256\352\u2255\u044D\u0117\u2147\u2252\uD835\uDD22\u2A9A\350\u2A96\u2A98\u2A99\u23E7\u2113" +
+            "\u2A95\u2A97\u0113\u2205\u2205\u2205\u2003\u2004\u2005\u014B\u2002\u0119\uD835\uDD56\u22D5\u29E3\u2A71" +
+            "\u03B5\u03B5\u03F5\u2256\u2255\u2242\u2A96\u2A95=\u225F\u2261\u2A78\u29E5\u2253\u2971\u212F\u2250\u2242" +
+            "\u03B7\360\353\u20AC!\u2203\u2130\u2147\u2252\u0444\u2640\uFB03\uFB00\uFB04\uD835\uDD23\uFB01fj\u266D" +
+            "\uFB02\u25B1\u0192\uD835\uDD57\u2200\u22D4\u2AD9\u2A0D\275\u2153\274\u2155\u2159\u215B\u2154\u2156" +
+            "\276\u2157\u215C\u2158\u215A\u215D\u215E\u2044\u2322\uD835\uDCBB\u2267\u2A8C\u01F5\u03B3\u03DD\u2A86" +
+            "\u011F\u011D\u0433\u0121\u2265\u22DB\u2265\u2267\u2A7E\u2A7E\u2AA9\u2A80\u2A82\u2A84\u22DB\uFE00\u2A94" +
+            "\uD835\uDD24\u226B\u22D9\u2137\u0453\u2277\u2A92\u2AA5\u2AA4\u2269\u2A8A\u2A8A\u2A88\u2A88\u2269\u22E7" +
+            "\uD835\uDD58`\u210A\u2273\u2A8E\u2A90>\u2AA7\u2A7A\u22D7\u2995\u2A7C\u2A86\u2978\u22D7\u22DB\u2A8C" +
+            "\u2277\u2273\u2269\uFE00\u2269\uFE00\u21D4\u200A\275\u210B\u044A\u2194\u2948\u21AD\u210F\u0125\u2665" +
+            "\u2665\u2026\u22B9\uD835\uDD25\u2925\u2926\u21FF\u223B\u21A9\u21AA\uD835\uDD59\u2015\uD835\uDCBD\u210F" +
+            "\u0127\u2043\u2010\355\u2063\356\u0438\u0435\241\u21D4\uD835\uDD26\354\u2148\u2A0C\u222D\u29DC\u2129" +
+            "\u0133\u012B\u2111\u2110\u2111\u0131\u22B7\u01B5\u2208\u2105\u221E\u29DD\u0131\u222B\u22BA\u2124\u22BA" +
+            "\u2A17\u2A3C\u0451\u012F\uD835\uDD5A\u03B9\u2A3C\277\uD835\uDCBE\u2208\u22F9\u22F5\u22F4\u22F3\u2208" +
+            "\u2062\u0129\u0456\357\u0135\u0439\uD835\uDD27\u0237\uD835\uDD5B\uD835\uDCBF\u0458\u0454\u03BA\u03F0" +
+            "\u0137\u043A\uD835\uDD28\u0138\u0445\u045C\uD835\uDD5C\uD835\uDCC0\u21DA\u21D0\u291B\u290E\u2266\u2A8B" +
+            "\u2962\u013A\u29B4\u2112\u03BB\u27E8\u2991\u27E8\u2A85\253\u2190\u21E4\u291F\u291D\u21A9\u21AB\u2939" +
+            "\u2973\u21A2\u2AAB\u2919\u2AAD\u2AAD\uFE00\u290C\u2772{[\u298B\u298F\u298D\u013E\u013C\u2308{\u043B" +
+            "\u2936\u201C\u201E\u2967\u294B\u21B2\u2264\u2190\u21A2\u21BD\u21BC\u21C7\u2194\u21C6\u21CB\u21AD\u22CB" +
+            "\u22DA\u2264\u2266\u2A7D\u2A7D\u2AA8\u2A7F\u2A81\u2A83\u22DA\uFE00\u2A93\u2A85\u22D6\u22DA\u2A8B\u2276" +
+            "\u2272\u297C\u230A\uD835\uDD29\u2276\u2A91\u21BD\u21BC\u296A\u2584\u0459\u226A\u21C7\u231E\u296B\u25FA" +
+            "\u0140\u23B0\u23B0\u2268\u2A89\u2A89\u2A87\u2A87\u2268\u22E6\u27EC\u21FD\u27E6\u27F5\u27F7\u27FC\u27F6" +
+            "\u21AB\u21AC\u2985\uD835\uDD5D\u2A2D\u2A34\u2217_\u25CA\u25CA\u29EB(\u2993\u21C6\u231F\u21CB\u296D" +
+            "\u200E\u22BF\u2039\uD835\uDCC1\u21B0\u2272\u2A8D\u2A8F[\u2018\u201A\u0142<\u2AA6\u2A79\u22D6\u22CB" +
+            "\u22C9\u2976\u2A7B\u2996\u25C3\u22B4\u25C2\u294A\u2966\u2268\uFE00\u2268\uFE00\u223A\257\u2642\u2720" +
+            "\u2720\u21A6\u21A6\u21A7\u21A4\u21A5\u25AE\u2A29\u043C\u2014\u2221\uD835\uDD2A\u2127\265\u2223*\u2AF0" +
+            "\267\u2212\u229F\u2238\u2A2A\u2ADB\u2026\u2213\u22A7\uD835\uDD5E\u2213\uD835\uDCC2\u223E\u03BC\u22B8" +
+            "\u22B8\u22D9\u0338\u226B\u20D2\u226B\u0338\u21CD\u21CE\u22D8\u0338\u226A\u20D2\u226A\u0338\u21CF\u22AF" +
+            "\u22AE\u2207\u0144\u2220\u20D2\u2249\u2A70\u0338\u224B\u0338\u0149\u2249\u266E\u266E\u2115\240\u224E" +
+            "\u0338\u224F\u0338\u2A43\u0148\u0146\u2247\u2A6D\u0338\u2A42\u043D\u2013\u2260\u21D7\u2924\u2197\u2197" +
+            "\u2250\u0338\u2262\u2928\u2242\u0338\u2204\u2204\uD835\uDD2B\u2267\u0338\u2271\u2271\u2267\u0338\u2A7E" +
+            "\u0338\u2A7E\u0338\u2275\u226F\u226F\u21CE\u21AE\u2AF2\u220B\u22FC\u22FA\u220B\u045A\u21CD\u2266\u0338" +
+            "\u219A\u2025\u2270\u219A\u21AE\u2270\u2266\u0338\u2A7D\u0338\u2A7D\u0338\u226E\u2274\u226E\u22EA\u22EC" +
+            "\u2224\uD835\uDD5F\254\u2209\u22F9\u0338\u22F5\u0338\u2209\u22F7\u22F6\u220C\u220C\u22FE\u22FD\u2226" +
+            "\u2226\u2AFD\u20E5\u2202\u0338\u2A14\u2280\u22E0\u2AAF\u0338\u2280\u2AAF\u0338\u21CF\u219B\u2933\u0338" +
+            "\u219D\u0338\u219B\u22EB\u22ED\u2281\u22E1\u2AB0\u0338\uD835\uDCC3\u2224\u2226\u2241\u2244\u2244\u2224" +
+            "\u2226\u22E2\u22E3\u2284\u2AC5\u0338\u2288\u2282\u20D2\u2288\u2AC5\u0338\u2281\u2AB0\u0338\u2285\u2AC6" +
+            "\u0338\u2289\u2283\u20D2\u2289\u2AC6\u0338\u2279\361\u2278\u22EA\u22EC\u22EB\u22ED\u03BD#\u2116\u2007" +
+            "\u22AD\u2904\u224D\u20D2\u22AC\u2265\u20D2>\u20D2\u29DE\u2902\u2264\u20D2<\u20D2\u22B4\u20D2\u2903" +
+            "\u22B5\u20D2\u223C\u20D2\u21D6\u2923\u2196\u2196\u2927\u24C8\363\u229B\u229A\364\u043E\u229D\u0151" +
+            "\u2A38\u2299\u29BC\u0153\u29BF\uD835\uDD2C\u02DB\362\u29C1\u29B5\u03A9\u222E\u21BA\u29BE\u29BB\u203E" +
+            "\u29C0\u014D\u03C9\u03BF\u29B6\u2296\uD835\uDD60\u29B7\u29B9\u2295\u2228\u21BB\u2A5D\u2134\u2134\252" +
+            "\272\u22B6\u2A56\u2A57\u2A5B\u2134\370\u2298\365\u2297\u2A36\366\u233D\u2225\266\u2225\u2AF3\u2AFD" +
+            "\u2202\u043F%.\u2030\u22A5\u2031\uD835\uDD2D\u03C6\u03D5\u2133\u260E\u03C0\u22D4\u03D6\u210F\u210E" +
+            "\u210F+\u2A23\u229E\u2A22\u2214\u2A25\u2A72\261\u2A26\u2A27\261\u2A15\uD835\uDD61\243\u227A\u2AB3\u2AB7" +
+            "\u227C\u2AAF\u227A\u2AB7\u227C\u2AAF\u2AB9\u2AB5\u22E8\u227E\u2032\u2119\u2AB5\u2AB9\u22E8\u220F\u232E" +
+            "\u2312\u2313\u221D\u221D\u227E\u22B0\uD835\uDCC5\u03C8\u2008\uD835\uDD2E\u2A0C\uD835\uDD62\u2057\uD835" +
+            "\uDCC6\u210D\u2A16?\u225F\"\u21DB\u21D2\u291C\u290F\u2964\u223D\u0331\u0155\u221A\u29B3\u27E9\u2992" +
+            "\u29A5\u27E9\273\u2192\u2975\u21E5\u2920\u2933\u291E\u21AA\u21AC\u2945\u2974\u21A3\u219D\u291A\u2236" +
+            "\u211A\u290D\u2773}]\u298C\u298E\u2990\u0159\u0157\u2309}\u0440\u2937\u2969\u201D\u201D\u21B3\u211C" +
+            "\u211B\u211C\u211D\u25AD\256\u297D\u230B\uD835\uDD2F\u21C1\u21C0\u296C\u03C1\u03F1\u2192\u21A3\u21C1" +
+            "\u21C0\u21C4\u21CC\u21C9\u219D\u22CC\u02DA\u2253\u21C4\u21CC\u200F\u23B1\u23B1\u2AEE\u27ED\u21FE\u27E7" +
+            "\u2986\uD835\uDD63\u2A2E\u2A35)\u2994\u2A12\u21C9\u203A\uD835\uDCC7\u21B1]\u2019\u2019\u22CC\u22CA" +
+            "\u25B9\u22B5\u25B8\u29CE\u2968\u211E\u015B\u201A\u227B\u2AB4\u2AB8\u0161\u227D\u2AB0\u015F\u015D\u2AB6" +
+            "\u2ABA\u22E9\u2A13\u227F\u0441\u22C5\u22A1\u2A66\u21D8\u2925\u2198\u2198\247;\u2929\u2216\u2216\u2736" +
+            "\uD835\uDD30\u2322\u266F\u0449\u0448\u2223\u2225\255\u03C3\u03C2\u03C2\u223C\u2A6A\u2243\u2243\u2A9E" +
+            "\u2AA0\u2A9D\u2A9F\u2246\u2A24\u2972\u2190\u2216\u2A33\u29E4\u2223\u2323\u2AAA\u2AAC\u2AAC\uFE00\u044C" +
+            "/\u29C4\u233F\uD835\uDD64\u2660\u2660\u2225\u2293\u2293\uFE00\u2294\u2294\uFE00\u228F\u2291\u228F\u2291" +
+            "\u2290\u2292\u2290\u2292\u25A1\u25A1\u25AA\u25AA\u2192\uD835\uDCC8\u2216\u2323\u22C6\u2606\u2605\u03F5" +
+            "\u03D5\257\u2282\u2AC5\u2ABD\u2286\u2AC3\u2AC1\u2ACB\u228A\u2ABF\u2979\u2282\u2286\u2AC5\u228A\u2ACB" +
+            "\u2AC7\u2AD5\u2AD3\u227B\u2AB8\u227D\u2AB0\u2ABA\u2AB6\u22E9\u227F\u2211\u266A\u2283\271\262\263\u2AC6" +
+            "\u2ABE\u2AD8\u2287\u2AC4\u27C9\u2AD7\u297B\u2AC2\u2ACC\u228B\u2AC0\u2283\u2287\u2AC6\u228B\u2ACC\u2AC8" +
+            "\u2AD4\u2AD6\u21D9\u2926\u2199\u2199\u292A\337\u2316\u03C4\u23B4\u0165\u0163\u0442\u20DB\u2315\uD835" +
+            "\uDD31\u2234\u2234\u03B8\u03D1\u03D1\u2248\u223C\u2009\u2248\u223C\376\u02DC\327\u22A0\u2A31\u2A30" +
+            "\u222D\u2928\u22A4\u2336\u2AF1\uD835\uDD65\u2ADA\u2929\u2034\u2122\u25B5\u25BF\u25C3\u22B4\u225C\u25B9" +
+            "\u22B5\u25EC\u225C\u2A3A\u2A39\u29CD\u2A3B\u23E2\uD835\uDCC9\u0446\u045B\u0167\u226C\u219E\u21A0\u21D1" +
+            "\u2963\372\u2191\u045E\u016D\373\u0443\u21C5\u0171\u296E\u297E\uD835\uDD32\371\u21BF\u21BE\u2580\u231C" +
+            "\u231C\u230F\u25F8\u016B\250\u0173\uD835\uDD66\u2191\u2195\u21BF\u21BE\u228E\u03C5\u03D2\u03C5\u21C8" +
+            "\u231D\u231D\u230E\u016F\u25F9\uD835\uDCCA\u22F0\u0169\u25B5\u25B4\u21C8\374\u29A7\u21D5\u2AE8\u2AE9" +
+            "\u22A8\u299C\u03F5\u03F0\u2205\u03D5\u03D6\u221D\u2195\u03F1\u03C2\u228A\uFE00\u2ACB\uFE00\u228B\uFE00" +
+            "\u2ACC\uFE00\u03D1\u22B2\u22B3\u0432\u22A2\u2228\u22BB\u225A\u22EE||\uD835\uDD33\u22B2\u2282\u20D2" +
+            "\u2283\u20D2\uD835\uDD67\u221D\u22B3\uD835\uDCCB\u2ACB\uFE00\u228A\uFE00\u2ACC\uFE00\u228B\uFE00\u299A" +
+            "\u0175\u2A5F\u2227\u2259\u2118\uD835\uDD34\uD835\uDD68\u2118\u2240\u2240\uD835\uDCCC\u22C2\u25EF\u22C3" +
+            "\u25BD\uD835\uDD35\u27FA\u27F7\u03BE\u27F8\u27F5\u27FC\u22FB\u2A00\uD835\uDD69\u2A01\u2A02\u27F9\u27F6" +
+            "\uD835\uDCCD\u2A06\u2A04\u25B3\u22C1\u22C0\375\u044F\u0177\u044B\245\uD835\uDD36\u0457\uD835\uDD6A" +
+            "\uD835\uDCCE\u044E\377\u017A\u017E\u0437\u017C\u2128\u03B6\uD835\uDD37\u0436\u21DD\uD835\uDD6B\uD835" +
+            "\uDCCF\u200D\u200C";
+
+    static final String VALUE_OFFSETS =
+            "\000\001\002\003\004\005\006\010\011\012\013\014\015\017\020\021\023\024\025\026\027\030\031\032\033" +
+            "\034\035\037!\"#$%&'()*+,-./0123456789:;<=>?@ABCEFGHIJKLMNOPQRSUVWXYZ[\\^_`abcdefghijklmnopqrstuvw" +
+            "xyz{|}\177\200\201\202\203\204\205\206\207\211\212\213\214\215\216\217\221\222\223\224\225\226\227" +
+            "\230\231\232\233\234\236\237\240\242\243\244\245\246\247\250\251\252\253\254\255\256\260\261\263\264" +
+            "\265\266\267\270\271\272\274\275\276\277\300\301\302\303\304\305\306\307\310\311\312\313\314\315\316" +
+            "\317\320\321\322\323\324\325\326\327\330\331\332\333\334\336\337\340\341\342\343\344\345\347\351\353" +
+            "\354\355\356\357\360\361\362\364\366\370\371\372\373\374\375\376\377\u0100\u0101\u0102\u0103\u0104" +
+            "\u0105\u0106\u0107\u0108\u0109\u010A\u010B\u010C\u010D\u010E\u010F\u0110\u0111\u0112\u0113\u0114\u0115" +
+            "\u0116\u0117\u0118\u0119\u011A\u011B\u011C\u011D\u011E\u011F\u0120\u0121\u0122\u0124\u0125\u0126\u0127" +
+            "\u0128\u0129\u012A\u012B\u012C\u012D\u012F\u0130\u0131\u0132\u0133\u0134\u0135\u0136\u0137\u0138\u0139" +
+            "\u013B\u013C\u013E\u013F\u0140\u0141\u0142\u0143\u0144\u0145\u0146\u0147\u0148\u0149\u014A\u014B\u014C" +
+            "\u014E\u014F\u0150\u0151\u0152\u0153\u0154\u0155\u0156\u0157\u0159\u015A\u015B\u015C\u015E\u0160\u0161" +
+            "\u0163\u0164\u0166\u0168\u0169\u016B\u016C\u016D\u016E\u016F\u0171\u0173\u0174\u0176\u0178\u0179\u017B" +
+            "\u017C\u017D\u017E\u0180\u0181\u0183\u0184\u0186\u0187\u0189\u018A\u018B\u018D\u018E\u0190\u0192\u0193" +
+            "\u0194\u0195\u0196\u0197\u0198\u019A\u019B\u019C\u019D\u019E\u019F\u01A0\u01A1\u01A3\u01A4\u01A5\u01A6" +
+            "\u01A7\u01A9\u01AA\u01AB\u01AC\u01AE\u01AF\u01B0\u01B1\u01B2\u01B3\u01B4\u01B5\u01B6\u01B7\u01B8\u01BA" +
+            "\u01BB\u01BC\u01BD\u01BE\u01BF\u01C0\u01C1\u01C2\u01C3\u01C4\u01C5\u01C6\u01C7\u01C8\u01CA\u01CB\u01CC" +
+            "\u01CE\u01CF\u01D1\u01D2\u01D3\u01D4\u01D5\u01D6\u01D7\u01D8\u01D9\u01DA\u01DB\u01DC\u01DD\u01DE\u01DF" +
+            "\u01E0\u01E1\u01E2\u01E3\u01E4\u01E5\u01E6\u01E7\u01E8\u01E9\u01EA\u01EB\u01EC\u01ED\u01EE\u01EF\u01F0" +
+            "\u01F1\u01F2\u01F3\u01F4\u01F5\u01F6\u01F7\u01F8\u01F9\u01FA\u01FB\u01FC\u01FD\u01FE\u01FF\u0200\u0201" +
+            "\u0202\u0203\u0204\u0205\u0206\u0208\u0209\u020A\u020B\u020C\u020D\u020E\u0210\u0211\u0212\u0213\u0214" +
+            "\u0215\u0216\u0217\u0218\u021A\u021B\u021C\u021D\u021E\u021F\u0220\u0221\u0222\u0223\u0224\u0225\u0226" +
+            "\u0227\u0228\u0229\u022A\u022B\u022C\u022D\u022E\u022F\u0230\u0231\u0233\u0234\u0235\u0237\u0238\u0239" +
+            "\u023A\u023B\u023C\u023E\u023F\u0241\u0242\u0243\u0244\u0245\u0246\u0247\u0248\u0249\u024A\u024C\u024D" +
+            "\u024E\u024F\u0250\u0251\u0252\u0253\u0254\u0255\u0257\u0258\u0259\u025A\u025B\u025C\u025D\u025E\u025F" +
+            "\u0260\u0261\u0262\u0263\u0264\u0265\u0267\u0268\u0269\u026A\u026B\u026C\u026D\u026E\u026F\u0270\u0271" +
+            "\u0272\u0273\u0274\u0275\u0276\u0278\u027A\u027C\u027D\u027E\u027F\u0281\u0283\u0285\u0287\u0288\u028A" +
+            "\u028C\u028D\u028E\u028F\u0290\u0291\u0292\u0294\u0296\u0298\u0299\u029A\u029B\u029C\u029D\u029E\u029F" +
+            "\u02A0\u02A1\u02A2\u02A4\u02A5\u02A6\u02A7\u02A9\u02AA\u02AB\u02AC\u02AD\u02AE\u02AF\u02B1\u02B2\u02B3" +
+            "\u02B4\u02B5\u02B6\u02B7\u02B8\u02B9\u02BA\u02BB\u02BC\u02BD\u02BE\u02BF\u02C0\u02C1\u02C2\u02C3\u02C4" +
+            "\u02C5\u02C6\u02C7\u02C8\u02C9\u02CA\u02CB\u02CC\u02CD\u02CE\u02CF\u02D0\u02D2\u02D3\u02D4\u02D5\u02D6" +
+            "\u02D7\u02D8\u02D9\u02DA\u02DB\u02DD\u02DE\u02DF\u02E0\u02E1\u02E2\u02E3\u02E4\u02E5\u02E6\u02E7\u02E8" +
+            "\u02E9\u02EA\u02EB\u02EC\u02ED\u02EE\u02EF\u02F0\u02F1\u02F2\u02F3\u02F4\u02F5\u02F6\u02F7\u02F8\u02F9" +
+            "\u02FA\u02FC\u02FD\u02FE\u02FF\u0300\u0301\u0302\u0303\u0304\u0305\u0306\u0307\u0308\u0309\u030A\u030B" +
+            "\u030C\u030D\u030E\u030F\u0310\u0311\u0312\u0313\u0314\u0315\u0317\u0319\u031A\u031C\u031D\u031E\u031F" +
+            "\u0320\u0321\u0322\u0323\u0324\u0325\u0326\u0327\u0328\u0329\u032A\u032B\u032C\u032D\u032E\u032F\u0330" +
+            "\u0331\u0332\u0333\u0334\u0335\u0336\u0337\u0338\u0339\u033A\u033B\u033C\u033D\u033E\u033F\u0340\u0341" +
+            "\u0342\u0343\u0344\u0345\u0346\u0347\u0348\u0349\u034A\u034B\u034C\u034D\u034E\u0350\u0351\u0352\u0353" +
+            "\u0354\u0355\u0356\u0357\u0358\u0359\u035A\u035B\u035C\u035D\u035E\u035F\u0360\u0361\u0362\u0363\u0365" +
+            "\u0366\u0367\u0368\u0369\u036A\u036B\u036C\u036D\u036E\u036F\u0370\u0371\u0372\u0374\u0375\u0376\u0377" +
+            "\u0378\u0379\u037A\u037B\u037C\u037D\u037E\u037F\u0380\u0381\u0382\u0383\u0384\u0385\u0386\u0387\u0388" +
+            "\u0389\u038A\u038B\u038C\u038D\u038E\u038F\u0390\u0391\u0392\u0393\u0394\u0395\u0397\u0398\u0399\u039A" +
+            "\u039B\u039C\u039E\u039F\u03A0\u03A1\u03A2\u03A3\u03A4\u03A5\u03A6\u03A7\u03A8\u03A9\u03AA\u03AB\u03AC" +
+            "\u03AD\u03AE\u03AF\u03B1\u03B2\u03B3\u03B4\u03B5\u03B6\u03B7\u03B8\u03B9\u03BA\u03BB\u03BC\u03BD\u03BE" +
+            "\u03BF\u03C0\u03C1\u03C2\u03C3\u03C4\u03C5\u03C6\u03C7\u03C8\u03C9\u03CA\u03CB\u03CC\u03CD\u03CE\u03CF" +
+            "\u03D0\u03D1\u03D2\u03D4\u03D5\u03D6\u03D7\u03D8\u03D9\u03DA\u03DB\u03DC\u03DD\u03DE\u03DF\u03E0\u03E1" +
+            "\u03E2\u03E3\u03E4\u03E5\u03E7\u03E8\u03E9\u03EA\u03EB\u03EC\u03ED\u03EE\u03EF\u03F0\u03F1\u03F2\u03F3" +
+            "\u03F4\u03F5\u03F7\u03F8\u03F9\u03FA\u03FB\u03FC\u03FD\u03FE\u03FF\u0400\u0401\u0402\u0403\u0404\u0405" +
+            "\u0406\u0407\u0408\u0409\u040A\u040B\u040C\u040D\u040E\u0410\u0411\u0412\u0413\u0414\u0415\u0416\u0417" +
+            "\u0418\u0419\u041A\u041B\u041C\u041D\u041E\u041F\u0420\u0421\u0422\u0423\u0425\u0426\u0427\u0428\u0429" +
+            "\u042A\u042B\u042C\u042D\u042E\u042F\u0430\u0431\u0432\u0433\u0434\u0435\u0436\u0437\u0438\u0439\u043A" +
+            "\u043B\u043C\u043D\u043E\u043F\u0440\u0441\u0442\u0443\u0444\u0445\u0446\u0447\u0448\u044A\u044B\u044D" +
+            "\u044E\u044F\u0450\u0451\u0453\u0454\u0455\u0456\u0457\u0458\u0459\u045A\u045B\u045C\u045D\u045E\u045F" +
+            "\u0460\u0461\u0462\u0463\u0464\u0465\u0466\u0467\u0468\u046A\u046B\u046C\u046D\u046E\u046F\u0470\u0471" +
+            "\u0472\u0473\u0474\u0475\u0476\u0477\u0478\u0479\u047A\u047B\u047C\u047D\u047E\u0480\u0481\u0483\u0484" +
+            "\u0485\u0486\u0487\u0488\u0489\u048A\u048B\u048C\u048D\u048E\u048F\u0490\u0491\u0492\u0494\u0495\u0496" +
+            "\u0497\u0498\u0499\u049A\u049B\u049C\u049D\u049E\u049F\u04A0\u04A1\u04A2\u04A3\u04A4\u04A5\u04A6\u04A8" +
+            "\u04AA\u04AB\u04AC\u04AD\u04AE\u04AF\u04B0\u04B1\u04B2\u04B3\u04B4\u04B5\u04B6\u04B7\u04B8\u04BA\u04BB" +
+            "\u04BC\u04BD\u04BE\u04BF\u04C0\u04C2\u04C3\u04C5\u04C6\u04C7\u04C8\u04C9\u04CA\u04CB\u04CC\u04CD\u04CE" +
+            "\u04CF\u04D0\u04D2\u04D3\u04D4\u04D5\u04D6\u04D7\u04D8\u04D9\u04DA\u04DB\u04DC\u04DD\u04DE\u04DF\u04E0" +
+            "\u04E1\u04E2\u04E3\u04E4\u04E5\u04E6\u04E7\u04E8\u04E9\u04EA\u04EB\u04EC\u04ED\u04EF\u04F0\u04F1\u04F2" +
+            "\u04F4\u04F5\u04F6\u04F7\u04F8\u04F9\u04FA\u04FB\u04FC\u04FD\u04FE\u04FF\u0500\u0502\u0503\u0505\u0507" +
+            "\u0508\u0509\u050A\u050B\u050C\u050D\u050F\u0510\u0511\u0512\u0514\u0516\u0517\u0518\u0519\u051A\u051B" +
+            "\u051C\u051D\u051E\u051F\u0520\u0521\u0522\u0523\u0524\u0525\u0526\u0527\u0528\u0529\u052A\u052B\u052C" +
+            "\u052D\u052E\u052F\u0530\u0531\u0532\u0534\u0535\u0536\u0537\u0538\u0539\u053A\u053B\u053C\u053D\u053E" +
+            "\u053F\u0540\u0541\u0542\u0543\u0544\u0545\u0546\u0547\u0548\u0549\u054A\u054B\u054C\u054D\u054E\u054F" +
+            "\u0550\u0551\u0552\u0553\u0554\u0555\u0556\u0557\u0558\u0559\u055A\u055C\u055D\u055E\u055F\u0560\u0561" +
+            "\u0562\u0563\u0564\u0565\u0567\u0568\u0569\u056A\u056B\u056C\u056D\u056E\u056F\u0570\u0571\u0572\u0573" +
+            "\u0574\u0575\u0576\u0577\u0578\u0579\u057A\u057B\u057C\u057D\u057E\u057F\u0580\u0581\u0582\u0583\u0584" +
+            "\u0585\u0586\u0587\u0589\u058A\u058B\u058C\u058D\u058E\u058F\u0590\u0591\u0592\u0593\u0594\u0595\u0596" +
+            "\u0597\u0598\u0599\u059B\u059C\u059D\u059E\u059F\u05A0\u05A1\u05A2\u05A3\u05A4\u05A5\u05A6\u05A7\u05A8" +
+            "\u05A9\u05AA\u05AB\u05AC\u05AD\u05AE\u05AF\u05B0\u05B1\u05B3\u05B5\u05B6\u05B7\u05B8\u05B9\u05BA\u05BB" +
+            "\u05BC\u05BD\u05BE\u05BF\u05C0\u05C1\u05C2\u05C3\u05C4\u05C6\u05C7\u05C8\u05C9\u05CA\u05CB\u05CC\u05CD" +
+            "\u05CE\u05CF\u05D0\u05D1\u05D2\u05D3\u05D4\u05D6\u05D7\u05D9\u05DA\u05DB\u05DC\u05DD\u05DF\u05E1\u05E3" +
+            "\u05E4\u05E5\u05E7\u05E9\u05EB\u05EC\u05ED\u05EE\u05EF\u05F0\u05F2\u05F3\u05F5\u05F7\u05F8\u05F9\u05FA" +
+            "\u05FB\u05FC\u05FD\u05FF\u0601\u0602\u0603\u0604\u0605\u0607\u0608\u0609\u060A\u060B\u060C\u060D\u060E" +
+            "\u060F\u0611\u0612\u0613\u0615\u0616\u0617\u0619\u061B\u061C\u061D\u061F\u0621\u0623\u0624\u0625\u0626" +
+            "\u0627\u0628\u0629\u062A\u062B\u062C\u062D\u062E\u062F\u0631\u0632\u0633\u0634\u0635\u0636\u0637\u0639" +
+            "\u063B\u063D\u063E\u063F\u0640\u0641\u0642\u0643\u0645\u0646\u0647\u0649\u064B\u064C\u064D\u064E\u064F" +
+            "\u0650\u0651\u0652\u0653\u0654\u0656\u0658\u0659\u065A\u065B\u065D\u065E\u0660\u0661\u0662\u0664\u0666" +
+            "\u0667\u0668\u0669\u066A\u066B\u066D\u066F\u0670\u0671\u0672\u0673\u0674\u0675\u0676\u0677\u0678\u0679" +
+            "\u067B\u067C\u067E\u067F\u0681\u0682\u0684\u0685\u0687\u0688\u068A\u068B\u068D\u068E\u068F\u0690\u0691" +
+            "\u0692\u0693\u0694\u0695\u0696\u0697\u0698\u0699\u069A\u069C\u069D\u069F\u06A1\u06A2\u06A3\u06A5\u06A7" +
+            "\u06A9\u06AA\u06AC\u06AE\u06AF\u06B0\u06B1\u06B2\u06B3\u06B4\u06B5\u06B6\u06B7\u06B8\u06B9\u06BA\u06BB" +
+            "\u06BC\u06BD\u06BE\u06BF\u06C0\u06C2\u06C3\u06C4\u06C5\u06C6\u06C7\u06C8\u06C9\u06CA\u06CB\u06CC\u06CD" +
+            "\u06CE\u06CF\u06D0\u06D1\u06D2\u06D4\u06D5\u06D6\u06D7\u06D8\u06D9\u06DA\u06DB\u06DC\u06DD\u06DE\u06DF" +
+            "\u06E0\u06E1\u06E2\u06E3\u06E4\u06E5\u06E6\u06E7\u06E8\u06E9\u06EA\u06EB\u06EC\u06ED\u06EE\u06EF\u06F0" +
+            "\u06F1\u06F2\u06F3\u06F4\u06F5\u06F6\u06F8\u06F9\u06FA\u06FB\u06FC\u06FD\u06FE\u06FF\u0700\u0701\u0702" +
+            "\u0703\u0704\u0705\u0706\u0707\u0708\u0709\u070A\u070B\u070C\u070D\u070E\u0710\u0711\u0712\u0713\u0714" +
+            "\u0715\u0716\u0717\u0718\u0719\u071A\u071B\u071C\u071D\u071E\u071F\u0720\u0721\u0722\u0723\u0724\u0725" +
+            "\u0726\u0727\u0728\u0729\u072A\u072B\u072D\u072E\u072F\u0731\u0732\u0734\u0735\u0737\u0738\u0739\u073A" +
+            "\u073B\u073C\u073D\u073E\u073F\u0740\u0741\u0743\u0744\u0745\u0746\u0747\u0748\u0749\u074A\u074B\u074C" +
+            "\u074D\u074E\u074F\u0750\u0751\u0752\u0753\u0754\u0755\u0756\u0757\u0758\u0759\u075A\u075B\u075C\u075D" +
+            "\u075E\u075F\u0760\u0761\u0762\u0763\u0764\u0765\u0766\u0767\u0768\u0769\u076A\u076B\u076C\u076D\u076E" +
+            "\u076F\u0770\u0771\u0772\u0773\u0775\u0776\u0777\u0778\u0779\u077A\u077B\u077C\u077D\u077E\u077F\u0780" +
+            "\u0781\u0782\u0783\u0784\u0785\u0786\u0787\u0788\u0789\u078A\u078B\u078C\u078D\u078E\u078F\u0791\u0792" +
+            "\u0793\u0794\u0795\u0796\u0797\u0798\u079A\u079B\u079C\u079D\u079E\u079F\u07A0\u07A1\u07A2\u07A3\u07A4" +
+            "\u07A5\u07A6\u07A7\u07A8\u07A9\u07AA\u07AB\u07AC\u07AD\u07AE\u07AF\u07B0\u07B1\u07B2\u07B3\u07B4\u07B5" +
+            "\u07B6\u07B7\u07B8\u07B9\u07BA\u07BB\u07BC\u07BD\u07BE\u07BF\u07C0\u07C1\u07C2\u07C3\u07C5\u07C6\u07C7" +
+            "\u07C8\u07C9\u07CA\u07CB\u07CC\u07CD\u07CE\u07CF\u07D0\u07D1\u07D2\u07D3\u07D4\u07D5\u07D6\u07D7\u07D8" +
+            "\u07D9\u07DA\u07DB\u07DC\u07DD\u07DE\u07DF\u07E0\u07E1\u07E2\u07E4\u07E5\u07E6\u07E7\u07E8\u07EA\u07EB" +
+            "\u07EC\u07ED\u07EE\u07F0\u07F1\u07F3\u07F4\u07F5\u07F6\u07F7\u07F8\u07F9\u07FA\u07FB\u07FC\u07FD\u07FE" +
+            "\u07FF\u0800\u0802\u0803\u0804\u0805\u0806\u0807\u0808\u0809\u080A\u080B\u080C\u080D\u080E\u080F\u0810" +
+            "\u0811\u0812\u0813\u0814\u0815\u0816\u0817\u0818\u0819\u081A\u081B\u081C\u081D\u081E\u081F\u0820\u0821" +
+            "\u0822\u0823\u0824\u0825\u0826\u0827\u0828\u0829\u082A\u082B\u082C\u082D\u082E\u082F\u0830\u0831\u0832" +
+            "\u0833\u0834\u0835\u0836\u0837\u0838\u0839\u083A\u083B\u083C\u083D\u083E\u083F\u0840\u0841\u0842\u0843" +
+            "\u0844\u0845\u0846\u0847\u0848\u0849\u084A\u084B\u084C\u084E\u084F\u0850\u0851\u0852\u0853\u0854\u0855" +
+            "\u0856\u0857\u0858\u0859\u085A\u085B\u085C\u085D\u085E\u085F\u0860\u0861\u0862\u0863\u0865\u0866\u0867" +
+            "\u0868\u0869\u086A\u086B\u086C\u086D\u086E\u086F\u0870\u0871\u0872\u0873\u0874\u0875\u0876\u0877\u0879" +
+            "\u087A\u087B\u087C\u087D\u087E\u087F\u0880\u0881\u0882\u0883\u0884\u0885\u0886\u0887\u0888\u0889\u088A" +
+            "\u088B\u088D\u088E\u088F\u0890\u0891\u0892\u0893\u0894\u0895\u0896\u0897\u0898\u089A\u089B\u089C\u089D" +
+            "\u089E\u089F\u08A0\u08A1\u08A2\u08A3\u08A4\u08A5\u08A6\u08A7\u08A8\u08AA\u08AB\u08AC\u08AD\u08AE\u08AF" +
+            "\u08B0\u08B1\u08B2\u08B3\u08B4\u08B5\u08B6\u08B7\u08B8\u08B9\u08BA\u08BB\u08BC\u08BD\u08BE\u08BF\u08C1" +
+            "\u08C3\u08C5\u08C7\u08C8\u08C9\u08CA\u08CB\u08CC\u08CD\u08CE\u08CF\u08D0\u08D1\u08D2\u08D4\u08D5\u08D7" +
+            "\u08D9\u08DB\u08DC\u08DD\u08DF\u08E1\u08E3\u08E5\u08E7\u08E8\u08E9\u08EA\u08EB\u08EC\u08ED\u08EF\u08F1" +
+            "\u08F2\u08F3\u08F4\u08F6\u08F7\u08F8\u08F9\u08FA\u08FC\u08FD\u08FE\u08FF\u0900\u0901\u0902\u0903\u0904" +
+            "\u0906\u0907\u0908\u0909\u090A\u090C\u090D\u090E\u090F\u0910\u0911\u0912\u0913\u0914\u0915\u0916\u0918" +
+            "\u0919\u091B\u091D\u091E\u091F\u0920\u0921\u0922\u0923\u0924\u0925\u0927\u0928\u0929\u092B\u092D\u092E" +
+            "\u092F";
+
+    private Html5EntityTable() {
+    }
+}
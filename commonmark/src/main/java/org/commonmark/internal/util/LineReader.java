@@ -25,10 +25,19 @@ public class LineReader implements Closeable {
     private int limit = 0;
 
     private String lineTerminator = null;
+    private int remaining;
 
     public LineReader(Reader reader) {
+        this(reader, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxChars the maximum number of characters to read from the reader, the input is treated as ending there
+     */
+    public LineReader(Reader reader, int maxChars) {
         this.reader = reader;
         this.cbuf = new char[CHAR_BUFFER_SIZE];
+        this.remaining = maxChars;
     }
 
     /**
@@ -123,13 +132,17 @@ public class LineReader implements Closeable {
     }
 
     private void fill() throws IOException {
+        if (remaining == 0) {
+            return;
+        }
         int read;
         do {
-            read = reader.read(cbuf, 0, cbuf.length);
+            read = reader.read(cbuf, 0, Math.min(cbuf.length, remaining));
         } while (read == 0);
         if (read > 0) {
             limit = read;
             position = 0;
+            remaining -= read;
         }
     }
 
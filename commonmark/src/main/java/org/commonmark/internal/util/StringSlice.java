@@ -0,0 +1,103 @@
+package org.commonmark.internal.util;
+
+/**
+ * A part of a string that doesn't copy the characters. Used for lines of the input, so that only the content that ends
+ * up in nodes gets copied.
+ * <p>
+ * Like {@link StringBuilder}, a slice is never equal to a {@link String} (as that wouldn't be symmetric). To compare
+ * the characters of a slice with a string, use {@link CharSequence#compare} or {@link String#contentEquals}. Two
+ * slices with the same characters are equal.
+ */
+public final class StringSlice implements CharSequence {
+
+    private final String string;
+    private final int start;
+    private final int end;
+    // Cached like in String; computing it again in a racing thread gives the same value
+    private int hash;
+
+    private StringSlice(String string, int start, int end) {
+        this.string = string;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static CharSequence of(String string, int start, int end) {
+        if (start < 0 || end > string.length() || start > end) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + string.length());
+        }
+        if (start == 0 && end == string.length()) {
+            return string;
+        }
+        return new StringSlice(string, start, end);
+    }
+
+    /**
+     * Copy a part of a string or slice, without creating an intermediate slice.
+     */
+    public static String substring(CharSequence charSequence, int start, int end) {
+        if (charSequence instanceof String) {
+            return ((String) charSequence).substring(start, end);
+        } else if (charSequence instanceof StringSlice) {
+            StringSlice slice = (StringSlice) charSequence;
+            if (start < 0 || end > slice.length() || start > end) {
+                throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + slice.length());
+            }
+            return slice.string.substring(slice.start + start, slice.start + end);
+        } else {
+            return charSequence.subSequence(start, end).toString();
+        }
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new StringIndexOutOfBoundsException("index " + index + ", length " + (end - start));
+        }
+        return string.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+        }
+        return of(string, this.start + start, this.start + end);
+    }
+
+    @Override
+    public String toString() {
+        return string.substring(start, end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StringSlice)) {
+            return false;
+        }
+        StringSlice other = (StringSlice) o;
+        int length = length();
+        return other.length() == length && string.regionMatches(start, other.string, other.start, length);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            // Same as String#hashCode
+            for (int i = start; i < end; i++) {
+                h = 31 * h + string.charAt(i);
+            }
+            hash = h;
+        }
+        return h;
+    }
+}
@@ -5,11 +5,53 @@ package org.commonmark.node;
  */
 public abstract class Block extends Node {
 
+    private Runnable childrenLoader = null;
+
     @Override
     public Block getParent() {
         return (Block) super.getParent();
     }
 
+    @Override
+    public Node getFirstChild() {
+        loadChildren();
+        return super.getFirstChild();
+    }
+
+    @Override
+    public Node getLastChild() {
+        loadChildren();
+        return super.getLastChild();
+    }
+
+    @Override
+    public void appendChild(Node child) {
+        loadChildren();
+        super.appendChild(child);
+    }
+
+    @Override
+    public void prependChild(Node child) {
+        loadChildren();
+        super.prependChild(child);
+    }
+
+    /**
+     * Defer adding (some of) the children of this block until they are first accessed. The loader is run once, before
+     * the children are accessed or changed the next time.
+     * <p>
+     * This is used by the parser for lazy inline parsing, see
+     * {@link org.commonmark.parser.Parser.Builder#inlineParsing(org.commonmark.parser.InlineParsing)}, and by
+     * {@link CompactDocument#toDocument()}. Note that accessing the children of such a block from multiple threads at
+     * the same time is not safe until the children are loaded.
+     *
+     * @param childrenLoader the action that adds the children, or {@code null} to remove a loader that didn't run yet
+     * @since 0.25.0
+     */
+    public void setChildrenLoader(Runnable childrenLoader) {
+        this.childrenLoader = childrenLoader;
+    }
+
     @Override
     protected void setParent(Node parent) {
         if (!(parent instanceof Block)) {
@@ -17,4 +59,13 @@ public abstract class Block extends Node {
         }
         super.setParent(parent);
     }
+
+    private void loadChildren() {
+        Runnable loader = childrenLoader;
+        if (loader != null) {
+            // Reset first, as the loader adds the children using the methods above
+            childrenLoader = null;
+            loader.run();
+        }
+    }
 }
@@ -0,0 +1,585 @@
+package org.commonmark.node;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A document stored in a few primitive arrays instead of one object per node, for keeping many parsed documents in
+ * memory (e.g. in a cache of rendered pages).
+ * <p>
+ * For each node, the kind, the index of the first child and of the next sibling, and the offset of its values are
+ * stored in arrays. The values (attributes such as the heading level, and the source spans) are stored in one
+ * {@code int} array, and all strings (literals, destinations etc.) in one string that the values point into.
+ * <p>
+ * The document is accessed with the usual node API, so the existing renderers can render it:
+ * <ul>
+ * <li>{@link #view(Views)} sets up nodes from the arrays that are reused for the next view (flyweights), so rendering
+ * many compact documents doesn't create new nodes each time, e.g.
+ * {@code htmlRenderer.render(compactDocument.view(views))}</li>
+ * <li>{@link #toDocument()} creates new nodes on demand, which can be kept and changed independently</li>
+ * </ul>
+ * The compact document itself is never changed, so it can be rendered many times (also concurrently).
+ * <p>
+ * Only the core node types are supported. Use {@link #isSupported(Node)} to check whether a document (e.g. one that
+ * was parsed with extensions) can be compacted.
+ *
+ * @since 0.25.0
+ */
+public final class CompactDocument {
+
+    private static final byte DOCUMENT = 0;
+    private static final byte BLOCK_QUOTE = 1;
+    private static final byte BULLET_LIST = 2;
+    private static final byte ORDERED_LIST = 3;
+    private static final byte LIST_ITEM = 4;
+    private static final byte HEADING = 5;
+    private static final byte PARAGRAPH = 6;
+    private static final byte FENCED_CODE_BLOCK = 7;
+    private static final byte INDENTED_CODE_BLOCK = 8;
+    private static final byte HTML_BLOCK = 9;
+    private static final byte THEMATIC_BREAK = 10;
+    private static final byte LINK_REFERENCE_DEFINITION = 11;
+    private static final byte TEXT = 12;
+    private static final byte CODE = 13;
+    private static final byte EMPHASIS = 14;
+    private static final byte STRONG_EMPHASIS = 15;
+    private static final byte LINK = 16;
+    private static final byte IMAGE = 17;
+    private static final byte HTML_INLINE = 18;
+    private static final byte SOFT_LINE_BREAK = 19;
+    private static final byte HARD_LINE_BREAK = 20;
+
+    private static final int NONE = -1;
+    // Stored for a null Integer or String (as the offset)
+    private static final int NULL = Integer.MIN_VALUE;
+
+    private final int nodeCount;
+    private final byte[] kinds;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    /**
+     * Offset in {@link #values} for each node: the number of source spans, the packed source spans (see
+     * {@link SourceSpanList}) and then the attributes of the kind of node. Strings are stored as offset and length in
+     * {@link #strings}.
+     */
+    private final int[] valueOffsets;
+    private final int[] values;
+    private final String strings;
+
+    private CompactDocument(Compactor compactor) {
+        this.nodeCount = compactor.nodeCount;
+        this.kinds = Arrays.copyOf(compactor.kinds, nodeCount);
+        this.firstChildren = Arrays.copyOf(compactor.firstChildren, nodeCount);
+        this.nextSiblings = Arrays.copyOf(compactor.nextSiblings, nodeCount);
+        this.valueOffsets = Arrays.copyOf(compactor.valueOffsets, nodeCount);
+        this.values = Arrays.copyOf(compactor.values, compactor.valueCount);
+        this.strings = compactor.strings.toString();
+    }
+
+    /**
+     * Compact a document. The document itself is not changed.
+     *
+     * @param document the document to compact
+     * @return the compact document
+     * @throws IllegalArgumentException if the document contains a node that is not of a core node type (see
+     *                                  {@link #isSupported(Node)})
+     */
+    public static CompactDocument of(Document document) {
+        Objects.requireNonNull(document, "document must not be null");
+        Compactor compactor = new Compactor();
+        compactor.add(document);
+        return new CompactDocument(compactor);
+    }
+
+    /**
+     * @param node the root of the nodes to check
+     * @return whether the node and all its descendants are of core node types, which can be compacted
+     */
+    public static boolean isSupported(Node node) {
+        if (kindOf(node) == NONE) {
+            return false;
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            if (!isSupported(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of nodes in the document, including the document node
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Create a document node for this compact document. The children of a block are created the first time they are
+     * accessed (together with all their inline descendants, if they are inlines). Each call returns new nodes, so changing them doesn't affect this compact document, and
+     * documents returned by separate calls can be used from different threads.
+     *
+     * @return the document node
+     */
+    public Document toDocument() {
+        return (Document) createNode(0);
+    }
+
+    /**
+     * Get the document node of this compact document as views, reusing the nodes of the specified views instead of
+     * creating new ones. Once the views have enough nodes of each type (e.g. after rendering a document of the same
+     * size), no nodes are created. This makes rendering (e.g. with {@code renderer.render(compactDocument.view(views))})
+     * only allocate the strings of the nodes.
+     * <p>
+     * The returned nodes are only valid until the views are used for the next call. Changing them doesn't affect this
+     * compact document.
+     *
+     * @param views the views to reuse, must only be used by one thread at a time
+     * @return the document node
+     */
+    public Document view(Views views) {
+        Objects.requireNonNull(views, "views must not be null");
+        views.reset();
+        return (Document) viewNode(views, 0);
+    }
+
+    private Node viewNode(Views views, int index) {
+        Node node = views.take(kinds[index]);
+        setValues(node, index);
+        for (int child = firstChildren[index]; child != NONE; child = nextSiblings[child]) {
+            node.appendChild(viewNode(views, child));
+        }
+        return node;
+    }
+
+    private Node createNode(int index) {
+        Node node = newNode(kinds[index]);
+        setValues(node, index);
+
+        int firstChild = firstChildren[index];
+        if (firstChild != NONE) {
+            if (node instanceof Block) {
+                Node parent = node;
+                ((Block) node).setChildrenLoader(() -> appendChildren(parent, firstChild));
+            } else {
+                // Only blocks have children loaders, so inlines get their children right away
+                appendChildren(node, firstChild);
+            }
+        }
+        return node;
+    }
+
+    private void appendChildren(Node parent, int firstChild) {
+        for (int child = firstChild; child != NONE; child = nextSiblings[child]) {
+            parent.appendChild(createNode(child));
+        }
+    }
+
+    private String string(int v) {
+        int offset = values[v];
+        return offset != NULL ? strings.substring(offset, offset + values[v + 1]) : null;
+    }
+
+    private Integer integer(int v) {
+        int value = values[v];
+        return value != NULL ? value : null;
+    }
+
+    private void setValues(Node node, int index) {
+        int v = valueOffsets[index];
+        int spanCount = values[v++];
+        int spanValues = spanCount * SourceSpanList.FIELDS;
+        node.setPackedSourceSpans(spanCount != 0 ? Arrays.copyOfRange(values, v, v + spanValues) : null, spanCount);
+        v += spanValues;
+
+        switch (kinds[index]) {
+            case BULLET_LIST: {
+                BulletList bulletList = (BulletList) node;
+                bulletList.setTight(values[v] != 0);
+                bulletList.setMarker(string(v + 1));
+                break;
+            }
+            case ORDERED_LIST: {
+                OrderedList orderedList = (OrderedList) node;
+                orderedList.setTight(values[v] != 0);
+                orderedList.setMarkerStartNumber(integer(v + 1));
+                orderedList.setMarkerDelimiter(string(v + 2));
+                break;
+            }
+            case LIST_ITEM: {
+                ListItem listItem = (ListItem) node;
+                listItem.setMarkerIndent(integer(v));
+                listItem.setContentIndent(integer(v + 1));
+                break;
+            }
+            case HEADING:
+                ((Heading) node).setLevel(values[v]);
+                break;
+            case FENCED_CODE_BLOCK: {
+                FencedCodeBlock fencedCodeBlock = (FencedCodeBlock) node;
+                fencedCodeBlock.setFenceCharacter(string(v));
+                // A reused node can have a shorter closing fence than the new opening one
+                fencedCodeBlock.setClosingFenceLength(null);
+                fencedCodeBlock.setOpeningFenceLength(integer(v + 2));
+                fencedCodeBlock.setClosingFenceLength(integer(v + 3));
+                fencedCodeBlock.setFenceIndent(values[v + 4]);
+                fencedCodeBlock.setInfo(string(v + 5));
+                fencedCodeBlock.setLiteral(string(v + 7));
+                break;
+            }
+            case INDENTED_CODE_BLOCK:
+                ((IndentedCodeBlock) node).setLiteral(string(v));
+                break;
+            case HTML_BLOCK:
+                ((HtmlBlock) node).setLiteral(string(v));
+                break;
+            case THEMATIC_BREAK:
+                ((ThematicBreak) node).setLiteral(string(v));
+                break;
+            case LINK_REFERENCE_DEFINITION: {
+                LinkReferenceDefinition definition = (LinkReferenceDefinition) node;
+                definition.setLabel(string(v));
+                definition.setDestination(string(v + 2));
+                definition.setTitle(string(v + 4));
+                break;
+            }
+            case TEXT:
+                ((Text) node).setLiteral(string(v));
+                break;
+            case CODE:
+                ((Code) node).setLiteral(string(v));
+                break;
+            case EMPHASIS:
+                ((Emphasis) node).setDelimiter(string(v));
+                break;
+            case STRONG_EMPHASIS:
+                ((StrongEmphasis) node).setDelimiter(string(v));
+                break;
+            case LINK: {
+                Link link = (Link) node;
+                link.setDestination(string(v));
+                link.setTitle(string(v + 2));
+                break;
+            }
+            case IMAGE: {
+                Image image = (Image) node;
+                image.setDestination(string(v));
+                image.setTitle(string(v + 2));
+                break;
+            }
+            case HTML_INLINE:
+                ((HtmlInline) node).setLiteral(string(v));
+                break;
+            default:
+                // No attributes
+                break;
+        }
+    }
+
+    private static Node newNode(byte kind) {
+        switch (kind) {
+            case DOCUMENT:
+                return new Document();
+            case BLOCK_QUOTE:
+                return new BlockQuote();
+            case BULLET_LIST:
+                return new BulletList();
+            case ORDERED_LIST:
+                return new OrderedList();
+            case LIST_ITEM:
+                return new ListItem();
+            case HEADING:
+                return new Heading();
+            case PARAGRAPH:
+                return new Paragraph();
+            case FENCED_CODE_BLOCK:
+                return new FencedCodeBlock();
+            case INDENTED_CODE_BLOCK:
+                return new IndentedCodeBlock();
+            case HTML_BLOCK:
+                return new HtmlBlock();
+            case THEMATIC_BREAK:
+                return new ThematicBreak();
+            case LINK_REFERENCE_DEFINITION:
+                return new LinkReferenceDefinition();
+            case TEXT:
+                return new Text();
+            case CODE:
+                return new Code();
+            case EMPHASIS:
+                return new Emphasis();
+            case STRONG_EMPHASIS:
+                return new StrongEmphasis();
+            case LINK:
+                return new Link();
+            case IMAGE:
+                return new Image();
+            case HTML_INLINE:
+                return new HtmlInline();
+            case SOFT_LINE_BREAK:
+                return new SoftLineBreak();
+            case HARD_LINE_BREAK:
+                return new HardLineBreak();
+            default:
+                throw new IllegalStateException("Unknown node kind " + kind);
+        }
+    }
+
+    private static byte kindOf(Node node) {
+        // Exact classes only, subclasses could have more state
+        Class<?> type = node.getClass();
+        if (type == Document.class) {
+            return DOCUMENT;
+        } else if (type == BlockQuote.class) {
+            return BLOCK_QUOTE;
+        } else if (type == BulletList.class) {
+            return BULLET_LIST;
+        } else if (type == OrderedList.class) {
+            return ORDERED_LIST;
+        } else if (type == ListItem.class) {
+            return LIST_ITEM;
+        } else if (type == Heading.class) {
+            return HEADING;
+        } else if (type == Paragraph.class) {
+            return PARAGRAPH;
+        } else if (type == FencedCodeBlock.class) {
+            return FENCED_CODE_BLOCK;
+        } else if (type == IndentedCodeBlock.class) {
+            return INDENTED_CODE_BLOCK;
+        } else if (type == HtmlBlock.class) {
+            return HTML_BLOCK;
+        } else if (type == ThematicBreak.class) {
+            return THEMATIC_BREAK;
+        } else if (type == LinkReferenceDefinition.class) {
+            return LINK_REFERENCE_DEFINITION;
+        } else if (type == Text.class) {
+            return TEXT;
+        } else if (type == Code.class) {
+            return CODE;
+        } else if (type == Emphasis.class) {
+            return EMPHASIS;
+        } else if (type == StrongEmphasis.class) {
+            return STRONG_EMPHASIS;
+        } else if (type == Link.class) {
+            return LINK;
+        } else if (type == Image.class) {
+            return IMAGE;
+        } else if (type == HtmlInline.class) {
+            return HTML_INLINE;
+        } else if (type == SoftLineBreak.class) {
+            return SOFT_LINE_BREAK;
+        } else if (type == HardLineBreak.class) {
+            return HARD_LINE_BREAK;
+        }
+        return NONE;
+    }
+
+    /**
+     * Nodes for reuse by {@link #view(Views)}, so that rendering compact documents doesn't create new nodes each time.
+     * The nodes are kept for the next call, so keep one instance per thread (e.g. in a {@link ThreadLocal}), not one
+     * per document. It can be used for views of any compact document.
+     */
+    public static final class Views {
+
+        private final Node[][] nodes = new Node[HARD_LINE_BREAK + 1][];
+        private final int[] used = new int[HARD_LINE_BREAK + 1];
+        private int nodeCount = 0;
+
+        /**
+         * @return the number of nodes that are kept for reuse
+         */
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        private void reset() {
+            Arrays.fill(used, 0);
+        }
+
+        private Node take(byte kind) {
+            Node[] kindNodes = nodes[kind];
+            int i = used[kind]++;
+            if (kindNodes == null) {
+                kindNodes = nodes[kind] = new Node[16];
+            } else if (i == kindNodes.length) {
+                kindNodes = nodes[kind] = Arrays.copyOf(kindNodes, i * 2);
+            }
+            Node node = kindNodes[i];
+            if (node == null) {
+                node = kindNodes[i] = newNode(kind);
+                nodeCount++;
+            } else {
+                node.resetLinks();
+            }
+            return node;
+        }
+    }
+
+    private static class Compactor {
+
+        private int nodeCount = 0;
+        private byte[] kinds = new byte[16];
+        private int[] firstChildren = new int[16];
+        private int[] nextSiblings = new int[16];
+        private int[] valueOffsets = new int[16];
+
+        private int valueCount = 0;
+        private int[] values = new int[64];
+
+        private final StringBuilder strings = new StringBuilder();
+
+        /**
+         * Add the node and its descendants in pre-order.
+         *
+         * @return the index of the node
+         */
+        int add(Node node) {
+            byte kind = kindOf(node);
+            if (kind == NONE) {
+                throw new IllegalArgumentException("Node type not supported in compact documents: " +
+                        node.getClass().getName());
+            }
+
+            int index = nodeCount++;
+            if (index == kinds.length) {
+                int capacity = index * 2;
+                kinds = Arrays.copyOf(kinds, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+                valueOffsets = Arrays.copyOf(valueOffsets, capacity);
+            }
+            kinds[index] = kind;
+            valueOffsets[index] = valueCount;
+            addValues(kind, node);
+
+            int previous = NONE;
+            firstChildren[index] = NONE;
+            for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+                int childIndex = add(child);
+                if (previous == NONE) {
+                    firstChildren[index] = childIndex;
+                } else {
+                    nextSiblings[previous] = childIndex;
+                }
+                previous = childIndex;
+            }
+            // Set by the parent if there is a next sibling
+            nextSiblings[index] = NONE;
+            return index;
+        }
+
+        private void addValues(byte kind, Node node) {
+            int spanCount = node.getSourceSpanCount();
+            addValue(spanCount);
+            if (spanCount != 0) {
+                int[] spans = node.getPackedSourceSpans();
+                for (int i = 0; i < spanCount * SourceSpanList.FIELDS; i++) {
+                    addValue(spans[i]);
+                }
+            }
+
+            switch (kind) {
+                case BULLET_LIST: {
+                    BulletList bulletList = (BulletList) node;
+                    addValue(bulletList.isTight() ? 1 : 0);
+                    addString(bulletList.getMarker());
+                    break;
+                }
+                case ORDERED_LIST: {
+                    OrderedList orderedList = (OrderedList) node;
+                    addValue(orderedList.isTight() ? 1 : 0);
+                    addInteger(orderedList.getMarkerStartNumber());
+                    addString(orderedList.getMarkerDelimiter());
+                    break;
+                }
+                case LIST_ITEM: {
+                    ListItem listItem = (ListItem) node;
+                    addInteger(listItem.getMarkerIndent());
+                    addInteger(listItem.getContentIndent());
+                    break;
+                }
+                case HEADING:
+                    addValue(((Heading) node).getLevel());
+                    break;
+                case FENCED_CODE_BLOCK: {
+                    FencedCodeBlock fencedCodeBlock = (FencedCodeBlock) node;
+                    addString(fencedCodeBlock.getFenceCharacter());
+                    addInteger(fencedCodeBlock.getOpeningFenceLength());
+                    addInteger(fencedCodeBlock.getClosingFenceLength());
+                    addValue(fencedCodeBlock.getFenceIndent());
+                    addString(fencedCodeBlock.getInfo());
+                    addString(fencedCodeBlock.getLiteral());
+                    break;
+                }
+                case INDENTED_CODE_BLOCK:
+                    addString(((IndentedCodeBlock) node).getLiteral());
+                    break;
+                case HTML_BLOCK:
+                    addString(((HtmlBlock) node).getLiteral());
+                    break;
+                case THEMATIC_BREAK:
+                    addString(((ThematicBreak) node).getLiteral());
+                    break;
+                case LINK_REFERENCE_DEFINITION: {
+                    LinkReferenceDefinition definition = (LinkReferenceDefinition) node;
+                    addString(definition.getLabel());
+                    addString(definition.getDestination());
+                    addString(definition.getTitle());
+                    break;
+                }
+                case TEXT:
+                    addString(((Text) node).getLiteral());
+                    break;
+                case CODE:
+                    addString(((Code) node).getLiteral());
+                    break;
+                case EMPHASIS:
+                    addString(((Emphasis) node).getOpeningDelimiter());
+                    break;
+                case STRONG_EMPHASIS:
+                    addString(((StrongEmphasis) node).getOpeningDelimiter());
+                    break;
+                case LINK: {
+                    Link link = (Link) node;
+                    addString(link.getDestination());
+                    addString(link.getTitle());
+                    break;
+                }
+                case IMAGE: {
+                    Image image = (Image) node;
+                    addString(image.getDestination());
+                    addString(image.getTitle());
+                    break;
+                }
+                case HTML_INLINE:
+                    addString(((HtmlInline) node).getLiteral());
+                    break;
+                default:
+                    // No attributes
+                    break;
+            }
+        }
+
+        private void addString(String s) {
+            if (s == null) {
+                addValue(NULL);
+                addValue(0);
+            } else {
+                addValue(strings.length());
+                addValue(s.length());
+                strings.append(s);
+            }
+        }
+
+        private void addInteger(Integer value) {
+            addValue(value != null ? value : NULL);
+        }
+
+        private void addValue(int value) {
+            if (valueCount == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[valueCount++] = value;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.commonmark.node;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -16,7 +15,9 @@ public abstract class Node {
     private Node lastChild = null;
     private Node prev = null;
     private Node next = null;
-    private List<SourceSpan> sourceSpans = null;
+    // Packed source spans, see SourceSpanList. Only the first sourceSpanCount spans are used, the rest is for adding.
+    private int[] sourceSpans = null;
+    private int sourceSpanCount = 0;
 
     public abstract void accept(Visitor visitor);
 
@@ -125,7 +126,7 @@ public abstract class Node {
      * @since 0.16.0
      */
     public List<SourceSpan> getSourceSpans() {
-        return sourceSpans != null ? Collections.unmodifiableList(sourceSpans) : List.of();
+        return sourceSpanCount != 0 ? new SourceSpanList(sourceSpans, sourceSpanCount) : List.of();
     }
 
     /**
@@ -137,22 +138,73 @@ public abstract class Node {
     public void setSourceSpans(List<SourceSpan> sourceSpans) {
         if (sourceSpans.isEmpty()) {
             this.sourceSpans = null;
+            this.sourceSpanCount = 0;
         } else {
-            this.sourceSpans = new ArrayList<>(sourceSpans);
+            this.sourceSpans = SourceSpanList.pack(sourceSpans);
+            this.sourceSpanCount = sourceSpans.size();
         }
     }
 
     /**
      * Add a source span to the end of the list.
      *
-     * @param sourceSpan the source span to add
+     * @param sourceSpan the source span to add, {@code null} is ignored
      * @since 0.16.0
      */
     public void addSourceSpan(SourceSpan sourceSpan) {
+        if (sourceSpan == null) {
+            return;
+        }
+        int i = sourceSpanCount * SourceSpanList.FIELDS;
         if (sourceSpans == null) {
-            this.sourceSpans = new ArrayList<>();
+            sourceSpans = new int[SourceSpanList.FIELDS];
+        } else if (i == sourceSpans.length) {
+            // Spans that were returned by getSourceSpans keep using the old array
+            sourceSpans = Arrays.copyOf(sourceSpans, sourceSpans.length * 2);
+        }
+        SourceSpanList.put(sourceSpans, i, sourceSpan.getLineIndex(), sourceSpan.getColumnIndex(),
+                sourceSpan.getInputIndex(), sourceSpan.getLength());
+        sourceSpanCount++;
+    }
+
+    /**
+     * Add the source spans of this node to the specified ones, without creating {@link SourceSpan} objects.
+     */
+    void addSourceSpansTo(SourceSpans target) {
+        if (sourceSpanCount != 0) {
+            target.addPacked(sourceSpans, sourceSpanCount);
         }
-        this.sourceSpans.add(sourceSpan);
+    }
+
+    int getSourceSpanCount() {
+        return sourceSpanCount;
+    }
+
+    /**
+     * @return the packed source spans, see {@link SourceSpanList}; only the first {@link #getSourceSpanCount()} are used
+     */
+    int[] getPackedSourceSpans() {
+        return sourceSpans;
+    }
+
+    /**
+     * Set the source spans from a packed array that is owned by this node afterwards.
+     */
+    void setPackedSourceSpans(int[] packed, int count) {
+        this.sourceSpans = count != 0 ? packed : null;
+        this.sourceSpanCount = count;
+    }
+
+    /**
+     * Detach this node from its parent, siblings and children without updating them, for reusing it in a new tree
+     * (see {@link CompactDocument.Views}).
+     */
+    void resetLinks() {
+        parent = null;
+        firstChild = null;
+        lastChild = null;
+        prev = null;
+        next = null;
     }
 
     @Override
@@ -19,6 +19,32 @@ public class Nodes {
         return new NodeIterable(start.getNext(), end);
     }
 
+    /**
+     * Count a node and all its descendants. Note that this accesses the children of all nodes, which parses their
+     * inline content with {@link org.commonmark.parser.InlineParsing#LAZY}.
+     *
+     * @return the number of nodes, including the root
+     * @since 0.25.0
+     */
+    public static int count(Node root) {
+        // Not recursive, as blocks can be nested deeply
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            count++;
+            Node child = node.getFirstChild();
+            if (child != null) {
+                node = child;
+                continue;
+            }
+            while (node != root && node.getNext() == null) {
+                node = node.getParent();
+            }
+            node = node != root ? node.getNext() : null;
+        }
+        return count;
+    }
+
     private static class NodeIterable implements Iterable<Node> {
 
         private final Node first;
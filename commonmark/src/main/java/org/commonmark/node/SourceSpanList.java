@@ -0,0 +1,68 @@
+package org.commonmark.node;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list of source spans that are stored as packed {@code int}s (line index, column index, input index,
+ * length). The {@link SourceSpan} objects are only created when the elements are accessed.
+ * <p>
+ * The first {@code size} spans of the array must not be changed after creating the list, which means the array can
+ * be shared with the owner as long as it only appends to it.
+ */
+final class SourceSpanList extends AbstractList<SourceSpan> implements RandomAccess {
+
+    static final int FIELDS = 4;
+
+    private final int[] data;
+    private final int size;
+
+    SourceSpanList(int[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    @Override
+    public SourceSpan get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        int i = index * FIELDS;
+        return SourceSpan.of(data[i], data[i + 1], data[i + 2], data[i + 3]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    void addTo(SourceSpans sourceSpans) {
+        sourceSpans.addPacked(data, size);
+    }
+
+    /**
+     * Pack the spans of a list into an array with exactly the required length.
+     */
+    static int[] pack(List<SourceSpan> sourceSpans) {
+        if (sourceSpans instanceof SourceSpanList) {
+            var list = (SourceSpanList) sourceSpans;
+            return Arrays.copyOf(list.data, list.size * FIELDS);
+        }
+        int[] packed = new int[sourceSpans.size() * FIELDS];
+        int i = 0;
+        for (SourceSpan span : sourceSpans) {
+            i = put(packed, i, span.getLineIndex(), span.getColumnIndex(), span.getInputIndex(), span.getLength());
+        }
+        return packed;
+    }
+
+    static int put(int[] data, int i, int lineIndex, int columnIndex, int inputIndex, int length) {
+        data[i] = lineIndex;
+        data[i + 1] = columnIndex;
+        data[i + 2] = inputIndex;
+        data[i + 3] = length;
+        return i + FIELDS;
+    }
+}
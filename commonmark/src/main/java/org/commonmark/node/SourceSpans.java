@@ -1,6 +1,6 @@
 package org.commonmark.node;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -10,19 +10,27 @@ import java.util.List;
  */
 public class SourceSpans {
 
-    private List<SourceSpan> sourceSpans;
+    // Packed like in SourceSpanList
+    private int[] sourceSpans;
+    private int size;
+    // Whether the array is used by a list returned from getSourceSpans, which means the spans must not be changed
+    private boolean shared;
 
     public static SourceSpans empty() {
         return new SourceSpans();
     }
 
     public List<SourceSpan> getSourceSpans() {
-        return sourceSpans != null ? sourceSpans : List.of();
+        if (size == 0) {
+            return List.of();
+        }
+        shared = true;
+        return new SourceSpanList(sourceSpans, size);
     }
 
     public void addAllFrom(Iterable<? extends Node> nodes) {
         for (Node node : nodes) {
-            addAll(node.getSourceSpans());
+            node.addSourceSpansTo(this);
         }
     }
 
@@ -30,23 +38,46 @@ public class SourceSpans {
         if (other.isEmpty()) {
             return;
         }
+        if (other instanceof SourceSpanList) {
+            ((SourceSpanList) other).addTo(this);
+            return;
+        }
 
-        if (sourceSpans == null) {
-            sourceSpans = new ArrayList<>();
-        }
-
-        if (sourceSpans.isEmpty()) {
-            sourceSpans.addAll(other);
-        } else {
-            int lastIndex = sourceSpans.size() - 1;
-            SourceSpan a = sourceSpans.get(lastIndex);
-            SourceSpan b = other.get(0);
-            if (a.getInputIndex() + a.getLength() == b.getInputIndex()) {
-                sourceSpans.set(lastIndex, SourceSpan.of(a.getLineIndex(), a.getColumnIndex(), a.getInputIndex(), a.getLength() + b.getLength()));
-                sourceSpans.addAll(other.subList(1, other.size()));
-            } else {
-                sourceSpans.addAll(other);
+        ensureCapacity(other.size());
+        boolean first = true;
+        for (SourceSpan span : other) {
+            add(span.getLineIndex(), span.getColumnIndex(), span.getInputIndex(), span.getLength(), first);
+            first = false;
+        }
+    }
+
+    void addPacked(int[] packed, int count) {
+        ensureCapacity(count);
+        for (int i = 0; i < count * SourceSpanList.FIELDS; i += SourceSpanList.FIELDS) {
+            add(packed[i], packed[i + 1], packed[i + 2], packed[i + 3], i == 0);
+        }
+    }
+
+    private void add(int lineIndex, int columnIndex, int inputIndex, int length, boolean merge) {
+        if (merge && size != 0) {
+            int last = (size - 1) * SourceSpanList.FIELDS;
+            if (sourceSpans[last + 2] + sourceSpans[last + 3] == inputIndex) {
+                // Adjacent to the previous span, merge them
+                sourceSpans[last + 3] += length;
+                return;
             }
         }
+        SourceSpanList.put(sourceSpans, size * SourceSpanList.FIELDS, lineIndex, columnIndex, inputIndex, length);
+        size++;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = (size + additional) * SourceSpanList.FIELDS;
+        if (sourceSpans == null) {
+            sourceSpans = new int[required];
+        } else if (shared || required > sourceSpans.length) {
+            sourceSpans = Arrays.copyOf(sourceSpans, Math.max(required, sourceSpans.length * 2));
+            shared = false;
+        }
     }
 }
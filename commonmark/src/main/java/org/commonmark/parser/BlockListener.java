@@ -0,0 +1,19 @@
+package org.commonmark.parser;
+
+import org.commonmark.node.Node;
+
+/**
+ * Listener for the blocks of a {@link StreamingSession}, see {@link Parser#newStreamingSession(BlockListener)}.
+ *
+ * @since 0.25.0
+ */
+public interface BlockListener {
+
+    /**
+     * Called for each top-level block once it is complete, in the order of the input. The block is not part of a
+     * document, its inline content is parsed and post processors have been run on it.
+     *
+     * @param block the completed block, e.g. a {@link org.commonmark.node.Paragraph}
+     */
+    void onBlock(Node block);
+}
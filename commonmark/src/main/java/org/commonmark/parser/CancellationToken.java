@@ -0,0 +1,110 @@
+package org.commonmark.parser;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A token for stopping parsing or rendering early, e.g. when the deadline of a request has passed or the client
+ * disconnected. Pass it to {@link Parser#parse(String, CancellationToken)} or
+ * {@link org.commonmark.renderer.html.HtmlRenderer#render(org.commonmark.node.Node, Appendable, CancellationToken)},
+ * which then throw a {@link CancelledException} soon after the token is cancelled.
+ * <p>
+ * A token is cancelled when {@link #cancel()} is called, when its deadline (if any) has passed, or when the thread
+ * that checks it is interrupted (the interrupt status is kept). With parallel parsing, interrupting the thread that
+ * called {@code parse} also cancels the work on the other threads. It's checked for each line, for the inline content
+ * of each block, before each post processor and for each top-level block when rendering, so the cost is small.
+ * <p>
+ * This class is thread-safe, a token can be cancelled from another thread.
+ *
+ * @since 0.25.0
+ */
+public final class CancellationToken {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @return a new token without a deadline, see {@link #cancel()}
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(NO_DEADLINE);
+    }
+
+    /**
+     * @param timeout the time from now after which the token is cancelled
+     * @return a new token with a deadline
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout must not be null");
+        long now = System.nanoTime();
+        long nanos = saturatedNanos(timeout);
+        // Avoid overflowing for long timeouts
+        long deadline = nanos >= NO_DEADLINE - now ? NO_DEADLINE : now + nanos;
+        return new CancellationToken(deadline);
+    }
+
+    /**
+     * @param deadline the point in time after which the token is cancelled
+     * @return a new token with a deadline
+     */
+    public static CancellationToken withDeadline(Instant deadline) {
+        Objects.requireNonNull(deadline, "deadline must not be null");
+        return withTimeout(Duration.between(Instant.now(), deadline));
+    }
+
+    /**
+     * Cancel the token. Parsing or rendering with it stops at the next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return whether the token was cancelled, its deadline has passed or the current thread was interrupted
+     */
+    public boolean isCancelled() {
+        return getReason() != null;
+    }
+
+    /**
+     * Check the token, for custom parsing or rendering code that can take a long time.
+     *
+     * @throws CancelledException if the token was cancelled, its deadline has passed or the current thread was
+     *                            interrupted
+     */
+    public void throwIfCancelled() {
+        CancelledException.Reason reason = getReason();
+        if (reason != null) {
+            throw new CancelledException(reason);
+        }
+    }
+
+    private CancelledException.Reason getReason() {
+        if (cancelled) {
+            return CancelledException.Reason.CANCELLED;
+        } else if (Thread.currentThread().isInterrupted()) {
+            return CancelledException.Reason.INTERRUPTED;
+        } else if (deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos >= 0) {
+            return CancelledException.Reason.DEADLINE;
+        }
+        return null;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        if (duration.isNegative()) {
+            return 0;
+        }
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.commonmark.parser;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown when parsing or rendering was stopped because a {@link CancellationToken} was cancelled. The partial result
+ * is discarded.
+ *
+ * @since 0.25.0
+ */
+public class CancelledException extends CancellationException {
+
+    private final Reason reason;
+
+    public CancelledException(Reason reason) {
+        super(message(reason));
+        this.reason = reason;
+    }
+
+    /**
+     * @return why the token was cancelled
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    private static String message(Reason reason) {
+        switch (reason) {
+            case DEADLINE:
+                return "Deadline has passed";
+            case INTERRUPTED:
+                return "Thread was interrupted";
+            default:
+                return "Cancelled";
+        }
+    }
+
+    /**
+     * Why a {@link CancellationToken} was cancelled.
+     */
+    public enum Reason {
+        /**
+         * {@link CancellationToken#cancel()} was called
+         */
+        CANCELLED,
+        /**
+         * The deadline of the token has passed
+         */
+        DEADLINE,
+        /**
+         * The thread that was parsing or rendering was interrupted
+         */
+        INTERRUPTED,
+    }
+}
@@ -0,0 +1,175 @@
+package org.commonmark.parser;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the number of calls and the time spent per class of block parser factory, block parser, inline content
+ * parser, delimiter processor, link processor, post processor and node renderer. This helps to find out which
+ * extension makes parsing or rendering of a document slow, without attaching a profiler.
+ * <p>
+ * Profiling is opt-in: pass a report to {@link Parser.Builder#costReport(CostReport)} and/or
+ * {@link org.commonmark.renderer.html.HtmlRenderer.Builder#costReport(CostReport)}. The costs of all documents that
+ * are parsed or rendered with them are added up, until {@link #reset()} is called. Measuring adds some overhead for
+ * each call, so use separate instances for profiling.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 0.25.0
+ */
+public final class CostReport {
+
+    private final Map<Kind, Map<Class<?>, Counter>> counters = new EnumMap<>(Kind.class);
+
+    public CostReport() {
+        for (Kind kind : Kind.values()) {
+            counters.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Add a call to the report. This is called by the parser and renderers, but can also be used for other code.
+     *
+     * @param kind  what was called
+     * @param type  the class of the object that was called
+     * @param nanos how long the call took, in nanoseconds
+     */
+    public void record(Kind kind, Class<?> type, long nanos) {
+        var map = counters.get(kind);
+        var counter = map.get(type);
+        if (counter == null) {
+            counter = map.computeIfAbsent(type, k -> new Counter());
+        }
+        counter.calls.increment();
+        counter.nanos.add(nanos);
+    }
+
+    /**
+     * @param kind what was called
+     * @return the costs per class, with the most expensive first
+     */
+    public Map<Class<?>, Cost> getCosts(Kind kind) {
+        var costs = new ArrayList<Map.Entry<Class<?>, Cost>>();
+        for (var entry : counters.get(kind).entrySet()) {
+            var counter = entry.getValue();
+            costs.add(Map.entry(entry.getKey(), new Cost(counter.calls.sum(), counter.nanos.sum())));
+        }
+        costs.sort(Comparator.comparingLong((Map.Entry<Class<?>, Cost> e) -> e.getValue().getNanos()).reversed());
+        var result = new LinkedHashMap<Class<?>, Cost>();
+        for (var entry : costs) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @param kind what was called
+     * @param type the class
+     * @return the cost of the class, zero if it wasn't called
+     */
+    public Cost getCost(Kind kind, Class<?> type) {
+        var counter = counters.get(kind).get(type);
+        if (counter == null) {
+            return new Cost(0, 0);
+        }
+        return new Cost(counter.calls.sum(), counter.nanos.sum());
+    }
+
+    /**
+     * Remove all collected costs.
+     */
+    public void reset() {
+        for (var map : counters.values()) {
+            map.clear();
+        }
+    }
+
+    /**
+     * @return a table of all costs, for logging
+     */
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        for (Kind kind : Kind.values()) {
+            for (var entry : getCosts(kind).entrySet()) {
+                var cost = entry.getValue();
+                sb.append(kind).append(' ').append(entry.getKey().getName())
+                        .append(": calls=").append(cost.getCalls())
+                        .append(", nanos=").append(cost.getNanos())
+                        .append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * What was called.
+     */
+    public enum Kind {
+        /**
+         * {@link org.commonmark.parser.block.BlockParserFactory#tryStart}
+         */
+        BLOCK_START,
+        /**
+         * {@link org.commonmark.parser.block.BlockParser#tryContinue}
+         */
+        BLOCK_CONTINUE,
+        /**
+         * {@link org.commonmark.parser.beta.InlineContentParser#tryParse}
+         */
+        INLINE_CONTENT,
+        /**
+         * {@link org.commonmark.parser.delimiter.DelimiterProcessor#process}
+         */
+        DELIMITER,
+        /**
+         * {@link org.commonmark.parser.beta.LinkProcessor#process}
+         */
+        LINK,
+        /**
+         * {@link org.commonmark.parser.PostProcessor#process}
+         */
+        POST_PROCESS,
+        /**
+         * {@link org.commonmark.renderer.NodeRenderer#render}, without the time for rendering child nodes with other
+         * calls
+         */
+        RENDER,
+    }
+
+    /**
+     * The number of calls and the time spent in them.
+     */
+    public static final class Cost {
+
+        private final long calls;
+        private final long nanos;
+
+        private Cost(long calls, long nanos) {
+            this.calls = calls;
+            this.nanos = nanos;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Cost{" +
+                    "calls=" + calls +
+                    ", nanos=" + nanos +
+                    "}";
+        }
+    }
+
+    private static class Counter {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+}
@@ -0,0 +1,31 @@
+package org.commonmark.parser;
+
+/**
+ * When to parse the inline content of blocks (e.g. emphasis and links in paragraphs), see
+ * {@link Parser.Builder#inlineParsing(InlineParsing)}.
+ *
+ * @since 0.25.0
+ */
+public enum InlineParsing {
+    /**
+     * Parse the inline content of all blocks while parsing the document.
+     */
+    EAGER,
+    /**
+     * Parse the inline content of a block when its children are first accessed, e.g. when it's rendered or visited.
+     * Blocks keep their source lines until then. Link reference definitions of the whole document are used, same as
+     * with {@link #EAGER}.
+     * <p>
+     * This is useful when only some of the blocks are looked at. Note that post processors usually visit all nodes,
+     * which means all blocks are parsed after parsing the document when any are configured. Streaming sessions parse
+     * the inline content of completed blocks before reporting them, same as with {@link #EAGER}.
+     */
+    LAZY,
+    /**
+     * Only parse blocks, never inline content. Blocks that have inline content (e.g. paragraphs and headings) don't
+     * have any children then. Nodes that block parsers create when parsing inline content are still created though,
+     * e.g. the rows and cells of tables. This is useful when only the block structure is needed, e.g. for extracting
+     * headings or code blocks.
+     */
+    NONE,
+}
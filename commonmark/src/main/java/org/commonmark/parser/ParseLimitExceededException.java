@@ -0,0 +1,33 @@
+package org.commonmark.parser;
+
+/**
+ * Thrown when parsing input that exceeds one of the configured {@link ParseLimits} with
+ * {@link ParseLimitPolicy#FAIL}.
+ *
+ * @since 0.25.0
+ */
+public class ParseLimitExceededException extends RuntimeException {
+
+    private final ParseLimits.Limit limit;
+    private final int maximum;
+
+    public ParseLimitExceededException(ParseLimits.Limit limit, int maximum) {
+        super("Input exceeds parse limit " + limit + " of " + maximum);
+        this.limit = limit;
+        this.maximum = maximum;
+    }
+
+    /**
+     * @return the limit that was exceeded
+     */
+    public ParseLimits.Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the configured maximum of the limit
+     */
+    public int getMaximum() {
+        return maximum;
+    }
+}
@@ -0,0 +1,21 @@
+package org.commonmark.parser;
+
+/**
+ * What to do when input exceeds one of the {@link ParseLimits}.
+ *
+ * @since 0.25.0
+ */
+public enum ParseLimitPolicy {
+    /**
+     * Fail parsing with a {@link ParseLimitExceededException}.
+     */
+    FAIL,
+    /**
+     * Keep the content that exceeds the limit as literal text instead of parsing it, see the limits for details.
+     * <p>
+     * Note that this doesn't keep everything: for {@link ParseLimits.Builder#maxInputLength(int)}, the input after
+     * the limit is discarded (not part of the document at all), and definitions over
+     * {@link ParseLimits.Builder#maxDefinitions(int)} are ignored.
+     */
+    LITERAL,
+}
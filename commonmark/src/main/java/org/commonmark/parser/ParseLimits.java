@@ -0,0 +1,210 @@
+package org.commonmark.parser;
+
+import java.util.Objects;
+
+/**
+ * Limits for parsing untrusted input, see {@link Parser.Builder#limits(ParseLimits)}. By default, nothing is limited.
+ * <p>
+ * What happens when a limit is exceeded depends on the {@link ParseLimitPolicy}: Either parsing fails with a
+ * {@link ParseLimitExceededException}, or the content that exceeds the limit is kept as literal text.
+ * <p>
+ * The checks are cheap, so there's no noticeable cost for input that stays within the limits.
+ *
+ * @since 0.25.0
+ */
+public final class ParseLimits {
+
+    private static final ParseLimits NONE = builder().build();
+
+    private final int maxInputLength;
+    private final int maxBlockNestingDepth;
+    private final int maxDelimiterStackSize;
+    private final int maxBracketStackSize;
+    private final int maxNodes;
+    private final int maxDefinitions;
+    private final ParseLimitPolicy policy;
+
+    private ParseLimits(Builder builder) {
+        this.maxInputLength = builder.maxInputLength;
+        this.maxBlockNestingDepth = builder.maxBlockNestingDepth;
+        this.maxDelimiterStackSize = builder.maxDelimiterStackSize;
+        this.maxBracketStackSize = builder.maxBracketStackSize;
+        this.maxNodes = builder.maxNodes;
+        this.maxDefinitions = builder.maxDefinitions;
+        this.policy = builder.policy;
+    }
+
+    /**
+     * @return limits that don't limit anything
+     */
+    public static ParseLimits none() {
+        return NONE;
+    }
+
+    /**
+     * @return a builder for configuring limits, with nothing limited initially
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxInputLength() {
+        return maxInputLength;
+    }
+
+    public int getMaxBlockNestingDepth() {
+        return maxBlockNestingDepth;
+    }
+
+    public int getMaxDelimiterStackSize() {
+        return maxDelimiterStackSize;
+    }
+
+    public int getMaxBracketStackSize() {
+        return maxBracketStackSize;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    public int getMaxDefinitions() {
+        return maxDefinitions;
+    }
+
+    public ParseLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * The kinds of limits, see {@link ParseLimitExceededException#getLimit()}.
+     */
+    public enum Limit {
+        INPUT_LENGTH,
+        BLOCK_NESTING_DEPTH,
+        DELIMITER_STACK_SIZE,
+        BRACKET_STACK_SIZE,
+        NODES,
+        DEFINITIONS,
+    }
+
+    /**
+     * Builder for configuring {@link ParseLimits}.
+     */
+    public static class Builder {
+
+        private int maxInputLength = Integer.MAX_VALUE;
+        private int maxBlockNestingDepth = Integer.MAX_VALUE;
+        private int maxDelimiterStackSize = Integer.MAX_VALUE;
+        private int maxBracketStackSize = Integer.MAX_VALUE;
+        private int maxNodes = Integer.MAX_VALUE;
+        private int maxDefinitions = Integer.MAX_VALUE;
+        private ParseLimitPolicy policy = ParseLimitPolicy.FAIL;
+
+        /**
+         * @return the configured limits
+         */
+        public ParseLimits build() {
+            return new ParseLimits(this);
+        }
+
+        /**
+         * The maximum number of characters of the input (line terminators included). Input after the limit is not
+         * read (from a reader or stream) or looked at, so memory and time don't depend on the length of the whole
+         * input. With {@link ParseLimitPolicy#LITERAL}, the input is cut off at the limit: the line that exceeds it is
+         * added as text of a paragraph without any parsing (only the part up to the limit), and the rest of the input
+         * is ignored.
+         *
+         * @param maxInputLength the maximum number of characters
+         * @return {@code this}
+         */
+        public Builder maxInputLength(int maxInputLength) {
+            this.maxInputLength = checkMaximum(maxInputLength, "maxInputLength");
+            return this;
+        }
+
+        /**
+         * The maximum depth of nested blocks, e.g. block quotes in block quotes or list items in lists. With
+         * {@link ParseLimitPolicy#LITERAL}, block starts that would exceed it are parsed as paragraph text instead.
+         *
+         * @param maxBlockNestingDepth the maximum depth, 1 means blocks can't be nested
+         * @return {@code this}
+         */
+        public Builder maxBlockNestingDepth(int maxBlockNestingDepth) {
+            this.maxBlockNestingDepth = checkMaximum(maxBlockNestingDepth, "maxBlockNestingDepth");
+            return this;
+        }
+
+        /**
+         * The maximum number of delimiter runs (e.g. {@code *} or {@code _} for emphasis) on the stack while parsing
+         * the inline content of a block. Note that runs are only matched at the end of the block (or of a link), so
+         * this limits the runs in a block, including closing ones. With {@link ParseLimitPolicy#LITERAL}, further
+         * delimiter runs are parsed as text.
+         *
+         * @param maxDelimiterStackSize the maximum number of delimiter runs
+         * @return {@code this}
+         */
+        public Builder maxDelimiterStackSize(int maxDelimiterStackSize) {
+            this.maxDelimiterStackSize = checkMaximum(maxDelimiterStackSize, "maxDelimiterStackSize");
+            return this;
+        }
+
+        /**
+         * The maximum number of opening brackets ({@code [} or {@code ![}) waiting for a closer while parsing the
+         * inline content of a block. With {@link ParseLimitPolicy#LITERAL}, further brackets are parsed as text.
+         *
+         * @param maxBracketStackSize the maximum number of brackets
+         * @return {@code this}
+         */
+        public Builder maxBracketStackSize(int maxBracketStackSize) {
+            this.maxBracketStackSize = checkMaximum(maxBracketStackSize, "maxBracketStackSize");
+            return this;
+        }
+
+        /**
+         * The maximum number of nodes created for the document, blocks and inline nodes. With
+         * {@link ParseLimitPolicy#LITERAL}, no further block starts are recognized once the limit is reached, and the
+         * remaining inline content of each block is added as a single text node. (That means the document can end up
+         * with a few more nodes than the limit.)
+         *
+         * @param maxNodes the maximum number of nodes
+         * @return {@code this}
+         */
+        public Builder maxNodes(int maxNodes) {
+            this.maxNodes = checkMaximum(maxNodes, "maxNodes");
+            return this;
+        }
+
+        /**
+         * The maximum number of definitions, e.g. link reference definitions (and footnote definitions when the
+         * extension is used). With {@link ParseLimitPolicy#LITERAL}, further definitions are ignored, which means
+         * links that refer to them stay text.
+         *
+         * @param maxDefinitions the maximum number of definitions
+         * @return {@code this}
+         */
+        public Builder maxDefinitions(int maxDefinitions) {
+            this.maxDefinitions = checkMaximum(maxDefinitions, "maxDefinitions");
+            return this;
+        }
+
+        /**
+         * What to do when a limit is exceeded, see {@link ParseLimitPolicy}. The default is
+         * {@link ParseLimitPolicy#FAIL}.
+         *
+         * @param policy the policy for all limits
+         * @return {@code this}
+         */
+        public Builder policy(ParseLimitPolicy policy) {
+            this.policy = Objects.requireNonNull(policy, "policy must not be null");
+            return this;
+        }
+
+        private static int checkMaximum(int maximum, String name) {
+            if (maximum < 0) {
+                throw new IllegalArgumentException(name + " must be >= 0, was " + maximum);
+            }
+            return maximum;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.commonmark.parser;
+
+import org.commonmark.node.Node;
+
+/**
+ * Listener for the phases of parsing a document, e.g. for recording how long they take in production. Register it with
+ * {@link Parser.Builder#parseListener(ParseListener)}.
+ * <p>
+ * The phases are: block parsing (splitting the lines into blocks), inline parsing (parsing the content of the blocks)
+ * and post-processing. Each method gets the {@link ParseStatistics} of the document so far.
+ * <p>
+ * The methods are called on the thread that parses the document, so an implementation needs to be thread-safe if the
+ * parser is used from multiple threads. They are called for the {@code parse} methods of {@link Parser} and for
+ * {@link ParserSession}, but not when reparsing or for streaming sessions. If parsing fails (e.g. because a limit is
+ * exceeded), no further methods are called for the document.
+ *
+ * @since 0.25.0
+ */
+public interface ParseListener {
+
+    /**
+     * Called before the first line is parsed.
+     *
+     * @param statistics the statistics so far, the input length is only known for string input
+     */
+    default void blockParsingStarted(ParseStatistics statistics) {
+    }
+
+    /**
+     * Called after all lines were parsed into blocks.
+     *
+     * @param statistics the statistics so far, with the block parsing time
+     */
+    default void blockParsingFinished(ParseStatistics statistics) {
+    }
+
+    /**
+     * Called before the inline content of the blocks is parsed.
+     *
+     * @param statistics the statistics so far
+     */
+    default void inlineParsingStarted(ParseStatistics statistics) {
+    }
+
+    /**
+     * Called after the inline content of the blocks was parsed (or set up to be parsed later, see
+     * {@link InlineParsing}).
+     *
+     * @param statistics the statistics so far, with the inline parsing time
+     */
+    default void inlineParsingFinished(ParseStatistics statistics) {
+    }
+
+    /**
+     * Called after a post processor ran.
+     *
+     * @param postProcessor the post processor
+     * @param nanos         how long the post processor took, in nanoseconds
+     * @param statistics    the statistics so far, with the post-processing time of all post processors up to this one
+     */
+    default void postProcessorFinished(PostProcessor postProcessor, long nanos, ParseStatistics statistics) {
+    }
+
+    /**
+     * Called when the document is complete, before it's returned.
+     *
+     * @param document   the document
+     * @param statistics the statistics of the whole document
+     */
+    default void documentParsed(Node document, ParseStatistics statistics) {
+    }
+}
@@ -0,0 +1,41 @@
+package org.commonmark.parser;
+
+/**
+ * Statistics of parsing a document, see {@link ParseListener}. Times are in nanoseconds and don't include the time
+ * spent in the listener.
+ * <p>
+ * Instances are created by the parser for a listener method and are only meant to be used during that call (they are
+ * not thread-safe).
+ *
+ * @since 0.25.0
+ */
+public interface ParseStatistics {
+
+    /**
+     * @return the number of characters of the input, or -1 if not known yet (e.g. before reading from a reader)
+     */
+    int getInputLength();
+
+    /**
+     * @return the number of lines that were parsed
+     */
+    int getLineCount();
+
+    /**
+     * @return the number of nodes of the document, including the document itself. With {@link InlineParsing#LAZY},
+     * only blocks are counted (as counting inline nodes would parse them). The nodes are counted on each call (by
+     * walking the document), so the count is only computed if it's needed.
+     */
+    int getNodeCount();
+
+    long getBlockParsingNanos();
+
+    long getInlineParsingNanos();
+
+    long getPostProcessingNanos();
+
+    /**
+     * @return the sum of the times of all phases
+     */
+    long getTotalNanos();
+}
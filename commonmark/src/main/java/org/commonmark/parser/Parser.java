@@ -1,10 +1,15 @@
 package org.commonmark.parser;
 
 import org.commonmark.Extension;
+import org.commonmark.internal.BlockParserFactories;
 import org.commonmark.internal.Definitions;
 import org.commonmark.internal.DocumentParser;
+import org.commonmark.internal.DocumentReparser;
+import org.commonmark.internal.InlineParserConfig;
 import org.commonmark.internal.InlineParserContextImpl;
 import org.commonmark.internal.InlineParserImpl;
+import org.commonmark.internal.ParseListeners;
+import org.commonmark.internal.StreamingDocumentParser;
 import org.commonmark.node.*;
 import org.commonmark.parser.beta.LinkInfo;
 import org.commonmark.parser.beta.LinkProcessor;
@@ -15,7 +20,15 @@ import org.commonmark.parser.delimiter.DelimiterProcessor;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -29,29 +42,51 @@ import java.util.*;
  */
 public class Parser {
 
-    private final List<BlockParserFactory> blockParserFactories;
-    private final List<InlineContentParserFactory> inlineContentParserFactories;
-    private final List<DelimiterProcessor> delimiterProcessors;
-    private final List<LinkProcessor> linkProcessors;
-    private final Set<Character> linkMarkers;
+    /**
+     * Files smaller than this are read instead of mapped, see {@link #parse(Path)}.
+     */
+    private static final int MIN_MAPPED_FILE_SIZE = 64 * 1024;
+
+    private final BlockParserFactories blockParserFactories;
+    private final InlineParserConfig inlineParserConfig;
+    private final ParseLimits limits;
     private final InlineParserFactory inlineParserFactory;
     private final List<PostProcessor> postProcessors;
+    private final ParseListener parseListener;
+    private final CostReport costReport;
     private final IncludeSourceSpans includeSourceSpans;
+    private final InlineParsing inlineParsing;
+    private final int inlineParallelism;
+    private final Executor inlineParsingExecutor;
+    private final int blockParallelism;
+    private final Executor blockParsingExecutor;
+    // Types of definitions that the block parsers can create, so that reparse can detect removed definitions
+    private final Set<Class<?>> definitionTypes;
 
     private Parser(Builder builder) {
-        this.blockParserFactories = DocumentParser.calculateBlockParserFactories(builder.blockParserFactories, builder.enabledBlockTypes);
+        List<BlockParserFactory> factories =
+                DocumentParser.calculateBlockParserFactories(builder.blockParserFactories, builder.enabledBlockTypes);
+        this.blockParserFactories = new BlockParserFactories(factories);
+        this.definitionTypes = getDefinitionTypes(factories);
         this.inlineParserFactory = builder.getInlineParserFactory();
         this.postProcessors = builder.postProcessors;
-        this.inlineContentParserFactories = builder.inlineContentParserFactories;
-        this.delimiterProcessors = builder.delimiterProcessors;
-        this.linkProcessors = builder.linkProcessors;
-        this.linkMarkers = builder.linkMarkers;
+        this.parseListener = ParseListeners.of(builder.parseListeners);
+        // Computed once and shared by all inline parsers
+        this.inlineParserConfig = new InlineParserConfig(builder.inlineContentParserFactories,
+                builder.delimiterProcessors, builder.linkProcessors, builder.linkMarkers, builder.limits,
+                builder.costReport);
+        this.costReport = builder.costReport;
+        this.limits = builder.limits;
         this.includeSourceSpans = builder.includeSourceSpans;
+        this.inlineParsing = builder.inlineParsing;
+        this.inlineParallelism = builder.inlineParallelism;
+        this.inlineParsingExecutor = builder.inlineParsingExecutor;
+        this.blockParallelism = builder.blockParallelism;
+        this.blockParsingExecutor = builder.blockParsingExecutor;
 
         // Try to construct an inline parser. Invalid configuration might result in an exception, which we want to
         // detect as soon as possible.
-        var context = new InlineParserContextImpl(
-                inlineContentParserFactories, delimiterProcessors, linkProcessors, linkMarkers, new Definitions());
+        var context = new InlineParserContextImpl(inlineParserConfig, new Definitions(), null);
         this.inlineParserFactory.create(context);
     }
 
@@ -74,9 +109,150 @@ public class Parser {
      */
     public Node parse(String input) {
         Objects.requireNonNull(input, "input must not be null");
-        DocumentParser documentParser = createDocumentParser();
+        DocumentParser documentParser = createListenedDocumentParser();
         Node document = documentParser.parse(input);
-        return postProcess(document);
+        return finishParse(documentParser, document, null);
+    }
+
+    /**
+     * Parse the specified input text into a tree of nodes, stopping early when the token is cancelled, e.g. because the
+     * deadline of a request has passed. The token is checked for each line, for the inline content of each block and
+     * before each post processor.
+     * <p>
+     * With {@link InlineParsing#LAZY}, inline content is parsed after this method returns, without checking the token.
+     * <p>
+     * This method is thread-safe (a new parser state is used for each invocation).
+     *
+     * @param input        the text to parse - must not be null
+     * @param cancellation the token for cancelling parsing - must not be null
+     * @return the root node
+     * @throws CancelledException if the token was cancelled before parsing finished
+     * @since 0.25.0
+     */
+    public Node parse(String input, CancellationToken cancellation) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(cancellation, "cancellation must not be null");
+        DocumentParser documentParser = createListenedDocumentParser();
+        documentParser.setCancellation(cancellation);
+        Node document = documentParser.parse(input);
+        return finishParse(documentParser, document, cancellation);
+    }
+
+    /**
+     * Parse the specified UTF-8 encoded file into a tree of nodes.
+     * <p>
+     * Larger files are memory-mapped and decoded in chunks, which avoids reading the whole file into a {@code byte[]}
+     * and decoding it into a {@code String} before parsing. Source spans have the same input indexes as when parsing
+     * the decoded content as a string. A byte order mark (BOM) is not skipped.
+     * <p>
+     * This method is thread-safe (a new parser state is used for each invocation).
+     *
+     * @param path the file to parse - must not be null
+     * @return the root node
+     * @throws IOException when reading the file throws an exception
+     * @since 0.25.0
+     */
+    public Node parse(Path path) throws IOException {
+        Objects.requireNonNull(path, "path must not be null");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to parse: " + path);
+            }
+            ByteBuffer buffer;
+            if (size < MIN_MAPPED_FILE_SIZE) {
+                // Mapping is more expensive than reading for small files
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) == -1) {
+                        break;
+                    }
+                }
+                buffer.flip();
+            } else {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            return parse(buffer, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parse the specified bytes into a tree of nodes, decoding them with the charset in chunks (instead of decoding
+     * them into a {@code String} first). Malformed input is replaced, same as with
+     * {@link String#String(byte[], Charset)}.
+     * <p>
+     * The bytes from the buffer's position to its limit are parsed; the buffer's position is not changed.
+     * <p>
+     * This method is thread-safe (a new parser state is used for each invocation).
+     *
+     * @param input   the bytes to parse - must not be null
+     * @param charset the charset of the bytes - must not be null
+     * @return the root node
+     * @since 0.25.0
+     */
+    public Node parse(ByteBuffer input, Charset charset) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(charset, "charset must not be null");
+        DocumentParser documentParser = createListenedDocumentParser();
+        Node document = documentParser.parse(input.duplicate(), charset);
+        return finishParse(documentParser, document, null);
+    }
+
+    /**
+     * Parse the specified input text, reusing the unchanged parts of a document that was previously parsed by this
+     * parser. This is useful for editors that want to update a preview on every change of the input.
+     * <p>
+     * Only the top-level blocks around the edits are parsed again, the new nodes replace the old ones in the
+     * {@code previous} document, and the source spans of the following blocks are updated. This requires source spans
+     * to be enabled, see {@link Builder#includeSourceSpans(IncludeSourceSpans)}. If that's not the case, or if the
+     * edits can't be handled incrementally (e.g. a fenced code block was opened that affects the rest of the document,
+     * or a link reference definition was added or removed), the whole input is parsed again. The same happens when
+     * post processors are configured, as they can depend on the whole document.
+     * <p>
+     * The edits must not overlap and their offsets are relative to the previous input.
+     * <p>
+     * This method is thread-safe as long as the {@code previous} document is not modified concurrently.
+     *
+     * @param previous the document that was returned by a previous call to {@link #parse(String)} or this method
+     * @param input    the new text to parse - must not be null
+     * @param edits    the edits that were made to the previous input to get the new input
+     * @return the updated {@code previous} document, or a new document if the input had to be parsed from scratch
+     * @since 0.25.0
+     */
+    public Node reparse(Node previous, String input, TextEdit... edits) {
+        Objects.requireNonNull(previous, "previous must not be null");
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(edits, "edits must not be null");
+        if (edits.length == 0) {
+            throw new IllegalArgumentException("edits must not be empty");
+        }
+        if (includeSourceSpans != IncludeSourceSpans.NONE && previous instanceof Document && canReparse(input)) {
+            var reparser = new DocumentReparser((Document) previous, input, edits, definitionTypes);
+            Node document = reparser.reparse(this::createDocumentParser);
+            if (document != null) {
+                return document;
+            }
+        }
+        return parse(input);
+    }
+
+    /**
+     * Reparsing only looks at the changed part of the input, which means the limits for the whole document can't be
+     * checked, and post processors would only see the new blocks. Use a full parse for those instead.
+     */
+    private boolean canReparse(String input) {
+        return postProcessors.isEmpty() && input.length() <= limits.getMaxInputLength() &&
+                limits.getMaxNodes() == Integer.MAX_VALUE && limits.getMaxDefinitions() == Integer.MAX_VALUE;
+    }
+
+    private static Set<Class<?>> getDefinitionTypes(List<BlockParserFactory> blockParserFactories) {
+        Set<Class<?>> types = new HashSet<>();
+        // Link reference definitions come from paragraphs, which don't have a factory
+        types.add(LinkReferenceDefinition.class);
+        for (BlockParserFactory factory : blockParserFactories) {
+            types.addAll(factory.getDefinitionTypes());
+        }
+        return Set.copyOf(types);
     }
 
     /**
@@ -99,23 +275,137 @@ public class Parser {
      */
     public Node parseReader(Reader input) throws IOException {
         Objects.requireNonNull(input, "input must not be null");
-        DocumentParser documentParser = createDocumentParser();
+        DocumentParser documentParser = createListenedDocumentParser();
         Node document = documentParser.parse(input);
-        return postProcess(document);
+        return finishParse(documentParser, document, null);
+    }
+
+    /**
+     * Start a session for parsing input that arrives in chunks, e.g. from a network stream. Top-level blocks are
+     * reported to the listener as soon as they are complete, instead of having to wait for the whole input.
+     * <p>
+     * Blocks are inline-parsed with the link reference definitions that were seen before them, so a reference to a
+     * definition that only comes later in the input stays text. Use
+     * {@link #newStreamingSession(BlockListener, boolean)} to defer such blocks. Post processors are run for each
+     * block separately.
+     *
+     * @param listener the listener for completed blocks
+     * @return the new session
+     * @since 0.25.0
+     */
+    public StreamingSession newStreamingSession(BlockListener listener) {
+        return newStreamingSession(listener, false);
+    }
+
+    /**
+     * Start a session for parsing input that arrives in chunks, see {@link #newStreamingSession(BlockListener)}.
+     * <p>
+     * With {@code deferUnresolvedReferences}, a block that contains text that could still become a link if a
+     * definition is added later (e.g. {@code [foo]}) is not reported yet. It's tried again when new definitions have
+     * been parsed, or reported at {@link StreamingSession#finish()}. As blocks are reported in order, the following
+     * blocks have to wait too. The result is the same as with {@link #parse(String)} then, but more blocks may be held
+     * in memory.
+     *
+     * @param listener                  the listener for completed blocks
+     * @param deferUnresolvedReferences whether to defer reporting blocks with possible references to later
+     *                                  definitions
+     * @return the new session
+     * @since 0.25.0
+     */
+    public StreamingSession newStreamingSession(BlockListener listener, boolean deferUnresolvedReferences) {
+        Objects.requireNonNull(listener, "listener must not be null");
+        return new StreamingDocumentParser(createDocumentParser(), this::postProcess, listener,
+                deferUnresolvedReferences);
+    }
+
+    /**
+     * Create a session for parsing many documents one after another on the same thread, see {@link ParserSession}.
+     * This is faster than {@link #parse(String)} for small inputs, as the parser state is reused.
+     *
+     * @return the new session
+     * @since 0.25.0
+     */
+    public ParserSession newSession() {
+        return new Session(createListenedDocumentParser());
     }
 
     private DocumentParser createDocumentParser() {
-        return new DocumentParser(blockParserFactories, inlineParserFactory, inlineContentParserFactories,
-                delimiterProcessors, linkProcessors, linkMarkers, includeSourceSpans);
+        return new DocumentParser(blockParserFactories, inlineParserFactory, inlineParserConfig, includeSourceSpans,
+                inlineParsing, inlineParallelism, inlineParsingExecutor, blockParallelism, blockParsingExecutor);
     }
 
-    private Node postProcess(Node document) {
+    private DocumentParser createListenedDocumentParser() {
+        DocumentParser documentParser = createDocumentParser();
+        documentParser.setParseListener(parseListener);
+        return documentParser;
+    }
+
+    private Node finishParse(DocumentParser documentParser, Node document, CancellationToken cancellation) {
+        if (parseListener == null) {
+            return postProcess(document, cancellation);
+        }
+
+        long postProcessingNanos = 0;
         for (PostProcessor postProcessor : postProcessors) {
+            if (cancellation != null) {
+                cancellation.throwIfCancelled();
+            }
+            long start = System.nanoTime();
             document = postProcessor.process(document);
+            long nanos = System.nanoTime() - start;
+            if (costReport != null) {
+                costReport.record(CostReport.Kind.POST_PROCESS, postProcessor.getClass(), nanos);
+            }
+            postProcessingNanos += nanos;
+            parseListener.postProcessorFinished(postProcessor, nanos,
+                    documentParser.getStatistics(document, postProcessingNanos));
         }
+        parseListener.documentParsed(document, documentParser.getStatistics(document, postProcessingNanos));
         return document;
     }
 
+    private Node postProcess(Node document) {
+        return postProcess(document, null);
+    }
+
+    private Node postProcess(Node document, CancellationToken cancellation) {
+        for (PostProcessor postProcessor : postProcessors) {
+            if (cancellation != null) {
+                cancellation.throwIfCancelled();
+            }
+            if (costReport != null) {
+                long start = System.nanoTime();
+                document = postProcessor.process(document);
+                costReport.record(CostReport.Kind.POST_PROCESS, postProcessor.getClass(), System.nanoTime() - start);
+            } else {
+                document = postProcessor.process(document);
+            }
+        }
+        return document;
+    }
+
+    private class Session implements ParserSession {
+
+        private final DocumentParser documentParser;
+
+        Session(DocumentParser documentParser) {
+            this.documentParser = documentParser;
+        }
+
+        @Override
+        public Node parse(String input) {
+            Objects.requireNonNull(input, "input must not be null");
+            documentParser.reset();
+            Node document = documentParser.parse(input);
+            return finishParse(documentParser, document, null);
+        }
+
+        @Override
+        public void reset() {
+            documentParser.reset();
+        }
+    }
+
     /**
      * Builder for configuring a {@link Parser}.
      */
@@ -125,10 +415,18 @@ public class Parser {
         private final List<DelimiterProcessor> delimiterProcessors = new ArrayList<>();
         private final List<LinkProcessor> linkProcessors = new ArrayList<>();
         private final List<PostProcessor> postProcessors = new ArrayList<>();
+        private final List<ParseListener> parseListeners = new ArrayList<>();
+        private CostReport costReport;
         private final Set<Character> linkMarkers = new HashSet<>();
         private Set<Class<? extends Block>> enabledBlockTypes = DocumentParser.getDefaultBlockParserTypes();
         private InlineParserFactory inlineParserFactory;
         private IncludeSourceSpans includeSourceSpans = IncludeSourceSpans.NONE;
+        private InlineParsing inlineParsing = InlineParsing.EAGER;
+        private int inlineParallelism = 1;
+        private Executor inlineParsingExecutor = ForkJoinPool.commonPool();
+        private int blockParallelism = 1;
+        private Executor blockParsingExecutor = ForkJoinPool.commonPool();
+        private ParseLimits limits = ParseLimits.none();
 
         /**
          * @return the configured {@link Parser}
@@ -200,6 +498,153 @@ public class Parser {
             return this;
         }
 
+        /**
+         * When to parse the inline content of blocks, see {@link InlineParsing}. Use {@link InlineParsing#LAZY} to only
+         * parse inline content of the blocks that are accessed, or {@link InlineParsing#NONE} to only parse blocks.
+         * <p>
+         * By default, inline content is parsed while parsing the document ({@link InlineParsing#EAGER}).
+         *
+         * @param inlineParsing when to parse inline content
+         * @return {@code this}
+         * @since 0.25.0
+         */
+        public Builder inlineParsing(InlineParsing inlineParsing) {
+            this.inlineParsing = Objects.requireNonNull(inlineParsing, "inlineParsing must not be null");
+            return this;
+        }
+
+        /**
+         * Parse inline content (e.g. of paragraphs, headings) of large documents concurrently on
+         * {@link ForkJoinPool#commonPool()}, using up to the specified number of threads. The result is the same as
+         * with sequential parsing.
+         * <p>
+         * By default, inline parsing is done sequentially on the calling thread.
+         *
+         * @param parallelism the number of threads to use for inline parsing, 1 for sequential parsing
+         * @return {@code this}
+         * @see #inlineParallelism(int, Executor)
+         * @since 0.25.0
+         */
+        public Builder inlineParallelism(int parallelism) {
+            return inlineParallelism(parallelism, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Parse inline content (e.g. of paragraphs, headings) of large documents concurrently using the specified
+         * executor. After block parsing is finished, the blocks are split into batches, and each batch is parsed with
+         * its own {@link InlineParser} instance. Small documents are still parsed sequentially, as the overhead
+         * wouldn't be worth it.
+         * <p>
+         * Note that when this is used, custom {@link DelimiterProcessor}, {@link LinkProcessor} and
+         * {@link InlineParserFactory} implementations need to be thread-safe (inline content parsers are created per
+         * inline parser, so they don't).
+         *
+         * @param parallelism the number of threads to use for inline parsing, 1 for sequential parsing
+         * @param executor    the executor to run inline parsing tasks on
+         * @return {@code this}
+         * @since 0.25.0
+         */
+        public Builder inlineParallelism(int parallelism, Executor executor) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be >= 1, was " + parallelism);
+            }
+            Objects.requireNonNull(executor, "executor must not be null");
+            this.inlineParallelism = parallelism;
+            this.inlineParsingExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Parse the blocks of large documents concurrently on {@link ForkJoinPool#commonPool()}, using up to the
+         * specified number of threads. The result is the same as with sequential parsing.
+         * <p>
+         * By default, block parsing is done sequentially on the calling thread.
+         *
+         * @param parallelism the number of threads to use for block parsing, 1 for sequential parsing
+         * @return {@code this}
+         * @see #blockParallelism(int, Executor)
+         * @since 0.25.0
+         */
+        public Builder blockParallelism(int parallelism) {
+            return blockParallelism(parallelism, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Parse the blocks of large documents concurrently using the specified executor. This applies to
+         * {@link Parser#parse(String)}, not to {@link Parser#parseReader(Reader)}.
+         * <p>
+         * The input is split into segments at non-indented lines that follow a blank line, and each segment is parsed
+         * by a separate parser. The segments are then checked to start where sequential parsing would also have
+         * started a new top-level block. That's not the case e.g. for a blank line in a fenced code block, and then
+         * the segment is parsed sequentially after the previous one instead. Definitions of all segments are combined
+         * before inline parsing (see {@link #inlineParallelism(int, Executor)} for parsing that concurrently too).
+         * <p>
+         * Note that when this is used, custom {@link BlockParserFactory} implementations need to be thread-safe.
+         *
+         * @param parallelism the number of threads to use for block parsing, 1 for sequential parsing
+         * @param executor    the executor to run block parsing tasks on
+         * @return {@code this}
+         * @since 0.25.0
+         */
+        public Builder blockParallelism(int parallelism, Executor executor) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be >= 1, was " + parallelism);
+            }
+            Objects.requireNonNull(executor, "executor must not be null");
+            this.blockParallelism = parallelism;
+            this.blockParsingExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Limit the resources that parsing can use, e.g. for untrusted input, see {@link ParseLimits}. Exceeding a
+         * limit either fails parsing with a {@link ParseLimitExceededException}, or the content that exceeds it is
+         * kept as text, depending on {@link ParseLimits.Builder#policy}.
+         * <p>
+         * By default, nothing is limited. Note that {@link Parser#reparse} does a full parse when the number of nodes
+         * or definitions is limited.
+         *
+         * @param limits the limits
+         * @return {@code this}
+         * @since 0.25.0
+         */
+        public Builder limits(ParseLimits limits) {
+            this.limits = Objects.requireNonNull(limits, "limits must not be null");
+            return this;
+        }
+
+        /**
+         * Add a listener for the phases of parsing a document, e.g. for recording their times, see
+         * {@link ParseListener}. Multiple listeners are called in the order they were added.
+         * <p>
+         * Without a listener, nothing is measured, so there's no overhead.
+         *
+         * @param parseListener the listener to add
+         * @return {@code this}
+         * @since 0.25.0
+         */
+        public Builder parseListener(ParseListener parseListener) {
+            Objects.requireNonNull(parseListener, "parseListener must not be null");
+            parseListeners.add(parseListener);
+            return this;
+        }
+
+        /**
+         * Measure the calls of block parser factories, block parsers, inline content parsers, delimiter processors,
+         * link processors and post processors per class, and add them to the report. This is for finding out which
+         * extension is expensive for some input, see {@link CostReport}.
+         * <p>
+         * By default, nothing is measured.
+         *
+         * @param costReport the report to add the costs to, or {@code null} to not measure them
+         * @return {@code this}
+         * @since 0.25.0
+         */
+        public Builder costReport(CostReport costReport) {
+            this.costReport = costReport;
+            return this;
+        }
+
         /**
          * Add a custom block parser factory.
          * <p>
@@ -0,0 +1,33 @@
+package org.commonmark.parser;
+
+import org.commonmark.node.Node;
+
+/**
+ * A parser for parsing many documents one after another on the same thread, created using
+ * {@link Parser#newSession()}.
+ * <p>
+ * The parser state (block parser lists, definitions, the inline parser) is kept between documents and reset before
+ * each one, instead of being created again for every {@link Parser#parse(String)}. This makes a difference for small
+ * inputs such as chat messages or comments, where setting up the parser is a big part of the total cost. The
+ * resulting documents are the same as with {@link Parser#parse(String)}.
+ * <p>
+ * Sessions are not thread-safe, use one session per thread.
+ *
+ * @since 0.25.0
+ */
+public interface ParserSession {
+
+    /**
+     * Parse the specified input text into a tree of nodes, resetting the state of the previous parse first.
+     *
+     * @param input the text to parse - must not be null
+     * @return the root node
+     */
+    Node parse(String input);
+
+    /**
+     * Reset the state of the previous parse. This is done automatically by {@link #parse(String)}; call this to
+     * release the references to the previous document while the session is not in use.
+     */
+    void reset();
+}
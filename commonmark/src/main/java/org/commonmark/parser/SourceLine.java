@@ -1,5 +1,6 @@
 package org.commonmark.parser;
 
+import org.commonmark.internal.util.StringSlice;
 import org.commonmark.node.SourceSpan;
 
 import java.util.Objects;
@@ -13,6 +14,8 @@ public class SourceLine {
 
     private final CharSequence content;
     private final SourceSpan sourceSpan;
+    // The content as a string if it's a slice, created on first use. Computing it again in a racing thread is fine.
+    private String contentString;
 
     public static SourceLine of(CharSequence content, SourceSpan sourceSpan) {
         return new SourceLine(content, sourceSpan);
@@ -23,7 +26,32 @@ public class SourceLine {
         this.sourceSpan = sourceSpan;
     }
 
+    /**
+     * @return the content of the line, a {@link String} for lines of the input; see {@link #getContentView()} for
+     * reading the characters without copying them
+     */
     public CharSequence getContent() {
+        if (content instanceof StringSlice) {
+            String string = contentString;
+            if (string == null) {
+                string = content.toString();
+                contentString = string;
+            }
+            return string;
+        }
+        return content;
+    }
+
+    /**
+     * Get the content of the line without copying it. For lines of the input, this is a view into the input, which is
+     * not equal to a {@link String} with the same characters; use e.g. {@link String#contentEquals(CharSequence)} to
+     * compare it with a string. Block parsers that only read the characters of a line can use this instead of
+     * {@link #getContent()}.
+     *
+     * @return the content of the line
+     * @since 0.25.0
+     */
+    public CharSequence getContentView() {
         return content;
     }
 
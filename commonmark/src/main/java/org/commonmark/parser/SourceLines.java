@@ -12,22 +12,29 @@ import java.util.List;
  */
 public class SourceLines {
 
-    private final List<SourceLine> lines = new ArrayList<>();
+    private final List<SourceLine> lines;
+
+    public SourceLines() {
+        this(new ArrayList<>());
+    }
+
+    private SourceLines(List<SourceLine> lines) {
+        this.lines = lines;
+    }
 
     public static SourceLines empty() {
         return new SourceLines();
     }
 
     public static SourceLines of(SourceLine sourceLine) {
-        SourceLines sourceLines = new SourceLines();
-        sourceLines.addLine(sourceLine);
-        return sourceLines;
+        // Created for most inline nodes, so don't allocate room for more lines
+        List<SourceLine> lines = new ArrayList<>(1);
+        lines.add(sourceLine);
+        return new SourceLines(lines);
     }
 
     public static SourceLines of(List<SourceLine> sourceLines) {
-        SourceLines result = new SourceLines();
-        result.lines.addAll(sourceLines);
-        return result;
+        return new SourceLines(new ArrayList<>(sourceLines));
     }
 
     public void addLine(SourceLine sourceLine) {
@@ -43,12 +50,19 @@ public class SourceLines {
     }
 
     public String getContent() {
-        StringBuilder sb = new StringBuilder();
+        if (lines.size() == 1) {
+            return lines.get(0).getContentView().toString();
+        }
+        int length = Math.max(lines.size() - 1, 0);
+        for (SourceLine line : lines) {
+            length += line.getContentView().length();
+        }
+        StringBuilder sb = new StringBuilder(length);
         for (int i = 0; i < lines.size(); i++) {
             if (i != 0) {
                 sb.append('\n');
             }
-            sb.append(lines.get(i).getContent());
+            sb.append(lines.get(i).getContentView());
         }
         return sb.toString();
     }
@@ -0,0 +1,33 @@
+package org.commonmark.parser;
+
+/**
+ * A parsing session that accepts input in chunks as it arrives, and reports top-level blocks to a
+ * {@link BlockListener} as soon as they can no longer change. Created using
+ * {@link Parser#newStreamingSession(BlockListener)}.
+ * <p>
+ * Only the lines of blocks that are still open are kept in memory, not the whole document. Note that this means a
+ * reference to a link reference definition that comes later in the input stays text, see
+ * {@link Parser#newStreamingSession(BlockListener, boolean)} for deferring such blocks instead.
+ * <p>
+ * Sessions are not thread-safe.
+ *
+ * @since 0.25.0
+ */
+public interface StreamingSession {
+
+    /**
+     * Parse the next chunk of input. Chunks don't need to end at a line break; incomplete lines are kept until the
+     * rest of the line arrives.
+     *
+     * @param chunk the next part of the input
+     * @throws IllegalStateException if the session is already finished
+     */
+    void feed(CharSequence chunk);
+
+    /**
+     * Signal the end of the input. This closes all remaining blocks and reports them to the listener.
+     *
+     * @throws IllegalStateException if the session is already finished
+     */
+    void finish();
+}
@@ -0,0 +1,73 @@
+package org.commonmark.parser;
+
+/**
+ * An edit of the input text, used for {@link Parser#reparse}.
+ * <p>
+ * An edit replaces {@code removedLength} characters at {@code offset} in the previous input with
+ * {@code insertedLength} new characters. For example, typing a single character is an edit with a removed length of
+ * 0 and an inserted length of 1, and deleting a character is an edit with a removed length of 1 and an inserted length
+ * of 0.
+ *
+ * @since 0.25.0
+ */
+public final class TextEdit {
+
+    private final int offset;
+    private final int removedLength;
+    private final int insertedLength;
+
+    private TextEdit(int offset, int removedLength, int insertedLength) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset " + offset + " must be >= 0");
+        }
+        if (removedLength < 0) {
+            throw new IllegalArgumentException("removedLength " + removedLength + " must be >= 0");
+        }
+        if (insertedLength < 0) {
+            throw new IllegalArgumentException("insertedLength " + insertedLength + " must be >= 0");
+        }
+        this.offset = offset;
+        this.removedLength = removedLength;
+        this.insertedLength = insertedLength;
+    }
+
+    /**
+     * @param offset         the index in the previous input where the edit starts
+     * @param removedLength  the number of characters of the previous input that were removed
+     * @param insertedLength the number of characters that were inserted instead
+     * @return the edit
+     */
+    public static TextEdit of(int offset, int removedLength, int insertedLength) {
+        return new TextEdit(offset, removedLength, insertedLength);
+    }
+
+    /**
+     * @return the index in the previous input where the edit starts
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the number of characters of the previous input that were removed
+     */
+    public int getRemovedLength() {
+        return removedLength;
+    }
+
+    /**
+     * @return the number of characters that were inserted instead
+     */
+    public int getInsertedLength() {
+        return insertedLength;
+    }
+
+    @Override
+    public String toString() {
+        return "TextEdit{" +
+                "offset=" + offset +
+                ", removedLength=" + removedLength +
+                ", insertedLength=" + insertedLength +
+                "}";
+    }
+}
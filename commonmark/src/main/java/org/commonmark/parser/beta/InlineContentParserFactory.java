@@ -18,7 +18,8 @@ public interface InlineContentParserFactory {
 
     /**
      * Create an {@link InlineContentParser} that will do the parsing. Create is called once per text snippet of inline
-     * content inside block structures, and then called each time a trigger character is encountered.
+     * content inside block structures when the first trigger character is encountered (not at all if the snippet
+     * doesn't contain any), and then the parser is called each time a trigger character is encountered.
      */
     InlineContentParser create();
 }
@@ -3,8 +3,10 @@ package org.commonmark.parser.beta;
 /**
  * Position within a {@link Scanner}. This is intentionally kept opaque so as not to expose the internal structure of
  * the Scanner.
+ * <p>
+ * Positions of the same scanner can be compared, a position is less than another one if it is before it.
  */
-public class Position {
+public class Position implements Comparable<Position> {
 
     final int lineIndex;
     final int index;
@@ -13,4 +15,15 @@ public class Position {
         this.lineIndex = lineIndex;
         this.index = index;
     }
+
+    /**
+     * @since 0.25.0
+     */
+    @Override
+    public int compareTo(Position other) {
+        if (lineIndex != other.lineIndex) {
+            return Integer.compare(lineIndex, other.lineIndex);
+        }
+        return Integer.compare(index, other.index);
+    }
 }
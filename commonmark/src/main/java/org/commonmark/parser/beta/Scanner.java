@@ -1,5 +1,6 @@
 package org.commonmark.parser.beta;
 
+import org.commonmark.internal.util.StringSlice;
 import org.commonmark.node.SourceSpan;
 import org.commonmark.parser.SourceLine;
 import org.commonmark.parser.SourceLines;
@@ -17,6 +18,8 @@ public class Scanner {
      */
     public static final char END = '\0';
 
+    private static final SourceLine EMPTY_LINE = SourceLine.of("", null);
+
     // Lines without newlines at the end. The scanner will yield `\n` between lines because they're significant for
     // parsing and the final output. There is no `\n` after the last line.
     private final List<SourceLine> lines;
@@ -27,7 +30,7 @@ public class Scanner {
     private int index;
 
     // Current line or "" if at the end of the lines (using "" instead of null saves a null check)
-    private SourceLine line = SourceLine.of("", null);
+    private SourceLine line = EMPTY_LINE;
     private int lineLength = 0;
 
     Scanner(List<SourceLine> lines, int lineIndex, int index) {
@@ -46,7 +49,7 @@ public class Scanner {
 
     public char peek() {
         if (index < lineLength) {
-            return line.getContent().charAt(index);
+            return line.getContentView().charAt(index);
         } else {
             if (lineIndex < lines.size() - 1) {
                 return '\n';
@@ -59,9 +62,9 @@ public class Scanner {
 
     public int peekCodePoint() {
         if (index < lineLength) {
-            char c = line.getContent().charAt(index);
+            char c = line.getContentView().charAt(index);
             if (Character.isHighSurrogate(c) && index + 1 < lineLength) {
-                char low = line.getContent().charAt(index + 1);
+                char low = line.getContentView().charAt(index + 1);
                 if (Character.isLowSurrogate(low)) {
                     return Character.toCodePoint(c, low);
                 }
@@ -80,9 +83,9 @@ public class Scanner {
     public int peekPreviousCodePoint() {
         if (index > 0) {
             int prev = index - 1;
-            char c = line.getContent().charAt(prev);
+            char c = line.getContentView().charAt(prev);
             if (Character.isLowSurrogate(c) && prev > 0) {
-                char high = line.getContent().charAt(prev - 1);
+                char high = line.getContentView().charAt(prev - 1);
                 if (Character.isHighSurrogate(high)) {
                     return Character.toCodePoint(high, c);
                 }
@@ -145,7 +148,7 @@ public class Scanner {
         if (index < lineLength && index + content.length() <= lineLength) {
             // Can't use startsWith because it's not available on CharSequence
             for (int i = 0; i < content.length(); i++) {
-                if (line.getContent().charAt(index + i) != content.charAt(i)) {
+                if (line.getContentView().charAt(index + i) != content.charAt(i)) {
                     return false;
                 }
             }
@@ -240,7 +243,7 @@ public class Scanner {
         if (begin.lineIndex == end.lineIndex) {
             // Shortcut for common case of text from a single line
             SourceLine line = lines.get(begin.lineIndex);
-            CharSequence newContent = line.getContent().subSequence(begin.index, end.index);
+            CharSequence newContent = line.getContentView().subSequence(begin.index, end.index);
             SourceSpan newSourceSpan = null;
             SourceSpan sourceSpan = line.getSourceSpan();
             if (sourceSpan != null) {
@@ -251,7 +254,7 @@ public class Scanner {
             SourceLines sourceLines = SourceLines.empty();
 
             SourceLine firstLine = lines.get(begin.lineIndex);
-            sourceLines.addLine(firstLine.substring(begin.index, firstLine.getContent().length()));
+            sourceLines.addLine(firstLine.substring(begin.index, firstLine.getContentView().length()));
 
             // Lines between begin and end (we are appending the full line)
             for (int line = begin.lineIndex + 1; line < end.lineIndex; line++) {
@@ -264,9 +267,27 @@ public class Scanner {
         }
     }
 
+    /**
+     * Get the text between two positions, without source spans. The result is the same as
+     * {@code getSource(begin, end).getContent()}, but no intermediate {@link SourceLines} are created when both
+     * positions are on the same line.
+     *
+     * @param begin the start position (inclusive), e.g. from {@link #position()}
+     * @param end the end position (exclusive), must not be before {@code begin}
+     * @return the text between the positions, with lines separated by {@code \n}
+     * @since 0.25.0
+     */
+    public String getContent(Position begin, Position end) {
+        if (begin.lineIndex == end.lineIndex) {
+            return StringSlice.substring(lines.get(begin.lineIndex).getContentView(), begin.index, end.index);
+        } else {
+            return getSource(begin, end).getContent();
+        }
+    }
+
     private void setLine(SourceLine line) {
         this.line = line;
-        this.lineLength = line.getContent().length();
+        this.lineLength = line.getContentView().length();
     }
 
     private void checkPosition(int lineIndex, int index) {
@@ -274,8 +295,8 @@ public class Scanner {
             throw new IllegalArgumentException("Line index " + lineIndex + " out of range, number of lines: " + lines.size());
         }
         SourceLine line = lines.get(lineIndex);
-        if (index < 0 || index > line.getContent().length()) {
-            throw new IllegalArgumentException("Index " + index + " out of range, line length: " + line.getContent().length());
+        if (index < 0 || index > line.getContentView().length()) {
+            throw new IllegalArgumentException("Index " + index + " out of range, line length: " + line.getContentView().length());
         }
     }
 }
@@ -1,5 +1,7 @@
 package org.commonmark.parser.block;
 
+import java.util.Set;
+
 /**
  * Parser factory for a block node for determining when a block starts.
  * <p>
@@ -9,4 +11,31 @@ public interface BlockParserFactory {
 
     BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser);
 
+    /**
+     * The characters that a block of this factory can start with, i.e. the possible characters at
+     * {@link ParserState#getNextNonSpaceIndex()}. If declared, {@link #tryStart} is only called for lines where the
+     * next non-space character is one of them, which makes parsing faster when there are many factories.
+     * <p>
+     * The default returns {@code null}, meaning {@link #tryStart} is called for any character.
+     *
+     * @return the trigger characters, or {@code null} to be tried for any character
+     * @since 0.25.0
+     */
+    default Set<Character> getTriggerCharacters() {
+        return null;
+    }
+
+    /**
+     * The types of definitions that block parsers of this factory return from {@link BlockParser#getDefinitions()}.
+     * {@link org.commonmark.parser.Parser#reparse} uses these to notice when an edit removes a definition, which means
+     * the whole input needs to be parsed again.
+     * <p>
+     * The default returns an empty set, for factories whose block parsers don't have definitions.
+     *
+     * @return the definition types
+     * @since 0.25.0
+     */
+    default Set<Class<?>> getDefinitionTypes() {
+        return Set.of();
+    }
 }
@@ -295,6 +295,10 @@ public class CoreHtmlNodeRenderer extends AbstractVisitor implements NodeRendere
     }
 
     private Map<String, String> getAttrs(Node node, String tagName, Map<String, String> defaultAttributes) {
+        if (context instanceof HtmlRenderer.RendererContext && !((HtmlRenderer.RendererContext) context).hasAttributeProviders()) {
+            // The attributes are only passed to the writer here, so skip the copy that extendAttributes makes
+            return defaultAttributes;
+        }
         return context.extendAttributes(node, tagName, defaultAttributes);
     }
 
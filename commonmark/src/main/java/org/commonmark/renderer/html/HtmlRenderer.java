@@ -4,6 +4,9 @@ import org.commonmark.Extension;
 import org.commonmark.internal.renderer.NodeRendererMap;
 import org.commonmark.internal.util.Escaping;
 import org.commonmark.node.*;
+import org.commonmark.parser.CancellationToken;
+import org.commonmark.parser.CancelledException;
+import org.commonmark.parser.CostReport;
 import org.commonmark.renderer.NodeRenderer;
 import org.commonmark.renderer.Renderer;
 
@@ -28,6 +31,7 @@ public class HtmlRenderer implements Renderer {
     private final UrlSanitizer urlSanitizer;
     private final List<AttributeProviderFactory> attributeProviderFactories;
     private final List<HtmlNodeRendererFactory> nodeRendererFactories;
+    private final CostReport costReport;
 
     private HtmlRenderer(Builder builder) {
         this.softbreak = builder.softbreak;
@@ -37,6 +41,7 @@ public class HtmlRenderer implements Renderer {
         this.sanitizeUrls = builder.sanitizeUrls;
         this.urlSanitizer = builder.urlSanitizer;
         this.attributeProviderFactories = new ArrayList<>(builder.attributeProviderFactories);
+        this.costReport = builder.costReport;
 
         this.nodeRendererFactories = new ArrayList<>(builder.nodeRendererFactories.size() + 1);
         this.nodeRendererFactories.addAll(builder.nodeRendererFactories);
@@ -67,6 +72,27 @@ public class HtmlRenderer implements Renderer {
         context.afterRoot(node);
     }
 
+    /**
+     * Render the tree of nodes to output, stopping early when the token is cancelled, e.g. because the deadline of a
+     * request has passed. The token is checked before each top-level block. The output that was already written is not
+     * removed when that happens.
+     *
+     * @param node         the root node
+     * @param output       output for rendering
+     * @param cancellation the token for cancelling rendering - must not be null
+     * @throws CancelledException if the token was cancelled before rendering finished
+     * @since 0.25.0
+     */
+    public void render(Node node, Appendable output, CancellationToken cancellation) {
+        Objects.requireNonNull(node, "node must not be null");
+        Objects.requireNonNull(cancellation, "cancellation must not be null");
+        RendererContext context = new RendererContext(new HtmlWriter(output));
+        context.nodeRendererMap.setCancellation(cancellation);
+        context.beforeRoot(node);
+        context.render(node);
+        context.afterRoot(node);
+    }
+
     @Override
     public String render(Node node) {
         Objects.requireNonNull(node, "node must not be null");
@@ -75,6 +101,22 @@ public class HtmlRenderer implements Renderer {
         return sb.toString();
     }
 
+    /**
+     * Render the tree of nodes to string, see {@link #render(Node, Appendable, CancellationToken)}.
+     *
+     * @param node         the root node
+     * @param cancellation the token for cancelling rendering - must not be null
+     * @return the rendered string
+     * @throws CancelledException if the token was cancelled before rendering finished
+     * @since 0.25.0
+     */
+    public String render(Node node, CancellationToken cancellation) {
+        Objects.requireNonNull(node, "node must not be null");
+        StringBuilder sb = new StringBuilder();
+        render(node, sb, cancellation);
+        return sb.toString();
+    }
+
     /**
      * Builder for configuring an {@link HtmlRenderer}. See methods for default configuration.
      */
@@ -88,6 +130,7 @@ public class HtmlRenderer implements Renderer {
         private boolean omitSingleParagraphP = false;
         private List<AttributeProviderFactory> attributeProviderFactories = new ArrayList<>();
         private List<HtmlNodeRendererFactory> nodeRendererFactories = new ArrayList<>();
+        private CostReport costReport;
 
         /**
          * @return the configured {@link HtmlRenderer}
@@ -208,6 +251,19 @@ public class HtmlRenderer implements Renderer {
             return this;
         }
 
+        /**
+         * Measure the calls of node renderers per class (without the time for rendering child nodes), and add them to
+         * the report, see {@link CostReport}. By default, nothing is measured.
+         *
+         * @param costReport the report to add the costs to, or {@code null} to not measure them
+         * @return {@code this}
+         * @since 0.25.0
+         */
+        public Builder costReport(CostReport costReport) {
+            this.costReport = costReport;
+            return this;
+        }
+
         /**
          * @param extensions extensions to use on this HTML renderer
          * @return {@code this}
@@ -231,7 +287,7 @@ public class HtmlRenderer implements Renderer {
         void extend(Builder rendererBuilder);
     }
 
-    private class RendererContext implements HtmlNodeRendererContext, AttributeProviderContext {
+    class RendererContext implements HtmlNodeRendererContext, AttributeProviderContext {
 
         private final HtmlWriter htmlWriter;
         private final List<AttributeProvider> attributeProviders;
@@ -249,6 +305,7 @@ public class HtmlRenderer implements Renderer {
                 var renderer = factory.create(this);
                 nodeRendererMap.add(renderer);
             }
+            nodeRendererMap.setCostReport(costReport);
         }
 
         @Override
@@ -310,6 +367,13 @@ public class HtmlRenderer implements Renderer {
             nodeRendererMap.afterRoot(node);
         }
 
+        /**
+         * @return whether {@link #extendAttributes} can change attributes, as opposed to only copying them
+         */
+        boolean hasAttributeProviders() {
+            return !attributeProviders.isEmpty();
+        }
+
         private void setCustomAttributes(Node node, String tagName, Map<String, String> attrs) {
             for (AttributeProvider attributeProvider : attributeProviders) {
                 attributeProvider.setAttributes(node, tagName, attrs);
@@ -5,6 +5,20 @@ package org.commonmark.text;
  */
 public class Characters {
 
+    private static final byte PUNCTUATION = 1;
+    private static final byte WHITESPACE = 2;
+
+    /**
+     * The classes of the Latin-1 code points, so that the common cases don't need to look up the Unicode category.
+     */
+    private static final byte[] LATIN1_CLASSES = new byte[256];
+
+    static {
+        for (int c = 0; c < LATIN1_CLASSES.length; c++) {
+            LATIN1_CLASSES[c] = (byte) ((isPunctuationType(c) ? PUNCTUATION : 0) | (isWhitespaceType(c) ? WHITESPACE : 0));
+        }
+    }
+
     public static int find(char c, CharSequence s, int startIndex) {
         int length = s.length();
         for (int i = startIndex; i < length; i++) {
@@ -60,37 +74,10 @@ public class Characters {
      * @see <a href="https://spec.commonmark.org/0.31.2/#unicode-punctuation-character">Unicode punctuation character</a>
      */
     public static boolean isPunctuationCodePoint(int codePoint) {
-        switch (Character.getType(codePoint)) {
-            // General category "P" (punctuation)
-            case Character.DASH_PUNCTUATION:
-            case Character.START_PUNCTUATION:
-            case Character.END_PUNCTUATION:
-            case Character.CONNECTOR_PUNCTUATION:
-            case Character.OTHER_PUNCTUATION:
-            case Character.INITIAL_QUOTE_PUNCTUATION:
-            case Character.FINAL_QUOTE_PUNCTUATION:
-                // General category "S" (symbol)
-            case Character.MATH_SYMBOL:
-            case Character.CURRENCY_SYMBOL:
-            case Character.MODIFIER_SYMBOL:
-            case Character.OTHER_SYMBOL:
-                return true;
-            default:
-                switch (codePoint) {
-                    case '$':
-                    case '+':
-                    case '<':
-                    case '=':
-                    case '>':
-                    case '^':
-                    case '`':
-                    case '|':
-                    case '~':
-                        return true;
-                    default:
-                        return false;
-                }
+        if (codePoint >= 0 && codePoint < LATIN1_CLASSES.length) {
+            return (LATIN1_CLASSES[codePoint] & PUNCTUATION) != 0;
         }
+        return isPunctuationType(codePoint);
     }
 
     /**
@@ -99,16 +86,10 @@ public class Characters {
      * @see <a href="https://spec.commonmark.org/0.31.2/#unicode-whitespace-character">Unicode whitespace character</a>
      */
     public static boolean isWhitespaceCodePoint(int codePoint) {
-        switch (codePoint) {
-            case ' ':
-            case '\t':
-            case '\n':
-            case '\f':
-            case '\r':
-                return true;
-            default:
-                return Character.getType(codePoint) == Character.SPACE_SEPARATOR;
+        if (codePoint >= 0 && codePoint < LATIN1_CLASSES.length) {
+            return (LATIN1_CLASSES[codePoint] & WHITESPACE) != 0;
         }
+        return isWhitespaceType(codePoint);
     }
 
     public static int skip(char skip, CharSequence s, int startIndex, int endIndex) {
@@ -154,4 +135,51 @@ public class Characters {
         }
         return lastIndex - 1;
     }
+
+    private static boolean isPunctuationType(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            // General category "P" (punctuation)
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+                // General category "S" (symbol)
+            case Character.MATH_SYMBOL:
+            case Character.CURRENCY_SYMBOL:
+            case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return true;
+            default:
+                switch (codePoint) {
+                    case '$':
+                    case '+':
+                    case '<':
+                    case '=':
+                    case '>':
+                    case '^':
+                    case '`':
+                    case '|':
+                    case '~':
+                        return true;
+                    default:
+                        return false;
+                }
+        }
+    }
+
+    private static boolean isWhitespaceType(int codePoint) {
+        switch (codePoint) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\f':
+            case '\r':
+                return true;
+            default:
+                return Character.getType(codePoint) == Character.SPACE_SEPARATOR;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package org.commonmark.internal;
+
+import org.commonmark.parser.block.*;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class BlockParserFactoriesTest {
+
+    private static final BlockParserFactory HASH = new TestFactory(Set.of('#'));
+    private static final BlockParserFactory ANY = new TestFactory(null);
+    private static final BlockParserFactory HASH_OR_DASH = new TestFactory(Set.of('#', '-'));
+    private static final BlockParserFactory NON_ASCII = new TestFactory(Set.of('→'));
+
+    private final BlockParserFactories factories = new BlockParserFactories(List.of(HASH, ANY, HASH_OR_DASH, NON_ASCII));
+
+    @Test
+    public void triggerCharactersInOrder() {
+        assertArrayEquals(new BlockParserFactory[]{HASH, ANY, HASH_OR_DASH}, factories.get('#'));
+        assertArrayEquals(new BlockParserFactory[]{ANY, HASH_OR_DASH}, factories.get('-'));
+        assertArrayEquals(new BlockParserFactory[]{ANY, NON_ASCII}, factories.get('→'));
+    }
+
+    @Test
+    public void otherCharactersOnlyFallback() {
+        assertArrayEquals(new BlockParserFactory[]{ANY}, factories.get('a'));
+        assertArrayEquals(new BlockParserFactory[]{ANY}, factories.get('\u0000'));
+        assertArrayEquals(new BlockParserFactory[]{ANY}, factories.get('ä'));
+    }
+
+    @Test
+    public void empty() {
+        BlockParserFactories empty = new BlockParserFactories(List.of());
+        assertArrayEquals(new BlockParserFactory[0], empty.get('#'));
+        assertArrayEquals(new BlockParserFactory[0], empty.get('ä'));
+    }
+
+    private static class TestFactory extends AbstractBlockParserFactory {
+
+        private final Set<Character> triggerCharacters;
+
+        TestFactory(Set<Character> triggerCharacters) {
+            this.triggerCharacters = triggerCharacters;
+        }
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return triggerCharacters;
+        }
+
+        @Override
+        public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
+            return BlockStart.none();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.commonmark.internal.util;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class EscapingTest {
 
@@ -18,4 +19,36 @@ public class EscapingTest {
         assertEquals("&lt; both &gt;", Escaping.escapeHtml("< both >"));
         assertEquals("&lt; middle &amp; too &gt;", Escaping.escapeHtml("< middle & too >"));
     }
+
+    @Test
+    public void testUnescapeString() {
+        String plain = "nothing to unescape";
+        assertSame(plain, Escaping.unescapeString(plain));
+        assertEquals("*a* \\b \\", Escaping.unescapeString("\\*a\\* \\b \\"));
+        assertEquals("\\&", Escaping.unescapeString("\\\\&amp;"));
+        assertEquals("ö ä Ä \uD83D\uDE00", Escaping.unescapeString("&ouml; &#228; &#xc4; &#X1F600;"));
+        assertEquals("\uFFFD \uFFFD", Escaping.unescapeString("&#0; &#9999999;"));
+        // Not entities
+        assertEquals("& &; &#; &#x; &#12345678; &#xfffffff; &x; &nosuchentity; &amp",
+                Escaping.unescapeString("& &; &#; &#x; &#12345678; &#xfffffff; &x; &nosuchentity; &amp"));
+    }
+
+    @Test
+    public void testPercentEncodeUrl() {
+        String plain = "https://example.com/a-b_c.d~e?f=g&h=%20#i";
+        assertSame(plain, Escaping.percentEncodeUrl(plain));
+        assertEquals("a%20b%5Bc%5D%60", Escaping.percentEncodeUrl("a b[c]`"));
+        assertEquals("%25 %25a %25zz %2F".replace(" ", "%20"), Escaping.percentEncodeUrl("% %a %zz %2F"));
+        assertEquals("%C3%BC%E2%82%AC%F0%9F%98%80", Escaping.percentEncodeUrl("ü€\uD83D\uDE00"));
+        // Lone surrogates can't be encoded
+        assertEquals("%3Fa%3F", Escaping.percentEncodeUrl("\uD83Da\uDE00"));
+    }
+
+    @Test
+    public void testNormalizeLabelContent() {
+        assertEquals("FOO BAR", Escaping.normalizeLabelContent(" foo \t\r\n Bar\n"));
+        assertEquals("FOO-BAR", Escaping.normalizeLabelContent("Foo-bar"));
+        assertEquals("SS ÜBER", Escaping.normalizeLabelContent("\u1E9E über"));
+        assertEquals("Α Β", Escaping.normalizeLabelContent("α  β"));
+    }
 }
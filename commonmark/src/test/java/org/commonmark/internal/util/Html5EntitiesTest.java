@@ -0,0 +1,44 @@
+package org.commonmark.internal.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class Html5EntitiesTest {
+
+    @Test
+    public void tableIsUpToDate() throws IOException {
+        // If this fails, run Html5EntityTableGenerator
+        Map<String, String> entities = Html5EntityTableGenerator.readEntities();
+        assertEquals(entities.size(), Html5EntityTable.SIZE);
+        for (Map.Entry<String, String> entry : entities.entrySet()) {
+            assertEquals(entry.getKey(), entry.getValue(), Html5Entities.getNamedCharacters(entry.getKey(), 0, entry.getKey().length()));
+        }
+    }
+
+    @Test
+    public void namedCharactersInString() {
+        assertEquals("ö", Html5Entities.getNamedCharacters("&ouml;", 1, 5));
+        assertEquals("\n", Html5Entities.getNamedCharacters("NewLine", 0, 7));
+        assertEquals("∳", Html5Entities.getNamedCharacters(new StringBuilder("CounterClockwiseContourIntegral"), 0, 31));
+        assertNull(Html5Entities.getNamedCharacters("oum", 0, 3));
+        assertNull(Html5Entities.getNamedCharacters("oumll", 0, 5));
+        assertNull(Html5Entities.getNamedCharacters("OUML", 0, 4));
+        assertNull(Html5Entities.getNamedCharacters("", 0, 0));
+        assertNull(Html5Entities.getNamedCharacters("zzzz", 0, 4));
+    }
+
+    @Test
+    public void entityToString() {
+        assertEquals("&", Html5Entities.entityToString("&amp;"));
+        assertEquals("&foo;", Html5Entities.entityToString("&foo;"));
+        assertEquals("ä", Html5Entities.entityToString("&#228;"));
+        assertEquals("😀", Html5Entities.entityToString("&#x1F600;"));
+        assertEquals("\uFFFD", Html5Entities.entityToString("&#0;"));
+        assertEquals("\uFFFD", Html5Entities.entityToString("&#x110000;"));
+    }
+}
@@ -0,0 +1,124 @@
+package org.commonmark.internal.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Generates {@code Html5EntityTable} from {@code entities.txt} (see {@code etc/entities.js}). Run it from the
+ * repository root after updating the entities, {@link Html5EntitiesTest} checks that the table is up to date.
+ */
+public class Html5EntityTableGenerator {
+
+    static final String ENTITY_PATH = "/org/commonmark/internal/util/entities.txt";
+    private static final String TABLE_PATH = "commonmark/src/main/java/org/commonmark/internal/util/Html5EntityTable.java";
+
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : TABLE_PATH);
+        Files.writeString(path, generate(readEntities()));
+        System.out.println("Wrote " + path);
+    }
+
+    static Map<String, String> readEntities() throws IOException {
+        // Sorted by name, the same order as String#compareTo, which the lookup relies on
+        Map<String, String> entities = new TreeMap<>();
+        try (InputStream stream = Html5EntityTableGenerator.class.getResourceAsStream(ENTITY_PATH);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int equal = line.indexOf('=');
+                entities.put(line.substring(0, equal), line.substring(equal + 1));
+            }
+        }
+        // Excluded from the file as the value is a line break
+        entities.put("NewLine", "\n");
+        return entities;
+    }
+
+    static String generate(Map<String, String> entities) {
+        StringBuilder names = new StringBuilder();
+        StringBuilder nameOffsets = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        StringBuilder valueOffsets = new StringBuilder();
+        for (Map.Entry<String, String> entry : entities.entrySet()) {
+            nameOffsets.append(offset(names.length()));
+            names.append(entry.getKey());
+            valueOffsets.append(offset(values.length()));
+            values.append(entry.getValue());
+        }
+        nameOffsets.append(offset(names.length()));
+        valueOffsets.append(offset(values.length()));
+
+        return "package org.commonmark.internal.util;\n" +
+                "\n" +
+                "/**\n" +
+                " * The HTML named character references, generated from entities.txt by Html5EntityTableGenerator (in the\n" +
+                " * tests), don't edit.\n" +
+                " * <p>\n" +
+                " * The names are sorted and concatenated in {@link #NAMES}, the values in {@link #VALUES}. The offsets store the\n" +
+                " * start of each name and value as a char, followed by the end of the last one.\n" +
+                " */\n" +
+                "final class Html5EntityTable {\n" +
+                "\n" +
+                "    static final int SIZE = " + entities.size() + ";\n" +
+                "\n" +
+                constant("NAMES", names) +
+                "\n" +
+                constant("NAME_OFFSETS", nameOffsets) +
+                "\n" +
+                constant("VALUES", values) +
+                "\n" +
+                constant("VALUE_OFFSETS", valueOffsets) +
+                "\n" +
+                "    private Html5EntityTable() {\n" +
+                "    }\n" +
+                "}\n";
+    }
+
+    private static char offset(int offset) {
+        if (offset > Character.MAX_VALUE) {
+            throw new IllegalStateException("Offset doesn't fit into a char: " + offset);
+        }
+        return (char) offset;
+    }
+
+    private static String constant(String name, CharSequence content) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("    static final String ").append(name).append(" =\n");
+        int lineStart = sb.length();
+        sb.append("            \"");
+        for (int i = 0; i < content.length(); i++) {
+            if (sb.length() - lineStart > 110) {
+                sb.append("\" +\n");
+                lineStart = sb.length();
+                sb.append("            \"");
+            }
+            appendEscaped(content.charAt(i), sb);
+        }
+        sb.append("\";\n");
+        return sb.toString();
+    }
+
+    private static void appendEscaped(char c, StringBuilder sb) {
+        if (c == '"' || c == '\\') {
+            sb.append('\\').append(c);
+        } else if (c >= 0x20 && c < 0x7F) {
+            sb.append(c);
+        } else if (c < 0x100) {
+            // Not a unicode escape, as those are translated before parsing (e.g. a line feed would end the line)
+            sb.append(String.format("\\%03o", (int) c));
+        } else {
+            sb.append(String.format("\\u%04X", (int) c));
+        }
+    }
+}
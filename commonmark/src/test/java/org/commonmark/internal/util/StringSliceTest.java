@@ -0,0 +1,50 @@
+package org.commonmark.internal.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StringSliceTest {
+
+    @Test
+    public void slice() {
+        CharSequence slice = StringSlice.of("foo bar baz", 4, 7);
+        assertEquals(3, slice.length());
+        assertEquals('b', slice.charAt(0));
+        assertEquals('r', slice.charAt(2));
+        assertEquals("bar", slice.toString());
+        assertEquals("ar", slice.subSequence(1, 3).toString());
+        assertEquals("", slice.subSequence(3, 3).toString());
+    }
+
+    @Test
+    public void wholeString() {
+        String s = "foo";
+        assertSame(s, StringSlice.of(s, 0, 3));
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        CharSequence slice = StringSlice.of("foo bar baz", 4, 7);
+        assertEquals(slice, StringSlice.of("barbar", 3, 6));
+        assertEquals(slice.hashCode(), StringSlice.of("barbar", 3, 6).hashCode());
+        assertNotEquals(slice, StringSlice.of("foo bar baz", 8, 11));
+        assertNotEquals(slice, StringSlice.of("foo bar baz", 4, 6));
+        assertEquals("bar".hashCode(), slice.hashCode());
+
+        // Not equal to strings, as String#equals isn't either
+        assertNotEquals(slice, "bar");
+        assertNotEquals("bar", slice);
+        assertTrue("bar".contentEquals(slice));
+    }
+
+    @Test(expected = StringIndexOutOfBoundsException.class)
+    public void charAtOutOfBounds() {
+        StringSlice.of("foo bar baz", 4, 7).charAt(3);
+    }
+
+    @Test(expected = StringIndexOutOfBoundsException.class)
+    public void subSequenceOutOfBounds() {
+        StringSlice.of("foo bar baz", 4, 7).subSequence(1, 4);
+    }
+}
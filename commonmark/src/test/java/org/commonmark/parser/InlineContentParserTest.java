@@ -50,6 +50,33 @@ public class InlineContentParserTest {
         assertEquals("notimage", ((Text) image.getNext().getNext().getNext()).getLiteral());
     }
 
+    @Test
+    public void parserCreatedOnlyForSnippetsWithTriggerCharacter() {
+        var factory = new CountingFactory(new DollarInlineParser.Factory());
+        var parser = Parser.builder().customInlineContentParserFactory(factory).build();
+        parser.parse("No trigger\n\n# Also none\n\n$one$ $two$\n\n- $three$\n");
+        assertEquals(2, factory.created);
+    }
+
+    @Test
+    public void nonAsciiTriggerCharacter() {
+        var parser = Parser.builder().customInlineContentParserFactory(new NonAsciiInlineParserFactory()).build();
+        var doc = parser.parse("a \u00a7b\u00a7 and \u00a7c\u00a7");
+        var inline = Nodes.find(doc, DollarInline.class);
+        assertEquals("b", inline.getLiteral());
+        assertEquals(" and ", ((Text) inline.getNext()).getLiteral());
+        assertEquals("c", ((DollarInline) inline.getNext().getNext()).getLiteral());
+    }
+
+    @Test
+    public void builderChangesAfterBuildDontAffectParser() {
+        var builder = Parser.builder();
+        var parser = builder.build();
+        builder.customInlineContentParserFactory(new DollarInlineParser.Factory());
+        var doc = parser.parse("$hey$");
+        assertEquals("$hey$", ((Text) doc.getFirstChild().getFirstChild()).getLiteral());
+    }
+
     private static class DollarInline extends CustomNode {
         private final String literal;
         private final int index;
@@ -100,6 +127,52 @@ public class InlineContentParserTest {
         }
     }
 
+    private static class CountingFactory implements InlineContentParserFactory {
+
+        private final InlineContentParserFactory factory;
+        private int created = 0;
+
+        CountingFactory(InlineContentParserFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return factory.getTriggerCharacters();
+        }
+
+        @Override
+        public InlineContentParser create() {
+            created++;
+            return factory.create();
+        }
+    }
+
+    /**
+     * Parses {@code §text§}, to check trigger characters outside of ASCII.
+     */
+    private static class NonAsciiInlineParserFactory implements InlineContentParserFactory {
+        @Override
+        public Set<Character> getTriggerCharacters() {
+            return Set.of('\u00a7');
+        }
+
+        @Override
+        public InlineContentParser create() {
+            return inlineParserState -> {
+                var scanner = inlineParserState.scanner();
+                scanner.next();
+                var pos = scanner.position();
+                if (scanner.find('\u00a7') == -1) {
+                    return ParsedInline.none();
+                }
+                var content = scanner.getSource(pos, scanner.position()).getContent();
+                scanner.next();
+                return ParsedInline.of(new DollarInline(content, 0), scanner.position());
+            };
+        }
+    }
+
     private static class BangInline extends CustomNode {
     }
 
@@ -0,0 +1,148 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.TestResources;
+import org.commonmark.testutil.generator.MarkdownGenerator;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Guards against regressions in how much memory parsing and rendering allocate, in bytes per input character. The
+ * allocations of the current thread are counted with the JVM's thread allocation counter. Each case runs a number of
+ * times and the lowest count is used, so that warming up (before the JIT removes some allocations) doesn't make the
+ * tests flaky.
+ * <p>
+ * The budgets are a bit above the current numbers. If a change exceeds them, check whether the extra allocations are
+ * necessary before raising a budget, e.g. with {@link ParseAllocationBenchmark} and the GC profiler.
+ * <p>
+ * How much is allocated depends on the JIT (e.g. escape analysis) and the GC, so the budgets are only checked on the
+ * JVMs they were measured on (HotSpot of the Java versions in {@link #MEASURED_VERSIONS}), the tests are skipped on
+ * other JVMs.
+ */
+public class AllocationBudgetTest {
+
+    private static final int RUNS = 20;
+    private static final Set<Integer> MEASURED_VERSIONS = Set.of(11, 17, 21);
+
+    private static final String SPEC = TestResources.readAsString(TestResources.getSpec());
+    private static final String GENERATED = MarkdownGenerator.builder()
+            .seed(1)
+            .blockWeight(MarkdownGenerator.Block.FENCED_CODE_BLOCK, 3)
+            .build()
+            .generate(200_000);
+
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+    @Test
+    public void parseSpec() {
+        assertParseBudget(SPEC, 16);
+    }
+
+    @Test
+    public void parseGenerated() {
+        // More inline syntax per character than the spec
+        assertParseBudget(GENERATED, 25);
+    }
+
+    @Test
+    public void renderSpec() {
+        assertRenderBudget(SPEC, 2.75);
+    }
+
+    @Test
+    public void renderGenerated() {
+        assertRenderBudget(GENERATED, 1.25);
+    }
+
+    private void assertParseBudget(String input, double bytesPerChar) {
+        long bytes = measure(() -> parser.parse(input));
+        assertBudget("Parsing", bytes, input.length(), bytesPerChar);
+    }
+
+    private void assertRenderBudget(String input, double bytesPerChar) {
+        Node document = parser.parse(input);
+        // Render into a reused buffer, so that the output itself isn't counted
+        StringBuilder output = new StringBuilder();
+        long bytes = measure(() -> {
+            output.setLength(0);
+            renderer.render(document, output);
+        });
+        assertBudget("Rendering", bytes, input.length(), bytesPerChar);
+    }
+
+    private static void assertBudget(String what, long bytes, int inputLength, double budget) {
+        double bytesPerChar = (double) bytes / inputLength;
+        String message = String.format("%s allocated %.2f bytes per input character (%d bytes), budget is %.2f",
+                what, bytesPerChar, bytes, budget);
+        assertTrue(message, bytesPerChar <= budget);
+    }
+
+    private static long measure(Runnable runnable) {
+        assumeTrue("Budgets were measured on HotSpot", isHotSpot());
+        assumeTrue("Budgets were not measured on Java " + Runtime.version().feature(),
+                MEASURED_VERSIONS.contains(Runtime.version().feature()));
+        AllocationCounter counter = AllocationCounter.create();
+        assumeTrue("Thread allocation counting is not supported by this JVM", counter != null);
+
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long before = counter.allocatedBytes();
+            runnable.run();
+            min = Math.min(min, counter.allocatedBytes() - before);
+        }
+        return min;
+    }
+
+    private static boolean isHotSpot() {
+        String vmName = System.getProperty("java.vm.name", "");
+        return vmName.contains("HotSpot") || vmName.startsWith("OpenJDK");
+    }
+
+    private static class AllocationCounter {
+
+        private final Object bean;
+        private final Method getThreadAllocatedBytes;
+        private final long threadId = Thread.currentThread().getId();
+
+        private AllocationCounter(Object bean, Method getThreadAllocatedBytes) {
+            this.bean = bean;
+            this.getThreadAllocatedBytes = getThreadAllocatedBytes;
+        }
+
+        static AllocationCounter create() {
+            // The tests are in the org.commonmark module, which doesn't read java.management (nor jdk.management with
+            // HotSpot's extension of the interface that has the method), so use reflection. Returns null if the
+            // modules are not available.
+            try {
+                Object bean = Class.forName("java.lang.management.ManagementFactory")
+                        .getMethod("getThreadMXBean")
+                        .invoke(null);
+                Class<?> extension = Class.forName("com.sun.management.ThreadMXBean");
+                if (!extension.isInstance(bean)) {
+                    return null;
+                }
+                Method method = extension.getMethod("getThreadAllocatedBytes", long.class);
+                AllocationCounter counter = new AllocationCounter(bean, method);
+                return counter.allocatedBytes() >= 0 ? counter : null;
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        long allocatedBytes() {
+            try {
+                return (long) getThreadAllocatedBytes.invoke(bean, threadId);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
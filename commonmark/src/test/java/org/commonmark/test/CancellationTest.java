@@ -0,0 +1,195 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.parser.CancellationToken;
+import org.commonmark.parser.CancelledException;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.beta.InlineContentParser;
+import org.commonmark.parser.beta.InlineContentParserFactory;
+import org.commonmark.parser.beta.ParsedInline;
+import org.commonmark.parser.block.AbstractBlockParserFactory;
+import org.commonmark.parser.block.BlockStart;
+import org.commonmark.parser.block.MatchedBlockParser;
+import org.commonmark.parser.block.ParserState;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CancellationTest {
+
+    private static final Parser PARSER = Parser.builder().build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    @Test
+    public void notCancelled() {
+        var token = CancellationToken.withTimeout(Duration.ofHours(1));
+        assertFalse(token.isCancelled());
+        Node document = PARSER.parse("# Heading\n\n*text*", token);
+        assertEquals("<h1>Heading</h1>\n<p><em>text</em></p>\n", RENDERER.render(document, token));
+    }
+
+    @Test
+    public void cancelled() {
+        var token = CancellationToken.create();
+        token.cancel();
+        assertTrue(token.isCancelled());
+        assertCancelled(CancelledException.Reason.CANCELLED, () -> PARSER.parse("text", token));
+        Node document = PARSER.parse("text");
+        assertCancelled(CancelledException.Reason.CANCELLED, () -> RENDERER.render(document, token));
+    }
+
+    @Test
+    public void deadline() {
+        assertCancelled(CancelledException.Reason.DEADLINE,
+                () -> PARSER.parse("text", CancellationToken.withTimeout(Duration.ZERO)));
+        assertCancelled(CancelledException.Reason.DEADLINE,
+                () -> PARSER.parse("text", CancellationToken.withDeadline(Instant.now().minusSeconds(1))));
+        // Doesn't overflow
+        assertFalse(CancellationToken.withTimeout(Duration.ofSeconds(Long.MAX_VALUE)).isCancelled());
+    }
+
+    @Test
+    public void interrupted() {
+        var token = CancellationToken.create();
+        Thread.currentThread().interrupt();
+        try {
+            assertCancelled(CancelledException.Reason.INTERRUPTED, () -> PARSER.parse("text", token));
+            // The interrupt status is kept
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertFalse(token.isCancelled());
+    }
+
+    @Test
+    public void cancelledByPostProcessor() {
+        var token = CancellationToken.create();
+        var processed = new ArrayList<String>();
+        var parser = Parser.builder()
+                .postProcessor(node -> {
+                    processed.add("first");
+                    token.cancel();
+                    return node;
+                })
+                .postProcessor(node -> {
+                    processed.add("second");
+                    return node;
+                })
+                .build();
+        assertCancelled(CancelledException.Reason.CANCELLED, () -> parser.parse("text", token));
+        assertEquals(List.of("first"), processed);
+    }
+
+    @Test
+    public void cancelledWhileRendering() {
+        var token = CancellationToken.create();
+        var renderer = HtmlRenderer.builder()
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    if (node instanceof Paragraph) {
+                        token.cancel();
+                    }
+                })
+                .build();
+        Node document = PARSER.parse("# Heading\n\nfirst\n\nsecond");
+        var sb = new StringBuilder();
+        assertCancelled(CancelledException.Reason.CANCELLED, () -> renderer.render(document, sb, token));
+        // Stops before the next top-level block
+        assertEquals("<h1>Heading</h1>\n<p>first</p>\n", sb.toString());
+    }
+
+    @Test
+    public void parallelParsing() {
+        var parser = Parser.builder()
+                .blockParallelism(4, ForkJoinPool.commonPool())
+                .inlineParallelism(4, ForkJoinPool.commonPool())
+                .build();
+        var input = "paragraph *with* [some](/url) inlines\n\n".repeat(10_000);
+        var token = CancellationToken.create();
+        token.cancel();
+        assertCancelled(CancelledException.Reason.CANCELLED, () -> parser.parse(input, token));
+    }
+
+    @Test
+    public void parallelBlockParsingInterrupted() {
+        var caller = Thread.currentThread();
+        var interrupted = new AtomicBoolean();
+        var linesAfterInterrupt = new AtomicInteger();
+        var parser = Parser.builder()
+                .customBlockParserFactory(new AbstractBlockParserFactory() {
+                    @Override
+                    public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
+                        // Lines are parsed on the pool, interrupt the thread that waits for them
+                        if (interrupted.compareAndSet(false, true)) {
+                            caller.interrupt();
+                        } else {
+                            linesAfterInterrupt.incrementAndGet();
+                        }
+                        return BlockStart.none();
+                    }
+                })
+                .blockParallelism(4, ForkJoinPool.commonPool())
+                .build();
+        assertInterrupted(() -> parser.parse("# heading\n\n".repeat(10_000), CancellationToken.create()));
+        // Each thread stops at its next line
+        assertTrue(linesAfterInterrupt.get() < 100);
+    }
+
+    @Test
+    public void parallelInlineParsingInterrupted() {
+        var caller = Thread.currentThread();
+        var interrupted = new AtomicBoolean();
+        var blocksAfterInterrupt = new AtomicInteger();
+        var parser = Parser.builder()
+                .customInlineContentParserFactory(new InlineContentParserFactory() {
+                    @Override
+                    public Set<Character> getTriggerCharacters() {
+                        return Set.of('%');
+                    }
+
+                    @Override
+                    public InlineContentParser create() {
+                        // Blocks are parsed on the pool, interrupt the thread that waits for them
+                        if (interrupted.compareAndSet(false, true)) {
+                            caller.interrupt();
+                        } else {
+                            blocksAfterInterrupt.incrementAndGet();
+                        }
+                        return inlineParserState -> ParsedInline.none();
+                    }
+                })
+                .inlineParallelism(4, ForkJoinPool.commonPool())
+                .build();
+        assertInterrupted(() -> parser.parse("paragraph %\n\n".repeat(10_000), CancellationToken.create()));
+        // Each thread stops at its next block
+        assertTrue(blocksAfterInterrupt.get() < 100);
+    }
+
+    private static void assertInterrupted(Runnable runnable) {
+        try {
+            assertCancelled(CancelledException.Reason.INTERRUPTED, runnable);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static void assertCancelled(CancelledException.Reason reason, Runnable runnable) {
+        try {
+            runnable.run();
+            fail("Expected cancellation");
+        } catch (CancelledException e) {
+            assertEquals(reason, e.getReason());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.commonmark.test;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first parse and render in a fresh JVM, which is what matters for command line tools and serverless
+ * functions. Each fork measures a single call, so this includes class loading and static initialization (e.g. of the
+ * HTML entities).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ColdStartBenchmark {
+
+    private static final String INPUT = "# Heading &amp; more\n\n" +
+            "Some *emphasis*, `code`, a [link](/url \"title\") and entities: &copy; &#8212; &ouml;\n\n" +
+            "- list\n- items\n\n" +
+            "> quote\n\n" +
+            "```\ncode block\n```\n";
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ColdStartBenchmark.class.getName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public String firstParseAndRender() {
+        Parser parser = Parser.builder().build();
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+        return renderer.render(parser.parse(INPUT));
+    }
+}
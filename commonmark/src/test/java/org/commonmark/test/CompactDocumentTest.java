@@ -0,0 +1,169 @@
+package org.commonmark.test;
+
+import org.commonmark.node.*;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.renderer.markdown.MarkdownRenderer;
+import org.commonmark.renderer.text.TextContentRenderer;
+import org.commonmark.testutil.TestResources;
+import org.commonmark.testutil.example.ExampleReader;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CompactDocumentTest {
+
+    private static final Parser PARSER = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+    private static final HtmlRenderer HTML_RENDERER = HtmlRenderer.builder().build();
+    private static final TextContentRenderer TEXT_RENDERER = TextContentRenderer.builder().build();
+    private static final MarkdownRenderer MARKDOWN_RENDERER = MarkdownRenderer.builder().build();
+
+    // Shared by all examples, so views are also checked when reusing nodes of another document
+    private final CompactDocument.Views views = new CompactDocument.Views();
+
+    @Test
+    public void sameAsDocument() {
+        for (String example : ExampleReader.readExampleSources(TestResources.getSpec())) {
+            assertSameDocument(example);
+        }
+        assertSameDocument(TestResources.readAsString(TestResources.getSpec()));
+    }
+
+    @Test
+    public void attributes() {
+        Document document = (Document) PARSER.parse("~~~~ java\ncode\n~~~~~\n\n" +
+                "3) item\n\n" +
+                "   - [link](/url \"title\") ![image](/img)\n\n" +
+                "[foo]: /foo 'bar'\n");
+        Document copy = CompactDocument.of(document).toDocument();
+
+        FencedCodeBlock fencedCodeBlock = (FencedCodeBlock) copy.getFirstChild();
+        assertEquals("~", fencedCodeBlock.getFenceCharacter());
+        assertEquals(Integer.valueOf(4), fencedCodeBlock.getOpeningFenceLength());
+        assertEquals(Integer.valueOf(5), fencedCodeBlock.getClosingFenceLength());
+        assertEquals("java", fencedCodeBlock.getInfo());
+        assertEquals("code\n", fencedCodeBlock.getLiteral());
+
+        OrderedList orderedList = (OrderedList) fencedCodeBlock.getNext();
+        assertEquals(Integer.valueOf(3), orderedList.getMarkerStartNumber());
+        assertEquals(")", orderedList.getMarkerDelimiter());
+        assertFalse(orderedList.isTight());
+        ListItem listItem = (ListItem) orderedList.getFirstChild();
+        assertEquals(Integer.valueOf(0), listItem.getMarkerIndent());
+        assertEquals(Integer.valueOf(3), listItem.getContentIndent());
+
+        Paragraph paragraph = (Paragraph) listItem.getLastChild().getFirstChild().getFirstChild();
+        Link link = (Link) paragraph.getFirstChild();
+        assertEquals("/url", link.getDestination());
+        assertEquals("title", link.getTitle());
+        Image image = (Image) paragraph.getLastChild();
+        assertEquals("/img", image.getDestination());
+        assertNull(image.getTitle());
+
+        LinkReferenceDefinition definition = (LinkReferenceDefinition) orderedList.getNext();
+        assertEquals("foo", definition.getLabel());
+        assertEquals("/foo", definition.getDestination());
+        assertEquals("bar", definition.getTitle());
+        assertEquals(document.getLastChild().getSourceSpans(), definition.getSourceSpans());
+    }
+
+    @Test
+    public void nodesAreIndependent() {
+        CompactDocument compactDocument = CompactDocument.of((Document) PARSER.parse("# Heading\n\ntext"));
+        assertEquals(5, compactDocument.getNodeCount());
+
+        Document first = compactDocument.toDocument();
+        ((Text) first.getFirstChild().getFirstChild()).setLiteral("changed");
+        first.getLastChild().unlink();
+
+        Document second = compactDocument.toDocument();
+        assertNotSame(first, second);
+        assertEquals("<h1>changed</h1>\n", HTML_RENDERER.render(first));
+        assertEquals("<h1>Heading</h1>\n<p>text</p>\n", HTML_RENDERER.render(second));
+        assertEquals("<h1>Heading</h1>\n<p>text</p>\n", HTML_RENDERER.render(compactDocument.toDocument()));
+    }
+
+    @Test
+    public void viewsReuseNodes() {
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        CompactDocument compactDocument = CompactDocument.of((Document) PARSER.parse(spec));
+        CompactDocument.Views views = new CompactDocument.Views();
+
+        Document first = compactDocument.view(views);
+        Set<Node> firstNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        collectNodes(first, firstNodes);
+        assertEquals(compactDocument.getNodeCount(), firstNodes.size());
+        assertEquals(compactDocument.getNodeCount(), views.getNodeCount());
+        String html = HTML_RENDERER.render(first);
+
+        // A smaller document only uses nodes that were already created
+        CompactDocument smaller = CompactDocument.of((Document) PARSER.parse("# Heading\n\n- *a* [b](/c)\n"));
+        Document second = smaller.view(views);
+        assertSame(first, second);
+        assertEquals("<h1>Heading</h1>\n<ul>\n<li><em>a</em> <a href=\"/c\">b</a></li>\n</ul>\n",
+                HTML_RENDERER.render(second));
+
+        // Rendering the original document again doesn't create any nodes
+        Document third = compactDocument.view(views);
+        Set<Node> thirdNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        collectNodes(third, thirdNodes);
+        assertEquals(firstNodes, thirdNodes);
+        assertEquals(compactDocument.getNodeCount(), views.getNodeCount());
+        assertEquals(html, HTML_RENDERER.render(third));
+        assertEquals(TEXT_RENDERER.render(compactDocument.toDocument()), TEXT_RENDERER.render(third));
+    }
+
+    @Test
+    public void emptyDocument() {
+        CompactDocument compactDocument = CompactDocument.of(new Document());
+        assertEquals(1, compactDocument.getNodeCount());
+        assertNull(compactDocument.toDocument().getFirstChild());
+        assertEquals("", HTML_RENDERER.render(compactDocument.toDocument()));
+    }
+
+    @Test
+    public void unsupportedNode() {
+        Document document = (Document) PARSER.parse("text");
+        document.getFirstChild().appendChild(new Unsupported());
+        assertFalse(CompactDocument.isSupported(document));
+        try {
+            CompactDocument.of(document);
+            fail("expected exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(Unsupported.class.getName()));
+        }
+
+        assertTrue(CompactDocument.isSupported(PARSER.parse("text")));
+    }
+
+    private void assertSameDocument(String input) {
+        Document document = (Document) PARSER.parse(input);
+        CompactDocument compactDocument = CompactDocument.of(document);
+
+        assertEquals(HTML_RENDERER.render(document), HTML_RENDERER.render(compactDocument.toDocument()));
+        assertEquals(TEXT_RENDERER.render(document), TEXT_RENDERER.render(compactDocument.toDocument()));
+        assertEquals(MARKDOWN_RENDERER.render(document), MARKDOWN_RENDERER.render(compactDocument.toDocument()));
+        assertEquals(SourceSpanRenderer.renderWithInputIndex(document, input),
+                SourceSpanRenderer.renderWithInputIndex(compactDocument.toDocument(), input));
+
+        assertEquals(HTML_RENDERER.render(document), HTML_RENDERER.render(compactDocument.view(views)));
+        assertEquals(TEXT_RENDERER.render(document), TEXT_RENDERER.render(compactDocument.view(views)));
+        assertEquals(SourceSpanRenderer.renderWithInputIndex(document, input),
+                SourceSpanRenderer.renderWithInputIndex(compactDocument.view(views), input));
+    }
+
+    private static void collectNodes(Node node, Set<Node> nodes) {
+        nodes.add(node);
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            collectNodes(child, nodes);
+        }
+    }
+
+    private static class Unsupported extends CustomNode {
+    }
+}
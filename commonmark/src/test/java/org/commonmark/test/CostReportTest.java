@@ -0,0 +1,100 @@
+package org.commonmark.test;
+
+import org.commonmark.internal.BlockQuoteParser;
+import org.commonmark.internal.ParagraphParser;
+import org.commonmark.internal.inline.AsteriskDelimiterProcessor;
+import org.commonmark.internal.inline.BackticksInlineParser;
+import org.commonmark.internal.inline.CoreLinkProcessor;
+import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.parser.CostReport;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.PostProcessor;
+import org.commonmark.renderer.NodeRenderer;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CostReportTest {
+
+    @Test
+    public void parsing() {
+        var report = new CostReport();
+        var parser = Parser.builder().costReport(report).postProcessor(new NoOpPostProcessor()).build();
+        parser.parse("> quote\n> *em* `code` [link](/url)\n\nparagraph\n");
+
+        // Both lines of the paragraph in the block quote start with ">"
+        assertEquals(2, report.getCost(CostReport.Kind.BLOCK_CONTINUE, BlockQuoteParser.class).getCalls());
+        assertEquals(1, report.getCost(CostReport.Kind.BLOCK_CONTINUE, ParagraphParser.class).getCalls());
+        assertTrue(report.getCost(CostReport.Kind.BLOCK_START, BlockQuoteParser.Factory.class).getCalls() > 0);
+        assertEquals(1, report.getCost(CostReport.Kind.INLINE_CONTENT, BackticksInlineParser.class).getCalls());
+        assertEquals(1, report.getCost(CostReport.Kind.DELIMITER, AsteriskDelimiterProcessor.class).getCalls());
+        assertEquals(1, report.getCost(CostReport.Kind.LINK, CoreLinkProcessor.class).getCalls());
+        assertEquals(1, report.getCost(CostReport.Kind.POST_PROCESS, NoOpPostProcessor.class).getCalls());
+
+        // Adds up
+        parser.parse("*em*");
+        assertEquals(2, report.getCost(CostReport.Kind.DELIMITER, AsteriskDelimiterProcessor.class).getCalls());
+
+        report.reset();
+        assertEquals(0, report.getCost(CostReport.Kind.DELIMITER, AsteriskDelimiterProcessor.class).getCalls());
+        assertTrue(report.getCosts(CostReport.Kind.BLOCK_START).isEmpty());
+    }
+
+    @Test
+    public void notMeasuredByDefault() {
+        var report = new CostReport();
+        Parser.builder().build().parse("*em*");
+        assertTrue(report.getCosts(CostReport.Kind.DELIMITER).isEmpty());
+    }
+
+    @Test
+    public void rendering() {
+        var report = new CostReport();
+        var renderer = HtmlRenderer.builder()
+                .costReport(report)
+                .nodeRendererFactory(context -> new NodeRenderer() {
+                    @Override
+                    public Set<Class<? extends Node>> getNodeTypes() {
+                        return Set.of(Paragraph.class);
+                    }
+
+                    @Override
+                    public void render(Node node) {
+                        context.getWriter().text("slow");
+                        sleep();
+                    }
+                })
+                .build();
+        renderer.render(Parser.builder().build().parse("> a\n\nb\n"));
+
+        var costs = new ArrayList<>(report.getCosts(CostReport.Kind.RENDER).entrySet());
+        assertEquals(2, costs.size());
+        // The core renderer renders the document and the block quote, which contain the paragraphs, but the time
+        // for those is attributed to the custom renderer, so it's the most expensive one
+        assertNotEquals("org.commonmark.renderer.html.CoreHtmlNodeRenderer", costs.get(0).getKey().getName());
+        assertEquals(2, costs.get(0).getValue().getCalls());
+        assertTrue(costs.get(0).getValue().getNanos() > costs.get(1).getValue().getNanos());
+        assertEquals(2, costs.get(1).getValue().getCalls());
+        assertTrue(report.toString().contains("RENDER org.commonmark.renderer.html.CoreHtmlNodeRenderer: calls=2"));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static class NoOpPostProcessor implements PostProcessor {
+        @Override
+        public Node process(Node node) {
+            return node;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.commonmark.test;
+
+import org.commonmark.node.CompactDocument;
+import org.commonmark.node.Document;
+import org.commonmark.node.Node;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.TestResources;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how much memory parsed documents retain, depending on source spans. The retained size is printed on setup,
+ * by parsing the spec a number of times, keeping the documents and comparing the used heap after a GC. The benchmark
+ * itself measures the parse time and allocations.
+ * <p>
+ * The same is done for {@link CompactDocument}s of the documents, and rendering of both is measured too.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class DocumentMemoryBenchmark {
+
+    private static final String SPEC = TestResources.readAsString(TestResources.getSpec());
+    private static final int DOCUMENTS = 20;
+
+    @Param({"NONE", "BLOCKS", "BLOCKS_AND_INLINES"})
+    public IncludeSourceSpans includeSourceSpans;
+
+    private Parser parser;
+    private final HtmlRenderer renderer = HtmlRenderer.builder().build();
+    private Node document;
+    private CompactDocument compactDocument;
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(DocumentMemoryBenchmark.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setup() throws InterruptedException {
+        parser = Parser.builder().includeSourceSpans(includeSourceSpans).build();
+
+        long before = usedHeapAfterGc();
+        List<Node> documents = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents.add(parser.parse(SPEC));
+        }
+        long after = usedHeapAfterGc();
+        printRetained("document", after - before, documents.size());
+
+        before = after;
+        List<CompactDocument> compactDocuments = new ArrayList<>();
+        for (Node document : documents) {
+            compactDocuments.add(CompactDocument.of((Document) document));
+        }
+        after = usedHeapAfterGc();
+        printRetained("compact document", after - before, compactDocuments.size());
+
+        document = documents.get(0);
+        compactDocument = compactDocuments.get(0);
+    }
+
+    @Benchmark
+    public Node parseWholeSpec() {
+        return parser.parse(SPEC);
+    }
+
+    @Benchmark
+    public String renderDocument() {
+        return renderer.render(document);
+    }
+
+    @Benchmark
+    public String renderCompactDocument() {
+        return renderer.render(compactDocument.toDocument());
+    }
+
+    private static void printRetained(String type, long bytes, int count) {
+        System.out.printf("Retained bytes per %s: %d (%.1f per input character, %d documents)%n",
+                type, bytes / count, bytes / (double) count / SPEC.length(), count);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,165 @@
+package org.commonmark.test;
+
+import org.commonmark.internal.util.Escaping;
+import org.commonmark.internal.util.Html5Entities;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link Escaping} functions compared to the previous implementations that used regular expressions (kept in
+ * {@link RegexEscaping} for comparison). Each benchmark runs the function on a few typical inputs: ones where nothing
+ * needs to change, and ones with escapes, entities or non-ASCII characters.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class EscapingBenchmark {
+
+    private static final String[] DESTINATIONS = {
+            "https://example.com/path/to/page.html?query=1#anchor",
+            "/docs/getting-started",
+            "https://example.com/a b/über?x=%20&y=%zz",
+            "https://example.com/日本語/😀",
+    };
+    private static final String[] TITLES = {
+            "A plain title without anything to unescape",
+            "Title with \\*escaped\\* chars &amp; entities like &ouml; and &#228;",
+            "Numeric &#x1F600; and &#123; and a lone & ampersand",
+    };
+    private static final String[] LABELS = {
+            "Foo Bar",
+            "  some\tlonger   Label\nover lines  ",
+            "ẞ Über",
+    };
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(EscapingBenchmark.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public void unescapeString(Blackhole blackhole) {
+        for (String title : TITLES) {
+            blackhole.consume(Escaping.unescapeString(title));
+        }
+    }
+
+    @Benchmark
+    public void unescapeStringRegex(Blackhole blackhole) {
+        for (String title : TITLES) {
+            blackhole.consume(RegexEscaping.unescapeString(title));
+        }
+    }
+
+    @Benchmark
+    public void percentEncodeUrl(Blackhole blackhole) {
+        for (String destination : DESTINATIONS) {
+            blackhole.consume(Escaping.percentEncodeUrl(destination));
+        }
+    }
+
+    @Benchmark
+    public void percentEncodeUrlRegex(Blackhole blackhole) {
+        for (String destination : DESTINATIONS) {
+            blackhole.consume(RegexEscaping.percentEncodeUrl(destination));
+        }
+    }
+
+    @Benchmark
+    public void normalizeLabelContent(Blackhole blackhole) {
+        for (String label : LABELS) {
+            blackhole.consume(Escaping.normalizeLabelContent(label));
+        }
+    }
+
+    @Benchmark
+    public void normalizeLabelContentRegex(Blackhole blackhole) {
+        for (String label : LABELS) {
+            blackhole.consume(RegexEscaping.normalizeLabelContent(label));
+        }
+    }
+
+    /**
+     * The previous implementations, for comparison.
+     */
+    static class RegexEscaping {
+
+        private static final String ESCAPABLE = "[!\"#$%&\'()*+,./:;<=>?@\\[\\\\\\]^_`{|}~-]";
+        private static final String ENTITY = "&(?:#x[a-f0-9]{1,6}|#[0-9]{1,7}|[a-z][a-z0-9]{1,31});";
+        private static final Pattern BACKSLASH_OR_AMP = Pattern.compile("[\\\\&]");
+        private static final Pattern ENTITY_OR_ESCAPED_CHAR =
+                Pattern.compile("\\\\" + ESCAPABLE + '|' + ENTITY, Pattern.CASE_INSENSITIVE);
+        private static final Pattern ESCAPE_IN_URI =
+                Pattern.compile("(%[a-fA-F0-9]{0,2}|[^:/?#@!$&'()*+,;=a-zA-Z0-9\\-._~])");
+        private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+        private static final Pattern WHITESPACE = Pattern.compile("[ \t\r\n]+");
+
+        static String unescapeString(String s) {
+            if (!BACKSLASH_OR_AMP.matcher(s).find()) {
+                return s;
+            }
+            Matcher matcher = ENTITY_OR_ESCAPED_CHAR.matcher(s);
+            StringBuilder sb = new StringBuilder(s.length() + 16);
+            int lastEnd = 0;
+            while (matcher.find()) {
+                sb.append(s, lastEnd, matcher.start());
+                String match = matcher.group();
+                if (match.charAt(0) == '\\') {
+                    sb.append(match, 1, match.length());
+                } else {
+                    sb.append(Html5Entities.entityToString(match));
+                }
+                lastEnd = matcher.end();
+            }
+            sb.append(s, lastEnd, s.length());
+            return sb.toString();
+        }
+
+        static String percentEncodeUrl(String s) {
+            Matcher matcher = ESCAPE_IN_URI.matcher(s);
+            if (!matcher.find()) {
+                return s;
+            }
+            StringBuilder sb = new StringBuilder(s.length() + 16);
+            int lastEnd = 0;
+            do {
+                sb.append(s, lastEnd, matcher.start());
+                String match = matcher.group();
+                if (match.startsWith("%")) {
+                    if (match.length() == 3) {
+                        sb.append(match);
+                    } else {
+                        sb.append("%25").append(match, 1, match.length());
+                    }
+                } else {
+                    for (byte b : match.getBytes(StandardCharsets.UTF_8)) {
+                        sb.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+                    }
+                }
+                lastEnd = matcher.end();
+            } while (matcher.find());
+            sb.append(s, lastEnd, s.length());
+            return sb.toString();
+        }
+
+        static String normalizeLabelContent(String input) {
+            String caseFolded = input.trim().toLowerCase(Locale.ROOT).toUpperCase(Locale.ROOT);
+            return WHITESPACE.matcher(caseFolded).replaceAll(" ");
+        }
+    }
+}
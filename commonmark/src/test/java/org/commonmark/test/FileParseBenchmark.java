@@ -0,0 +1,90 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.testutil.TestResources;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compares reading files to strings and parsing them with {@link Parser#parse(Path)}, for a corpus of files of about
+ * 1 MB each. Run with the GC profiler (added by {@link #main}); the peak resident set size of each fork is printed on
+ * tear down (on Linux).
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class FileParseBenchmark {
+
+    private static final String SPEC = TestResources.readAsString(TestResources.getSpec());
+    private static final Parser PARSER = Parser.builder().build();
+
+    @Param({"20"})
+    public int files;
+
+    private Path directory;
+    private final List<Path> paths = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(FileParseBenchmark.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("commonmark-benchmark");
+        String content = SPEC.repeat(Math.max(1, 1024 * 1024 / SPEC.length()));
+        for (int i = 0; i < files; i++) {
+            Path path = directory.resolve("file" + i + ".md");
+            Files.writeString(path, content);
+            paths.add(path);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (Files.exists(status)) {
+            try (Stream<String> lines = Files.lines(status)) {
+                lines.filter(line -> line.startsWith("VmHWM")).forEach(line -> System.out.println("Peak RSS: " + line));
+            }
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void readStringAndParse(Blackhole blackhole) throws IOException {
+        for (Path path : paths) {
+            Node document = PARSER.parse(Files.readString(path));
+            blackhole.consume(document);
+        }
+    }
+
+    @Benchmark
+    public void parsePath(Blackhole blackhole) throws IOException {
+        for (Path path : paths) {
+            Node document = PARSER.parse(path);
+            blackhole.consume(document);
+        }
+    }
+}
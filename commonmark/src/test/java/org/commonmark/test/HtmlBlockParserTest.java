@@ -0,0 +1,50 @@
+package org.commonmark.test;
+
+import org.junit.Test;
+
+public class HtmlBlockParserTest extends CoreRenderingTestCase {
+
+    @Test
+    public void type1TagNamesIgnoreCase() {
+        assertRendering("<SCRIPT>\nfoo\n\nbar\n</Script>\nbaz", "<SCRIPT>\nfoo\n\nbar\n</Script>\n<p>baz</p>\n");
+        assertRendering("<textarea\n\n</textarea>", "<textarea\n\n</textarea>\n");
+        // Not followed by whitespace, > or the end of the line
+        assertRendering("<prex>\n\nfoo", "<prex>\n<p>foo</p>\n");
+        // Closing tag needs to be one of the type 1 tags
+        assertRendering("<pre>\n</pref>\n\n</pre>\nfoo", "<pre>\n</pref>\n\n</pre>\n<p>foo</p>\n");
+    }
+
+    @Test
+    public void type6TagNames() {
+        assertRendering("<DIV>\n*foo*\n\nbar", "<DIV>\n*foo*\n<p>bar</p>\n");
+        assertRendering("</h6 >\nfoo", "</h6 >\nfoo\n");
+        assertRendering("<colgroup/>\nfoo", "<colgroup/>\nfoo\n");
+        assertRendering("<col", "<col\n");
+        // Prefix of a tag name, or a tag name followed by something else
+        assertRendering("paragraph\n<colg>", "<p>paragraph\n<colg></p>\n");
+        assertRendering("paragraph\n<h7>", "<p>paragraph\n<h7></p>\n");
+        assertRendering("paragraph\n<div-x>", "<p>paragraph\n<div-x></p>\n");
+    }
+
+    @Test
+    public void type7CompleteTag() {
+        assertRendering("<a href=\"foo\" title='bar' data-x=y :z>\n*foo*", "<a href=\"foo\" title='bar' data-x=y :z>\n*foo*\n");
+        assertRendering("<img src=x/>  \nfoo", "<img src=x/>  \nfoo\n");
+        assertRendering("</custom-element >\nfoo", "</custom-element >\nfoo\n");
+        // Whitespace required between attributes
+        assertRendering("<a b='c'd>", "<p>&lt;a b='c'd&gt;</p>\n");
+        // Missing attribute value, or something after the tag
+        assertRendering("<a b=>", "<p>&lt;a b=&gt;</p>\n");
+        assertRendering("<a> foo", "<p><a> foo</p>\n");
+        // Can't interrupt a paragraph
+        assertRendering("paragraph\n<a>", "<p>paragraph\n<a></p>\n");
+    }
+
+    @Test
+    public void endConditions() {
+        assertRendering("<!-- foo\n\nbar -- > --> baz\nqux", "<!-- foo\n\nbar -- > --> baz\n<p>qux</p>\n");
+        assertRendering("<?php\n\n? > ?>\nfoo", "<?php\n\n? > ?>\n<p>foo</p>\n");
+        assertRendering("<!DOCTYPE\n\nhtml>\nfoo", "<!DOCTYPE\n\nhtml>\n<p>foo</p>\n");
+        assertRendering("<![CDATA[\n]] ]>\n\n]]>\nfoo", "<![CDATA[\n]] ]>\n\n]]>\n<p>foo</p>\n");
+    }
+}
@@ -267,6 +267,30 @@ public class HtmlRendererTest {
         assertEquals("<p>foo test</p>\n", rendered);
     }
 
+    @Test
+    public void extendAttributesWithoutAttributeProviders() {
+        HtmlNodeRendererFactory nodeRendererFactory = context -> new NodeRenderer() {
+            @Override
+            public Set<Class<? extends Node>> getNodeTypes() {
+                return Set.of(Link.class);
+            }
+
+            @Override
+            public void render(Node node) {
+                Map<String, String> attributes = Map.of("href", "/url");
+                Map<String, String> extended = context.extendAttributes(node, "a", attributes);
+                // A new map that renderers can add to
+                extended.put("class", "custom");
+                context.getWriter().tag("a", extended);
+                context.getWriter().tag("/a");
+            }
+        };
+
+        HtmlRenderer renderer = HtmlRenderer.builder().nodeRendererFactory(nodeRendererFactory).build();
+        String rendered = renderer.render(parse("[bar](/url)"));
+        assertEquals("<p><a href=\"/url\" class=\"custom\"></a></p>\n", rendered);
+    }
+
     @Test
     public void orderedListStartZero() {
         assertEquals("<ol start=\"0\">\n<li>Test</li>\n</ol>\n", defaultRenderer().render(parse("0. Test\n")));
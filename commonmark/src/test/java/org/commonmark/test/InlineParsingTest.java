@@ -0,0 +1,112 @@
+package org.commonmark.test;
+
+import org.commonmark.internal.InlineParserImpl;
+import org.commonmark.node.*;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.InlineParser;
+import org.commonmark.parser.InlineParsing;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.ParserSession;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.TestResources;
+import org.commonmark.testutil.example.ExampleReader;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class InlineParsingTest {
+
+    private static final Parser EAGER = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+    private static final Parser LAZY = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES)
+            .inlineParsing(InlineParsing.LAZY).build();
+    private static final Parser NONE = Parser.builder().inlineParsing(InlineParsing.NONE).build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    @Test
+    public void lazySameAsEager() {
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        assertSameDocument(EAGER.parse(spec), LAZY.parse(spec), spec);
+        for (String example : ExampleReader.readExampleSources(TestResources.getSpec())) {
+            assertSameDocument(EAGER.parse(example), LAZY.parse(example), example);
+        }
+    }
+
+    @Test
+    public void lazyParsesOnAccess() {
+        AtomicInteger calls = new AtomicInteger();
+        Parser parser = Parser.builder()
+                .inlineParsing(InlineParsing.LAZY)
+                .inlineParserFactory(context -> {
+                    InlineParser inlineParser = new InlineParserImpl(context);
+                    return (lines, node) -> {
+                        calls.incrementAndGet();
+                        inlineParser.parse(lines, node);
+                    };
+                })
+                .build();
+
+        Node document = parser.parse("# Heading\n\nSome *text*\n\n- item\n");
+        assertEquals(0, calls.get());
+
+        Node heading = document.getFirstChild();
+        assertThat(heading, instanceOf(Heading.class));
+        assertEquals(0, calls.get());
+        assertEquals("Heading", ((Text) heading.getFirstChild()).getLiteral());
+        assertEquals(1, calls.get());
+
+        // Only once per block
+        assertEquals("Heading", ((Text) heading.getLastChild()).getLiteral());
+        assertEquals(1, calls.get());
+
+        assertEquals("<h1>Heading</h1>\n<p>Some <em>text</em></p>\n<ul>\n<li>item</li>\n</ul>\n",
+                RENDERER.render(document));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void lazyUsesDefinitionsOfDocument() {
+        ParserSession session = LAZY.newSession();
+        Node document = session.parse("[foo]\n\n[foo]: /url\n");
+        // The session is reset for the next document, but the first one still has its definitions
+        session.parse("[foo]: /other\n");
+        assertEquals("<p><a href=\"/url\">foo</a></p>\n", RENDERER.render(document));
+    }
+
+    @Test
+    public void lazyAppendChild() {
+        Node document = LAZY.parse("Some *text*");
+        Node paragraph = document.getFirstChild();
+        paragraph.appendChild(new Text(" appended"));
+        assertEquals("<p>Some <em>text</em> appended</p>\n", RENDERER.render(document));
+    }
+
+    @Test
+    public void none() {
+        Node document = NONE.parse("# Heading\n\n> Some *text*\n\n```\ncode\n```\n");
+        Node heading = document.getFirstChild();
+        assertThat(heading, instanceOf(Heading.class));
+        assertNull(heading.getFirstChild());
+
+        Node blockQuote = heading.getNext();
+        assertThat(blockQuote, instanceOf(BlockQuote.class));
+        assertThat(blockQuote.getFirstChild(), instanceOf(Paragraph.class));
+        assertNull(blockQuote.getFirstChild().getFirstChild());
+
+        assertEquals("code\n", ((FencedCodeBlock) blockQuote.getNext()).getLiteral());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void inlineParsingMustNotBeNull() {
+        Parser.builder().inlineParsing(null);
+    }
+
+    private static void assertSameDocument(Node expected, Node actual, String input) {
+        assertEquals(RENDERER.render(expected), RENDERER.render(actual));
+        assertEquals(SourceSpanRenderer.renderWithInputIndex(expected, input),
+                SourceSpanRenderer.renderWithInputIndex(actual, input));
+    }
+}
@@ -0,0 +1,109 @@
+package org.commonmark.test;
+
+import org.commonmark.node.*;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.generator.MarkdownGenerator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class MarkdownGeneratorTest {
+
+    private static final Parser PARSER = Parser.builder().build();
+
+    @Test
+    public void deterministic() throws IOException {
+        MarkdownGenerator generator = MarkdownGenerator.builder().seed(42).build();
+        String markdown = generator.generate(10_000);
+        assertTrue(markdown.length() >= 10_000);
+        assertEquals(markdown, generator.generate(10_000));
+        assertEquals(markdown, MarkdownGenerator.builder().seed(42).build().generate(10_000));
+        assertNotEquals(markdown, MarkdownGenerator.builder().seed(43).build().generate(10_000));
+
+        // Bigger documents continue where smaller ones stop
+        assertTrue(generator.generate(20_000).startsWith(markdown));
+
+        StringWriter writer = new StringWriter();
+        generator.generate(10_000L, writer);
+        assertEquals(markdown, writer.toString());
+    }
+
+    @Test
+    public void nestingDepth() {
+        MarkdownGenerator generator = MarkdownGenerator.builder()
+                .onlyBlock(MarkdownGenerator.Block.BULLET_LIST)
+                .maxNestingDepth(2)
+                .build();
+        Node document = PARSER.parse(generator.generate(50_000));
+
+        int maxDepth = 0;
+        for (Node node = document; node != null; node = next(node)) {
+            if (node instanceof BulletList) {
+                int depth = 0;
+                for (Node parent = node; parent != null; parent = parent.getParent()) {
+                    if (parent instanceof BulletList) {
+                        depth++;
+                    }
+                }
+                maxDepth = Math.max(maxDepth, depth);
+            }
+        }
+        // The top-level list and 2 levels nested in it
+        assertEquals(3, maxDepth);
+    }
+
+    @Test
+    public void linkReferences() {
+        MarkdownGenerator generator = MarkdownGenerator.builder()
+                .onlyBlock(MarkdownGenerator.Block.PARAGRAPH)
+                .emphasisDensity(0)
+                .codeSpanDensity(0)
+                .linkDensity(0.5)
+                .linkReferenceDensity(1)
+                .build();
+        String markdown = generator.generate(5_000);
+        assertTrue(markdown.contains("[ref-1]: "));
+        assertFalse(markdown.contains("](https://"));
+
+        // All references are defined
+        String html = HtmlRenderer.builder().build().render(PARSER.parse(markdown));
+        assertTrue(html.contains("<a href=\"https://example.org/"));
+        assertFalse(html.contains("[ref-"));
+    }
+
+    @Test
+    public void tables() {
+        String markdown = MarkdownGenerator.builder()
+                .onlyBlock(MarkdownGenerator.Block.TABLE)
+                .tableSize(3, 5)
+                .linkDensity(0)
+                .build()
+                .generate(1);
+        // Header, delimiter row and body rows, followed by a blank line
+        String[] lines = markdown.split("\n");
+        assertEquals(7, lines.length);
+        for (String line : lines) {
+            assertTrue(line, line.startsWith("|") && line.endsWith("|"));
+            assertEquals(line, 4, line.chars().filter(c -> c == '|').count());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void densitiesMustNotExceedOne() {
+        MarkdownGenerator.builder().emphasisDensity(0.5).linkDensity(0.6).build();
+    }
+
+    private static Node next(Node node) {
+        if (node.getFirstChild() != null) {
+            return node.getFirstChild();
+        }
+        while (node != null && node.getNext() == null) {
+            node = node.getParent();
+        }
+        return node != null ? node.getNext() : null;
+    }
+}
@@ -0,0 +1,114 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.TestResources;
+import org.commonmark.testutil.example.ExampleReader;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that parsing with {@link Parser.Builder#blockParallelism} results in the same document as sequential parsing.
+ */
+public class ParallelParsingTest {
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+
+    private static final Parser SEQUENTIAL = Parser.builder()
+            .includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES)
+            .build();
+    private static final Parser PARALLEL = Parser.builder()
+            .includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES)
+            .blockParallelism(16, EXECUTOR)
+            .build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    // Snippets that make splitting at a blank line wrong, mixed with ones that don't
+    private static final String[] SNIPPETS = {
+            "Paragraph with *emphasis* and a [link][ref].\n",
+            "[ref]: /url \"title\"\n",
+            "[ref]: /other\n",
+            "# Heading\n",
+            "```\ncode\n\nnot a paragraph\n\n```\n",
+            "~~~\nunclosed\n\nfence\n",
+            "<pre>\nhtml\n\nstill html\n</pre>\n",
+            "<!-- comment\n\ncontinued -->\n",
+            "<div>\nends at blank line\n",
+            "- list item\n\n  continued\n\n- second\n",
+            "1. ordered\n\n   para\n",
+            "> quote\n\n> another quote\n",
+            "> quote\nlazy continuation\n",
+            "    indented code\n\n    more code\n",
+            "Setext\n===\n",
+            "---\n",
+            "***\n",
+            "  \n",
+            "\t\n",
+            "text\r\nwith crlf\r\n",
+    };
+
+    @AfterClass
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+    }
+
+    @Test
+    public void spec() {
+        assertSameAsSequential(TestResources.readAsString(TestResources.getSpec()));
+    }
+
+    @Test
+    public void specExamples() {
+        // Example inputs include unclosed blocks, which then continue into the following examples
+        String input = String.join("\n", ExampleReader.readExampleSources(TestResources.getSpec()));
+        assertSameAsSequential(input.repeat(4));
+    }
+
+    @Test
+    public void largeDocument() {
+        for (int seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < 200_000) {
+                sb.append(SNIPPETS[random.nextInt(SNIPPETS.length)]);
+                int blankLines = random.nextInt(3);
+                for (int i = 0; i < blankLines; i++) {
+                    sb.append('\n');
+                }
+            }
+            assertSameAsSequential(sb.toString());
+        }
+    }
+
+    @Test
+    public void unclosedFence() {
+        var paragraphs = "paragraph\n\n".repeat(10_000);
+        assertSameAsSequential("```\n" + paragraphs);
+        assertSameAsSequential(paragraphs + "```\n" + paragraphs + "```\n" + paragraphs);
+    }
+
+    @Test
+    public void withoutSourceSpans() {
+        var input = "paragraph\n\n".repeat(10_000);
+        Parser parser = Parser.builder().blockParallelism(4, EXECUTOR).build();
+        assertEquals(RENDERER.render(Parser.builder().build().parse(input)), RENDERER.render(parser.parse(input)));
+    }
+
+    private static void assertSameAsSequential(String input) {
+        Node expected = SEQUENTIAL.parse(input);
+        Node actual = PARALLEL.parse(input);
+        assertEquals(RENDERER.render(expected), RENDERER.render(actual));
+        assertEquals(SourceSpanRenderer.renderWithInputIndex(expected, input),
+                SourceSpanRenderer.renderWithInputIndex(actual, input));
+        assertEquals(SourceSpanRenderer.renderWithLineColumn(expected, input),
+                SourceSpanRenderer.renderWithLineColumn(actual, input));
+    }
+}
@@ -0,0 +1,50 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.testutil.TestResources;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how much memory parsing allocates, using the GC profiler. To get the bytes allocated per input character,
+ * divide {@code gc.alloc.rate.norm} (bytes per operation) by the input length, which is printed on setup.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ParseAllocationBenchmark {
+
+    private static final String SPEC = TestResources.readAsString(TestResources.getSpec());
+
+    @Param({"NONE", "BLOCKS_AND_INLINES"})
+    public IncludeSourceSpans includeSourceSpans;
+
+    private Parser parser;
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ParseAllocationBenchmark.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setup() {
+        parser = Parser.builder().includeSourceSpans(includeSourceSpans).build();
+        System.out.println("Input length: " + SPEC.length());
+    }
+
+    @Benchmark
+    public Node parseWholeSpec() {
+        return parser.parse(SPEC);
+    }
+}
@@ -0,0 +1,216 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.*;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.TestResources;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ParseLimitsTest {
+
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    @Test
+    public void noLimitsByDefault() {
+        var limits = ParseLimits.none();
+        assertEquals(Integer.MAX_VALUE, limits.getMaxInputLength());
+        assertEquals(Integer.MAX_VALUE, limits.getMaxNodes());
+        assertEquals(ParseLimitPolicy.FAIL, limits.getPolicy());
+
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        assertEquals(RENDERER.render(Parser.builder().build().parse(spec)),
+                RENDERER.render(parser(ParseLimits.builder()).parse(spec)));
+    }
+
+    @Test
+    public void inputLength() {
+        var limits = ParseLimits.builder().maxInputLength(10);
+        assertFails(ParseLimits.Limit.INPUT_LENGTH, 10, () -> parser(limits).parse("# Hi\n\n*a* b\nc *d*\n"));
+        assertFails(ParseLimits.Limit.INPUT_LENGTH, 10, () -> {
+            try {
+                parser(limits).parseReader(new StringReader("# Hi\n\n*a* b\nc *d*\n"));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        // Only a line terminator after the limit
+        assertFails(ParseLimits.Limit.INPUT_LENGTH, 10, () -> {
+            try {
+                parser(limits).parseReader(new StringReader("*abcdefgh*\n"));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        assertEquals("<h1>Hi</h1>\n<p>*a* </p>\n",
+                render(limits.policy(ParseLimitPolicy.LITERAL), "# Hi\n\n*a* b\nc *d*\n"));
+        // Exactly at the limit
+        assertEquals("<p><em>abcdefgh</em></p>\n", render(limits, "*abcdefgh*"));
+    }
+
+    @Test
+    public void inputLengthLiteralCutsOffInput() throws IOException {
+        var parser = parser(ParseLimits.builder().maxInputLength(10).policy(ParseLimitPolicy.LITERAL));
+        String input = "# Hi\n\n*a* b\nc *d*\n";
+        String expected = "<h1>Hi</h1>\n<p>*a* </p>\n";
+        assertEquals(expected, RENDERER.render(parser.parse(input)));
+        assertEquals(expected, RENDERER.render(parser.parseReader(new StringReader(input))));
+        assertEquals(expected, RENDERER.render(parser.parse(StandardCharsets.UTF_8.encode(input), StandardCharsets.UTF_8)));
+
+        var rendered = new StringBuilder();
+        var session = parser.newStreamingSession(block -> rendered.append(RENDERER.render(block)));
+        session.feed("# Hi\n\n*a*");
+        session.feed(" b\nc *d*\n");
+        session.finish();
+        assertEquals(expected, rendered.toString());
+    }
+
+    @Test
+    public void inputLengthDoesNotReadRest() throws IOException {
+        var parser = parser(ParseLimits.builder().maxInputLength(10).policy(ParseLimitPolicy.LITERAL));
+        // A line that never ends
+        var reader = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                Arrays.fill(cbuf, off, off + len, 'a');
+                return len;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertEquals("<p>aaaaaaaaaa</p>\n", RENDERER.render(parser.parseReader(reader)));
+
+        var rendered = new StringBuilder();
+        var session = parser.newStreamingSession(block -> rendered.append(RENDERER.render(block)));
+        for (int i = 0; i < 1000; i++) {
+            session.feed("aaaaaaaa");
+        }
+        session.finish();
+        assertEquals("<p>aaaaaaaaaa</p>\n", rendered.toString());
+    }
+
+    @Test
+    public void inputLengthStreaming() {
+        var parser = parser(ParseLimits.builder().maxInputLength(10));
+        var session = parser.newStreamingSession(block -> {
+        });
+        session.feed("# Heading\n");
+        assertFails(ParseLimits.Limit.INPUT_LENGTH, 10, () -> {
+            session.feed("More text\n");
+            session.finish();
+        });
+    }
+
+    @Test
+    public void blockNestingDepth() {
+        var limits = ParseLimits.builder().maxBlockNestingDepth(3);
+        assertEquals("<blockquote>\n<blockquote>\n<blockquote>\n<p>a</p>\n</blockquote>\n</blockquote>\n</blockquote>\n",
+                render(limits, "> > > a"));
+        assertFails(ParseLimits.Limit.BLOCK_NESTING_DEPTH, 3, () -> parser(limits).parse("> > > > a"));
+        assertEquals("<blockquote>\n<blockquote>\n<blockquote>\n<p>&gt; &gt; a</p>\n</blockquote>\n</blockquote>\n</blockquote>\n",
+                render(limits.policy(ParseLimitPolicy.LITERAL), "> > > > > a"));
+        assertEquals("<ul>\n<li>a\n- b</li>\n</ul>\n",
+                render(ParseLimits.builder().maxBlockNestingDepth(2).policy(ParseLimitPolicy.LITERAL), "- a\n  - b"));
+    }
+
+    @Test
+    public void delimiterStackSize() {
+        var limits = ParseLimits.builder().maxDelimiterStackSize(4);
+        // Closers are on the stack too
+        assertEquals("<p><em>a <strong>b</strong></em></p>\n", render(limits, "*a __b__*"));
+        assertFails(ParseLimits.Limit.DELIMITER_STACK_SIZE, 4, () -> parser(limits).parse("*a _b *c _d *e"));
+        assertEquals("<p><em>a <em>b</em></em> *c</p>\n", render(limits.policy(ParseLimitPolicy.LITERAL), "*a _b_* *c"));
+    }
+
+    @Test
+    public void bracketStackSize() {
+        var limits = ParseLimits.builder().maxBracketStackSize(2);
+        assertEquals("<p>[a <a href=\"/b\">b</a>]</p>\n", render(limits, "[a [b](/b)]"));
+        assertFails(ParseLimits.Limit.BRACKET_STACK_SIZE, 2, () -> parser(limits).parse("[a [b ![c"));
+        // The third bracket is text, so the link is from the second one
+        assertEquals("<p>[a <a href=\"/c\">b ![c</a></p>\n", render(limits.policy(ParseLimitPolicy.LITERAL), "[a [b ![c](/c)"));
+    }
+
+    @Test
+    public void nodes() {
+        // Paragraph and text
+        var limits = ParseLimits.builder().maxNodes(2);
+        assertEquals("<p>text</p>\n", render(limits, "text"));
+        assertFails(ParseLimits.Limit.NODES, 2, () -> parser(limits).parse("text\n\nmore"));
+        assertFails(ParseLimits.Limit.NODES, 2, () -> parser(limits).parse("*text*"));
+
+        var literal = ParseLimits.builder().maxNodes(3).policy(ParseLimitPolicy.LITERAL);
+        // Paragraph, two text nodes, the rest is text
+        assertEquals("<p>a *b* c</p>\n", render(literal, "a *b* c"));
+        // After three blocks, no more block starts
+        assertEquals("<p>a</p>\n<p>b</p>\n<h1>c</h1>\n<p>- d</p>\n", render(literal, "a\n\nb\n\n# c\n\n- d"));
+    }
+
+    @Test
+    public void nodesInSession() {
+        var session = parser(ParseLimits.builder().maxNodes(2)).newSession();
+        // Count starts again for each document
+        assertEquals("<p>a</p>\n", RENDERER.render(session.parse("a")));
+        assertEquals("<p>b</p>\n", RENDERER.render(session.parse("b")));
+    }
+
+    @Test
+    public void nodesWithLazyInlineParsing() {
+        var parser = Parser.builder().inlineParsing(InlineParsing.LAZY)
+                .limits(ParseLimits.builder().maxNodes(3).policy(ParseLimitPolicy.LITERAL).build()).build();
+        assertEquals("<p>a *b*</p>\n", RENDERER.render(parser.parse("a *b*")));
+    }
+
+    @Test
+    public void definitions() {
+        var limits = ParseLimits.builder().maxDefinitions(1);
+        assertEquals("<p><a href=\"/a\">a</a></p>\n", render(limits, "[a]: /a\n[a]: /b\n\n[a]"));
+        assertFails(ParseLimits.Limit.DEFINITIONS, 1, () -> parser(limits).parse("[a]: /a\n[b]: /b\n"));
+        assertEquals("<p><a href=\"/a\">a</a> [b]</p>\n",
+                render(limits.policy(ParseLimitPolicy.LITERAL), "[a]: /a\n[b]: /b\n\n[a] [b]"));
+    }
+
+    @Test
+    public void pathologicalInputWithinLimits() {
+        var limits = ParseLimits.builder()
+                .maxBlockNestingDepth(100)
+                .maxDelimiterStackSize(1000)
+                .maxBracketStackSize(1000)
+                .policy(ParseLimitPolicy.LITERAL);
+        var input = ">".repeat(10_000) + " " + "*a _b [c ".repeat(10_000);
+        Node document = parser(limits).parse(input);
+        assertNotNull(document.getFirstChild());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMaximum() {
+        ParseLimits.builder().maxNodes(-1);
+    }
+
+    private static Parser parser(ParseLimits.Builder limits) {
+        return Parser.builder().limits(limits.build()).build();
+    }
+
+    private static String render(ParseLimits.Builder limits, String input) {
+        return RENDERER.render(parser(limits).parse(input));
+    }
+
+    private static void assertFails(ParseLimits.Limit limit, int maximum, Runnable runnable) {
+        try {
+            runnable.run();
+            fail("Expected " + limit + " to be exceeded");
+        } catch (ParseLimitExceededException e) {
+            assertEquals(limit, e.getLimit());
+            assertEquals(maximum, e.getMaximum());
+        }
+    }
+}
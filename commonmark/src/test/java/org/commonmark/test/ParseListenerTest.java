@@ -0,0 +1,178 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParseListenerTest {
+
+    @Test
+    public void phases() {
+        var listener = new RecordingListener();
+        PostProcessor postProcessor = node -> node;
+        var parser = Parser.builder().parseListener(listener).postProcessor(postProcessor).build();
+        String input = "# Heading\n\ntext *em*\n";
+        Node document = parser.parse(input);
+
+        assertEquals(List.of("blockParsingStarted", "blockParsingFinished", "inlineParsingStarted",
+                "inlineParsingFinished", "postProcessorFinished", "documentParsed"), listener.events);
+        assertSame(postProcessor, listener.postProcessor);
+        assertSame(document, listener.document);
+
+        // Document, heading and paragraph
+        ParseStatistics blocks = listener.statistics.get(1);
+        assertEquals(input.length(), blocks.getInputLength());
+        assertEquals(3, blocks.getLineCount());
+        assertEquals(3, (int) listener.nodeCounts.get(1));
+        assertTrue(blocks.getBlockParsingNanos() > 0);
+        assertEquals(0, blocks.getInlineParsingNanos());
+
+        // Plus three text nodes and the emphasis
+        ParseStatistics inlines = listener.statistics.get(3);
+        assertEquals(7, (int) listener.nodeCounts.get(3));
+        assertTrue(inlines.getInlineParsingNanos() > 0);
+
+        ParseStatistics total = listener.statistics.get(5);
+        assertEquals(7, (int) listener.nodeCounts.get(5));
+        // Counted again when called later
+        assertEquals(7, blocks.getNodeCount());
+        assertEquals(blocks.getBlockParsingNanos(), total.getBlockParsingNanos());
+        assertEquals(total.getBlockParsingNanos() + total.getInlineParsingNanos() + total.getPostProcessingNanos(),
+                total.getTotalNanos());
+    }
+
+    @Test
+    public void reader() throws IOException {
+        var listener = new RecordingListener();
+        var parser = Parser.builder().parseListener(listener).build();
+        parser.parseReader(new StringReader("a\r\nb\r\n\r\nc"));
+        assertEquals(-1, listener.statistics.get(0).getInputLength());
+        ParseStatistics total = listener.statistics.get(listener.statistics.size() - 1);
+        assertEquals(9, total.getInputLength());
+        assertEquals(4, total.getLineCount());
+    }
+
+    @Test
+    public void session() {
+        var listener = new RecordingListener();
+        var session = Parser.builder().parseListener(listener).build().newSession();
+        session.parse("a\nb\nc");
+        session.parse("d");
+        ParseStatistics total = listener.statistics.get(listener.statistics.size() - 1);
+        assertEquals(1, total.getLineCount());
+        assertEquals(3, (int) listener.nodeCounts.get(listener.nodeCounts.size() - 1));
+    }
+
+    @Test
+    public void blockParallelism() {
+        var input = "paragraph *with* [some](/url) inlines\n\n".repeat(2_000);
+        var sequential = new RecordingListener();
+        Parser.builder().parseListener(sequential).build().parse(input);
+        var parallel = new RecordingListener();
+        Parser.builder().parseListener(parallel).blockParallelism(4, ForkJoinPool.commonPool()).build().parse(input);
+
+        ParseStatistics expected = sequential.statistics.get(sequential.statistics.size() - 1);
+        ParseStatistics actual = parallel.statistics.get(parallel.statistics.size() - 1);
+        assertEquals(4_000, expected.getLineCount());
+        assertEquals(expected.getLineCount(), actual.getLineCount());
+        assertEquals(sequential.nodeCounts.get(sequential.nodeCounts.size() - 1),
+                parallel.nodeCounts.get(parallel.nodeCounts.size() - 1));
+    }
+
+    @Test
+    public void lazyInlineParsing() {
+        var listener = new RecordingListener();
+        var parser = Parser.builder().parseListener(listener).inlineParsing(InlineParsing.LAZY).build();
+        Node document = parser.parse("> text *em*\n");
+        // Only blocks are counted, the inline content isn't parsed yet
+        assertEquals(3, (int) listener.nodeCounts.get(listener.nodeCounts.size() - 1));
+        assertNotNull(document.getFirstChild().getFirstChild().getFirstChild());
+    }
+
+    @Test
+    public void multipleListeners() {
+        var order = new ArrayList<String>();
+        var parser = Parser.builder()
+                .parseListener(new ParseListener() {
+                    @Override
+                    public void documentParsed(Node document, ParseStatistics statistics) {
+                        order.add("first");
+                    }
+                })
+                .parseListener(new ParseListener() {
+                    @Override
+                    public void documentParsed(Node document, ParseStatistics statistics) {
+                        order.add("second");
+                    }
+                })
+                .build();
+        parser.parse("text");
+        assertEquals(List.of("first", "second"), order);
+    }
+
+    @Test
+    public void notCalledForFailedParse() {
+        var listener = new RecordingListener();
+        var parser = Parser.builder().parseListener(listener)
+                .limits(ParseLimits.builder().maxNodes(2).build()).build();
+        assertThrows(ParseLimitExceededException.class, () -> parser.parse("*text*"));
+        assertFalse(listener.events.contains("documentParsed"));
+    }
+
+    private static class RecordingListener implements ParseListener {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<ParseStatistics> statistics = new ArrayList<>();
+        // Counted on demand, so count during the call
+        private final List<Integer> nodeCounts = new ArrayList<>();
+        private PostProcessor postProcessor;
+        private Node document;
+
+        @Override
+        public void blockParsingStarted(ParseStatistics statistics) {
+            record("blockParsingStarted", statistics);
+        }
+
+        @Override
+        public void blockParsingFinished(ParseStatistics statistics) {
+            record("blockParsingFinished", statistics);
+        }
+
+        @Override
+        public void inlineParsingStarted(ParseStatistics statistics) {
+            record("inlineParsingStarted", statistics);
+        }
+
+        @Override
+        public void inlineParsingFinished(ParseStatistics statistics) {
+            record("inlineParsingFinished", statistics);
+        }
+
+        @Override
+        public void postProcessorFinished(PostProcessor postProcessor, long nanos, ParseStatistics statistics) {
+            this.postProcessor = postProcessor;
+            assertEquals(nanos, statistics.getPostProcessingNanos());
+            record("postProcessorFinished", statistics);
+        }
+
+        @Override
+        public void documentParsed(Node document, ParseStatistics statistics) {
+            this.document = document;
+            record("documentParsed", statistics);
+        }
+
+        private void record(String event, ParseStatistics statistics) {
+            this.events.add(event);
+            this.nodeCounts.add(statistics.getNodeCount());
+            this.statistics.add(statistics);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.ParserSession;
+import org.commonmark.testutil.TestResources;
+import org.commonmark.testutil.example.ExampleReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+
+/**
+ * Parsing many small inputs (the spec examples) with {@link Parser#parse(String)} compared to a
+ * {@link ParserSession}.
+ */
+@State(Scope.Thread)
+@Fork(5)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+public class ParserSessionBenchmark {
+
+    private static final List<String> SPEC_EXAMPLES = ExampleReader.readExampleSources(TestResources.getSpec());
+    private static final Parser PARSER = Parser.builder().build();
+
+    private final ParserSession session = PARSER.newSession();
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ParserSessionBenchmark.class.getName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public long parseExamples() {
+        long length = 0;
+        for (String example : SPEC_EXAMPLES) {
+            Node document = PARSER.parse(example);
+            length += document.getFirstChild() == document.getLastChild() ? 0 : 1;
+        }
+        return length;
+    }
+
+    @Benchmark
+    public long parseExamplesWithSession() {
+        long length = 0;
+        for (String example : SPEC_EXAMPLES) {
+            Node document = session.parse(example);
+            length += document.getFirstChild() == document.getLastChild() ? 0 : 1;
+        }
+        return length;
+    }
+}
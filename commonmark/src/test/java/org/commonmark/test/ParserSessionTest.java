@@ -0,0 +1,89 @@
+package org.commonmark.test;
+
+import org.commonmark.node.*;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.ParserSession;
+import org.commonmark.parser.block.AbstractBlockParserFactory;
+import org.commonmark.parser.block.BlockStart;
+import org.commonmark.parser.block.MatchedBlockParser;
+import org.commonmark.parser.block.ParserState;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.TestResources;
+import org.commonmark.testutil.example.ExampleReader;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParserSessionTest {
+
+    private static final Parser PARSER = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    @Test
+    public void sameAsParse() {
+        ParserSession session = PARSER.newSession();
+        List<String> examples = ExampleReader.readExampleSources(TestResources.getSpec());
+        for (String example : examples) {
+            assertSameDocument(PARSER.parse(example), session.parse(example), example);
+        }
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        assertSameDocument(PARSER.parse(spec), session.parse(spec), spec);
+    }
+
+    @Test
+    public void definitionsAreNotKept() {
+        ParserSession session = PARSER.newSession();
+        assertEquals("<p><a href=\"/url\">foo</a></p>\n", RENDERER.render(session.parse("[foo]: /url\n\n[foo]")));
+        assertEquals("<p>[foo]</p>\n", RENDERER.render(session.parse("[foo]")));
+    }
+
+    @Test
+    public void unclosedBlocksAreNotKept() {
+        ParserSession session = PARSER.newSession();
+        session.parse("```\ncode\n\n> quote");
+        assertEquals("<h1>heading</h1>\n", RENDERER.render(session.parse("# heading")));
+    }
+
+    @Test
+    public void resetAfterException() {
+        Parser parser = Parser.builder().customBlockParserFactory(new AbstractBlockParserFactory() {
+            @Override
+            public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
+                if (state.getLine().getContent().toString().contains("boom")) {
+                    throw new IllegalStateException("boom");
+                }
+                return BlockStart.none();
+            }
+        }).build();
+        ParserSession session = parser.newSession();
+        try {
+            session.parse("- list\n\n  > quote\n  > - boom");
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            assertEquals("boom", e.getMessage());
+        }
+        assertEquals("<p>text</p>\n", RENDERER.render(session.parse("text")));
+    }
+
+    @Test
+    public void documentsAreIndependent() {
+        ParserSession session = PARSER.newSession();
+        Node first = session.parse("first");
+        Node second = session.parse("second");
+        session.reset();
+        assertNotSame(first, second);
+        assertEquals("<p>first</p>\n", RENDERER.render(first));
+        assertEquals("<p>second</p>\n", RENDERER.render(second));
+    }
+
+    private static void assertSameDocument(Node expected, Node actual, String input) {
+        assertEquals(RENDERER.render(expected), RENDERER.render(actual));
+        assertEquals(SourceSpanRenderer.renderWithInputIndex(expected, input),
+                SourceSpanRenderer.renderWithInputIndex(actual, input));
+        assertEquals(SourceSpanRenderer.renderWithLineColumn(expected, input),
+                SourceSpanRenderer.renderWithLineColumn(actual, input));
+    }
+}
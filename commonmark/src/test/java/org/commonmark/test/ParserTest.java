@@ -1,5 +1,6 @@
 package org.commonmark.test;
 
+import org.commonmark.internal.InlineParserImpl;
 import org.commonmark.node.*;
 import org.commonmark.parser.*;
 import org.commonmark.parser.block.*;
@@ -10,7 +11,10 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -19,6 +23,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,6 +48,37 @@ public class ParserTest {
         assertEquals(renderer.render(document2), renderer.render(document1));
     }
 
+    @Test
+    public void pathTest() throws IOException {
+        Parser parser = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        // Lines that are split across decode chunks, including a line break, and a line that is longer than a chunk
+        String longLine = "a".repeat(65535) + "\r\n" + "b".repeat(200_000) + "\r\n\r";
+        for (String input : List.of("", "foo\r", "# Heading\n\nparagraph", spec, spec.replace("\n", "\r\n"), longLine)) {
+            Path file = Files.createTempFile("commonmark", ".md");
+            try {
+                Files.writeString(file, input);
+                assertSameDocument(parser.parse(input), parser.parse(file), input);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void byteBufferTest() {
+        Parser parser = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+        String input = "# \u00e4\u00f6\u00fc\n\nparagraph \ud83d\ude00\n";
+        ByteBuffer buffer = ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_16));
+        assertSameDocument(parser.parse(input), parser.parse(buffer, StandardCharsets.UTF_16), input);
+        // The buffer can be parsed again
+        assertEquals(0, buffer.position());
+
+        // Malformed input is replaced
+        Node document = parser.parse(ByteBuffer.wrap(new byte[]{'a', (byte) 0xff, 'b'}), StandardCharsets.UTF_8);
+        assertEquals("a\ufffdb", firstText(document));
+    }
+
     @Test
     public void customBlockParserFactory() {
         Parser parser = Parser.builder().customBlockParserFactory(new DashBlockParserFactory()).build();
@@ -55,6 +91,31 @@ public class ParserTest {
         assertThat(document.getLastChild(), instanceOf(DashBlock.class));
     }
 
+    @Test
+    public void customBlockParserFactoryWithTriggerCharacters() {
+        AtomicInteger calls = new AtomicInteger();
+        BlockParserFactory factory = new DashBlockParserFactory() {
+            @Override
+            public Set<Character> getTriggerCharacters() {
+                return Set.of('-');
+            }
+
+            @Override
+            public BlockStart tryStart(ParserState state, MatchedBlockParser matchedBlockParser) {
+                calls.incrementAndGet();
+                return super.tryStart(state, matchedBlockParser);
+            }
+        };
+        Parser parser = Parser.builder().customBlockParserFactory(factory).build();
+
+        Node document = parser.parse("1. one\n\n> two\n\n    code\n\n---\n");
+
+        // Only tried for the line starting with a dash
+        assertEquals(1, calls.get());
+        assertThat(document.getFirstChild(), instanceOf(OrderedList.class));
+        assertThat(document.getLastChild(), instanceOf(DashBlock.class));
+    }
+
     @Test
     public void enabledBlockTypes() {
         String given = "# heading 1\n\nnot a heading";
@@ -152,6 +213,49 @@ public class ParserTest {
         }
     }
 
+    @Test
+    public void inlineParallelism() {
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        Parser sequential = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+        AtomicInteger inlineParsers = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Parser parallel = Parser.builder()
+                    .includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES)
+                    .inlineParallelism(4, executorService)
+                    .inlineParserFactory(context -> {
+                        inlineParsers.incrementAndGet();
+                        return new InlineParserImpl(context);
+                    })
+                    .build();
+            inlineParsers.set(0);
+
+            Node expected = sequential.parse(spec);
+            Node actual = parallel.parse(spec);
+
+            HtmlRenderer renderer = HtmlRenderer.builder().build();
+            assertEquals(renderer.render(expected), renderer.render(actual));
+            assertEquals(SourceSpanRenderer.renderWithInputIndex(expected, spec),
+                    SourceSpanRenderer.renderWithInputIndex(actual, spec));
+            // One inline parser per batch
+            assertThat(inlineParsers.get() > 1, is(true));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void inlineParallelismMustBePositive() {
+        Parser.builder().inlineParallelism(0);
+    }
+
+    private static void assertSameDocument(Node expected, Node actual, String input) {
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+        assertEquals(renderer.render(expected), renderer.render(actual));
+        assertEquals(SourceSpanRenderer.renderWithInputIndex(expected, input),
+                SourceSpanRenderer.renderWithInputIndex(actual, input));
+    }
+
     private String firstText(Node n) {
         while (!(n instanceof Text)) {
             assertThat(n, notNullValue());
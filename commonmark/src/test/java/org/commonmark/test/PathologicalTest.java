@@ -81,6 +81,16 @@ public class PathologicalTest extends CoreRenderingTestCase {
                 "<p>" + "*a_ ".repeat(x - 1) + "*a_</p>\n");
     }
 
+    @Test
+    public void backtickRunsWithNoClosers() {
+        // Each run has a different length, so none of them can be closed
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 2000; i++) {
+            input.append('e').append("`".repeat(i));
+        }
+        assertRendering(input.toString(), "<p>" + input + "</p>\n");
+    }
+
     @Test
     public void nestedBrackets() {
         assertRendering(
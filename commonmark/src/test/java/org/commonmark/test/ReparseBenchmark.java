@@ -0,0 +1,71 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.TextEdit;
+import org.commonmark.testutil.TestResources;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares parsing the whole input again with {@link Parser#reparse} after typing a single character, for different
+ * sizes of input (the spec repeated multiple times).
+ */
+@State(Scope.Thread)
+@Fork(5)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+public class ReparseBenchmark {
+
+    private static final String SPEC = TestResources.readAsString(TestResources.getSpec());
+    private static final Parser PARSER = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS).build();
+
+    @Param({"1", "4", "16"})
+    public int copies;
+
+    private String input;
+    private String editedInput;
+    private int offset;
+
+    private Node document;
+    private boolean edited;
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ReparseBenchmark.class.getName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setup() {
+        input = (SPEC + "\n").repeat(copies);
+        // Type a character at the start of a paragraph in the middle of the input
+        offset = input.indexOf("\n\nThe ", input.length() / 2) + 2;
+        editedInput = input.substring(0, offset) + "x" + input.substring(offset);
+        document = PARSER.parse(input);
+        edited = false;
+    }
+
+    @Benchmark
+    public Node parseAfterEdit() {
+        edited = !edited;
+        return PARSER.parse(edited ? editedInput : input);
+    }
+
+    @Benchmark
+    public Node reparseAfterEdit() {
+        edited = !edited;
+        if (edited) {
+            document = PARSER.reparse(document, editedInput, TextEdit.of(offset, 0, 1));
+        } else {
+            document = PARSER.reparse(document, input, TextEdit.of(offset, 1, 0));
+        }
+        return document;
+    }
+}
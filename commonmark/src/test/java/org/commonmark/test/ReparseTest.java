@@ -0,0 +1,197 @@
+package org.commonmark.test;
+
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.PostProcessor;
+import org.commonmark.parser.TextEdit;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReparseTest {
+
+    private static final Parser PARSER = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    private static final String DOCUMENT = "# Heading\n" +
+            "\n" +
+            "Some *text* with a [link](/url).\n" +
+            "More text.\n" +
+            "\n" +
+            "- item 1\n" +
+            "- item 2\n" +
+            "\n" +
+            "  continued\n" +
+            "\n" +
+            "> quote\n" +
+            "lazy\n" +
+            "\n" +
+            "```\n" +
+            "code\n" +
+            "\n" +
+            "more code\n" +
+            "```\n" +
+            "\n" +
+            "<div>\n" +
+            "html\n" +
+            "</div>\n" +
+            "\n" +
+            "Setext\n" +
+            "---\n" +
+            "\n" +
+            "    indented\n" +
+            "\n" +
+            "Last [ref].\n" +
+            "\n" +
+            "[ref]: /ref\n";
+
+    @Test
+    public void insertIntoParagraph() {
+        var previous = PARSER.parse(DOCUMENT);
+        var document = assertReparse(previous, DOCUMENT, DOCUMENT.indexOf("More"), 0, "Even ");
+        // Only the affected blocks were replaced
+        assertSame(previous, document);
+    }
+
+    @Test
+    public void insertLines() {
+        var previous = PARSER.parse(DOCUMENT);
+        var document = assertReparse(previous, DOCUMENT, DOCUMENT.indexOf("> quote"), 0, "New paragraph\n\n");
+        assertSame(previous, document);
+    }
+
+    @Test
+    public void deleteBlankLine() {
+        assertReparse(DOCUMENT, DOCUMENT.indexOf("\n\n- item 1") + 1, 1, "");
+    }
+
+    @Test
+    public void appendAtEnd() {
+        assertReparse(DOCUMENT, DOCUMENT.length(), 0, "\nMore *text*\n");
+    }
+
+    @Test
+    public void insertAtStart() {
+        assertReparse(DOCUMENT, 0, 0, "Intro\n\n");
+    }
+
+    @Test
+    public void openFencedCode() {
+        assertReparse(DOCUMENT, DOCUMENT.indexOf("> quote"), 0, "```\n\n");
+    }
+
+    @Test
+    public void setextHeading() {
+        assertReparse(DOCUMENT, DOCUMENT.indexOf("More text.") + "More text.".length() + 1, 0, "===\n");
+    }
+
+    @Test
+    public void addDefinition() {
+        var previous = PARSER.parse(DOCUMENT);
+        var document = assertReparse(previous, DOCUMENT, DOCUMENT.indexOf("> quote"), 0, "[link]: /other\n\n");
+        // The new definition changes the link in an earlier paragraph, so everything needs to be parsed again
+        assertNotSame(previous, document);
+    }
+
+    @Test
+    public void removeDefinition() {
+        var previous = PARSER.parse(DOCUMENT);
+        var document = assertReparse(previous, DOCUMENT, DOCUMENT.indexOf("[ref]:"), 1, "");
+        assertNotSame(previous, document);
+    }
+
+    @Test
+    public void referenceToDefinitionOutsideOfEdit() {
+        var source = "[foo]: /url\n\nparagraph\n\n[foo]\n\nparagraph\n";
+        var previous = PARSER.parse(source);
+        var document = assertReparse(previous, source, source.indexOf("[foo]\n"), 0, "*bar* ");
+        assertSame(previous, document);
+    }
+
+    @Test
+    public void multipleEdits() {
+        var previous = PARSER.parse(DOCUMENT);
+        int first = DOCUMENT.indexOf("text*");
+        int second = DOCUMENT.indexOf("item 2");
+        var input = DOCUMENT.substring(0, first) + "TEXT" + DOCUMENT.substring(first + 4, second) + "x" + DOCUMENT.substring(second);
+        var document = PARSER.reparse(previous, input, TextEdit.of(second, 0, 1), TextEdit.of(first, 4, 4));
+        assertSameAsParse(input, document);
+    }
+
+    @Test
+    public void crLf() {
+        var source = DOCUMENT.replace("\n", "\r\n");
+        assertReparse(source, source.indexOf("item 2"), 0, "x\r\n\r\n");
+    }
+
+    @Test
+    public void withoutSourceSpans() {
+        var parser = Parser.builder().build();
+        var previous = parser.parse("foo\n\nbar\n");
+        var document = parser.reparse(previous, "foo\n\nbaz\n", TextEdit.of(7, 1, 1));
+        assertNotSame(previous, document);
+        assertEquals("<p>foo</p>\n<p>baz</p>\n", RENDERER.render(document));
+    }
+
+    @Test
+    public void withPostProcessor() {
+        // Numbers the headings of the whole document, so it needs to see more than the re-parsed blocks
+        PostProcessor numberHeadings = document -> {
+            int number = 1;
+            for (Node node = document.getFirstChild(); node != null; node = node.getNext()) {
+                if (node instanceof Heading) {
+                    node.prependChild(new Text(number++ + ". "));
+                }
+            }
+            return document;
+        };
+        var parser = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES)
+                .postProcessor(numberHeadings).build();
+        var source = "# One\n\ntext\n\n# Two\n";
+        var offset = source.indexOf("# Two");
+        var input = edit(source, offset, 0, "# New\n\n");
+        var document = parser.reparse(parser.parse(source), input, TextEdit.of(offset, 0, "# New\n\n".length()));
+        assertEquals("<h1>1. One</h1>\n<p>text</p>\n<h1>2. New</h1>\n<h1>3. Two</h1>\n", RENDERER.render(document));
+        assertEquals(RENDERER.render(parser.parse(input)), RENDERER.render(document));
+    }
+
+    @Test
+    public void everyInsertionAndDeletion() {
+        for (int i = 0; i <= DOCUMENT.length(); i++) {
+            for (String inserted : new String[]{"x", "\n", "`", "*", "    ", "- ", "\n\n"}) {
+                assertReparse(DOCUMENT, i, 0, inserted);
+            }
+            if (i < DOCUMENT.length()) {
+                assertReparse(DOCUMENT, i, 1, "");
+            }
+        }
+    }
+
+    private static Node assertReparse(String source, int offset, int removedLength, String inserted) {
+        return assertReparse(PARSER.parse(source), source, offset, removedLength, inserted);
+    }
+
+    private static Node assertReparse(Node previous, String source, int offset, int removedLength, String inserted) {
+        var input = edit(source, offset, removedLength, inserted);
+        var document = PARSER.reparse(previous, input, TextEdit.of(offset, removedLength, inserted.length()));
+        assertSameAsParse(input, document);
+        return document;
+    }
+
+    private static void assertSameAsParse(String input, Node document) {
+        var expected = PARSER.parse(input);
+        assertEquals(input, RENDERER.render(expected), RENDERER.render(document));
+        assertEquals(input, SourceSpanRenderer.renderWithInputIndex(expected, input),
+                SourceSpanRenderer.renderWithInputIndex(document, input));
+        assertEquals(input, SourceSpanRenderer.renderWithLineColumn(expected, input),
+                SourceSpanRenderer.renderWithLineColumn(document, input));
+    }
+
+    private static String edit(String source, int offset, int removedLength, String inserted) {
+        return source.substring(0, offset) + inserted + source.substring(offset + removedLength);
+    }
+}
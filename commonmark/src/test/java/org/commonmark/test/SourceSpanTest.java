@@ -1,8 +1,13 @@
 package org.commonmark.test;
 
+import org.commonmark.node.Paragraph;
 import org.commonmark.node.SourceSpan;
+import org.commonmark.node.SourceSpans;
+import org.commonmark.node.Text;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 
@@ -60,4 +65,57 @@ public class SourceSpanTest {
     public void testSubSpanBeginIndexGreaterThanEndIndex() {
         SourceSpan.of(1, 2, 3, 5).subSpan(2, 1);
     }
+
+    @Test
+    public void nodeSourceSpans() {
+        var node = new Paragraph();
+        assertEquals(List.of(), node.getSourceSpans());
+
+        for (int i = 0; i < 5; i++) {
+            node.addSourceSpan(SourceSpan.of(i, 1, i * 10, 5));
+        }
+        List<SourceSpan> spans = node.getSourceSpans();
+        assertEquals(5, spans.size());
+        assertEquals(SourceSpan.of(4, 1, 40, 5), spans.get(4));
+
+        // Returned list doesn't change when adding more
+        node.addSourceSpan(SourceSpan.of(5, 1, 50, 5));
+        assertEquals(5, spans.size());
+        assertEquals(6, node.getSourceSpans().size());
+
+        var other = new Paragraph();
+        other.setSourceSpans(spans);
+        other.addSourceSpan(SourceSpan.of(9, 0, 90, 1));
+        assertEquals(spans, other.getSourceSpans().subList(0, 5));
+        assertEquals(SourceSpan.of(5, 1, 50, 5), node.getSourceSpans().get(5));
+
+        node.setSourceSpans(List.of());
+        assertEquals(List.of(), node.getSourceSpans());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void nodeSourceSpansUnmodifiable() {
+        var node = new Paragraph();
+        node.addSourceSpan(SourceSpan.of(0, 0, 0, 1));
+        node.getSourceSpans().add(SourceSpan.of(1, 0, 2, 1));
+    }
+
+    @Test
+    public void sourceSpansMerge() {
+        var a = new Text("a");
+        a.setSourceSpans(List.of(SourceSpan.of(0, 0, 0, 1), SourceSpan.of(1, 0, 2, 1)));
+        var b = new Text("b");
+        b.setSourceSpans(List.of(SourceSpan.of(1, 1, 3, 2), SourceSpan.of(1, 3, 5, 1)));
+
+        var sourceSpans = SourceSpans.empty();
+        sourceSpans.addAllFrom(List.of(a, b));
+        // Only the first span of b is merged with the last one of a
+        List<SourceSpan> merged = sourceSpans.getSourceSpans();
+        assertEquals(List.of(SourceSpan.of(0, 0, 0, 1), SourceSpan.of(1, 0, 2, 3), SourceSpan.of(1, 3, 5, 1)), merged);
+
+        // Lists that were returned before are not changed
+        sourceSpans.addAll(List.of(SourceSpan.of(1, 4, 6, 1)));
+        assertEquals(SourceSpan.of(1, 3, 5, 1), merged.get(2));
+        assertEquals(SourceSpan.of(1, 3, 5, 2), sourceSpans.getSourceSpans().get(2));
+    }
 }
@@ -1,11 +1,14 @@
 package org.commonmark.test;
 
 import org.commonmark.node.Node;
+import org.commonmark.parser.ParseLimitPolicy;
+import org.commonmark.parser.ParseLimits;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
 import org.commonmark.testutil.TestResources;
 import org.commonmark.testutil.example.ExampleReader;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.CommandLineOptions;
 import org.openjdk.jmh.runner.options.Options;
@@ -22,6 +25,18 @@ public class SpecBenchmark {
     private static final String SPEC = TestResources.readAsString(TestResources.getSpec());
     private static final List<String> SPEC_EXAMPLES = ExampleReader.readExampleSources(TestResources.getSpec());
     private static final Parser PARSER = Parser.builder().build();
+    // Limits that the spec doesn't reach, for measuring the overhead of checking them
+    private static final Parser LIMITED_PARSER = Parser.builder()
+            .limits(ParseLimits.builder()
+                    .maxInputLength(10_000_000)
+                    .maxBlockNestingDepth(100)
+                    .maxDelimiterStackSize(10_000)
+                    .maxBracketStackSize(10_000)
+                    .maxNodes(1_000_000)
+                    .maxDefinitions(10_000)
+                    .policy(ParseLimitPolicy.LITERAL)
+                    .build())
+            .build();
     private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
 
     private static final Node SPEC_NODE = PARSER.parse(SPEC);
@@ -30,18 +45,29 @@ public class SpecBenchmark {
         Options options = new OptionsBuilder()
                 .parent(new CommandLineOptions(args))
                 .include(SpecBenchmark.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
                 .build();
         new Runner(options).run();
     }
 
     @Benchmark
     public long parseWholeSpec() {
-        return parse(List.of(SPEC));
+        return parse(PARSER, List.of(SPEC));
     }
 
     @Benchmark
     public long parseExamples() {
-        return parse(SPEC_EXAMPLES);
+        return parse(PARSER, SPEC_EXAMPLES);
+    }
+
+    @Benchmark
+    public long parseWholeSpecWithLimits() {
+        return parse(LIMITED_PARSER, List.of(SPEC));
+    }
+
+    @Benchmark
+    public long parseExamplesWithLimits() {
+        return parse(LIMITED_PARSER, SPEC_EXAMPLES);
     }
 
     @Benchmark
@@ -68,10 +94,10 @@ public class SpecBenchmark {
         return length;
     }
 
-    private static long parse(List<String> examples) {
+    private static long parse(Parser parser, List<String> examples) {
         long length = 0;
         for (String example : examples) {
-            Node document = PARSER.parse(example);
+            Node document = parser.parse(example);
             length += document.getFirstChild() == document.getLastChild() ? 0 : 1;
         }
         return length;
@@ -210,4 +210,17 @@ public class SpecialInputTest extends CoreRenderingTestCase {
                 "</ul>\n" +
                 "</script>\n");
     }
+
+    @Test
+    public void unmatchedBacktickRunsFollowedByCodeSpans() {
+        // The first run has no closer, which makes the parser remember the later runs for the next ones
+        assertRendering("``` a `b` ``c`` `` d ` e",
+                "<p>``` a <code>b</code> <code>c</code> `` d ` e</p>\n");
+        assertRendering("`` a ` b `` c ``` d",
+                "<p><code>a ` b</code> c ``` d</p>\n");
+        assertRendering("```` a `b` c\n\nd ````",
+                "<p>```` a <code>b</code> c</p>\n<p>d ````</p>\n");
+        assertRendering("x ``` a \\``b`` ``` y `",
+                "<p>x <code>a \\``b``</code> y `</p>\n");
+    }
 }
@@ -0,0 +1,173 @@
+package org.commonmark.test;
+
+import org.commonmark.node.*;
+import org.commonmark.parser.IncludeSourceSpans;
+import org.commonmark.parser.Parser;
+import org.commonmark.parser.StreamingSession;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.testutil.TestResources;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StreamingSessionTest {
+
+    private static final Parser PARSER = Parser.builder().includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES).build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    private static final String DOCUMENT = "# Heading\n" +
+            "\n" +
+            "Some *text* with a [link](/url).\n" +
+            "More text.\n" +
+            "\n" +
+            "- item 1\n" +
+            "- item 2\n" +
+            "\n" +
+            "  continued\n" +
+            "\n" +
+            "> quote\n" +
+            "lazy\n" +
+            "\n" +
+            "```\n" +
+            "code\n" +
+            "\n" +
+            "more code\n" +
+            "```\n" +
+            "\n" +
+            "[ref]: /ref\n" +
+            "Setext\n" +
+            "---\n" +
+            "\n" +
+            "    indented\n" +
+            "\n" +
+            "Last [ref].\n";
+
+    @Test
+    public void blocksAreReportedWhenComplete() {
+        List<Node> blocks = new ArrayList<>();
+        StreamingSession session = PARSER.newStreamingSession(blocks::add);
+
+        // The heading is only known to be complete once the next line has been parsed
+        session.feed("# Heading\npara");
+        assertEquals(0, blocks.size());
+
+        session.feed("graph\n");
+        assertEquals(1, blocks.size());
+        assertTrue(blocks.get(0) instanceof Heading);
+        assertNull(blocks.get(0).getParent());
+
+        session.feed("continued\n");
+        assertEquals(1, blocks.size());
+
+        session.feed("\n- list");
+        assertEquals(2, blocks.size());
+        assertEquals("<p>paragraph\ncontinued</p>\n", RENDERER.render(blocks.get(1)));
+
+        session.finish();
+        assertEquals(3, blocks.size());
+        assertTrue(blocks.get(2) instanceof BulletList);
+    }
+
+    @Test
+    public void chunks() {
+        for (int chunkSize : new int[]{1, 2, 3, 7, 100}) {
+            assertSameAsParse(DOCUMENT, chunkSize, false);
+            assertSameAsParse(DOCUMENT.replace("\n", "\r\n"), chunkSize, false);
+            assertSameAsParse(DOCUMENT.replace("\n", "\r"), chunkSize, false);
+        }
+    }
+
+    @Test
+    public void spec() {
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        assertSameAsParse(spec, 1000, false);
+    }
+
+    @Test
+    public void randomChunks() {
+        String spec = TestResources.readAsString(TestResources.getSpec());
+        Random random = new Random(1);
+        var expected = PARSER.parse(spec);
+        var document = new Document();
+        StreamingSession session = PARSER.newStreamingSession(document::appendChild);
+        int start = 0;
+        while (start < spec.length()) {
+            int end = Math.min(start + random.nextInt(50), spec.length());
+            session.feed(spec.subSequence(start, end));
+            start = end;
+        }
+        session.finish();
+        assertSame(spec, expected, document);
+    }
+
+    @Test
+    public void forwardReference() {
+        String input = "[foo] and [bar]\n\nparagraph\n\n[foo]: /url\n";
+        List<Node> blocks = new ArrayList<>();
+        StreamingSession session = PARSER.newStreamingSession(blocks::add);
+        session.feed(input);
+        session.finish();
+        assertEquals("<p>[foo] and [bar]</p>\n", RENDERER.render(blocks.get(0)));
+    }
+
+    @Test
+    public void deferUnresolvedReferences() {
+        String input = "[foo] and [bar]\n\nparagraph\n\n[foo]: /url\n\nlast\n\n";
+        List<Node> blocks = new ArrayList<>();
+        StreamingSession session = PARSER.newStreamingSession(blocks::add, true);
+        session.feed(input);
+        // The first block has to wait, and the following ones too
+        assertEquals(0, blocks.size());
+        session.finish();
+        assertEquals(4, blocks.size());
+        assertEquals("<p><a href=\"/url\">foo</a> and [bar]</p>\n", RENDERER.render(blocks.get(0)));
+
+        for (int chunkSize : new int[]{1, 5, 100}) {
+            assertSameAsParse(input, chunkSize, true);
+            assertSameAsParse(DOCUMENT, chunkSize, true);
+        }
+    }
+
+    @Test
+    public void deferredBlockIsReportedOnceDefined() {
+        List<Node> blocks = new ArrayList<>();
+        StreamingSession session = PARSER.newStreamingSession(blocks::add, true);
+        session.feed("[foo]\n\nparagraph\n\n");
+        assertEquals(0, blocks.size());
+        session.feed("[foo]: /url\n\n");
+        assertEquals(3, blocks.size());
+        assertEquals("<p><a href=\"/url\">foo</a></p>\n", RENDERER.render(blocks.get(0)));
+        session.finish();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void feedAfterFinish() {
+        StreamingSession session = PARSER.newStreamingSession(block -> {
+        });
+        session.finish();
+        session.feed("foo");
+    }
+
+    private static void assertSameAsParse(String input, int chunkSize, boolean deferUnresolvedReferences) {
+        var expected = PARSER.parse(input);
+        var document = new Document();
+        StreamingSession session = PARSER.newStreamingSession(document::appendChild, deferUnresolvedReferences);
+        for (int i = 0; i < input.length(); i += chunkSize) {
+            session.feed(input.substring(i, Math.min(i + chunkSize, input.length())));
+        }
+        session.finish();
+        assertSame(input, expected, document);
+    }
+
+    private static void assertSame(String input, Node expected, Node actual) {
+        assertEquals(RENDERER.render(expected), RENDERER.render(actual));
+        assertEquals(SourceSpanRenderer.renderWithInputIndex(expected, input),
+                SourceSpanRenderer.renderWithInputIndex(actual, input));
+        assertEquals(SourceSpanRenderer.renderWithLineColumn(expected, input),
+                SourceSpanRenderer.renderWithLineColumn(actual, input));
+    }
+}
@@ -22,6 +22,28 @@ public class CharactersTest {
         }
     }
 
+    @Test
+    public void isPunctuationOutsideAscii() {
+        assertTrue(Characters.isPunctuationCodePoint('\u00a7')); // section sign, Latin-1
+        assertTrue(Characters.isPunctuationCodePoint('\u00ac')); // not sign (math symbol), Latin-1
+        assertTrue(Characters.isPunctuationCodePoint('\u2014')); // em dash
+        assertTrue(Characters.isPunctuationCodePoint(0x1F600)); // emoji (other symbol)
+        assertFalse(Characters.isPunctuationCodePoint('a'));
+        assertFalse(Characters.isPunctuationCodePoint(' '));
+        assertFalse(Characters.isPunctuationCodePoint('\u00e4'));
+        assertFalse(Characters.isPunctuationCodePoint('\u4e2d'));
+    }
+
+    @Test
+    public void isWhitespace() {
+        for (char c : new char[]{' ', '\t', '\n', '\f', '\r', '\u00a0', '\u2003', '\u3000'}) {
+            assertTrue("Expected to be whitespace: " + (int) c, Characters.isWhitespaceCodePoint(c));
+        }
+        for (char c : new char[]{'a', '\u000b', '!', '\u00e4', '\u200b'}) {
+            assertFalse("Expected not to be whitespace: " + (int) c, Characters.isWhitespaceCodePoint(c));
+        }
+    }
+
     @Test
     public void isBlank() {
         assertTrue(Characters.isBlank(""));
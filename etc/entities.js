@@ -1,5 +1,7 @@
 // 1. curl -O "https://html.spec.whatwg.org/multipage/entities.json"
 // 2. run this script with node
+// 3. move the output to commonmark/src/test/resources/org/commonmark/internal/util/entities.txt
+// 4. run org.commonmark.internal.util.Html5EntityTableGenerator (test sources) to update Html5EntityTable
 
 var fs = require('fs');
 var data = JSON.parse(fs.readFileSync("entities.json"));